@@ -1,5 +1,9 @@
 package rpgGame;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.atomic.AtomicLong;
+
 import be.kuleuven.cs.som.annotate.*;
 
 /**
@@ -53,10 +57,13 @@ public abstract class Actor implements Holder {
 	 * 			| setName(name)
 	 * @effect 	The actor's strength is set with the method setStrength.
 	 * 			| setStrength(strength)
+	 * @effect	The actor's random source is set to the given random source.
+	 * 			| setRandomSource(random)
 	 */
 	@Raw 
-	protected Actor(String name,int hitPoints, double strength) 
+	protected Actor(String name,int hitPoints, double strength, RandomSource random) 
 			throws IllegalArgumentException, IllegaleToestandsUitzondering{
+		setRandomSource(random);
 		setName(name);
 		setMaxHitpoints(hitPoints);
 		setHitPoints(hitPoints);
@@ -64,6 +71,141 @@ public abstract class Actor implements Holder {
 		setStrength(strength);
 	}
 	
+	/**
+	 * Initializes an actor with a given name, a strength and hit points.
+	 * 
+	 * @param 	name
+	 * 			The name for the new actor.
+	 * @param	hitPoints
+	 * 			The value for the new actor's hit points.
+ 	 * @Param 	strength
+	 * 			The value for the strength for this new actor.
+	 * @pre 	The amount of hitPoints must be a natural number larger than zero.
+	 * 			| hitPoints > 0
+	 * @effect	The new actor is initialized like an actor with the given name,
+	 * 			hit points and strength and the default random source.
+	 * 			| this(name, hitPoints, strength, MathHelp.getRandomSource())
+	 */
+	@Raw 
+	protected Actor(String name,int hitPoints, double strength) 
+			throws IllegalArgumentException, IllegaleToestandsUitzondering{
+		this(name, hitPoints, strength, MathHelp.getRandomSource());
+	}
+	
+	/**
+	 * Return the unique number of this actor.
+	 * 		Actors get increasing numbers in the order they are created. Hits in 
+	 * 		concurrent combat take the locks of both actors in the order of
+	 * 		these numbers, so two threads never wait for each other's lock.
+	 */
+	@Basic
+	@Immutable
+	@Raw
+	public long getActorID() {
+		return actorID;
+	}
+	
+	/**
+	 * Variable registering the unique number of this actor.
+	 */
+	private final long actorID = issuedActorIDs.incrementAndGet();
+	
+	/**
+	 * Variable registering how many actor IDs have been handed out.
+	 */
+	private static final AtomicLong issuedActorIDs = new AtomicLong();
+	
+	/**
+	 * Variable referencing the lock a hit of or on this actor holds in concurrent combat.
+	 */
+	private final Object combatLock = new Object();
+	
+	/**
+	 * Checks whether hits take the locks of the actors involved, so that several
+	 * 	threads can let actors fight shared opponents.
+	 */
+	public static boolean isConcurrentCombat() {
+		return concurrentCombat;
+	}
+	
+	/**
+	 * Turns concurrent combat on or off for all actors.
+	 * 
+	 * @param 	concurrent
+	 * 			True if hits have to take the locks of the actors involved.
+	 * @post	| new.isConcurrentCombat() == concurrent
+	 */
+	public static void setConcurrentCombat(boolean concurrent) {
+		concurrentCombat = concurrent;
+	}
+	
+	/**
+	 * Variable registering whether hits take the locks of the actors involved.
+	 * 		Concurrent combat starts out on when the system property 
+	 * 		rpgGame.concurrentCombat is true.
+	 */
+	private static volatile boolean concurrentCombat = Boolean.getBoolean("rpgGame.concurrentCombat");
+	
+	/**
+	 * Return the random source this actor draws his random numbers from.
+	 */
+	@Basic
+	@Raw
+	public RandomSource getRandomSource() {
+		return randomSource;
+	}
+	
+	/**
+	 * Set the random source this actor draws his random numbers from.
+	 * 
+	 * @param 	random
+	 * 			The new random source for this actor.
+	 * @post	The new random source of this actor is the given source.
+	 * 			| new.getRandomSource() == random
+	 * @throws	IllegalArgumentException
+	 * 			When the given random source isn't effective.
+	 * 			| random == null
+	 */
+	@Raw
+	public void setRandomSource(RandomSource random) throws IllegalArgumentException {
+		if(random == null)
+			throw new IllegalArgumentException("The random source must be effective.");
+		this.randomSource = random;
+	}
+	
+	/**
+	 * Variable referencing the random source of this actor.
+	 */
+	private RandomSource randomSource;
+	
+	/**
+	 * Return the listener the events of the hits of this actor are reported to,
+	 * 	or null when nobody listens.
+	 */
+	@Basic
+	@Raw
+	public CombatListener getCombatListener() {
+		return combatListener;
+	}
+	
+	/**
+	 * Set the listener the events of the hits of this actor are reported to.
+	 * 
+	 * @param 	listener
+	 * 			The new listener for this actor, or null to stop reporting events.
+	 * @post	The new listener of this actor is the given listener.
+	 * 			| new.getCombatListener() == listener
+	 */
+	@Raw
+	public void setCombatListener(CombatListener listener) {
+		this.combatListener = listener;
+	}
+	
+	/**
+	 * Variable referencing the combat listener of this actor.
+	 */
+	private CombatListener combatListener;
+	
 	/**
 	 * Return the actor's name.
 	 */
@@ -277,6 +419,25 @@ public abstract class Actor implements Holder {
 	 */
 	private boolean isFighting;
 	
+	/**
+	 * Puts this actor in a given fighting status with a given amount of hit points,
+	 * 	as a fight that ran outside this actor left him.
+	 * 
+	 * @param 	fighting
+	 * 			The new fighting status of this actor.
+	 * @param 	hitPoints
+	 * 			The new hit points of this actor.
+	 * @pre		The given hit points lie between zero and the maximum hit points.
+	 * 			| 0 <= hitPoints <= getMaxHitpoints()
+	 * @post	| new.isFighting() == fighting
+	 * @effect	| setHitPoints(hitPoints)
+	 */
+	@Model
+	void setCombatState(boolean fighting, int hitPoints) {
+		this.isFighting = fighting;
+		setHitPoints(hitPoints);
+	}
+	
 
 	/**
 	 * Return the average strength for all the actors.
@@ -291,32 +452,40 @@ public abstract class Actor implements Holder {
 	
 	/**
 	 * Return this actor's strength.
+	 * 	The strength is kept in hundredths, so reading it doesn't need any rounding.
 	 * 	
-	 * @effect	The resulting double will be the intern double
+	 * @return	The resulting double will be the intern number of hundredths
+	 * 			divided by 100, which is the same double as the intern value
 	 * 			rounded to a scale of two.
-	 *  		| result == MathHelp.convertPrecisionDouble(InternValueForStrength,2);
+	 *  		| result == InternValueForStrength / 100.0
 	 */
 	@Basic
 	public double getStrength() {
-		return MathHelp.convertPrecisionDouble(strength,2);
+		return strength / 100.0;
 	}
 	
 	/**
 	 * Multiply this actor's strength with a given integer.
+	 * 	The strength is multiplied as it is kept, rounded to a scale of two, so
+	 * 	the digits beyond the hundredths of the strength an actor was given are 
+	 * 	not multiplied along: an actor given a strength of 12.3456 has a strength 
+	 * 	of 37.05 after multiplying it with 3, where the unrounded product 37.0368 
+	 * 	would round to 37.04.
 	 * 
 	 * @param 	factor
 	 * 			The factor with which this actor's strength will be multiplied.
 	 * @post	This actor's new strength is equal to his strength times the 
 	 * 			absolute value of the given factor.
 	 * 			| new.getStrength() == getStrength() * Math.abs(factor)
-	 * @post	If this would result in a infinity in double precision, then nothing happens.
-	 * 			|  when(!(Math.abs(getStrength()*factor) > Double.MAX_VALUE))
+	 * @post	If this would result in a number of hundredths that doesn't fit
+	 * 			in a long, then nothing happens.
+	 * 			|  when(getStrength() * 100 * Math.abs(factor) > Long.MAX_VALUE)
 	 * 			|	 then return;
 	 */
 	public void multiplyStrength(int factor) {
-		factor = Math.abs(factor);
-		if(!(getRealStrength()*factor > Double.MAX_VALUE))
-			setStrength(getRealStrength()*factor);
+		long absoluteFactor = Math.abs((long)factor);
+		if(absoluteFactor == 0 || strength <= Long.MAX_VALUE / absoluteFactor)
+			setStrengthInHundredths(strength * absoluteFactor);
 	}
 
 	/**
@@ -325,53 +494,171 @@ public abstract class Actor implements Holder {
 	 * @param 	factor
 	 * 			The factor with which this actor's strength will be divided.
 	 * @post	This actor's new strength is equal to his strength divided 
-	 * 			by the absolute value of the given factor.
-	 * 			This result is rounded down.
-	 * 			| new.getStrength() == getStrength() / Math.abs(factor)
-	 * @post	If this would result in a underflow in double precision, then nothing happens.
-	 * 			| when (!(Math.abs(getStrength()*factor) < Double.MAX_VALUE))
-	 * 			|	then return;
+	 * 			by the absolute value of the given factor, rounded to a 
+	 * 			scale of two towards the nearest neighbor, or towards the
+	 * 			even neighbor when both neighbors are equidistant.
+	 * 			| new.getStrength() == 
+	 * 			|	MathHelp.convertPrecisionDouble(getStrength() / Math.abs(factor), 2)
 	 * @post	If the factor is zero, then nothing happens.
 	 * 			| when (factor == 0)
 	 * 			|	then return;
 	 */
 	public void divideStrength(int factor) {
-		factor = Math.abs(factor);
-		if(!(getRealStrength()*factor < Double.MIN_VALUE)
-				&& factor != 0)
-			setStrength(getRealStrength()/(double)factor);
+		long absoluteFactor = Math.abs((long)factor);
+		if(absoluteFactor == 0)
+			return;
+		long quotient = strength / absoluteFactor;
+		long twiceRemainder = 2 * (strength % absoluteFactor);
+		if(twiceRemainder > absoluteFactor || 
+				(twiceRemainder == absoluteFactor && (quotient & 1) == 1))
+			quotient++;
+		setStrengthInHundredths(quotient);
 	}
 
 	/**
 	 * Set this actor's strength to a given number.
+	 * 	The number is rounded to hundredths once, here; the digits beyond the
+	 * 	hundredths are lost and don't take part in later multiplications or
+	 * 	divisions of the strength.
 	 * 
 	 * @param 	strength
 	 * 			The new strength for this actor.
-	 * @post	This actor's strength is equal to the absolute value of the given number.
-	 * 			| new.getStrength() == Math.abs(strength)
+	 * @post	This actor's strength is equal to the absolute value of the given 
+	 * 			number rounded to a scale of two.
+	 * 			| new.getStrength() == MathHelp.convertPrecisionDouble(Math.abs(strength), 2)
+	 * @post	If the absolute value of the given number has more hundredths than fit 
+	 * 			in a long, this actor's strength is the largest strength that fits.
+	 * 			| when (Math.abs(strength) * 100 >= Long.MAX_VALUE)
+	 * 			|	then new.getStrength() == Long.MAX_VALUE / 100.0
 	 */
 	@Raw
 	@Model
 	private void setStrength(double strength) {
-		this.strength = Math.abs(strength);
+		strength = Math.abs(strength);
+		if(strength >= Long.MAX_VALUE / 100.0)
+			setStrengthInHundredths(Long.MAX_VALUE);
+		else 
+			setStrengthInHundredths(new BigDecimal(strength)
+					.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValue());
 	}
 	
 	/**
-	 * Return the real actor's strength.
+	 * Set this actor's strength to a given number of hundredths.
+	 * 
+	 * @param 	hundredths
+	 * 			The new strength for this actor in hundredths.
+	 * @pre		The given number of hundredths is not negative.
+	 * 			| hundredths >= 0
+	 * @post	This actor's new strength is the given number of hundredths divided by 100.
+	 * 			| new.getStrength() == hundredths / 100.0
 	 */
-	private double getRealStrength() {
-		return this.strength;
+	@Raw
+	@Model
+	private void setStrengthInHundredths(long hundredths) {
+		assert(hundredths >= 0);
+		this.strength = hundredths;
+		invalidateCombatProfile();
 	}
 	
 	/**
-	 * Variable registering this actor's strength.
+	 * Variable registering this actor's strength in hundredths.
 	 */
-	private double strength;
+	private long strength;
 	
 	/**
 	 * Returns the damage that this actor can deal in combat.
+	 * 
+	 * @return	The damage of the combat profile of this actor.
+	 * 			| result == getCombatProfile().getDamage()
 	 */
-	protected abstract int getDamage();
+	protected int getDamage() {
+		return getCombatProfile().getDamage();
+	}
+	
+	/**
+	 * Computes the damage that this actor can deal in combat from its strength
+	 * 	and its equipment.
+	 */
+	@Model
+	protected abstract int computeDamage();
+	
+	/**
+	 * Return the combat profile of this actor.
+	 * 		The profile is computed again only after the strength of this actor has 
+	 * 		changed or an item has been added to or removed from its equipment.
+	 * 
+	 * @return	A profile with the damage, the protection and the capacity this 
+	 * 			actor has right now.
+	 * 			| result.equals(new CombatProfile(computeDamage(), computeProtection(),
+	 * 			|		getCapacity(getStrength())))
+	 * @throws	IllegaleToestandsUitzondering
+	 * 			When combat profiles are checked and the profile this actor keeps
+	 * 			differs from a freshly computed one.
+	 * 			| isCheckingCombatProfiles() && !getCombatProfile().equals(computeCombatProfile())
+	 */
+	public CombatProfile getCombatProfile() throws IllegaleToestandsUitzondering {
+		CombatProfile profile = combatProfile;
+		if(profile == null) {
+			profile = computeCombatProfile();
+			combatProfile = profile;
+		}
+		else if(checkingCombatProfiles && !profile.equals(computeCombatProfile()))
+			throw new IllegaleToestandsUitzondering("The combat profile of " + getName()
+					+ " is out of date: " + profile + " instead of " + computeCombatProfile());
+		return profile;
+	}
+	
+	/**
+	 * Computes a new combat profile for this actor.
+	 */
+	@Model
+	private CombatProfile computeCombatProfile() {
+		return new CombatProfile(computeDamage(), computeProtection(), getCapacity(getStrength()));
+	}
+	
+	/**
+	 * Discards the combat profile of this actor, so that it is computed again the
+	 * 	next time it is needed.
+	 * 		Every change to the strength or the equipment of an actor has to end 
+	 * 		with an invocation of this method.
+	 */
+	@Model
+	protected void invalidateCombatProfile() {
+		combatProfile = null;
+	}
+	
+	/**
+	 * Variable referencing the combat profile of this actor, or null when it has
+	 * 	to be computed again.
+	 */
+	private CombatProfile combatProfile;
+	
+	/**
+	 * Checks whether the combat profiles of all actors are checked against a fresh
+	 * 	computation every time they are read.
+	 */
+	public static boolean isCheckingCombatProfiles() {
+		return checkingCombatProfiles;
+	}
+	
+	/**
+	 * Turns checking the combat profiles of all actors against a fresh computation
+	 * 	on or off.
+	 * 
+	 * @param 	checking
+	 * 			True to check the combat profiles every time they are read.
+	 * @post	| new.isCheckingCombatProfiles() == checking
+	 */
+	public static void setCheckingCombatProfiles(boolean checking) {
+		checkingCombatProfiles = checking;
+	}
+	
+	/**
+	 * Variable registering whether the combat profiles of all actors are checked.
+	 * 		Checking starts out on when the system property rpgGame.checkCombatProfiles
+	 * 		is true.
+	 */
+	private static volatile boolean checkingCombatProfiles = Boolean.getBoolean("rpgGame.checkCombatProfiles");
 
 	/**
 	 * Returns this actor's capacity.
@@ -385,7 +672,7 @@ public abstract class Actor implements Holder {
 	 * 			| result == getCapacity(getStrenght())
 	 */
 	public Weight getCapacity() {
-		return getCapacity(getStrength());
+		return getCombatProfile().getCapacity();
 	}
 	
 	/**
@@ -411,8 +698,21 @@ public abstract class Actor implements Holder {
 	 *
 	 * @return	The result will be positive.
 	 * 			| result >= 0
+	 * @return	The protection of the combat profile of this actor.
+	 * 			| result == getCombatProfile().getProtection()
 	 */
-	public abstract double getProtection();
+	public double getProtection() {
+		return getCombatProfile().getProtection();
+	}
+	
+	/**
+	 * Computes the protection factor for this actor from its equipment.
+	 * 
+	 * @return	The result will be positive.
+	 * 			| result >= 0
+	 */
+	@Model
+	protected abstract double computeProtection();
 
 	/**
 	 * Hit the given opponent one time.
@@ -449,17 +749,52 @@ public abstract class Actor implements Holder {
 	 * @effect	In case 3 these methods will be triggered
 	 *			|loot(other)
 	 *			| heal()
+	 * @effect	Every step of the hit is reported to the combat listener of this
+	 * 			actor, if he has one.
+	 * @effect	In concurrent combat, the hit holds the combat locks of both actors,
+	 * 			taken in the order of their actor IDs, so that hits on a shared 
+	 * 			opponent happen one after the other and the loot moves together
+	 * 			with the kill.
+	 * 			| if(isConcurrentCombat())
+	 * 			|	then synchronized(lower ID lock) synchronized(higher ID lock) hit
 	 * @throws	IllegalArgumentException
 	 *			Throws the exception when the method canFightOpponent returns false
 	 *			| !canFightOpponent(other)
 	 */
 	public void hit(Actor other) throws IllegalArgumentException {
+		if(!concurrentCombat || other == null || other == this) {
+			resolveHit(other);
+			return;
+		}
+		Object firstLock = combatLock;
+		Object secondLock = other.combatLock;
+		if(other.actorID < actorID) {
+			firstLock = other.combatLock;
+			secondLock = combatLock;
+		}
+		synchronized(firstLock) {
+			synchronized(secondLock) {
+				resolveHit(other);
+			}
+		}
+	}
+	
+	/**
+	 * Lets this actor hit a given actor, without taking any lock.
+	 * 
+	 * @see		#hit(Actor)
+	 */
+	@Model
+	private void resolveHit(Actor other) throws IllegalArgumentException {
 		if(!canFightOpponent(other))
 			throw new IllegalArgumentException("this actor can't fight against the given opponent");
 
 		other.setFighting(true);
 		this.setFighting(true);
+		CombatListener listener = combatListener;
 		int random = luckFactorForHit();
+		if(listener != null)
+			listener.hitAttempted(this, other, random);
 		if(random >= other.getProtection()){
 			int damage = getDamage();
 			//in some cases the damage can be negative what means that the actor will get hit points in stead of lose hit points
@@ -469,11 +804,20 @@ public abstract class Actor implements Holder {
 			else { 
 				other.setHitPoints(other.getHitPoints()-damage);
 			}
+			if(listener != null)
+				listener.damageApplied(this, other, damage, other.getHitPoints());
 			if(other.getHitPoints() == 0) { // the other opponent died
-				setHitPoints(getHitPoints()+heal());
+				if(listener != null)
+					listener.died(other, this);
+				int healing = heal();
+				setHitPoints(getHitPoints()+healing);
+				if(listener != null)
+					listener.healed(this, healing);
 				loot(other);
 			}
 		}
+		else if(listener != null)
+			listener.hitBlocked(this, other);
 	}
 	
 	/**
@@ -484,6 +828,36 @@ public abstract class Actor implements Holder {
 	 */
 	protected abstract int luckFactorForHit();
 	
+	/**
+	 * Returns the chance that a hit of this actor isn't blocked by an opponent 
+	 * 	with a given protection factor.
+	 * 
+	 * @param 	protection
+	 * 			The protection factor of the opponent.
+	 * @return	The probability that the result of luckFactorForHit() is larger 
+	 * 			than or equal to the given protection factor.
+	 * 			| result == P(luckFactorForHit() >= protection)
+	 */
+	protected abstract double getChanceOfHitting(double protection);
+	
+	/**
+	 * Returns the chance that a random number between zero and a given maximum,
+	 * 	all numbers being equally likely, is larger than or equal to a given value.
+	 * 
+	 * @param 	maximum
+	 * 			The largest possible random number.
+	 * @param 	value
+	 * 			The value the random number is compared to.
+	 * @return	The number of integers in 0..maximum that are at least the given 
+	 * 			value, divided by the number of integers in 0..maximum.
+	 */
+	protected static double getChanceOfRandomIntAtLeast(int maximum, double value) {
+		double smallest = Math.max(0, Math.ceil(value));
+		if(smallest > maximum)
+			return 0;
+		return (maximum - smallest + 1) / (maximum + 1.0);
+	}
+	
 	/**
 	 * A test to determine if this actor can fight against the given actor.
 	 * 
@@ -540,25 +914,59 @@ public abstract class Actor implements Holder {
 	 *			| new.getWeight().compare(getWeight) >= 0
 	 */
 	@Model
-	private void loot(Actor other) {
+	void loot(Actor other) {
 		assert(other.getHitPoints() == 0 && other.isTerminated());
+		CombatListener listener = combatListener;
 		for (int i = 0; i < other.getNumberOfAnchors(); i++) {
 			Item item = other.getItem(i);
 			if(item != null) {
+				boolean looted = false;
 				if(wants(item))
 					try {
 						item.moveTo(this);
+						looted = true;
 					}
 				catch (Exception e) {
-					item.drop();
 				}
-				else
+				if(!looted)
 					item.drop();
+				if(listener != null) {
+					if(looted)
+						listener.itemLooted(this, other, item);
+					else
+						listener.itemDropped(other, item);
+				}
 			}
 		}
 		other.setTerminate(true);
 	}
 	
+	/**
+	 * Drops all items this dead actor carries directly and terminates him, for
+	 * 	when nobody is left to loot him.
+	 * 
+	 * @pre		The hit points of this actor must be zero.
+	 * 			| getHitPoints() == 0
+	 * @post	This actor is terminated.
+	 * 			| new.isTerminated()
+	 * @post	This actor doesn't carry anything anymore.
+	 * 			| new.getWeight().compareTo(new Weight(0)) == 0
+	 */
+	@Model
+	void dropItems() {
+		assert(getHitPoints() == 0);
+		CombatListener listener = combatListener;
+		for (int i = 0; i < getNumberOfAnchors(); i++) {
+			Item item = getItem(i);
+			if(item != null) {
+				item.drop();
+				if(listener != null)
+					listener.itemDropped(this, item);
+			}
+		}
+		setTerminate(true);
+	}
+	
 	/**
 	 * Returns the total weight of the items the actor is carrying.
 	 * 
@@ -598,6 +1006,48 @@ public abstract class Actor implements Holder {
 		return price;
 	}
 	
+	/**
+	 * Returns the number of ticks between two actions of this actor in a fight
+	 * 	played by initiative.
+	 * 		The speed of an actor is his strength relative to the average strength,
+	 * 		slowed down by the load he carries: an actor carrying his full capacity
+	 * 		or more acts at half the speed of the same actor carrying nothing.
+	 * 
+	 * @return	The base turn interval divided by the speed of this actor, rounded
+	 * 			up, and at least one and at most the maximum turn interval.
+	 * 			| let load = min(1, getWeight() / getCapacity())
+	 * 			|	speed = getStrength() / getAverageStrength() * (1 - load / 2)
+	 * 			| in result == max(1, min(getMaximumTurnInterval(), 
+	 * 			|					ceil(getBaseTurnInterval() / speed)))
+	 */
+	public int getTurnInterval() {
+		double capacity = getCapacity().toUnitOfWeight(UnitOfWeight.KILOGRAM).getNumeral();
+		double weight = getWeight().toUnitOfWeight(UnitOfWeight.KILOGRAM).getNumeral();
+		double load = (capacity > 0) ? Math.min(1, weight / capacity) : 1;
+		double speed = getStrength() / getAverageStrength() * (1 - load / 2);
+		double interval = Math.ceil(getBaseTurnInterval() / speed);
+		if(!(interval < getMaximumTurnInterval()))
+			return getMaximumTurnInterval();
+		return Math.max(1, (int)interval);
+	}
+	
+	/**
+	 * Return the number of ticks between two actions of an actor of average
+	 * 	strength carrying nothing.
+	 */
+	@Immutable
+	public static int getBaseTurnInterval() {
+		return 100;
+	}
+	
+	/**
+	 * Return the largest number of ticks between two actions of an actor.
+	 */
+	@Immutable
+	public static int getMaximumTurnInterval() {
+		return 1 << 20;
+	}
+	
 	
 	/**
 	 * Indicates whether this actor can't be held by an other holder.
@@ -866,9 +1316,7 @@ public abstract class Actor implements Holder {
 		result = prime * result + hitPoints;
 		result = prime * result + (isFighting ? 1231 : 1237);
 		result = prime * result + maxHitPoints;
-		long temp;
-		temp = Double.doubleToLongBits(strength);
-		result = prime * result + (int) (temp ^ (temp >>> 32));
+		result = prime * result + (int) (strength ^ (strength >>> 32));
 		return result;
 	}
 
@@ -903,8 +1351,7 @@ public abstract class Actor implements Holder {
 		if (maxHitPoints != other.maxHitPoints) {
 			return false;
 		}
-		if (Double.doubleToLongBits(strength) != Double
-				.doubleToLongBits(other.strength)) {
+		if (strength != other.strength) {
 			return false;
 		}
 		return true;
@@ -0,0 +1,20 @@
+package rpgGame;
+
+/**
+ * Interface representing anything capable of creating fresh actors for fights.
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public interface ActorFactory {
+
+	/**
+	 * Creates a new actor.
+	 * 
+	 * @param 	random
+	 * 			The random source the new actor draws his random numbers from.
+	 * @return	A new actor that isn't terminated.
+	 * 			| !result.isTerminated()
+	 */
+	public abstract Actor createActor(RandomSource random);
+}
@@ -0,0 +1,250 @@
+package rpgGame;
+
+import java.util.Arrays;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of snapshots of the combat state of an actor at the start of a fight,
+ * 	as stored in a replay log.
+ * 		A snapshot holds the kind, the name, the hit points, the strength, the
+ * 		damage and the protection of the actor and the ID of the item at every
+ * 		anchor, zero standing for an empty anchor.
+ *
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class ActorSnapshot {
+
+	/**
+	 * Initializes a new snapshot with the given state.
+	 *
+	 * @param 	hero
+	 * 			Whether the actor is a hero rather than a monster.
+	 * @param 	name
+	 * 			The name of the actor.
+	 * @param 	maxHitPoints
+	 * 			The maximum hit points of the actor.
+	 * @param 	hitPoints
+	 * 			The hit points of the actor.
+	 * @param 	strength
+	 * 			The strength of the actor.
+	 * @param 	damage
+	 * 			The damage of the actor.
+	 * @param 	protection
+	 * 			The protection of the actor.
+	 * @param 	itemIDs
+	 * 			The ID of the item at every anchor of the actor, or zero.
+	 * @throws	IllegalArgumentException
+	 * 			| name == null || itemIDs == null
+	 */
+	public ActorSnapshot(boolean hero, String name, int maxHitPoints, int hitPoints, double strength,
+			int damage, double protection, long[] itemIDs) throws IllegalArgumentException {
+		if(name == null || itemIDs == null)
+			throw new IllegalArgumentException("A snapshot needs a name and item IDs.");
+		this.hero = hero;
+		this.name = name;
+		this.maxHitPoints = maxHitPoints;
+		this.hitPoints = hitPoints;
+		this.strength = strength;
+		this.damage = damage;
+		this.protection = protection;
+		this.itemIDs = itemIDs.clone();
+	}
+
+	/**
+	 * Return a snapshot of the current state of a given actor.
+	 *
+	 * @param 	actor
+	 * 			The actor to take a snapshot of.
+	 * @return	| result.isHero() == (actor instanceof Hero)
+	 * 			|	&& result.getHitPoints() == actor.getHitPoints()
+	 * 			|	&& result.getDamage() == actor.getDamage()
+	 */
+	public static ActorSnapshot of(Actor actor) {
+		long[] itemIDs = new long[actor.getNumberOfAnchors()];
+		for(int i = 0; i < itemIDs.length; i++) {
+			Item item = actor.getItem(i);
+			if(item != null)
+				itemIDs[i] = item.getID();
+		}
+		return new ActorSnapshot(actor instanceof Hero, actor.getName(), actor.getMaxHitpoints(),
+				actor.getHitPoints(), actor.getStrength(), actor.getDamage(), actor.getProtection(), itemIDs);
+	}
+
+	/**
+	 * Check whether the actor of this snapshot is a hero.
+	 */
+	@Basic
+	@Immutable
+	public boolean isHero() {
+		return hero;
+	}
+
+	/**
+	 * Variable registering whether the actor of this snapshot is a hero.
+	 */
+	private final boolean hero;
+
+	/**
+	 * Return the name of the actor of this snapshot.
+	 */
+	@Basic
+	@Immutable
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Variable referencing the name of the actor of this snapshot.
+	 */
+	private final String name;
+
+	/**
+	 * Return the maximum hit points of the actor of this snapshot.
+	 */
+	@Basic
+	@Immutable
+	public int getMaxHitPoints() {
+		return maxHitPoints;
+	}
+
+	/**
+	 * Variable registering the maximum hit points of the actor of this snapshot.
+	 */
+	private final int maxHitPoints;
+
+	/**
+	 * Return the hit points of the actor of this snapshot.
+	 */
+	@Basic
+	@Immutable
+	public int getHitPoints() {
+		return hitPoints;
+	}
+
+	/**
+	 * Variable registering the hit points of the actor of this snapshot.
+	 */
+	private final int hitPoints;
+
+	/**
+	 * Return the strength of the actor of this snapshot.
+	 */
+	@Basic
+	@Immutable
+	public double getStrength() {
+		return strength;
+	}
+
+	/**
+	 * Variable registering the strength of the actor of this snapshot.
+	 */
+	private final double strength;
+
+	/**
+	 * Return the damage of the actor of this snapshot.
+	 */
+	@Basic
+	@Immutable
+	public int getDamage() {
+		return damage;
+	}
+
+	/**
+	 * Variable registering the damage of the actor of this snapshot.
+	 */
+	private final int damage;
+
+	/**
+	 * Return the protection of the actor of this snapshot.
+	 */
+	@Basic
+	@Immutable
+	public double getProtection() {
+		return protection;
+	}
+
+	/**
+	 * Variable registering the protection of the actor of this snapshot.
+	 */
+	private final double protection;
+
+	/**
+	 * Return the number of anchors of the actor of this snapshot.
+	 */
+	@Immutable
+	public int getNumberOfAnchors() {
+		return itemIDs.length;
+	}
+
+	/**
+	 * Return the ID of the item at a given anchor of the actor of this snapshot,
+	 * 	or zero if the anchor was empty.
+	 *
+	 * @throws	IndexOutOfBoundsException
+	 * 			| anchor < 0 || anchor >= getNumberOfAnchors()
+	 */
+	@Immutable
+	public long getItemID(int anchor) throws IndexOutOfBoundsException {
+		return itemIDs[anchor];
+	}
+
+	/**
+	 * Variable referencing the ID of the item at every anchor of the actor of this snapshot.
+	 */
+	private final long[] itemIDs;
+
+	/**
+	 * Checks whether this snapshot holds the same combat state as a given snapshot,
+	 * 	leaving aside the IDs of the items, which differ between runs.
+	 *
+	 * @return	| result == (other != null && isHero() == other.isHero()
+	 * 			|	&& getName().equals(other.getName()) && ...
+	 * 			|	&& for each anchor: (getItemID(anchor) == 0) == (other.getItemID(anchor) == 0))
+	 */
+	public boolean hasSameStateAs(ActorSnapshot other) {
+		if(other == null || hero != other.hero || !name.equals(other.name)
+				|| maxHitPoints != other.maxHitPoints || hitPoints != other.hitPoints
+				|| Double.compare(strength, other.strength) != 0 || damage != other.damage
+				|| Double.compare(protection, other.protection) != 0
+				|| itemIDs.length != other.itemIDs.length)
+			return false;
+		for(int i = 0; i < itemIDs.length; i++)
+			if((itemIDs[i] == 0) != (other.itemIDs[i] == 0))
+				return false;
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if(!(obj instanceof ActorSnapshot))
+			return false;
+		ActorSnapshot other = (ActorSnapshot) obj;
+		return hasSameStateAs(other) && Arrays.equals(itemIDs, other.itemIDs);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * (31 * name.hashCode() + hitPoints) + Arrays.hashCode(itemIDs);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ActorSnapshot [" + (hero ? "Hero " : "Monster ") + name
+				+ ", HitPoints=" + hitPoints + "/" + maxHitPoints
+				+ ", Strength=" + strength
+				+ ", Damage=" + damage
+				+ ", Protection=" + protection
+				+ ", Items=" + Arrays.toString(itemIDs) + "]";
+	}
+}
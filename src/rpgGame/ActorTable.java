@@ -0,0 +1,746 @@
+package rpgGame;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of tables keeping the combat state of many actors in parallel arrays.
+ * 		Row i of the table holds the hit points, the maximum hit points, the fighting
+ * 		and terminated status, the strength, the damage and the protection of one
+ * 		actor, each in an array of its own, so that a kernel hitting thousands of
+ * 		actors walks through a few arrays of primitives instead of through actors
+ * 		and their items.
+ * 		Hits in the table follow the rules of Actor.hit and draw from the random
+ * 		source of the actor of a row, so that they give the same outcome as hits
+ * 		between the actors themselves. Items aren't part of the table: when an 
+ * 		actor is killed in the table, the rows of the killer and the victim are 
+ * 		written back and the killer loots the victim right away, since looting 
+ * 		draws random numbers too. Kills are rare, so the kernel only leaves the
+ * 		arrays then. Every other change reaches the actors when the table is stored.
+ * 		A table isn't thread-safe.
+ *
+ * @invar	The size of a table is never negative.
+ * 			| getSize() >= 0
+ *
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class ActorTable {
+
+	/**
+	 * Initializes a new empty table with room for a given number of actors.
+	 *
+	 * @param 	initialCapacity
+	 * 			The number of actors the new table can hold before it has to grow.
+	 * @post	The new table is empty.
+	 * 			| new.getSize() == 0
+	 * @throws	IllegalArgumentException
+	 * 			When the given capacity is negative.
+	 * 			| initialCapacity < 0
+	 */
+	public ActorTable(int initialCapacity) throws IllegalArgumentException {
+		if(initialCapacity < 0)
+			throw new IllegalArgumentException("The capacity of a table can't be negative.");
+		allocate(initialCapacity);
+	}
+
+	/**
+	 * Initializes a new empty table with room for sixteen actors.
+	 *
+	 * @effect	| this(16)
+	 */
+	public ActorTable() {
+		this(16);
+	}
+
+	/**
+	 * Value for the kind of rows of heroes.
+	 */
+	private static final byte hero = 0;
+
+	/**
+	 * Value for the kind of rows of monsters.
+	 */
+	private static final byte monster = 1;
+
+	/**
+	 * Return the number of actors in this table.
+	 */
+	@Basic
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Variable registering the number of actors in this table.
+	 */
+	private int size;
+
+	/**
+	 * Adds a given actor to this table.
+	 *
+	 * @param 	actor
+	 * 			The actor to be added.
+	 * @return	The index of the row of the given actor, which is the old size of this table.
+	 * 			| result == getSize()
+	 * @post	The size of this table is incremented by one.
+	 * 			| new.getSize() == getSize() + 1
+	 * @post	The actor of the new row is the given actor.
+	 * 			| new.getActor(result) == actor
+	 * @effect	The new row is loaded from the given actor.
+	 * 			| load(result)
+	 * @throws	IllegalArgumentException
+	 * 			When the given actor isn't a hero or a monster.
+	 * 			| !(actor instanceof Hero) && !(actor instanceof Monster)
+	 */
+	public int add(Actor actor) throws IllegalArgumentException {
+		if(!(actor instanceof Hero) && !(actor instanceof Monster))
+			throw new IllegalArgumentException("A table only holds heroes and monsters.");
+		if(size == actors.length)
+			allocate(Math.max(16, 2 * size));
+		int index = size++;
+		actors[index] = actor;
+		kinds[index] = (actor instanceof Hero) ? hero : monster;
+		load(index);
+		return index;
+	}
+
+	/**
+	 * Loads the combat state of the actor of a given row into that row again.
+	 *
+	 * @param 	index
+	 * 			The index of the row.
+	 * @post	Every column of the row holds the corresponding property of its actor.
+	 * 			| new.getHitPoints(index) == getActor(index).getHitPoints()
+	 * 			| new.getDamage(index) == getActor(index).getDamage()
+	 * 			| new.getProtection(index) == getActor(index).getProtection()
+	 * @post	The actor of the row wasn't killed in this table.
+	 * 			| new.getKiller(index) == -1
+	 * @throws	IndexOutOfBoundsException
+	 * 			When the given index isn't the index of a row of this table.
+	 * 			| index < 0 || index >= getSize()
+	 */
+	public void load(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		Actor actor = actors[index];
+		CombatProfile profile = actor.getCombatProfile();
+		randomSources[index] = actor.getRandomSource();
+		hitPoints[index] = actor.getHitPoints();
+		maxHitPoints[index] = actor.getMaxHitpoints();
+		fighting[index] = actor.isFighting();
+		terminated[index] = actor.isTerminated();
+		strength[index] = actor.getStrength();
+		damage[index] = profile.getDamage();
+		protection[index] = profile.getProtection();
+		killers[index] = -1;
+	}
+
+	/**
+	 * Stores the combat state of every row of this table back into its actor.
+	 *
+	 * @post	Every actor that isn't terminated has the hit points and the fighting 
+	 * 			status of its row.
+	 * 			| for each I in 0..getSize()-1
+	 * 			|	if(!isTerminated(I))
+	 * 			|		then (new getActor(I)).getHitPoints() == getHitPoints(I)
+	 * @post	The deaths in the new table are forgotten.
+	 * 			| new.getNumberOfDeaths() == 0
+	 */
+	public void store() {
+		for(int i = 0; i < size; i++)
+			if(!actors[i].isTerminated())
+				actors[i].setCombatState(fighting[i], hitPoints[i]);
+		numberOfDeaths = 0;
+	}
+
+	/**
+	 * Checks whether the actor of a given row can fight the actor of another row.
+	 *
+	 * @param 	attacker
+	 * 			The index of the row of the attacker.
+	 * @param 	defender
+	 * 			The index of the row of the defender.
+	 * @return	False if both rows are the same, if the defender is terminated or
+	 * 			if both are heroes, like Hero.canFightOpponent.
+	 * 			| result == (attacker != defender && !isTerminated(defender)
+	 * 			|		&& !(getActor(attacker) instanceof Hero && getActor(defender) instanceof Hero))
+	 * @throws	IndexOutOfBoundsException
+	 * 			When one of the indices isn't the index of a row of this table.
+	 */
+	public boolean canFight(int attacker, int defender) throws IndexOutOfBoundsException {
+		checkIndex(attacker);
+		checkIndex(defender);
+		return attacker != defender && !terminated[defender]
+				&& (kinds[attacker] != hero || kinds[defender] != hero);
+	}
+
+	/**
+	 * Lets the actor of a given row hit the actor of another row and returns the
+	 * 	number of hit points the defender lost.
+	 *
+	 * @param 	attacker
+	 * 			The index of the row of the attacker.
+	 * @param 	defender
+	 * 			The index of the row of the defender.
+	 * @return	The hit points of the defender before the hit minus his hit points
+	 * 			after the hit.
+	 * @effect	The rows change like the actors would by getActor(attacker).hit(getActor(defender)).
+	 * @throws	IllegalArgumentException
+	 * 			When the attacker can't fight the defender.
+	 * 			| !canFight(attacker, defender)
+	 */
+	public int hit(int attacker, int defender) throws IllegalArgumentException {
+		if(!canFight(attacker, defender))
+			throw new IllegalArgumentException("this actor can't fight against the given opponent");
+		int before = hitPoints[defender];
+		strike(attacker, defender);
+		return before - hitPoints[defender];
+	}
+
+	/**
+	 * Lets the actors of the rows in a range of an array of attackers hit the
+	 * 	actors of the rows at the same positions of an array of defenders, in order.
+	 * 		Pairs in which the attacker is terminated or can't fight the defender are
+	 * 		skipped, so an actor killed early in the batch doesn't strike back.
+	 *
+	 * @param 	attackers
+	 * 			The indices of the rows of the attackers.
+	 * @param 	defenders
+	 * 			The indices of the rows of the defenders.
+	 * @param 	from
+	 * 			The first position in both arrays.
+	 * @param 	to
+	 * 			The position after the last one in both arrays.
+	 * @return	The number of pairs in which the attacker hit the defender.
+	 * @effect	| for each I in from..to-1
+	 * 			|	if(!isTerminated(attackers[I]) && canFight(attackers[I], defenders[I]))
+	 * 			|		then hit(attackers[I], defenders[I])
+	 * @throws	IndexOutOfBoundsException
+	 * 			When the range doesn't lie in both arrays, or when one of the indices
+	 * 			in the range isn't the index of a row of this table.
+	 */
+	public int hitAll(int[] attackers, int[] defenders, int from, int to) throws IndexOutOfBoundsException {
+		if(from < 0 || to > attackers.length || to > defenders.length || from > to)
+			throw new IndexOutOfBoundsException("The range doesn't lie in both arrays.");
+		int hits = 0;
+		for(int i = from; i < to; i++) {
+			int attacker = attackers[i];
+			int defender = defenders[i];
+			if(!terminated[attacker] && canFight(attacker, defender)) {
+				strike(attacker, defender);
+				hits++;
+			}
+		}
+		return hits;
+	}
+
+	/**
+	 * Lets the actor of a given row hit the actor of another row, by the rules of
+	 * 	Actor.hit, Hero and Monster.
+	 */
+	private void strike(int attacker, int defender) {
+		fighting[defender] = true;
+		fighting[attacker] = true;
+		if(rollLuck(attacker) < protection[defender])
+			return;
+		hitPoints[defender] = getHitPointsAfterHit(hitPoints[defender], maxHitPoints[defender], damage[attacker]);
+		if(hitPoints[defender] == 0)
+			kill(attacker, defender);
+	}
+
+	/**
+	 * Draws the luck factor of a hit of the actor of a given row, like 
+	 * 	Hero.luckFactorForHit and Monster.luckFactorForHit.
+	 */
+	private int rollLuck(int attacker) {
+		int luck = randomSources[attacker].randomInt(kinds[attacker] == hero ? 20 : 100);
+		if(kinds[attacker] != hero)
+			luck = Math.min(luck, damage[attacker]);
+		return luck;
+	}
+
+	/**
+	 * Return the hit points an actor is left with after a hit that isn't blocked.
+	 * 		A hit with negative damage heals the defender, but never beyond his 
+	 * 		maximum hit points, and a hit never leaves him with less than zero.
+	 * 		Both cases of Actor.hit come down to clamping the difference between the
+	 * 		hit points and the damage to the range 0..maximum.
+	 *
+	 * @param 	hitPoints
+	 * 			The hit points of the defender before the hit.
+	 * @param 	maximum
+	 * 			The maximum hit points of the defender.
+	 * @param 	damage
+	 * 			The damage of the attacker.
+	 * @pre		The hit points lie between zero and the maximum.
+	 * 			| 0 <= hitPoints <= maximum
+	 * @return	| result == Math.min(maximum, Math.max(0, hitPoints - damage))
+	 */
+	static int getHitPointsAfterHit(int hitPoints, int maximum, int damage) {
+		return Math.min(maximum, Math.max(0, hitPoints - damage));
+	}
+
+	/**
+	 * Plays one round of a number of duels: in every duel the first actor hits 
+	 * 	the second one and, if he survived, the second one hits back, the same 
+	 * 	round as the one of BattleSimulator.
+	 * 		Every row appears in at most one duel, so the duels are independent and
+	 * 		the round runs in passes over all of them at once: one pass draws the
+	 * 		luck of every attacker, one pass over plain arrays resolves every strike
+	 * 		and one pass writes the hit points back and handles the rare kills.
+	 * 		Because of these passes the luck of the actors is drawn in another order
+	 * 		than in a sequence of hits, so the round only has the effect of that
+	 * 		sequence when every actor in it draws from a random source of his own.
+	 *
+	 * @param 	firsts
+	 * 			The indices of the rows of the actors striking first.
+	 * @param 	seconds
+	 * 			The indices of the rows of their opponents.
+	 * @param 	count
+	 * 			The number of duels, taken from the start of both arrays.
+	 * @pre		No two rows in the duels share a random source.
+	 * 			| for each I,J in the rows of the duels
+	 * 			|	if(I != J) then getActor(I).getRandomSource() != getActor(J).getRandomSource()
+	 * @return	The number of strikes in the round.
+	 * @effect	The rows change like they would by
+	 * 			| for each I in 0..count-1
+	 * 			|	if(!isTerminated(firsts[I]) && canFight(firsts[I], seconds[I]))
+	 * 			|		then hit(firsts[I], seconds[I])
+	 * 			|			if(!isTerminated(seconds[I])) then hit(seconds[I], firsts[I])
+	 * @throws	IllegalArgumentException
+	 * 			When a row appears in more than one duel or twice in the same duel.
+	 * @throws	IndexOutOfBoundsException
+	 * 			When the count doesn't lie in both arrays, or when one of the indices
+	 * 			isn't the index of a row of this table.
+	 */
+	public int playRound(int[] firsts, int[] seconds, int count) 
+			throws IllegalArgumentException, IndexOutOfBoundsException {
+		if(count < 0 || count > firsts.length || count > seconds.length)
+			throw new IndexOutOfBoundsException("The count doesn't lie in both arrays.");
+		if(roundStamps.length < size)
+			roundStamps = copyOf(roundStamps, actors.length);
+		if(roundAttackers.length < count) {
+			roundAttackers = new int[count];
+			roundDefenders = new int[count];
+			roundLuck = new int[count];
+			roundThresholds = new int[count];
+			roundDamage = new int[count];
+			roundHitPoints = new int[count];
+			roundMaximum = new int[count];
+		}
+		int stamp = ++round;
+		int strikes = 0;
+		int active = 0;
+		for(int i = 0; i < count; i++) {
+			int first = firsts[i];
+			int second = seconds[i];
+			checkIndex(first);
+			checkIndex(second);
+			if(roundStamps[first] == stamp || roundStamps[second] == stamp || first == second)
+				throw new IllegalArgumentException("Row " + first + " or " + second + " is in more than one duel.");
+			roundStamps[first] = stamp;
+			roundStamps[second] = stamp;
+			if(!terminated[first] && canFight(first, second)) {
+				roundAttackers[active] = first;
+				roundDefenders[active] = second;
+				active++;
+			}
+		}
+		strikes += strikeAll(active);
+		int survivors = 0;
+		for(int k = 0; k < active; k++) {
+			int second = roundDefenders[k];
+			if(!terminated[second]) {
+				roundDefenders[survivors] = roundAttackers[k];
+				roundAttackers[survivors] = second;
+				survivors++;
+			}
+		}
+		strikes += strikeAll(survivors);
+		return strikes;
+	}
+
+	/**
+	 * Lets the attackers in the first given number of positions of the round 
+	 * 	arrays strike their defenders and returns the number of strikes.
+	 */
+	private int strikeAll(int count) {
+		for(int k = 0; k < count; k++) {
+			int attacker = roundAttackers[k];
+			int defender = roundDefenders[k];
+			fighting[attacker] = true;
+			fighting[defender] = true;
+			roundLuck[k] = rollLuck(attacker);
+			roundThresholds[k] = (int)Math.ceil(protection[defender]);
+			roundDamage[k] = damage[attacker];
+			roundHitPoints[k] = hitPoints[defender];
+			roundMaximum[k] = maxHitPoints[defender];
+		}
+		resolveStrikes(count, roundLuck, roundThresholds, roundDamage, roundHitPoints, roundMaximum);
+		for(int k = 0; k < count; k++) {
+			int defender = roundDefenders[k];
+			hitPoints[defender] = roundHitPoints[k];
+			if(roundHitPoints[k] == 0 && roundLuck[k] >= roundThresholds[k])
+				kill(roundAttackers[k], defender);
+		}
+		return count;
+	}
+
+	/**
+	 * Resolves a given number of strikes, stored in parallel arrays, in place.
+	 * 		The loop only does integer arithmetic on arrays walked in order, which
+	 * 		the compiler of the virtual machine can turn into vector instructions.
+	 * 		A luck factor is an integer, so it beats a protection factor if and only
+	 * 		if it beats the protection rounded up.
+	 *
+	 * @param 	count
+	 * 			The number of strikes.
+	 * @param 	luck
+	 * 			The luck factor of every attacker.
+	 * @param 	thresholds
+	 * 			The protection of every defender, rounded up.
+	 * @param 	damage
+	 * 			The damage of every attacker.
+	 * @param 	hitPoints
+	 * 			The hit points of every defender, replaced by his hit points after the strike.
+	 * @param 	maximum
+	 * 			The maximum hit points of every defender.
+	 * @post	| for each I in 0..count-1
+	 * 			|	if(luck[I] >= thresholds[I])
+	 * 			|		then new.hitPoints[I] == getHitPointsAfterHit(hitPoints[I], maximum[I], damage[I])
+	 * 			|		else new.hitPoints[I] == hitPoints[I]
+	 */
+	static void resolveStrikes(int count, int[] luck, int[] thresholds, int[] damage, 
+			int[] hitPoints, int[] maximum) {
+		for(int k = 0; k < count; k++) {
+			int hit = Math.min(maximum[k], Math.max(0, hitPoints[k] - damage[k]));
+			hitPoints[k] = (luck[k] >= thresholds[k]) ? hit : hitPoints[k];
+		}
+	}
+
+	/**
+	 * Lets the actor of a given row heal after killing the actor of another row 
+	 * 	and loot his items.
+	 */
+	private void kill(int attacker, int defender) {
+		if(kinds[attacker] == hero)
+			hitPoints[attacker] += randomSources[attacker].randomInt(maxHitPoints[attacker] - hitPoints[attacker]);
+		terminated[defender] = true;
+		killers[defender] = attacker;
+		if(numberOfDeaths == deaths.length)
+			deaths = copyOf(deaths, Math.max(16, 2 * numberOfDeaths));
+		deaths[numberOfDeaths++] = defender;
+		Actor killer = actors[attacker];
+		killer.setCombatState(true, hitPoints[attacker]);
+		actors[defender].setCombatState(true, 0);
+		killer.loot(actors[defender]);
+		CombatProfile profile = killer.getCombatProfile();
+		damage[attacker] = profile.getDamage();
+		protection[attacker] = profile.getProtection();
+	}
+
+	/**
+	 * Return the actor of a given row.
+	 *
+	 * @param 	index
+	 * 			The index of the row.
+	 * @throws	IndexOutOfBoundsException
+	 * 			| index < 0 || index >= getSize()
+	 */
+	public Actor getActor(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		return actors[index];
+	}
+
+	/**
+	 * Return the hit points in a given row.
+	 *
+	 * @param 	index
+	 * 			The index of the row.
+	 * @throws	IndexOutOfBoundsException
+	 * 			| index < 0 || index >= getSize()
+	 */
+	public int getHitPoints(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		return hitPoints[index];
+	}
+
+	/**
+	 * Return the maximum hit points in a given row.
+	 *
+	 * @param 	index
+	 * 			The index of the row.
+	 * @throws	IndexOutOfBoundsException
+	 * 			| index < 0 || index >= getSize()
+	 */
+	public int getMaxHitPoints(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		return maxHitPoints[index];
+	}
+
+	/**
+	 * Return the fighting status in a given row.
+	 *
+	 * @param 	index
+	 * 			The index of the row.
+	 * @throws	IndexOutOfBoundsException
+	 * 			| index < 0 || index >= getSize()
+	 */
+	public boolean isFighting(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		return fighting[index];
+	}
+
+	/**
+	 * Return whether the actor of a given row is terminated.
+	 *
+	 * @param 	index
+	 * 			The index of the row.
+	 * @throws	IndexOutOfBoundsException
+	 * 			| index < 0 || index >= getSize()
+	 */
+	public boolean isTerminated(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		return terminated[index];
+	}
+
+	/**
+	 * Return the strength in a given row.
+	 *
+	 * @param 	index
+	 * 			The index of the row.
+	 * @throws	IndexOutOfBoundsException
+	 * 			| index < 0 || index >= getSize()
+	 */
+	public double getStrength(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		return strength[index];
+	}
+
+	/**
+	 * Return the damage in a given row.
+	 *
+	 * @param 	index
+	 * 			The index of the row.
+	 * @throws	IndexOutOfBoundsException
+	 * 			| index < 0 || index >= getSize()
+	 */
+	public int getDamage(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		return damage[index];
+	}
+
+	/**
+	 * Return the protection factor in a given row.
+	 *
+	 * @param 	index
+	 * 			The index of the row.
+	 * @throws	IndexOutOfBoundsException
+	 * 			| index < 0 || index >= getSize()
+	 */
+	public double getProtection(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		return protection[index];
+	}
+
+	/**
+	 * Return the index of the row of the actor that killed the actor of a given row
+	 * 	in this table, or -1 if it wasn't killed since it was loaded.
+	 *
+	 * @param 	index
+	 * 			The index of the row.
+	 * @throws	IndexOutOfBoundsException
+	 * 			| index < 0 || index >= getSize()
+	 */
+	public int getKiller(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		return killers[index];
+	}
+
+	/**
+	 * Return the number of actors killed in this table since it was last stored.
+	 */
+	@Basic
+	public int getNumberOfDeaths() {
+		return numberOfDeaths;
+	}
+
+	/**
+	 * Return the index of the row of the actor that died at a given position in
+	 * 	the order of the deaths in this table.
+	 *
+	 * @param 	position
+	 * 			The position of the death, starting at zero.
+	 * @throws	IndexOutOfBoundsException
+	 * 			| position < 0 || position >= getNumberOfDeaths()
+	 */
+	public int getDeath(int position) throws IndexOutOfBoundsException {
+		if(position < 0 || position >= numberOfDeaths)
+			throw new IndexOutOfBoundsException("No death at position " + position);
+		return deaths[position];
+	}
+
+	/**
+	 * Checks whether a given index is the index of a row of this table.
+	 */
+	private void checkIndex(int index) throws IndexOutOfBoundsException {
+		if(index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("No row at index " + index);
+	}
+
+	/**
+	 * Gives every column of this table room for a given number of rows, keeping
+	 * 	the rows it holds.
+	 */
+	private void allocate(int capacity) {
+		Actor[] newActors = new Actor[capacity];
+		RandomSource[] newRandomSources = new RandomSource[capacity];
+		byte[] newKinds = new byte[capacity];
+		boolean[] newFighting = new boolean[capacity];
+		boolean[] newTerminated = new boolean[capacity];
+		double[] newStrength = new double[capacity];
+		double[] newProtection = new double[capacity];
+		if(size > 0) {
+			System.arraycopy(actors, 0, newActors, 0, size);
+			System.arraycopy(randomSources, 0, newRandomSources, 0, size);
+			System.arraycopy(kinds, 0, newKinds, 0, size);
+			System.arraycopy(fighting, 0, newFighting, 0, size);
+			System.arraycopy(terminated, 0, newTerminated, 0, size);
+			System.arraycopy(strength, 0, newStrength, 0, size);
+			System.arraycopy(protection, 0, newProtection, 0, size);
+		}
+		actors = newActors;
+		randomSources = newRandomSources;
+		kinds = newKinds;
+		fighting = newFighting;
+		terminated = newTerminated;
+		strength = newStrength;
+		protection = newProtection;
+		hitPoints = copyOf(hitPoints, capacity);
+		maxHitPoints = copyOf(maxHitPoints, capacity);
+		damage = copyOf(damage, capacity);
+		killers = copyOf(killers, capacity);
+		if(deaths == null)
+			deaths = new int[0];
+	}
+
+	/**
+	 * Return a copy of a given array of integers with a given length, or a new
+	 * 	array if the given one isn't effective.
+	 */
+	private static int[] copyOf(int[] array, int length) {
+		int[] result = new int[length];
+		if(array != null)
+			System.arraycopy(array, 0, result, 0, Math.min(array.length, length));
+		return result;
+	}
+
+	/**
+	 * Variable referencing the actor of every row.
+	 */
+	private Actor[] actors;
+
+	/**
+	 * Variable referencing the random source of the actor of every row.
+	 */
+	private RandomSource[] randomSources;
+
+	/**
+	 * Variable registering whether every row holds a hero or a monster.
+	 */
+	private byte[] kinds;
+
+	/**
+	 * Variable registering the hit points of every row.
+	 */
+	private int[] hitPoints;
+
+	/**
+	 * Variable registering the maximum hit points of every row.
+	 */
+	private int[] maxHitPoints;
+
+	/**
+	 * Variable registering the fighting status of every row.
+	 */
+	private boolean[] fighting;
+
+	/**
+	 * Variable registering whether the actor of every row is terminated.
+	 */
+	private boolean[] terminated;
+
+	/**
+	 * Variable registering the strength of every row.
+	 */
+	private double[] strength;
+
+	/**
+	 * Variable registering the damage of every row.
+	 */
+	private int[] damage;
+
+	/**
+	 * Variable registering the protection factor of every row.
+	 */
+	private double[] protection;
+
+	/**
+	 * Variable registering the row of the killer of every row, or -1.
+	 */
+	private int[] killers;
+
+	/**
+	 * Variable registering the rows killed in this table, in the order they died.
+	 */
+	private int[] deaths;
+
+	/**
+	 * Variable registering the number of rows killed in this table since it was last stored.
+	 */
+	private int numberOfDeaths;
+
+	/**
+	 * Variable registering the last round played in this table.
+	 */
+	private int round;
+
+	/**
+	 * Variable registering for every row the last round it took part in.
+	 */
+	private int[] roundStamps = new int[0];
+
+	/**
+	 * Variable registering the rows of the attackers of the strikes of a round.
+	 */
+	private int[] roundAttackers = new int[0];
+
+	/**
+	 * Variable registering the rows of the defenders of the strikes of a round.
+	 */
+	private int[] roundDefenders = new int[0];
+
+	/**
+	 * Variable registering the luck factors of the strikes of a round.
+	 */
+	private int[] roundLuck;
+
+	/**
+	 * Variable registering the protection of the defenders of the strikes of a round, rounded up.
+	 */
+	private int[] roundThresholds;
+
+	/**
+	 * Variable registering the damage of the attackers of the strikes of a round.
+	 */
+	private int[] roundDamage;
+
+	/**
+	 * Variable registering the hit points of the defenders of the strikes of a round.
+	 */
+	private int[] roundHitPoints;
+
+	/**
+	 * Variable registering the maximum hit points of the defenders of the strikes of a round.
+	 */
+	private int[] roundMaximum;
+}
@@ -0,0 +1,192 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ActorTableTest {
+
+	/**
+	 * Creates four heroes followed by four monsters without items, each with a random
+	 * 	source of its own, the same for every invocation.
+	 */
+	private static Actor[] createActors() {
+		Actor[] actors = new Actor[8];
+		for(int i = 0; i < 4; i++)
+			actors[i] = new Hero("Hero", 200, 15, null, new SplittableRandomSource(i));
+		for(int i = 4; i < 8; i++)
+			actors[i] = new Monster("Creep", 120, 9, new Item[0], new SplittableRandomSource(i));
+		return actors;
+	}
+
+	private static ActorTable createTable(Actor[] actors) {
+		ActorTable table = new ActorTable(2);
+		for(Actor actor : actors)
+			table.add(actor);
+		return table;
+	}
+
+	@Test
+	public void testLoad() {
+		Actor[] actors = createActors();
+		ActorTable table = createTable(actors);
+		assertEquals(8, table.getSize());
+		for(int i = 0; i < actors.length; i++) {
+			assertSame(actors[i], table.getActor(i));
+			assertEquals(actors[i].getHitPoints(), table.getHitPoints(i));
+			assertEquals(actors[i].getMaxHitpoints(), table.getMaxHitPoints(i));
+			assertEquals(actors[i].getStrength(), table.getStrength(i), 0);
+			assertEquals(actors[i].getDamage(), table.getDamage(i));
+			assertEquals(actors[i].getProtection(), table.getProtection(i), 0);
+			assertFalse(table.isFighting(i));
+			assertFalse(table.isTerminated(i));
+			assertEquals(-1, table.getKiller(i));
+		}
+	}
+
+	@Test
+	public void testHitsMatchActors() {
+		Actor[] actors = createActors();
+		Actor[] copies = createActors();
+		ActorTable table = createTable(copies);
+		Random random = new Random(7);
+		int kills = 0;
+		for(int n = 0; n < 5000; n++) {
+			int attacker = random.nextInt(8);
+			int defender = random.nextInt(8);
+			if(table.isTerminated(attacker) || !table.canFight(attacker, defender))
+				continue;
+			int before = actors[defender].getHitPoints();
+			actors[attacker].hit(actors[defender]);
+			assertEquals(before - actors[defender].getHitPoints(), table.hit(attacker, defender));
+			for(int i = 0; i < actors.length; i++) {
+				assertEquals(actors[i].getHitPoints(), table.getHitPoints(i));
+				assertEquals(actors[i].isTerminated(), table.isTerminated(i));
+				assertEquals(actors[i].isFighting(), table.isFighting(i));
+			}
+			if(actors[defender].isTerminated()) {
+				assertEquals(attacker, table.getKiller(defender));
+				assertEquals(defender, table.getDeath(kills++));
+			}
+		}
+		assertTrue(kills > 0);
+		assertEquals(kills, table.getNumberOfDeaths());
+		table.store();
+		assertEquals(0, table.getNumberOfDeaths());
+		for(int i = 0; i < actors.length; i++) {
+			assertEquals(actors[i].getHitPoints(), copies[i].getHitPoints());
+			assertEquals(actors[i].isTerminated(), copies[i].isTerminated());
+			assertEquals(actors[i].isFighting(), copies[i].isFighting());
+			assertEquals(actors[i].getWeight(), copies[i].getWeight());
+		}
+	}
+
+	@Test
+	public void testHitAll() {
+		ActorTable batch = createTable(createActors());
+		ActorTable single = createTable(createActors());
+		Random random = new Random(11);
+		int[] attackers = new int[3000];
+		int[] defenders = new int[3000];
+		for(int i = 0; i < attackers.length; i++) {
+			attackers[i] = random.nextInt(8);
+			defenders[i] = random.nextInt(8);
+		}
+		int hits = 0;
+		for(int i = 0; i < attackers.length; i++)
+			if(!single.isTerminated(attackers[i]) && single.canFight(attackers[i], defenders[i])) {
+				single.hit(attackers[i], defenders[i]);
+				hits++;
+			}
+		assertEquals(hits, batch.hitAll(attackers, defenders, 0, attackers.length));
+		for(int i = 0; i < 8; i++) {
+			assertEquals(single.getHitPoints(i), batch.getHitPoints(i));
+			assertEquals(single.isTerminated(i), batch.isTerminated(i));
+		}
+	}
+
+	@Test
+	public void testCanFight() {
+		ActorTable table = createTable(createActors());
+		assertFalse(table.canFight(0, 0));
+		assertFalse(table.canFight(0, 1));
+		assertTrue(table.canFight(0, 4));
+		assertTrue(table.canFight(4, 0));
+		assertTrue(table.canFight(4, 5));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testHeroHitsHero() {
+		createTable(createActors()).hit(0, 1);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testInvalidIndex() {
+		createTable(createActors()).getHitPoints(8);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeCapacity() {
+		new ActorTable(-1);
+	}
+
+	@Test
+	public void testPlayRoundMatchesHits() {
+		ActorTable round = new ActorTable();
+		ActorTable single = new ActorTable();
+		for(int i = 0; i < 64; i++) {
+			round.add(createDuelist(i));
+			single.add(createDuelist(i));
+		}
+		int[] firsts = new int[32];
+		int[] seconds = new int[32];
+		for(int i = 0; i < 32; i++) {
+			firsts[i] = (i % 2 == 0) ? i : 32 + i;
+			seconds[i] = (i % 2 == 0) ? 32 + i : i;
+		}
+		for(int n = 0; n < 200; n++) {
+			int strikes = 0;
+			for(int i = 0; i < 32; i++)
+				if(!single.isTerminated(firsts[i]) && single.canFight(firsts[i], seconds[i])) {
+					single.hit(firsts[i], seconds[i]);
+					strikes++;
+					if(!single.isTerminated(seconds[i])) {
+						single.hit(seconds[i], firsts[i]);
+						strikes++;
+					}
+				}
+			assertEquals(strikes, round.playRound(firsts, seconds, 32));
+			for(int i = 0; i < 64; i++) {
+				assertEquals(single.getHitPoints(i), round.getHitPoints(i));
+				assertEquals(single.isTerminated(i), round.isTerminated(i));
+				assertEquals(single.getDamage(i), round.getDamage(i));
+			}
+		}
+		assertTrue(round.getNumberOfDeaths() > 0);
+	}
+
+	/**
+	 * Creates the hero or monster for a given row of a table of duels: the first 
+	 * 	half are heroes, some of them with a negative damage, the second half monsters.
+	 */
+	private static Actor createDuelist(int row) {
+		if(row < 32)
+			return new Hero("Hero", 150, (row % 4 == 0) ? 2 : 15, null, new SplittableRandomSource(row));
+		return new Monster("Creep", 100, 5 + row % 7, row % 3, new SplittableRandomSource(row));
+	}
+
+	@Test
+	public void testGetHitPointsAfterHit() {
+		assertEquals(7, ActorTable.getHitPointsAfterHit(10, 20, 3));
+		assertEquals(0, ActorTable.getHitPointsAfterHit(2, 20, 3));
+		assertEquals(13, ActorTable.getHitPointsAfterHit(10, 20, -3));
+		assertEquals(20, ActorTable.getHitPointsAfterHit(18, 20, -3));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPlayRoundSharedRow() {
+		createTable(createActors()).playRound(new int[] {0, 1}, new int[] {4, 4}, 2);
+	}
+}
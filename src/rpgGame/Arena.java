@@ -0,0 +1,388 @@
+package rpgGame;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of arenas hosting many fights between heroes and monsters at once.
+ * 		The fights share a small pool of threads: a fight plays some turns and then
+ * 		hands its thread to the next fight, and a paced fight waits for its next
+ * 		turn on a timer instead of sleeping on a thread of its own. Ten thousand
+ * 		fights therefore cost ten thousand small objects, not ten thousand threads.
+ * 		An actor that takes part in more than one fight at the same time needs
+ * 		concurrent combat to be turned on in the class Actor.
+ *
+ * @invar	The maximum number of rounds of an arena is positive.
+ * 			| getMaximumNumberOfRounds() > 0
+ *
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class Arena {
+
+	/**
+	 * Initializes a new arena with a given number of threads and a given maximum
+	 * 	number of rounds.
+	 *
+	 * @param 	numberOfThreads
+	 * 			The number of threads the fights of the new arena share.
+	 * @param 	maximumNumberOfRounds
+	 * 			The number of rounds after which a fight is called a draw.
+	 * @post	| new.getMaximumNumberOfRounds() == maximumNumberOfRounds
+	 * @throws	IllegalArgumentException
+	 * 			When one of the given numbers isn't positive.
+	 * 			| numberOfThreads <= 0 || maximumNumberOfRounds <= 0
+	 */
+	public Arena(int numberOfThreads, int maximumNumberOfRounds) throws IllegalArgumentException {
+		if(numberOfThreads <= 0 || maximumNumberOfRounds <= 0)
+			throw new IllegalArgumentException("The number of threads and rounds must be positive.");
+		this.maximumNumberOfRounds = maximumNumberOfRounds;
+		this.executor = new ScheduledThreadPoolExecutor(numberOfThreads, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "Arena worker " + numberOfWorkers.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		executor.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * Initializes a new arena with a thread for every processor, calling a fight
+	 * 	a draw after a million rounds.
+	 *
+	 * @effect	| this(Runtime.getRuntime().availableProcessors(), 1000000)
+	 */
+	public Arena() {
+		this(Runtime.getRuntime().availableProcessors(), 1000000);
+	}
+
+	/**
+	 * Variable referencing the executor running the turns of the fights of this arena.
+	 */
+	private final ScheduledThreadPoolExecutor executor;
+
+	/**
+	 * Variable registering the number of threads this arena has created.
+	 */
+	private final AtomicInteger numberOfWorkers = new AtomicInteger();
+
+	/**
+	 * Return the number of rounds after which a fight in this arena is called a draw.
+	 */
+	@Basic
+	@Immutable
+	public int getMaximumNumberOfRounds() {
+		return maximumNumberOfRounds;
+	}
+
+	/**
+	 * Variable registering the number of rounds after which a fight is called a draw.
+	 */
+	private final int maximumNumberOfRounds;
+
+	/**
+	 * Starts a fight between two given actors in this arena.
+	 *
+	 * @param 	first
+	 * 			The actor that strikes first.
+	 * @param 	second
+	 * 			The actor that strikes second.
+	 * @param 	turnDelay
+	 * 			The time between two turns of the fight, or zero to play the fight
+	 * 			as fast as possible.
+	 * @param 	timeout
+	 * 			The time after which the fight is ended, or zero for no time limit.
+	 * @param 	unit
+	 * 			The unit of both given times.
+	 * @return	The new fight, running in this arena, or cancelled already when
+	 * 			this arena is shut down while the fight is being started.
+	 * 			| result.getFirst() == first && result.getSecond() == second
+	 * @effect	The listeners of this arena are told the fight started.
+	 * @throws	IllegalArgumentException
+	 * 			When the actors can't fight each other or a given time is negative.
+	 * 			| !first.canFightOpponent(second) || !second.canFightOpponent(first)
+	 * 			|	|| turnDelay < 0 || timeout < 0
+	 * @throws	IllegaleToestandsUitzondering
+	 * 			When this arena has been shut down.
+	 * 			| isShutDown()
+	 */
+	public ArenaFight start(Actor first, Actor second, long turnDelay, long timeout, TimeUnit unit)
+			throws IllegalArgumentException, IllegaleToestandsUitzondering {
+		if(first == null || !first.canFightOpponent(second) || !second.canFightOpponent(first))
+			throw new IllegalArgumentException("The given actors can't fight each other.");
+		if(turnDelay < 0 || timeout < 0)
+			throw new IllegalArgumentException("Times can't be negative.");
+		if(shutDown)
+			throw new IllegaleToestandsUitzondering("The arena has been shut down.");
+		ArenaFight fight = new ArenaFight(this, first, second, unit.toNanos(turnDelay));
+		runningFights.add(fight);
+		numberOfStartedFights.incrementAndGet();
+		for(ArenaListener listener : listeners)
+			listener.fightStarted(fight);
+		try {
+			if(timeout > 0)
+				fight.setTimeoutFuture(executor.schedule(new TimeoutTask(fight), timeout, unit));
+			scheduleTurn(fight, 0);
+		}
+		catch(RejectedExecutionException e) {
+			// shut down after the check above
+			fight.cancel();
+		}
+		if(shutDown)
+			// shut down after the fight was scheduled, but possibly before it was running
+			fight.cancel();
+		return fight;
+	}
+
+	/**
+	 * Starts a fight between two given actors in this arena, played as fast as
+	 * 	possible and without a time limit.
+	 *
+	 * @effect	| start(first, second, 0, 0, TimeUnit.MILLISECONDS)
+	 */
+	public ArenaFight start(Actor first, Actor second)
+			throws IllegalArgumentException, IllegaleToestandsUitzondering {
+		return start(first, second, 0, 0, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * A class of tasks ending a fight that took too long.
+	 */
+	private static class TimeoutTask implements Runnable {
+
+		TimeoutTask(ArenaFight fight) {
+			this.fight = fight;
+		}
+
+		@Override
+		public void run() {
+			fight.end(FightStatus.TIMED_OUT);
+		}
+
+		private final ArenaFight fight;
+	}
+
+	/**
+	 * Runs the next turns of a given fight after a given delay.
+	 *
+	 * @param 	fight
+	 * 			The fight to be run.
+	 * @param 	delay
+	 * 			The delay in nanoseconds, or zero to run the fight as soon as a thread is free.
+	 * @return	The task running the turns.
+	 */
+	Future<?> scheduleTurn(ArenaFight fight, long delay) {
+		if(delay > 0)
+			return executor.schedule(fight.getTurn(), delay, TimeUnit.NANOSECONDS);
+		return executor.submit(fight.getTurn());
+	}
+
+	/**
+	 * Registers that a given fight of this arena has ended and tells the listeners.
+	 */
+	void fightEnded(ArenaFight fight) {
+		runningFights.remove(fight);
+		switch(fight.getStatus()) {
+			case WON: numberOfWonFights.incrementAndGet(); break;
+			case DRAW: numberOfDraws.incrementAndGet(); break;
+			case CANCELLED: numberOfCancelledFights.incrementAndGet(); break;
+			case TIMED_OUT: numberOfTimedOutFights.incrementAndGet(); break;
+			default: numberOfFailedFights.incrementAndGet(); break;
+		}
+		for(ArenaListener listener : listeners)
+			listener.fightEnded(fight);
+	}
+
+	/**
+	 * Counts a hit in a fight of this arena.
+	 */
+	void countHit() {
+		numberOfHits.increment();
+	}
+
+	/**
+	 * Variable referencing the fights that are running in this arena.
+	 */
+	private final Set<ArenaFight> runningFights =
+			Collections.newSetFromMap(new ConcurrentHashMap<ArenaFight, Boolean>());
+
+	/**
+	 * Return the number of fights running in this arena.
+	 */
+	public int getNumberOfRunningFights() {
+		return runningFights.size();
+	}
+
+	/**
+	 * Return the number of fights started in this arena.
+	 */
+	public long getNumberOfStartedFights() {
+		return numberOfStartedFights.get();
+	}
+
+	/**
+	 * Variable registering the number of fights started in this arena.
+	 */
+	private final AtomicLong numberOfStartedFights = new AtomicLong();
+
+	/**
+	 * Return the number of fights in this arena that were won.
+	 */
+	public long getNumberOfWonFights() {
+		return numberOfWonFights.get();
+	}
+
+	/**
+	 * Variable registering the number of fights in this arena that were won.
+	 */
+	private final AtomicLong numberOfWonFights = new AtomicLong();
+
+	/**
+	 * Return the number of fights in this arena that were called a draw.
+	 */
+	public long getNumberOfDraws() {
+		return numberOfDraws.get();
+	}
+
+	/**
+	 * Variable registering the number of fights in this arena that were called a draw.
+	 */
+	private final AtomicLong numberOfDraws = new AtomicLong();
+
+	/**
+	 * Return the number of fights in this arena that were cancelled.
+	 */
+	public long getNumberOfCancelledFights() {
+		return numberOfCancelledFights.get();
+	}
+
+	/**
+	 * Variable registering the number of fights in this arena that were cancelled.
+	 */
+	private final AtomicLong numberOfCancelledFights = new AtomicLong();
+
+	/**
+	 * Return the number of fights in this arena that timed out.
+	 */
+	public long getNumberOfTimedOutFights() {
+		return numberOfTimedOutFights.get();
+	}
+
+	/**
+	 * Variable registering the number of fights in this arena that timed out.
+	 */
+	private final AtomicLong numberOfTimedOutFights = new AtomicLong();
+
+	/**
+	 * Return the number of fights in this arena that failed.
+	 */
+	public long getNumberOfFailedFights() {
+		return numberOfFailedFights.get();
+	}
+
+	/**
+	 * Variable registering the number of fights in this arena that failed.
+	 */
+	private final AtomicLong numberOfFailedFights = new AtomicLong();
+
+	/**
+	 * Return the number of hits made in all fights of this arena.
+	 */
+	public long getNumberOfHits() {
+		return numberOfHits.sum();
+	}
+
+	/**
+	 * Variable registering the number of hits made in all fights of this arena.
+	 * 		Every thread of the arena counts hits, so the counter is spread over
+	 * 		several cells instead of being a single contended number.
+	 */
+	private final LongAdder numberOfHits = new LongAdder();
+
+	/**
+	 * Adds a given listener to the listeners of this arena.
+	 *
+	 * @param 	listener
+	 * 			The listener to be added.
+	 * @throws	IllegalArgumentException
+	 * 			When the given listener isn't effective.
+	 * 			| listener == null
+	 */
+	public void addListener(ArenaListener listener) throws IllegalArgumentException {
+		if(listener == null)
+			throw new IllegalArgumentException("The listener must be effective.");
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a given listener from the listeners of this arena.
+	 *
+	 * @param 	listener
+	 * 			The listener to be removed.
+	 */
+	public void removeListener(ArenaListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Variable referencing the listeners of this arena.
+	 */
+	private final List<ArenaListener> listeners = new CopyOnWriteArrayList<ArenaListener>();
+
+	/**
+	 * Checks whether this arena has been shut down.
+	 */
+	@Basic
+	public boolean isShutDown() {
+		return shutDown;
+	}
+	
+	/**
+	 * Variable registering whether this arena has been shut down.
+	 */
+	private volatile boolean shutDown;
+
+	/**
+	 * Shuts this arena down, cancelling every fight that is still running.
+	 *
+	 * @post	| new.isShutDown()
+	 * @post	| new.getNumberOfRunningFights() == 0
+	 */
+	public void shutDown() {
+		shutDown = true;
+		for(ArenaFight fight : runningFights)
+			fight.cancel();
+		executor.shutdown();
+	}
+
+	/**
+	 * Waits until the threads of this arena, after it has been shut down, have
+	 * 	finished the turns they were playing.
+	 *
+	 * @param 	timeout
+	 * 			The longest time to wait.
+	 * @param 	unit
+	 * 			The unit of the given time.
+	 * @return	True if and only if all threads have finished.
+	 * @throws	InterruptedException
+	 * 			When the waiting thread is interrupted.
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return executor.awaitTermination(timeout, unit);
+	}
+}
@@ -0,0 +1,330 @@
+package rpgGame;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of fights between two actors, running in an arena.
+ * 		A fight is the same alternating loop as the fight of a battle simulator,
+ * 		but it doesn't own a thread: it plays a number of turns whenever the arena
+ * 		runs it and then hands its thread back, to be run again right away or, when
+ * 		it is paced, after the delay between two turns. A fight that waits costs
+ * 		nothing but this object, so an arena can host many thousands of them.
+ *
+ * @invar	The status of a fight is effective.
+ * 			| getStatus() != null
+ *
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class ArenaFight {
+
+	/**
+	 * Initializes a new running fight between two given actors in a given arena.
+	 *
+	 * @param 	arena
+	 * 			The arena of the new fight.
+	 * @param 	first
+	 * 			The actor that strikes first.
+	 * @param 	second
+	 * 			The actor that strikes second.
+	 * @param 	turnDelay
+	 * 			The delay between two turns, in nanoseconds, or zero for a fight
+	 * 			that isn't paced.
+	 * @post	| new.getStatus() == FightStatus.RUNNING
+	 */
+	ArenaFight(Arena arena, Actor first, Actor second, long turnDelay) {
+		this.arena = arena;
+		this.first = first;
+		this.second = second;
+		this.turnDelay = turnDelay;
+	}
+
+	/**
+	 * Variable referencing the arena of this fight.
+	 */
+	private final Arena arena;
+
+	/**
+	 * Return the actor of this fight that strikes first.
+	 */
+	@Basic
+	@Immutable
+	public Actor getFirst() {
+		return first;
+	}
+
+	/**
+	 * Variable referencing the actor of this fight that strikes first.
+	 */
+	private final Actor first;
+
+	/**
+	 * Return the actor of this fight that strikes second.
+	 */
+	@Basic
+	@Immutable
+	public Actor getSecond() {
+		return second;
+	}
+
+	/**
+	 * Variable referencing the actor of this fight that strikes second.
+	 */
+	private final Actor second;
+
+	/**
+	 * Variable registering the delay between two turns of this fight in
+	 * 	nanoseconds, or zero when this fight isn't paced.
+	 */
+	private final long turnDelay;
+
+	/**
+	 * Return the status of this fight.
+	 */
+	@Basic
+	public FightStatus getStatus() {
+		return status.get();
+	}
+
+	/**
+	 * Variable referencing the status of this fight.
+	 */
+	private final AtomicReference<FightStatus> status = new AtomicReference<FightStatus>(FightStatus.RUNNING);
+
+	/**
+	 * Return the actor that won this fight, or null if nobody won it (yet).
+	 */
+	@Basic
+	public Actor getWinner() {
+		return winner;
+	}
+
+	/**
+	 * Variable referencing the actor that won this fight.
+	 */
+	private volatile Actor winner;
+
+	/**
+	 * Return the number of rounds played in this fight so far.
+	 */
+	@Basic
+	public int getNumberOfRounds() {
+		return numberOfRounds;
+	}
+
+	/**
+	 * Variable registering the number of rounds played in this fight.
+	 */
+	private volatile int numberOfRounds;
+
+	/**
+	 * Return the number of hits made in this fight so far.
+	 */
+	@Basic
+	public int getNumberOfHits() {
+		return numberOfHits;
+	}
+
+	/**
+	 * Variable registering the number of hits made in this fight.
+	 */
+	private volatile int numberOfHits;
+
+	/**
+	 * Return the exception that made this fight fail, or null if it didn't fail.
+	 */
+	@Basic
+	public Throwable getFailure() {
+		return failure;
+	}
+
+	/**
+	 * Variable referencing the exception that made this fight fail.
+	 */
+	private volatile Throwable failure;
+
+	/**
+	 * Cancels this fight.
+	 * 		A turn that is being played when the fight is cancelled finishes the
+	 * 		round it is in.
+	 *
+	 * @return	True if and only if this fight was still running.
+	 * 			| result == !getStatus().hasEnded()
+	 * @post	| new.getStatus().hasEnded()
+	 */
+	public boolean cancel() {
+		return end(FightStatus.CANCELLED);
+	}
+
+	/**
+	 * Waits until this fight has ended.
+	 *
+	 * @throws	InterruptedException
+	 * 			When the waiting thread is interrupted.
+	 */
+	public void await() throws InterruptedException {
+		ended.await();
+	}
+
+	/**
+	 * Waits until this fight has ended or a given time has passed.
+	 *
+	 * @param 	timeout
+	 * 			The longest time to wait.
+	 * @param 	unit
+	 * 			The unit of the given time.
+	 * @return	True if and only if the fight has ended.
+	 * 			| result == getStatus().hasEnded()
+	 * @throws	InterruptedException
+	 * 			When the waiting thread is interrupted.
+	 */
+	public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+		return ended.await(timeout, unit);
+	}
+
+	/**
+	 * Variable referencing the latch released when this fight ends.
+	 */
+	private final CountDownLatch ended = new CountDownLatch(1);
+
+	/**
+	 * Ends this fight in a given status, unless it has ended already.
+	 *
+	 * @param 	newStatus
+	 * 			The status to end in.
+	 * @return	True if and only if this fight was still running.
+	 */
+	boolean end(FightStatus newStatus) {
+		if(!status.compareAndSet(FightStatus.RUNNING, newStatus))
+			return false;
+		Future<?> future = timeoutFuture;
+		if(future != null)
+			future.cancel(false);
+		future = turnFuture;
+		if(future != null)
+			future.cancel(false);
+		arena.fightEnded(this);
+		ended.countDown();
+		return true;
+	}
+
+	/**
+	 * Registers the task that ends this fight when it takes too long.
+	 */
+	void setTimeoutFuture(Future<?> future) {
+		timeoutFuture = future;
+		if(getStatus().hasEnded())
+			future.cancel(false);
+	}
+
+	/**
+	 * Variable referencing the task that ends this fight when it takes too long.
+	 */
+	private volatile Future<?> timeoutFuture;
+
+	/**
+	 * Variable referencing the task that plays the next turns of this fight.
+	 */
+	private volatile Future<?> turnFuture;
+
+	/**
+	 * Return the task that plays the next turns of this fight.
+	 */
+	Runnable getTurn() {
+		return turn;
+	}
+
+	/**
+	 * Variable referencing the task that plays the next turns of this fight and
+	 * 	schedules itself again while the fight is running.
+	 */
+	private final Runnable turn = new Runnable() {
+		@Override
+		public void run() {
+			try {
+				if(playTurns() && !getStatus().hasEnded())
+					turnFuture = arena.scheduleTurn(ArenaFight.this, turnDelay);
+			}
+			catch(RejectedExecutionException e) {
+				// the arena was shut down while this turn was being played
+				end(FightStatus.CANCELLED);
+			}
+			catch(RuntimeException e) {
+				failure = e;
+				end(FightStatus.FAILED);
+			}
+		}
+	};
+
+	/**
+	 * Plays the turns of this fight the arena lets it play at once and returns
+	 * 	whether it has to be run again.
+	 * 		A paced fight plays a single turn, a fight that isn't paced plays a
+	 * 		number of turns, so that fights take turns without being rescheduled
+	 * 		after every round.
+	 */
+	private boolean playTurns() {
+		int turns = (turnDelay > 0) ? 1 : turnsPerRun;
+		for(int i = 0; i < turns; i++) {
+			if(getStatus().hasEnded())
+				return false;
+			if(numberOfRounds >= arena.getMaximumNumberOfRounds()) {
+				end(FightStatus.DRAW);
+				return false;
+			}
+			numberOfRounds++;
+			first.hit(second);
+			hit();
+			if(second.isTerminated()) {
+				win(first);
+				return false;
+			}
+			second.hit(first);
+			hit();
+			if(first.isTerminated()) {
+				win(second);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Counts a hit in this fight and in its arena.
+	 */
+	private void hit() {
+		numberOfHits++;
+		arena.countHit();
+	}
+
+	/**
+	 * Ends this fight with a given winner.
+	 */
+	private void win(Actor winner) {
+		this.winner = winner;
+		end(FightStatus.WON);
+	}
+
+	/**
+	 * Variable registering the number of turns a fight that isn't paced plays
+	 * 	every time it is run.
+	 */
+	private static final int turnsPerRun = 64;
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ArenaFight [" + first.getName() + " vs " + second.getName()
+				+ ", Status=" + getStatus()
+				+ ", Rounds=" + getNumberOfRounds()
+				+ ", Hits=" + getNumberOfHits() + "]";
+	}
+}
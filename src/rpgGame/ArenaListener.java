@@ -0,0 +1,28 @@
+package rpgGame;
+
+/**
+ * Interface representing anything that wants to follow the fights in an arena.
+ * 		The hooks are called on the threads of the arena, so they must be fast.
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public interface ArenaListener {
+
+	/**
+	 * Reports that a fight has started.
+	 * 
+	 * @param 	fight
+	 * 			The fight that started.
+	 */
+	public abstract void fightStarted(ArenaFight fight);
+	
+	/**
+	 * Reports that a fight has ended, whether it was won, called a draw, 
+	 * 	cancelled, timed out or failed.
+	 * 
+	 * @param 	fight
+	 * 			The fight that ended. Its status tells how.
+	 */
+	public abstract void fightEnded(ArenaFight fight);
+}
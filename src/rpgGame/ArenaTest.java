@@ -0,0 +1,191 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ArenaTest {
+
+	private Arena arena;
+
+	@Before
+	public void setUp() throws Exception {
+		arena = new Arena(4, 1000000);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		arena.shutDown();
+		assertTrue(arena.awaitTermination(10, TimeUnit.SECONDS));
+	}
+
+	private static Hero createHero(int seed) {
+		return new Hero("Hero", 300, 15, null, new SplittableRandomSource(seed));
+	}
+
+	private static Monster createMonster(int seed) {
+		return new Monster("Creep", 30, 4, new Item[0], new SplittableRandomSource(seed));
+	}
+
+	@Test
+	public void testManyFights() throws Exception {
+		final AtomicInteger started = new AtomicInteger();
+		final AtomicInteger ended = new AtomicInteger();
+		arena.addListener(new ArenaListener() {
+			@Override
+			public void fightStarted(ArenaFight fight) {
+				started.incrementAndGet();
+			}
+
+			@Override
+			public void fightEnded(ArenaFight fight) {
+				ended.incrementAndGet();
+			}
+		});
+		List<ArenaFight> fights = new ArrayList<ArenaFight>();
+		for(int i = 0; i < 10000; i++)
+			fights.add(arena.start(createHero(2 * i), createMonster(2 * i + 1)));
+		long hits = 0;
+		for(ArenaFight fight : fights) {
+			assertTrue(fight.await(30, TimeUnit.SECONDS));
+			assertEquals(FightStatus.WON, fight.getStatus());
+			assertTrue(fight.getWinner().isTerminated() == false);
+			assertTrue(fight.getWinner() == fight.getFirst() ? fight.getSecond().isTerminated()
+					: fight.getFirst().isTerminated());
+			hits += fight.getNumberOfHits();
+		}
+		assertEquals(10000, arena.getNumberOfStartedFights());
+		assertEquals(10000, arena.getNumberOfWonFights());
+		assertEquals(0, arena.getNumberOfRunningFights());
+		assertEquals(hits, arena.getNumberOfHits());
+		assertEquals(10000, started.get());
+		assertEquals(10000, ended.get());
+	}
+
+	@Test
+	public void testSameOutcomeAsSimulator() throws Exception {
+		BattleSimulator simulator = new BattleSimulator();
+		for(int i = 0; i < 100; i++) {
+			BattleResult result = simulator.fight(createHero(2 * i), createMonster(2 * i + 1));
+			ArenaFight fight = arena.start(createHero(2 * i), createMonster(2 * i + 1));
+			fight.await();
+			assertEquals(result.getNumberOfRounds(), fight.getNumberOfRounds());
+			assertEquals(result.getNumberOfHits(), fight.getNumberOfHits());
+			assertEquals(result.isWonByFirst(), fight.getWinner() == fight.getFirst());
+		}
+	}
+
+	@Test
+	public void testCancel() throws Exception {
+		ArenaFight fight = arena.start(new Hero("Hero", 1000000, 15), 
+				new Monster("Creep", 1000000, 4, new Item[0]), 50, 0, TimeUnit.MILLISECONDS);
+		Thread.sleep(120);
+		assertTrue(fight.cancel());
+		assertFalse(fight.cancel());
+		assertTrue(fight.await(1, TimeUnit.SECONDS));
+		assertEquals(FightStatus.CANCELLED, fight.getStatus());
+		int rounds = fight.getNumberOfRounds();
+		assertTrue(rounds >= 1);
+		Thread.sleep(120);
+		// at most the turn that was being played when the fight was cancelled
+		assertTrue(fight.getNumberOfRounds() <= rounds + 1);
+		assertEquals(1, arena.getNumberOfCancelledFights());
+	}
+
+	@Test
+	public void testTimeout() throws Exception {
+		ArenaFight fight = arena.start(new Hero("Hero", 1000000, 15), 
+				new Monster("Creep", 1000000, 4, new Item[0]), 20, 100, TimeUnit.MILLISECONDS);
+		assertTrue(fight.await(5, TimeUnit.SECONDS));
+		assertEquals(FightStatus.TIMED_OUT, fight.getStatus());
+		assertNull(fight.getWinner());
+		assertEquals(1, arena.getNumberOfTimedOutFights());
+	}
+
+	@Test
+	public void testDraw() throws Exception {
+		Arena shortArena = new Arena(1, 10);
+		ArenaFight fight = shortArena.start(new Hero("Hero", 1000000, 15), 
+				new Monster("Creep", 1000000, 4, new Item[0]));
+		fight.await();
+		assertEquals(FightStatus.DRAW, fight.getStatus());
+		assertEquals(10, fight.getNumberOfRounds());
+		shortArena.shutDown();
+	}
+
+	@Test
+	public void testShutDownCancelsFights() throws Exception {
+		ArenaFight fight = arena.start(new Hero("Hero", 1000000, 15), 
+				new Monster("Creep", 1000000, 4, new Item[0]), 1, 0, TimeUnit.SECONDS);
+		arena.shutDown();
+		assertTrue(arena.isShutDown());
+		assertEquals(FightStatus.CANCELLED, fight.getStatus());
+	}
+
+	@Test
+	public void testShutDownWhileStarting() throws Exception {
+		final List<ArenaFight> ended = new ArrayList<ArenaFight>();
+		arena.addListener(new ArenaListener() {
+			@Override
+			public void fightStarted(ArenaFight fight) {
+				arena.shutDown();
+			}
+
+			@Override
+			public void fightEnded(ArenaFight fight) {
+				ended.add(fight);
+			}
+		});
+		ArenaFight fight = arena.start(createHero(1), createMonster(2), 0, 1, TimeUnit.SECONDS);
+		assertEquals(FightStatus.CANCELLED, fight.getStatus());
+		assertEquals(0, arena.getNumberOfRunningFights());
+		assertEquals(1, ended.size());
+		assertSame(fight, ended.get(0));
+	}
+
+	@Test
+	public void testShutDownRacesStart() throws Exception {
+		final List<ArenaFight> fights = new ArrayList<ArenaFight>();
+		Thread starter = new Thread() {
+			@Override
+			public void run() {
+				try {
+					for(int i = 0; ; i++)
+						fights.add(arena.start(new Hero("Hero", 1000000, 15, null, new SplittableRandomSource(i)), 
+								new Monster("Creep", 1000000, 4, new Item[0], new SplittableRandomSource(-i))));
+				}
+				catch(IllegaleToestandsUitzondering e) {
+				}
+			}
+		};
+		starter.start();
+		Thread.sleep(20);
+		arena.shutDown();
+		starter.join(10000);
+		assertFalse(starter.isAlive());
+		for(ArenaFight fight : fights)
+			assertTrue(fight.getStatus().hasEnded());
+		assertEquals(0, arena.getNumberOfRunningFights());
+		assertEquals(arena.getNumberOfStartedFights(), arena.getNumberOfWonFights() + arena.getNumberOfDraws()
+				+ arena.getNumberOfCancelledFights() + arena.getNumberOfTimedOutFights());
+		assertEquals(0, arena.getNumberOfFailedFights());
+	}
+
+	@Test(expected = IllegaleToestandsUitzondering.class)
+	public void testStartAfterShutDown() {
+		arena.shutDown();
+		arena.start(createHero(1), createMonster(2));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testHeroesCantFight() {
+		arena.start(createHero(1), createHero(2));
+	}
+}
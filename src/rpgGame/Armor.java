@@ -15,7 +15,7 @@ public class Armor extends Enhancer {
 	 * Initializes a new armor with given ID.
 	 * 
 	 * @param 	ID
-	 * 			The number that will be use to calculate the ID of the new armor.
+	 * 			Ignored: the ID of the new armor is handed out by the current armor ID allocator.
 	 * @effect	This new armor is initialized in the same way a new armor 
 	 *			would be initialized with the more extended constructor 
 	 *			involving the given ID as its ID, a value in between 0 and 100 as its value, one as its 
@@ -31,10 +31,9 @@ public class Armor extends Enhancer {
 	 * Initializes a new armor with given ID and protection factor.
 	 * 
 	 * @param 	ID
-	 * 			The number that will be use to calculate the ID of the new armor.
+	 * 			Ignored: the ID of the new armor is handed out by the current armor ID allocator.
 	 * @param	protectionFactor
 	 * 			The protection factor of the armor.
-	 * @pre		ID is a positive non zero integer
 	 * @effect	This new armor is initialized in the same way a new armor 
 	 *			would be initialized with the more extended constructor 
 	 *			involving the given ID as its ID, the protection factor as its value, one as its 
@@ -50,12 +49,11 @@ public class Armor extends Enhancer {
 	 * Initializes a new armor with given ID, weight and maximum price.
 	 * 
 	 * @param 	ID
-	 * 			The number that will be use to calculate the ID of the new armor.
+	 * 			Ignored: the ID of the new armor is handed out by the current armor ID allocator.
 	 * @param 	weight
 	 * 			The weight of the new armor.
 	 * @param	maxPrice
 	 * 			The maximum price for this new armor.
-	 * @pre		ID is a positive non zero integer
 	 * @effect	This new armor is initialized in the same way a new armor 
 	 *			would be initialized with the more extended constructor 
 	 *			involving the given ID as its ID, a value in between 0 and 100 as its value, one as its 
@@ -70,14 +68,13 @@ public class Armor extends Enhancer {
 	 * Initializes a new armor with given ID, protection factor, weight and maximum price.
 	 * 
 	 * @param 	ID
-	 * 			The number that will be use to calculate the ID of the new armor.
+	 * 			Ignored: the ID of the new armor is handed out by the current armor ID allocator.
 	 * @param	protectionFactor
 	 * 			The protection factor of the armor.
 	 * @param 	weight
 	 * 			The weight of the new armor.
 	 * @param	maxPrice
 	 * 			The maximum price for this new armor.
-	 * @pre		ID is a positive non zero integer
 	 * @effect	This new armor is initialized in the same way a new armor  would be initialized 
 	 * 			with the more extended constructor involving the given ID as its ID, the given 
 	 * 			protection factor as its value, one as its mininum protection level and 100 as 
@@ -94,7 +91,7 @@ public class Armor extends Enhancer {
 	 * 		maximum protection factor, weight, maximum price and actual price.
 	 * 
 	 * @param 	ID
-	 * 			The number that will be use to calculate the ID of the new armor.
+	 * 			Ignored: the ID of the new armor is handed out by the current armor ID allocator.
 	 * @param	protectionFactor
 	 * 			The protection factor of the armor.
 	 * @param	min
@@ -107,10 +104,9 @@ public class Armor extends Enhancer {
 	 * 			The maximum price for this new armor.
 	 * @param	price
 	 * 			The price in amount of dukats for the new armor.
-	 * @pre		ID is a positive non zero integer
 	 * @pre		This new armor can have this maximum protection factor.
-	 * @post	This armor's ID is the greatest prime number under the given ID.
-	 * 			| getID() == MathHelp.greatestPrimeNumberUnder(ID);
+	 * @post	This armor's ID is the next ID of the armor ID allocator of the current thread.
+	 * 			| getID() == ArmorIdAllocator.getCurrent().nextID()
 	 * @post	The maximum price of this armor is equal to the given number.
 	 * @post	The maximum protection factor of this armor is equal to the given number.
 	 * @effect	A new Enhancer is initialized with ID as its ID, the given protection 
@@ -126,12 +122,18 @@ public class Armor extends Enhancer {
 		maximumValue = max;
 	}
 
-	/* (non-Javadoc)
-	 * @see Item#getNextID(long)
+	/**
+	 * Return the ID for a new armor.
+	 * 
+	 * @param 	ID
+	 * 			Ignored: two armors created with the same number must still get
+	 * 			different IDs.
+	 * @return	The next unique prime ID of the armor ID allocator of the current thread.
+	 * 			| result == ArmorIdAllocator.getCurrent().nextID()
 	 */
 	@Override
 	protected long getNextID(long ID) {
-		return MathHelp.greatestPrimeNumberUnder(ID);
+		return ArmorIdAllocator.getCurrent().nextID();
 	}
 
 	/**
@@ -0,0 +1,288 @@
+package rpgGame;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of allocators handing out unique prime IDs to armors.
+ * 		An allocator walks forward through the prime numbers from its high-water 
+ * 		mark, the largest number it has handed out or reserved so far, so it never 
+ * 		hands out the same ID twice. Finding the next prime takes a lookup in the
+ * 		prime sieve of MathHelp, which is amortized constant time.
+ * 		Parallel factories can reserve a block of IDs, an allocator of its own that
+ * 		hands out the primes of its block without touching the allocator it was 
+ * 		reserved from, and reserves a new block once it runs out. 
+ * 		The high-water mark can be saved to a file and restored from it, so that a
+ * 		restarted world never reissues an ID.
+ * 
+ * @invar	The high-water mark of an allocator is never negative.
+ * 			| getHighWaterMark() >= 0
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class ArmorIdAllocator {
+
+	/**
+	 * Initializes a new allocator that hasn't handed out any IDs yet.
+	 * 
+	 * @effect	The new allocator is initialized with zero as its high-water mark.
+	 * 			| this(0)
+	 */
+	public ArmorIdAllocator() {
+		this(0);
+	}
+	
+	/**
+	 * Initializes a new allocator with a given high-water mark.
+	 * 
+	 * @param 	highWaterMark
+	 * 			The largest number the new allocator may not hand out anymore.
+	 * @post	The high-water mark of the new allocator is the given high-water mark.
+	 * 			| new.getHighWaterMark() == highWaterMark
+	 * @throws	IllegalArgumentException
+	 * 			When the given high-water mark is negative.
+	 * 			| highWaterMark < 0
+	 */
+	public ArmorIdAllocator(long highWaterMark) throws IllegalArgumentException {
+		if(highWaterMark < 0)
+			throw new IllegalArgumentException("The high-water mark can't be negative.");
+		this.highWaterMark = highWaterMark;
+		this.blockEnd = Long.MAX_VALUE;
+		this.parent = null;
+		this.blockSize = 0;
+	}
+	
+	/**
+	 * Initializes a new block of IDs reserved from a given allocator.
+	 * 
+	 * @param 	parent
+	 * 			The allocator the block is reserved from.
+	 * @param 	blockSize
+	 * 			The number of IDs in the block.
+	 */
+	private ArmorIdAllocator(ArmorIdAllocator parent, int blockSize) {
+		this.parent = parent;
+		this.blockSize = blockSize;
+		refill();
+	}
+	
+	/**
+	 * Return the next unique prime ID of this allocator.
+	 * 
+	 * @return	The smallest prime number above the high-water mark of this allocator.
+	 * 			| result == MathHelp.smallestPrimeNumberAbove(getHighWaterMark())
+	 * @post	The new high-water mark of this allocator is the returned ID.
+	 * 			| new.getHighWaterMark() == result
+	 * @effect	If this allocator is a block that ran out of IDs, a new block of 
+	 * 			the same size is reserved from the allocator it was reserved from.
+	 */
+	public synchronized long nextID() {
+		long ID = MathHelp.smallestPrimeNumberAbove(highWaterMark);
+		if(ID > blockEnd) {
+			refill();
+			ID = MathHelp.smallestPrimeNumberAbove(highWaterMark);
+		}
+		highWaterMark = ID;
+		return ID;
+	}
+	
+	/**
+	 * Reserves a block of IDs for a factory of its own.
+	 * 
+	 * @param 	numberOfIDs
+	 * 			The number of IDs in the block.
+	 * @return	A new allocator handing out the next given number of prime IDs 
+	 * 			of this allocator, and reserving a new block of the same size from
+	 * 			this allocator each time it runs out.
+	 * @post	The high-water mark of this allocator is the largest ID in the block.
+	 * @throws	IllegalArgumentException
+	 * 			When the number of IDs isn't positive.
+	 * 			| numberOfIDs <= 0
+	 */
+	public ArmorIdAllocator reserveBlock(int numberOfIDs) throws IllegalArgumentException {
+		if(numberOfIDs <= 0)
+			throw new IllegalArgumentException("A block must contain at least one ID.");
+		return new ArmorIdAllocator(this, numberOfIDs);
+	}
+	
+	/**
+	 * Reserves the next block of IDs for this block from its parent.
+	 * 
+	 * @post	This block hands out the primes above the old high-water mark of 
+	 * 			its parent, up to and including the new high-water mark of its parent.
+	 */
+	private void refill() {
+		synchronized(parent) {
+			highWaterMark = parent.highWaterMark;
+			for(int i = 0; i < blockSize; i++)
+				parent.nextID();
+			blockEnd = parent.highWaterMark;
+		}
+	}
+	
+	/**
+	 * Return the largest number this allocator has handed out or reserved so far.
+	 * 	The next ID of this allocator is the smallest prime above it.
+	 */
+	@Basic
+	public synchronized long getHighWaterMark() {
+		return highWaterMark;
+	}
+	
+	/**
+	 * Variable registering the largest number this allocator has handed out or reserved.
+	 */
+	private long highWaterMark;
+	
+	/**
+	 * Variable registering the largest number in the current block of this allocator.
+	 * 	An allocator that isn't a block has no end.
+	 */
+	private long blockEnd;
+	
+	/**
+	 * Variable referencing the allocator this block is reserved from, or null
+	 * 	when this allocator isn't a block.
+	 */
+	private final ArmorIdAllocator parent;
+	
+	/**
+	 * Variable registering the number of IDs this block reserves at once.
+	 */
+	private final int blockSize;
+	
+	/**
+	 * Saves the high-water mark of this allocator to a given file.
+	 * 		Save the allocator IDs are actually handed out by, not one of its blocks: 
+	 * 		its high-water mark lies above every ID handed out by its blocks.
+	 * 		The high-water mark is written to a temporary file next to the given file,
+	 * 		which then atomically replaces it, so a crash while saving never leaves a
+	 * 		truncated file behind.
+	 * 
+	 * @param 	file
+	 * 			The file to save the high-water mark to.
+	 * @throws	IOException
+	 * 			When the file can't be written.
+	 */
+	public void save(File file) throws IOException {
+		File directory = file.getAbsoluteFile().getParentFile();
+		File temporary = File.createTempFile(file.getName(), ".tmp", directory);
+		try {
+			FileOutputStream stream = new FileOutputStream(temporary);
+			DataOutputStream output = new DataOutputStream(stream);
+			try {
+				output.writeInt(fileFormatVersion);
+				output.writeLong(getHighWaterMark());
+				output.flush();
+				stream.getFD().sync();
+			} finally {
+				output.close();
+			}
+			Files.move(temporary.toPath(), file.toPath(), 
+					StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			temporary.delete();
+		}
+	}
+	
+	/**
+	 * Restores the high-water mark of this allocator from a given file.
+	 * 
+	 * @param 	file
+	 * 			The file to restore the high-water mark from.
+	 * @post	The new high-water mark of this allocator is the largest of its old
+	 * 			high-water mark and the saved high-water mark, so that restoring an
+	 * 			old file never makes the allocator reissue an ID.
+	 * @throws	IOException
+	 * 			When the file can't be read or wasn't saved by an armor ID allocator.
+	 * @throws	IllegaleToestandsUitzondering
+	 * 			When this allocator is a block.
+	 * 			| parent != null
+	 */
+	public void restore(File file) throws IOException, IllegaleToestandsUitzondering {
+		if(parent != null)
+			throw new IllegaleToestandsUitzondering("A block of IDs can't be restored.");
+		DataInputStream input = new DataInputStream(new FileInputStream(file));
+		long savedMark;
+		try {
+			if(input.readInt() != fileFormatVersion)
+				throw new IOException("The file doesn't contain a high-water mark of armor IDs.");
+			savedMark = input.readLong();
+		} finally {
+			input.close();
+		}
+		if(savedMark < 0)
+			throw new IOException("The file contains an invalid high-water mark.");
+		synchronized(this) {
+			highWaterMark = Math.max(highWaterMark, savedMark);
+		}
+	}
+	
+	/**
+	 * Variable registering the version tag written at the start of a saved high-water mark.
+	 */
+	private static final int fileFormatVersion = 0x41494401;
+	
+	/**
+	 * Return the allocator armors created in the current thread get their IDs from.
+	 * 
+	 * @return	The allocator set for the current thread, or the default allocator
+	 * 			when no allocator was set for the current thread.
+	 */
+	public static ArmorIdAllocator getCurrent() {
+		ArmorIdAllocator allocator = current.get();
+		return (allocator == null) ? defaultAllocator : allocator;
+	}
+	
+	/**
+	 * Sets the allocator armors created in the current thread get their IDs from.
+	 * 
+	 * @param 	allocator
+	 * 			The new allocator for the current thread, for instance a block 
+	 * 			reserved for the factory running in it. Null resets the current
+	 * 			thread to the default allocator.
+	 */
+	public static void setCurrent(ArmorIdAllocator allocator) {
+		if(allocator == null)
+			current.remove();
+		else
+			current.set(allocator);
+	}
+	
+	/**
+	 * Return the allocator armors get their IDs from by default.
+	 */
+	@Basic
+	@Immutable
+	public static ArmorIdAllocator getDefault() {
+		return defaultAllocator;
+	}
+	
+	/**
+	 * Variable referencing the allocator armors get their IDs from by default.
+	 */
+	private static final ArmorIdAllocator defaultAllocator = new ArmorIdAllocator();
+	
+	/**
+	 * Variable referencing the allocator set for every thread.
+	 */
+	private static final ThreadLocal<ArmorIdAllocator> current = new ThreadLocal<ArmorIdAllocator>();
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ArmorIdAllocator [High-water mark=" + getHighWaterMark()
+				+ ((parent == null) ? "" : ", Block end=" + blockEnd) + "]";
+	}
+}
@@ -0,0 +1,129 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+public class ArmorIdAllocatorTest {
+
+	@Test
+	public void testIDsArePrimesInOrder() {
+		ArmorIdAllocator allocator = new ArmorIdAllocator();
+		long expected = 0;
+		for(int i = 0; i < 10000; i++) {
+			expected = MathHelp.smallestPrimeNumberAbove(expected);
+			assertEquals(expected, allocator.nextID());
+		}
+		assertEquals(expected, allocator.getHighWaterMark());
+	}
+
+	@Test
+	public void testArmorsWithSameNumberGetDifferentIDs() {
+		Armor first = new Armor(10);
+		Armor second = new Armor(10);
+		assertTrue(MathHelp.isPrime(first.getID()));
+		assertTrue(MathHelp.isPrime(second.getID()));
+		assertTrue(first.getID() != second.getID());
+	}
+
+	@Test
+	public void testBlocks() {
+		ArmorIdAllocator allocator = new ArmorIdAllocator(1000);
+		ArmorIdAllocator first = allocator.reserveBlock(3);
+		ArmorIdAllocator second = allocator.reserveBlock(2);
+		assertEquals(1031, allocator.getHighWaterMark());
+		assertEquals(1009, first.nextID());
+		assertEquals(1021, second.nextID());
+		assertEquals(1033, allocator.nextID());
+		assertEquals(1013, first.nextID());
+		assertEquals(1019, first.nextID());
+		// the first block reserves a new block once it runs out
+		assertEquals(1039, first.nextID());
+		assertEquals(1051, allocator.getHighWaterMark());
+	}
+
+	@Test
+	public void testParallelBlocksHandOutUniqueIDs() throws InterruptedException {
+		final ArmorIdAllocator allocator = new ArmorIdAllocator();
+		final long[][] IDs = new long[4][5000];
+		Thread[] threads = new Thread[IDs.length];
+		for(int t = 0; t < threads.length; t++) {
+			final long[] own = IDs[t];
+			threads[t] = new Thread() {
+				public void run() {
+					ArmorIdAllocator block = allocator.reserveBlock(64);
+					for(int i = 0; i < own.length; i++)
+						own[i] = block.nextID();
+				}
+			};
+			threads[t].start();
+		}
+		HashSet<Long> seen = new HashSet<Long>();
+		for(int t = 0; t < threads.length; t++) {
+			threads[t].join();
+			for(long ID : IDs[t]) {
+				assertTrue(MathHelp.isPrime(ID));
+				assertTrue(seen.add(ID));
+			}
+		}
+	}
+
+	@Test
+	public void testCurrentAllocator() {
+		ArmorIdAllocator allocator = new ArmorIdAllocator(2000000);
+		ArmorIdAllocator.setCurrent(allocator);
+		try {
+			assertEquals(2000003, new Armor(10).getID());
+		} finally {
+			ArmorIdAllocator.setCurrent(null);
+		}
+		assertSame(ArmorIdAllocator.getDefault(), ArmorIdAllocator.getCurrent());
+	}
+
+	@Test
+	public void testSaveAndRestore() throws IOException {
+		File file = File.createTempFile("armor", ".ids");
+		try {
+			ArmorIdAllocator allocator = new ArmorIdAllocator();
+			for(int i = 0; i < 100; i++)
+				allocator.nextID();
+			allocator.save(file);
+			ArmorIdAllocator restarted = new ArmorIdAllocator();
+			restarted.restore(file);
+			assertEquals(allocator.nextID(), restarted.nextID());
+			ArmorIdAllocator ahead = new ArmorIdAllocator(100000);
+			ahead.restore(file);
+			assertEquals(100000, ahead.getHighWaterMark());
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testSaveReplacesFileAtomically() throws IOException {
+		File directory = File.createTempFile("armor", ".dir");
+		directory.delete();
+		assertTrue(directory.mkdir());
+		File file = new File(directory, "armor.ids");
+		try {
+			new ArmorIdAllocator(1000).save(file);
+			new ArmorIdAllocator(5000).save(file);
+			assertEquals(1, directory.list().length);
+			ArmorIdAllocator restarted = new ArmorIdAllocator();
+			restarted.restore(file);
+			assertEquals(5000, restarted.getHighWaterMark());
+		} finally {
+			file.delete();
+			directory.delete();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeHighWaterMark() {
+		new ArmorIdAllocator(-1);
+	}
+}
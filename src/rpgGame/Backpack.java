@@ -4,6 +4,9 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import be.kuleuven.cs.som.annotate.Basic;
 import be.kuleuven.cs.som.annotate.Immutable;
@@ -68,14 +71,55 @@ public class Backpack extends Bag implements Holder, Iterable<Item>{
 		return false;
 	}
 
-	/* (non-Javadoc)
-	 * @see rpgGame.Item#getNextID(long)
+	/**
+	 * Returns the next ID number that is going to be used for a new backpack.
+	 * 		Backpack IDs are the sums of binomials of grade 1, 2, 3, ... in that order.
+	 * 		Only 62 of these fit in a long, so after the last one the grades start 
+	 * 		over at 1, as the IDs of purses do: every time they start over the 
+	 * 		number of ID wraps is incremented, and every backpack records the ID
+	 * 		wrap in which it got its ID. The first time a warning is logged to the
+	 * 		logger of this class, every later time only a message at level FINE.
+	 * 		An ID together with its ID wrap identifies a backpack. This method is
+	 * 		thread-safe: concurrent calls never receive the same position in the sequence.
+	 * 
+	 * @return	The sum of binomials of the grade following the previous one.
+	 * 			| result == MathHelp.getSumOfBinomials(previous grade + 1)
+	 * @post	The ID wrap of this backpack is the number of ID wraps before the ID
+	 * 			was handed out.
 	 */
 	@Override
 	@Basic
 	protected long getNextID(long ID) {
-		previousID++;
-		return MathHelp.getSumOfBinomials(previousID);
+		long position = issuedIDs.getAndIncrement();
+		int numberOfIDs = MathHelp.getMaximumGradeOfBinomials();
+		IDWrap = position / numberOfIDs;
+		if(IDWrap > 0 && position % numberOfIDs == 0)
+			logger.log((IDWrap == 1) ? Level.WARNING : Level.FINE, "Backpack IDs start over at 2 in ID wrap " 
+					+ IDWrap + ", IDs are now shared by several backpacks.");
+		return MathHelp.getSumOfBinomials(1 + (int)(position % numberOfIDs));
+	}
+	
+	/**
+	 * Returns the ID wrap in which this backpack got its ID.
+	 * 		Backpacks with the same ID have a different ID wrap.
+	 */
+	public long getIDWrap() {
+		return IDWrap;
+	}
+	
+	/**
+	 * Variable registering the ID wrap in which this backpack got its ID.
+	 * 		It is set by getNextID while the item is initialized, so it must not
+	 * 		have an initializer of its own.
+	 */
+	private long IDWrap;
+	
+	/**
+	 * Returns how many times the backpack IDs have started over at the first ID.
+	 * 		When the result is larger than zero, IDs are shared by several backpacks.
+	 */
+	public static long getNumberOfIDWraps() {
+		return issuedIDs.get() / MathHelp.getMaximumGradeOfBinomials();
 	}
 
 	/**
@@ -83,27 +127,25 @@ public class Backpack extends Bag implements Holder, Iterable<Item>{
 	 * 
 	 * @param 	ID
 	 * 			The ID to be checked.
-	 * @return	True if the ID is a sum of Binomials.
+	 * @return	True if the ID is a sum of Binomials of a grade of at least 1,
+	 * 			the grades backpacks are given.
 	 * 			| result == ID == MathHelp.getSumOfBinomials(i)
-	 * 			and the ID is positive.
-	 * 			| && ID > 0
+	 * 			| && ID >= MathHelp.getSumOfBinomials(1)
 	 */
 	@Override
 	public boolean isValidID(long ID) {
-		if(ID <= 0)
-			return false;
-
-		for(int i = 1; i <= previousID; i++){
-			if(ID == MathHelp.getSumOfBinomials(i))
-				return true;
-		}
-		return false;
+		return ID >= MathHelp.getSumOfBinomials(1) && MathHelp.isSumOfBinomials(ID);
 	}
 	
 	/**
-	 * A variable registering the last ID that was used to create a new backpack.
+	 * A variable registering how many IDs have been handed out to backpacks.
+	 */
+	private static final AtomicLong issuedIDs = new AtomicLong();
+	
+	/**
+	 * Constant referencing the logger of this class.
 	 */
-	private static long previousID = 0;
+	private static final Logger logger = Logger.getLogger(Backpack.class.getName());
 	
 	/* (non-Javadoc)
 	 * @see rpgGame.Holder#hasValidItems()
@@ -445,6 +487,7 @@ public class Backpack extends Bag implements Holder, Iterable<Item>{
 		result = prime * result
 				+ ((capacity == null) ? 0 : capacity.hashCode());
 		result = prime * result + ((content == null) ? 0 : content.hashCode());
+		result = prime * result + (int) (IDWrap ^ (IDWrap >>> 32));
 		return result;
 	}
 
@@ -477,6 +520,9 @@ public class Backpack extends Bag implements Holder, Iterable<Item>{
 		} else if (!content.equals(other.content)) {
 			return false;
 		}
+		if (IDWrap != other.IDWrap) {
+			return false;
+		}
 		return true;
 	}
 	
@@ -63,5 +63,35 @@ public class BackpackTest {
 		it.remove();
 		assertFalse(backpack.holdsItem(weapon));
 	}
+	
+	@Test
+	public void testIDsWrapAtOverflow() throws Exception {
+		for (int i = 0; i < 200; i++) {
+			Backpack other = new Backpack();
+			assertTrue(other.isValidID(other.getID()));
+		}
+	}
+	
+	@Test
+	public void testIDWrapsAreCounted() {
+		Backpack first = new Backpack();
+		Backpack second = null;
+		for(int i = 0; i < MathHelp.getMaximumGradeOfBinomials(); i++)
+			second = new Backpack();
+		assertTrue(Backpack.getNumberOfIDWraps() >= second.getIDWrap());
+		assertEquals(first.getID(), second.getID());
+		assertEquals(first.getIDWrap() + 1, second.getIDWrap());
+		assertFalse(first.equals(second));
+		assertFalse(first.hashCode() == second.hashCode());
+	}
+	
+	@Test
+	public void testIsValidID() {
+		assertFalse(backpack.isValidID(0));
+		assertFalse(backpack.isValidID(1));
+		assertTrue(backpack.isValidID(2));
+		assertFalse(backpack.isValidID(3));
+		assertTrue(backpack.isValidID(1L << 62));
+	}
 
 }
@@ -0,0 +1,142 @@
+package rpgGame;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of compact results of fights run by a battle simulator.
+ * 		A battle simulator fills the same result again for every fight, so a 
+ * 		result is only valid until the next fight of its simulator, unless it 
+ * 		was created by the caller.
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class BattleResult {
+
+	/**
+	 * Return the actor that won the fight, or null when the fight ended in a draw.
+	 */
+	@Basic
+	public Actor getWinner() {
+		return winner;
+	}
+	
+	/**
+	 * Checks whether the fight ended without a winner, because it reached the 
+	 * 	maximum number of rounds of the simulator.
+	 */
+	public boolean isDraw() {
+		return winner == null;
+	}
+	
+	/**
+	 * Checks whether the actor that struck first won the fight.
+	 */
+	@Basic
+	public boolean isWonByFirst() {
+		return winner != null && wonByFirst;
+	}
+	
+	/**
+	 * Return the number of rounds of the fight. In every round the first actor 
+	 * 	hits the second one, and the second one hits back if he survived.
+	 */
+	@Basic
+	public int getNumberOfRounds() {
+		return numberOfRounds;
+	}
+	
+	/**
+	 * Return the number of hits in the fight.
+	 */
+	@Basic
+	public int getNumberOfHits() {
+		return numberOfHits;
+	}
+	
+	/**
+	 * Return the total number of hit points the first actor took from the second one.
+	 */
+	@Basic
+	public long getDamageByFirst() {
+		return damageByFirst;
+	}
+	
+	/**
+	 * Return the total number of hit points the second actor took from the first one.
+	 */
+	@Basic
+	public long getDamageBySecond() {
+		return damageBySecond;
+	}
+	
+	/**
+	 * Return the number of items the winner took from the loser.
+	 */
+	@Basic
+	public int getLootMoved() {
+		return lootMoved;
+	}
+	
+	/**
+	 * Clears this result for a new fight.
+	 * 
+	 * @post	This result is a draw without rounds, hits, damage or loot.
+	 */
+	void reset() {
+		winner = null;
+		wonByFirst = false;
+		numberOfRounds = 0;
+		numberOfHits = 0;
+		damageByFirst = 0;
+		damageBySecond = 0;
+		lootMoved = 0;
+	}
+	
+	/**
+	 * Variable referencing the winner of the fight.
+	 */
+	Actor winner;
+	
+	/**
+	 * Variable registering whether the winner struck first.
+	 */
+	boolean wonByFirst;
+	
+	/**
+	 * Variable registering the number of rounds of the fight.
+	 */
+	int numberOfRounds;
+	
+	/**
+	 * Variable registering the number of hits in the fight.
+	 */
+	int numberOfHits;
+	
+	/**
+	 * Variable registering the damage dealt by the first actor.
+	 */
+	long damageByFirst;
+	
+	/**
+	 * Variable registering the damage dealt by the second actor.
+	 */
+	long damageBySecond;
+	
+	/**
+	 * Variable registering the number of items the winner took from the loser.
+	 */
+	int lootMoved;
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "BattleResult [Winner=" + (isDraw() ? "none" : getWinner().getName())
+				+ ", Rounds=" + getNumberOfRounds()
+				+ ", Hits=" + getNumberOfHits()
+				+ ", Damage=" + getDamageByFirst() + "/" + getDamageBySecond()
+				+ ", Loot=" + getLootMoved() + "]";
+	}
+}
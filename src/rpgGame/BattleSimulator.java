@@ -0,0 +1,268 @@
+package rpgGame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of simulators running fights between two actors without any output.
+ * 		The fight is the same alternating loop as the fight of the demo: the first 
+ * 		actor hits the second one and, if he survived, the second one hits back, 
+ * 		until one of them dies. A fight by initiative lets every actor act on his
+ * 		own cadence instead, as given by his turn interval.
+ * 		A simulator reuses its result and its other per-fight state for every 
+ * 		fight, so it isn't thread-safe: every thread needs its own simulator.
+ * 
+ * @invar	The maximum number of rounds of a simulator is positive.
+ * 			| getMaximumNumberOfRounds() > 0
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class BattleSimulator {
+
+	/**
+	 * Initializes a new battle simulator with a given maximum number of rounds.
+	 * 
+	 * @param 	maximumNumberOfRounds
+	 * 			The number of rounds after which a fight is called a draw.
+	 * @post	The maximum number of rounds of the new simulator is the given number.
+	 * 			| new.getMaximumNumberOfRounds() == maximumNumberOfRounds
+	 * @throws	IllegalArgumentException
+	 * 			When the given number isn't positive.
+	 * 			| maximumNumberOfRounds <= 0
+	 */
+	public BattleSimulator(int maximumNumberOfRounds) throws IllegalArgumentException {
+		if(maximumNumberOfRounds <= 0)
+			throw new IllegalArgumentException("The maximum number of rounds must be positive.");
+		this.maximumNumberOfRounds = maximumNumberOfRounds;
+	}
+	
+	/**
+	 * Initializes a new battle simulator calling a fight a draw after a million rounds.
+	 * 
+	 * @effect	| this(1000000)
+	 */
+	public BattleSimulator() {
+		this(1000000);
+	}
+	
+	/**
+	 * Return the number of rounds after which a fight of this simulator is called a draw.
+	 * 	Two actors that can't beat each other's protection would fight forever otherwise.
+	 */
+	@Basic
+	@Immutable
+	public int getMaximumNumberOfRounds() {
+		return maximumNumberOfRounds;
+	}
+	
+	/**
+	 * Variable registering the number of rounds after which a fight is called a draw.
+	 */
+	private final int maximumNumberOfRounds;
+	
+	/**
+	 * Lets two new actors fight each other.
+	 * 
+	 * @param 	first
+	 * 			The factory creating the actor that strikes first.
+	 * @param 	second
+	 * 			The factory creating the actor that strikes second.
+	 * @param 	random
+	 * 			The random source both new actors draw their random numbers from.
+	 * @effect	| fight(first.createActor(random), second.createActor(random))
+	 */
+	public BattleResult fight(ActorFactory first, ActorFactory second, RandomSource random) 
+			throws IllegalArgumentException {
+		return fight(first.createActor(random), second.createActor(random));
+	}
+	
+	/**
+	 * Lets two actors fight each other.
+	 * 
+	 * @param 	first
+	 * 			The actor that strikes first.
+	 * @param 	second
+	 * 			The actor that strikes second.
+	 * @return	The result of this simulator, filled in for this fight. It's only
+	 * 			valid until the next fight of this simulator.
+	 * 			| result == fight(first, second, result)
+	 * @throws	IllegalArgumentException
+	 * 			When the actors can't fight each other.
+	 */
+	public BattleResult fight(Actor first, Actor second) throws IllegalArgumentException {
+		return fight(first, second, result);
+	}
+	
+	/**
+	 * Lets two actors fight each other and stores the outcome in a given result.
+	 * 
+	 * @param 	first
+	 * 			The actor that strikes first.
+	 * @param 	second
+	 * 			The actor that strikes second.
+	 * @param 	result
+	 * 			The result to fill in.
+	 * @return	The given result.
+	 * @effect	The actors hit each other in turn, the first one first, until 
+	 * 			one of them is terminated or the maximum number of rounds is reached.
+	 * @throws	IllegalArgumentException
+	 * 			When the actors can't fight each other.
+	 * 			| !first.canFightOpponent(second) || !second.canFightOpponent(first)
+	 */
+	public BattleResult fight(Actor first, Actor second, BattleResult result) 
+			throws IllegalArgumentException {
+		if(!first.canFightOpponent(second) || !second.canFightOpponent(first))
+			throw new IllegalArgumentException("The given actors can't fight each other.");
+		result.reset();
+		numberOfLootCandidates = 0;
+		while(result.numberOfRounds < maximumNumberOfRounds) {
+			result.numberOfRounds++;
+			result.damageByFirst += strike(first, second, result);
+			if(second.isTerminated()) {
+				finish(first, true, result);
+				break;
+			}
+			result.damageBySecond += strike(second, first, result);
+			if(first.isTerminated()) {
+				finish(second, false, result);
+				break;
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Lets two actors fight each other by initiative.
+	 * 		Instead of taking turns, every actor acts whenever his turn interval has
+	 * 		passed since his previous action, so a fast actor may hit several times
+	 * 		before a slow one hits back. When both actors are due at the same tick, 
+	 * 		the first one acts first. Every tick at which an actor acts counts as a
+	 * 		round.
+	 * 
+	 * @param 	first
+	 * 			The actor that acts first when both are due.
+	 * @param 	second
+	 * 			The other actor.
+	 * @return	The result of this simulator, filled in for this fight. It's only
+	 * 			valid until the next fight of this simulator.
+	 * @effect	Every actor acts after his turn interval, computed anew after each
+	 * 			of his actions, until one of them is terminated or the maximum 
+	 * 			number of rounds is reached.
+	 * @throws	IllegalArgumentException
+	 * 			When the actors can't fight each other.
+	 * 			| !first.canFightOpponent(second) || !second.canFightOpponent(first)
+	 */
+	public BattleResult fightByInitiative(Actor first, Actor second) throws IllegalArgumentException {
+		if(!first.canFightOpponent(second) || !second.canFightOpponent(first))
+			throw new IllegalArgumentException("The given actors can't fight each other.");
+		result.reset();
+		numberOfLootCandidates = 0;
+		scheduler.scheduleNextTurn(first);
+		scheduler.scheduleNextTurn(second);
+		while(result.numberOfRounds < maximumNumberOfRounds) {
+			dueActors.clear();
+			if(scheduler.advance(dueActors) == 0)
+				continue;
+			result.numberOfRounds++;
+			boolean firstIsDue = false;
+			boolean secondIsDue = false;
+			for(Actor actor : dueActors) {
+				firstIsDue |= (actor == first);
+				secondIsDue |= (actor == second);
+			}
+			if(firstIsDue) {
+				result.damageByFirst += strike(first, second, result);
+				if(second.isTerminated()) {
+					finish(first, true, result);
+					break;
+				}
+				scheduler.scheduleNextTurn(first);
+			}
+			if(secondIsDue) {
+				result.damageBySecond += strike(second, first, result);
+				if(first.isTerminated()) {
+					finish(second, false, result);
+					break;
+				}
+				scheduler.scheduleNextTurn(second);
+			}
+		}
+		scheduler.cancel(first);
+		scheduler.cancel(second);
+		dueActors.clear();
+		return result;
+	}
+	
+	/**
+	 * Variable referencing the scheduler deciding when the actors of a fight by
+	 * 	initiative act.
+	 */
+	private final TurnScheduler scheduler = new TurnScheduler(2);
+	
+	/**
+	 * Variable referencing the list the actors that are due at a tick are put in.
+	 */
+	private final List<Actor> dueActors = new ArrayList<Actor>(2);
+	
+	/**
+	 * Lets an attacker hit a defender and returns the number of hit points the 
+	 * 	defender lost.
+	 * 		When the hit may kill the defender, his items are remembered first,
+	 * 		so that the loot can be counted afterwards.
+	 */
+	private int strike(Actor attacker, Actor defender, BattleResult result) {
+		int hitPoints = defender.getHitPoints();
+		if(hitPoints <= attacker.getDamage())
+			rememberItems(defender);
+		attacker.hit(defender);
+		result.numberOfHits++;
+		return hitPoints - defender.getHitPoints();
+	}
+	
+	/**
+	 * Fills in the winner of a fight and the number of items he took from the loser.
+	 */
+	private void finish(Actor winner, boolean wonByFirst, BattleResult result) {
+		result.winner = winner;
+		result.wonByFirst = wonByFirst;
+		for(int i = 0; i < numberOfLootCandidates; i++) {
+			if(winner.holdsItem(lootCandidates[i]))
+				result.lootMoved++;
+			lootCandidates[i] = null;
+		}
+		numberOfLootCandidates = 0;
+	}
+	
+	/**
+	 * Remembers the items a given actor carries directly.
+	 */
+	private void rememberItems(Actor actor) {
+		int anchors = actor.getNumberOfAnchors();
+		if(lootCandidates.length < anchors)
+			lootCandidates = new Item[anchors];
+		numberOfLootCandidates = 0;
+		for(int i = 0; i < anchors; i++) {
+			Item item = actor.getItem(i);
+			if(item != null)
+				lootCandidates[numberOfLootCandidates++] = item;
+		}
+	}
+	
+	/**
+	 * Variable referencing the result this simulator fills in for every fight.
+	 */
+	private final BattleResult result = new BattleResult();
+	
+	/**
+	 * Variable referencing the items of an actor that may be looted in this fight.
+	 */
+	private Item[] lootCandidates = new Item[16];
+	
+	/**
+	 * Variable registering the number of remembered items in lootCandidates.
+	 */
+	private int numberOfLootCandidates;
+}
@@ -0,0 +1,122 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class BattleSimulatorTest {
+
+	private BattleSimulator simulator;
+
+	@Before
+	public void setUp() throws Exception {
+		simulator = new BattleSimulator();
+	}
+
+	@Test
+	public void testFightHasWinner() {
+		Hero hero = new Hero("Frankenstein", 300, 15, null, new SplittableRandomSource(1));
+		Monster monster = new Monster("Creep", 120, 30, new Item[0], new SplittableRandomSource(2));
+		BattleResult result = simulator.fight(hero, monster);
+		assertFalse(result.isDraw());
+		assertFalse(result.getWinner().isTerminated());
+		Actor loser = result.isWonByFirst() ? monster : hero;
+		assertSame(result.isWonByFirst() ? hero : monster, result.getWinner());
+		assertTrue(loser.isTerminated());
+		assertEquals(0, loser.getHitPoints());
+		assertTrue(result.getNumberOfHits() == 2 * result.getNumberOfRounds() 
+				|| result.getNumberOfHits() == 2 * result.getNumberOfRounds() - 1);
+	}
+
+	@Test
+	public void testDamageAddsUp() {
+		Hero hero = new Hero("Frankenstein", 100000, 15, null, new SplittableRandomSource(3));
+		Monster monster = new Monster("Creep", 97, 30, new Item[0], new SplittableRandomSource(4));
+		BattleResult result = simulator.fight(hero, monster);
+		assertSame(hero, result.getWinner());
+		assertEquals(97, result.getDamageByFirst());
+	}
+
+	@Test
+	public void testLootIsCounted() {
+		Monster monster = new Monster("Creep", 2, 30, 4, new SplittableRandomSource(5));
+		int items = 0;
+		for(int i = 0; i < monster.getNumberOfAnchors(); i++)
+			if(monster.getItem(i) != null)
+				items++;
+		Monster other = new Monster("Beast", 100000, 60, new Item[10], new SplittableRandomSource(6));
+		BattleResult result = simulator.fight(other, monster);
+		assertSame(other, result.getWinner());
+		assertTrue(result.getLootMoved() <= items);
+		int held = 0;
+		for(int i = 0; i < other.getNumberOfAnchors(); i++)
+			if(other.getItem(i) != null)
+				held++;
+		assertEquals(held, result.getLootMoved());
+	}
+
+	@Test
+	public void testDrawAfterMaximumNumberOfRounds() {
+		BattleSimulator shortFights = new BattleSimulator(3);
+		Hero hero = new Hero("Frankenstein", 100000, 15, null, new SplittableRandomSource(7));
+		Monster monster = new Monster("Creep", 100000, 30, new Item[0], new SplittableRandomSource(8));
+		BattleResult result = shortFights.fight(hero, monster);
+		assertTrue(result.isDraw());
+		assertEquals(3, result.getNumberOfRounds());
+		assertEquals(6, result.getNumberOfHits());
+	}
+
+	@Test
+	public void testFactoriesAreReproducible() {
+		ActorFactory heroes = new ActorFactory() {
+			public Actor createActor(RandomSource random) {
+				return new Hero("Frankenstein", 300, 15, null, random);
+			}
+		};
+		ActorFactory monsters = new ActorFactory() {
+			public Actor createActor(RandomSource random) {
+				return new Monster("Creep", 200, 30, new Item[0], random);
+			}
+		};
+		String first = simulator.fight(heroes, monsters, new SplittableRandomSource(9)).toString();
+		String second = simulator.fight(heroes, monsters, new SplittableRandomSource(9)).toString();
+		assertEquals(first, second);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testHeroesDoNotFightHeroes() {
+		simulator.fight(new Hero("Frankenstein", 300, 15, null), new Hero("Dracula", 300, 15, null));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIllegalMaximumNumberOfRounds() {
+		new BattleSimulator(0);
+	}
+
+	@Test
+	public void testFasterActorHitsMoreOftenByInitiative() {
+		BattleSimulator shortFights = new BattleSimulator(4);
+		Monster fast = new Monster("Beast", 100000, 40, new Item[0], new SplittableRandomSource(9));
+		Monster slow = new Monster("Creep", 100000, 10, new Item[0], new SplittableRandomSource(10));
+		assertEquals(25, fast.getTurnInterval());
+		assertEquals(100, slow.getTurnInterval());
+		BattleResult result = shortFights.fightByInitiative(slow, fast);
+		assertTrue(result.isDraw());
+		assertEquals(4, result.getNumberOfRounds());
+		assertEquals(5, result.getNumberOfHits());
+	}
+
+	@Test
+	public void testFightByInitiativeHasWinner() {
+		Hero hero = new Hero("Frankenstein", 300, 15, null, new SplittableRandomSource(1));
+		Monster monster = new Monster("Creep", 120, 30, new Item[0], new SplittableRandomSource(2));
+		BattleResult result = simulator.fightByInitiative(hero, monster);
+		assertFalse(result.isDraw());
+		assertFalse(result.getWinner().isTerminated());
+		assertTrue((result.isWonByFirst() ? monster : hero).isTerminated());
+		result = simulator.fightByInitiative(new Hero("Dracula", 300, 15, null, new SplittableRandomSource(3)),
+				new Monster("Creep", 120, 30, new Item[0], new SplittableRandomSource(4)));
+		assertFalse(result.isDraw());
+	}
+}
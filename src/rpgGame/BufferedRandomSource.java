@@ -0,0 +1,154 @@
+package rpgGame;
+
+import java.util.SplittableRandom;
+
+/**
+ * A class of random sources serving their numbers out of a pre-generated buffer.
+ * 		The buffer of random ints is filled in bulk and refilled lazily when it 
+ * 		runs out. Bounded ints are reduced to their range with a multiplication 
+ * 		and a shift instead of a division and a rejection loop. This makes every
+ * 		value at most range/2^32 more or less likely than the others, which is 
+ * 		negligible for the small ranges of the game.
+ * 		Like a splittable random source, a buffered random source created with a 
+ * 		seed always produces the same numbers and isn't thread-safe: every thread
+ * 		or fight must get its own source.
+ * 
+ * @invar	The buffer of a buffered random source is never empty.
+ * 			| getBufferSize() > 0
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class BufferedRandomSource implements RandomSource {
+
+	/**
+	 * Initializes a new buffered random source with a given seed and buffer size.
+	 * 
+	 * @param 	seed
+	 * 			The seed for the new random source.
+	 * @param 	bufferSize
+	 * 			The number of random ints generated at once.
+	 * @throws	IllegalArgumentException
+	 * 			When the buffer size isn't positive.
+	 * 			| bufferSize <= 0
+	 */
+	public BufferedRandomSource(long seed, int bufferSize) throws IllegalArgumentException {
+		this(new SplittableRandom(seed), bufferSize);
+	}
+	
+	/**
+	 * Initializes a new buffered random source with a given seed.
+	 * 
+	 * @param 	seed
+	 * 			The seed for the new random source.
+	 * @effect	The new random source is initialized with the given seed and a 
+	 * 			buffer of 1024 ints.
+	 * 			| this(seed, 1024)
+	 */
+	public BufferedRandomSource(long seed) {
+		this(seed, 1024);
+	}
+	
+	/**
+	 * Initializes a new buffered random source around a given generator.
+	 * 
+	 * @param 	generator
+	 * 			The generator filling the buffer of the new random source.
+	 * @param 	bufferSize
+	 * 			The number of random ints generated at once.
+	 * @throws	IllegalArgumentException
+	 * 			When the buffer size isn't positive.
+	 * 			| bufferSize <= 0
+	 */
+	private BufferedRandomSource(SplittableRandom generator, int bufferSize) throws IllegalArgumentException {
+		if(bufferSize <= 0)
+			throw new IllegalArgumentException("The buffer size must be positive.");
+		this.generator = generator;
+		this.buffer = new int[bufferSize];
+		this.position = bufferSize;
+	}
+	
+	/**
+	 * Returns the buffered random source for a given stream of a given master seed.
+	 * 
+	 * @param 	masterSeed
+	 * 			The seed the streams are derived from.
+	 * @param 	streamIndex
+	 * 			The index of the stream.
+	 * @return	A new buffered random source, producing the same numbers for the 
+	 * 			same master seed and stream index.
+	 * 			| result == new BufferedRandomSource(
+	 * 			|	SplittableRandomSource.deriveSeed(masterSeed, streamIndex))
+	 */
+	public static BufferedRandomSource derive(long masterSeed, long streamIndex) {
+		return new BufferedRandomSource(SplittableRandomSource.deriveSeed(masterSeed, streamIndex));
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.RandomSource#randomInt(int)
+	 */
+	@Override
+	public int randomInt(int max) {
+		return (int)(((nextBits() & 0xFFFFFFFFL) * (max + 1L)) >>> 32);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.RandomSource#randomDouble()
+	 */
+	@Override
+	public double randomDouble() {
+		long high = nextBits() >>> 6;
+		long low = nextBits() >>> 5;
+		return ((high << 27) | low) * 0x1.0p-53;
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.RandomSource#split()
+	 */
+	@Override
+	public RandomSource split() {
+		return new BufferedRandomSource(generator.split(), buffer.length);
+	}
+	
+	/**
+	 * Returns the number of random ints this source generates at once.
+	 */
+	public int getBufferSize() {
+		return buffer.length;
+	}
+	
+	/**
+	 * Returns the next 32 random bits of the buffer, refilling it when it is used up.
+	 */
+	private int nextBits() {
+		if(position == buffer.length)
+			refill();
+		return buffer[position++];
+	}
+	
+	/**
+	 * Fills the buffer of this source with new random ints.
+	 * 
+	 * @post	The next random bits are read from the start of the buffer.
+	 */
+	private void refill() {
+		for(int i = 0; i < buffer.length; i++)
+			buffer[i] = generator.nextInt();
+		position = 0;
+	}
+	
+	/**
+	 * Variable referencing the generator filling the buffer of this source.
+	 */
+	private final SplittableRandom generator;
+	
+	/**
+	 * Variable referencing the buffer of random ints of this source.
+	 */
+	private final int[] buffer;
+	
+	/**
+	 * Variable registering the position of the next unused int in the buffer.
+	 */
+	private int position;
+}
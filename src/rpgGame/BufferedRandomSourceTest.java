@@ -0,0 +1,60 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class BufferedRandomSourceTest {
+
+	@Test
+	public void testSameSeedSameNumbers() {
+		RandomSource first = new BufferedRandomSource(7);
+		RandomSource second = new BufferedRandomSource(7, 3);
+		for(int i = 0; i < 5000; i++)
+			assertEquals(first.randomInt(100), second.randomInt(100));
+	}
+
+	@Test
+	public void testRandomIntInclusiveRange() {
+		RandomSource random = new BufferedRandomSource(3, 16);
+		int[] counts = new int[6];
+		for(int i = 0; i < 6000; i++)
+			counts[random.randomInt(5)]++;
+		for(int count : counts)
+			assertTrue(count > 800 && count < 1200);
+		assertEquals(0, random.randomInt(0));
+		int large = random.randomInt(Integer.MAX_VALUE);
+		assertTrue(large >= 0);
+	}
+
+	@Test
+	public void testRandomDouble() {
+		RandomSource random = new BufferedRandomSource(5);
+		double sum = 0;
+		for(int i = 0; i < 10000; i++) {
+			double number = random.randomDouble();
+			assertTrue(number >= 0 && number < 1);
+			sum += number;
+		}
+		assertEquals(0.5, sum / 10000, 0.02);
+	}
+
+	@Test
+	public void testDeriveAndSplitAreReproducible() {
+		RandomSource first = BufferedRandomSource.derive(42, 5).split();
+		RandomSource second = BufferedRandomSource.derive(42, 5).split();
+		for(int i = 0; i < 100; i++)
+			assertEquals(first.randomInt(1000), second.randomInt(1000));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIllegalBufferSize() {
+		new BufferedRandomSource(1, 0);
+	}
+
+	@Test
+	public void testBufferedFightsAreReproducible() {
+		assertEquals(CombatBenchmark.runFights(20, new BufferedRandomSource(99)),
+				CombatBenchmark.runFights(20, new BufferedRandomSource(99)));
+	}
+}
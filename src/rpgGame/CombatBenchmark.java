@@ -0,0 +1,101 @@
+package rpgGame;
+
+/**
+ * A benchmark running many fights between a hero and fresh monsters with 
+ * 	every kind of random source in a battle simulator, reporting the number 
+ * 	of fights and hits per second, followed by rounds of many duels at once
+ * 	in an actor table.
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class CombatBenchmark {
+
+	public static void main(String[] args) {
+		int fights = (args.length > 0) ? Integer.parseInt(args[0]) : 200000;
+		for(int run = 0; run < 3; run++) {
+			report("Thread local", fights, ThreadLocalRandomSource.instance);
+			report("Splittable", fights, new SplittableRandomSource(42));
+			report("Buffered", fights, new BufferedRandomSource(42));
+			reportRounds("Table rounds", 1024, fights / 10);
+			System.out.println();
+		}
+	}
+	
+	/**
+	 * Runs the given number of fights with the given random source and prints 
+	 * 	the throughput.
+	 */
+	private static void report(String name, int fights, RandomSource random) {
+		long start = System.nanoTime();
+		long hits = runFights(fights, random);
+		long time = System.nanoTime() - start;
+		System.out.println(name + ":\t" + hits + " hits in " + (time / 1000000) + " ms\t"
+				+ (long)(fights / (time / 1e9)) + " fights/s\t"
+				+ (long)(hits / (time / 1e9)) + " hits/s");
+	}
+	
+	/**
+	 * Plays the given number of rounds of the given number of duels in an actor
+	 * 	table and prints the throughput.
+	 */
+	private static void reportRounds(String name, int duels, int rounds) {
+		ActorTable table = createDuels(duels, 42);
+		long start = System.nanoTime();
+		long strikes = runRounds(table, duels, rounds);
+		long time = System.nanoTime() - start;
+		System.out.println(name + ":\t" + strikes + " hits in " + (time / 1000000) + " ms\t"
+				+ (long)((long)duels * rounds / (time / 1e9)) + " duel rounds/s\t"
+				+ (long)(strikes / (time / 1e9)) + " hits/s");
+	}
+	
+	/**
+	 * Return a table with the given number of heroes followed by the same number
+	 * 	of monsters, every one drawing his random numbers from a random source of 
+	 * 	his own, derived from the given seed and his row, as ActorTable.playRound 
+	 * 	requires.
+	 */
+	static ActorTable createDuels(int duels, long seed) {
+		ActorTable table = new ActorTable(2 * duels);
+		for(int i = 0; i < duels; i++)
+			table.add(new Hero("Frankenstein", 1000000, 15, null, BufferedRandomSource.derive(seed, i)));
+		for(int i = 0; i < duels; i++)
+			table.add(new Monster("Creep", 1000000, 30, new Item[0], 
+					BufferedRandomSource.derive(seed, duels + i)));
+		return table;
+	}
+	
+	/**
+	 * Plays the given number of rounds in which the heroes of a table made by 
+	 * 	createDuels each fight their own monster, and returns the number of hits.
+	 */
+	static long runRounds(ActorTable table, int duels, int rounds) {
+		int[] heroes = new int[duels];
+		int[] monsters = new int[duels];
+		for(int i = 0; i < duels; i++) {
+			heroes[i] = i;
+			monsters[i] = duels + i;
+		}
+		long strikes = 0;
+		for(int n = 0; n < rounds; n++)
+			strikes += table.playRound(heroes, monsters, duels);
+		return strikes;
+	}
+	
+	/**
+	 * Lets a hero fight the given number of monsters, all drawing their random
+	 * 	numbers from the given random source, and returns the number of hits.
+	 */
+	static long runFights(int fights, RandomSource random) {
+		BattleSimulator simulator = new BattleSimulator();
+		long hits = 0;
+		Hero hero = null;
+		for(int i = 0; i < fights; i++) {
+			if(hero == null || hero.isTerminated())
+				hero = new Hero("Frankenstein", 100000, 15, null, random);
+			Monster monster = new Monster("Creep", 200, 30, new Item[0], random);
+			hits += simulator.fight(hero, monster).getNumberOfHits();
+		}
+		return hits;
+	}
+}
@@ -0,0 +1,343 @@
+package rpgGame;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of combat listeners handing their events over to another listener on
+ * 	a background thread.
+ * 		The events are stored in a bounded ring of preallocated slots, so 
+ * 		reporting an event never allocates, never waits for a lock and never 
+ * 		waits for the background thread. When the ring is full, the event is 
+ * 		dropped and counted instead, so a slow consumer can never slow down a 
+ * 		fight.
+ * 		The ring has a single producer and a single consumer: the events must 
+ * 		be reported by one fighting thread at a time, which holds for the actors
+ * 		of one fight, and only the background thread or, before it is started, 
+ * 		the caller of drain() may consume them.
+ * 
+ * @invar	The capacity of the ring is a power of two.
+ * 			| Integer.bitCount(getCapacity()) == 1
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class CombatEventRingBuffer implements CombatListener {
+
+	/**
+	 * Initializes a new ring buffer with a given capacity, handing its events 
+	 * 	over to a given listener.
+	 * 
+	 * @param 	capacity
+	 * 			The minimum number of events the ring can hold.
+	 * @param 	consumer
+	 * 			The listener the events are handed over to.
+	 * @post	The capacity of the new ring buffer is the smallest power of two
+	 * 			larger than or equal to the given capacity.
+	 * @throws	IllegalArgumentException
+	 * 			When the capacity isn't positive or larger than 2^30, or when the
+	 * 			consumer isn't effective.
+	 * 			| capacity <= 0 || capacity > 1 << 30 || consumer == null
+	 */
+	public CombatEventRingBuffer(int capacity, CombatListener consumer) throws IllegalArgumentException {
+		if(capacity <= 0 || capacity > 1 << 30)
+			throw new IllegalArgumentException("Invalid capacity for the ring buffer.");
+		if(consumer == null)
+			throw new IllegalArgumentException("The consumer must be effective.");
+		int size = Integer.highestOneBit(capacity);
+		if(size < capacity)
+			size <<= 1;
+		this.mask = size - 1;
+		this.kinds = new int[size];
+		this.actors = new Actor[size];
+		this.others = new Actor[size];
+		this.items = new Item[size];
+		this.values = new int[size];
+		this.secondValues = new int[size];
+		this.consumer = consumer;
+	}
+	
+	/**
+	 * Return the number of events the ring of this buffer can hold.
+	 */
+	@Basic
+	@Immutable
+	public int getCapacity() {
+		return mask + 1;
+	}
+	
+	/**
+	 * Return the listener the events of this buffer are handed over to.
+	 */
+	@Basic
+	@Immutable
+	public CombatListener getConsumer() {
+		return consumer;
+	}
+	
+	/**
+	 * Variable referencing the listener the events are handed over to.
+	 */
+	private final CombatListener consumer;
+	
+	/**
+	 * Return the number of events that were dropped because the ring was full.
+	 */
+	public long getNumberOfDroppedEvents() {
+		return droppedEvents;
+	}
+	
+	/**
+	 * Return the number of events the consumer threw an exception for on the 
+	 * 	background thread.
+	 */
+	public long getNumberOfFailedEvents() {
+		return failedEvents;
+	}
+	
+	/**
+	 * Variable registering the number of events the consumer failed on. Only 
+	 * 	the background thread writes it.
+	 */
+	private volatile long failedEvents;
+	
+	/**
+	 * Return the number of events waiting in the ring.
+	 */
+	public int getNumberOfPendingEvents() {
+		return (int)(tail.get() - head.get());
+	}
+	
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#hitAttempted(rpgGame.Actor, rpgGame.Actor, int)
+	 */
+	@Override
+	public void hitAttempted(Actor attacker, Actor defender, int luck) {
+		publish(hitAttempted, attacker, defender, null, luck, 0);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#hitBlocked(rpgGame.Actor, rpgGame.Actor)
+	 */
+	@Override
+	public void hitBlocked(Actor attacker, Actor defender) {
+		publish(hitBlocked, attacker, defender, null, 0, 0);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#damageApplied(rpgGame.Actor, rpgGame.Actor, int, int)
+	 */
+	@Override
+	public void damageApplied(Actor attacker, Actor defender, int damage, int hitPoints) {
+		publish(damageApplied, attacker, defender, null, damage, hitPoints);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#died(rpgGame.Actor, rpgGame.Actor)
+	 */
+	@Override
+	public void died(Actor victim, Actor killer) {
+		publish(died, victim, killer, null, 0, 0);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#healed(rpgGame.Actor, int)
+	 */
+	@Override
+	public void healed(Actor actor, int amount) {
+		publish(healed, actor, null, null, amount, 0);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#itemLooted(rpgGame.Actor, rpgGame.Actor, rpgGame.Item)
+	 */
+	@Override
+	public void itemLooted(Actor looter, Actor victim, Item item) {
+		publish(itemLooted, looter, victim, item, 0, 0);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#itemDropped(rpgGame.Actor, rpgGame.Item)
+	 */
+	@Override
+	public void itemDropped(Actor victim, Item item) {
+		publish(itemDropped, victim, null, item, 0, 0);
+	}
+	
+	/**
+	 * Stores an event in the next free slot of the ring, or counts it as dropped 
+	 * 	when the ring is full.
+	 */
+	private void publish(int kind, Actor actor, Actor other, Item item, int value, int secondValue) {
+		long position = tail.get();
+		if(position - head.get() > mask) {
+			droppedEvents++;
+			return;
+		}
+		int slot = (int)position & mask;
+		kinds[slot] = kind;
+		actors[slot] = actor;
+		others[slot] = other;
+		items[slot] = item;
+		values[slot] = value;
+		secondValues[slot] = secondValue;
+		// publishes the slot to the consumer
+		tail.lazySet(position + 1);
+	}
+	
+	/**
+	 * Hands all the events waiting in the ring over to the consumer.
+	 * 		An event is removed from the ring before it is handed over, so an 
+	 * 		exception thrown by the consumer loses only that event.
+	 * 
+	 * @return	The number of events handed over.
+	 */
+	public int drain() {
+		long start = head.get();
+		long end = tail.get();
+		for(long position = start; position < end; position++) {
+			int slot = (int)position & mask;
+			int kind = kinds[slot];
+			Actor actor = actors[slot];
+			Actor other = others[slot];
+			Item item = items[slot];
+			int value = values[slot];
+			int secondValue = secondValues[slot];
+			actors[slot] = others[slot] = null;
+			items[slot] = null;
+			// frees the slot for the producer
+			head.lazySet(position + 1);
+			dispatch(kind, actor, other, item, value, secondValue);
+		}
+		return (int)(end - start);
+	}
+	
+	/**
+	 * Hands a single event over to the consumer.
+	 */
+	private void dispatch(int kind, Actor actor, Actor other, Item item, int value, int secondValue) {
+		switch(kind) {
+			case hitAttempted: consumer.hitAttempted(actor, other, value); break;
+			case hitBlocked: consumer.hitBlocked(actor, other); break;
+			case damageApplied: consumer.damageApplied(actor, other, value, secondValue); break;
+			case died: consumer.died(actor, other); break;
+			case healed: consumer.healed(actor, value); break;
+			case itemLooted: consumer.itemLooted(actor, other, item); break;
+			default: consumer.itemDropped(actor, item); break;
+		}
+	}
+	
+	/**
+	 * Starts the background thread handing the events over to the consumer.
+	 * 
+	 * @throws	IllegaleToestandsUitzondering
+	 * 			When this buffer was started before.
+	 */
+	public synchronized void start() throws IllegaleToestandsUitzondering {
+		if(consumerThread != null)
+			throw new IllegaleToestandsUitzondering("The ring buffer was started before.");
+		running = true;
+		consumerThread = new Thread("Combat event consumer") {
+			@Override
+			public void run() {
+				while(running || getNumberOfPendingEvents() > 0) {
+					try {
+						if(drain() == 0 && running)
+							LockSupport.parkNanos(idleTime);
+					} catch (RuntimeException e) {
+						failedEvents++;
+					}
+				}
+			}
+		};
+		consumerThread.setDaemon(true);
+		consumerThread.start();
+	}
+	
+	/**
+	 * Stops the background thread after it handed over every event reported 
+	 * 	so far, and waits for it to finish.
+	 * 
+	 * @throws	InterruptedException
+	 * 			When the current thread is interrupted while waiting.
+	 */
+	public synchronized void close() throws InterruptedException {
+		if(consumerThread == null)
+			return;
+		running = false;
+		LockSupport.unpark(consumerThread);
+		consumerThread.join();
+	}
+	
+	/**
+	 * Variable referencing the background thread of this buffer.
+	 */
+	private Thread consumerThread;
+	
+	/**
+	 * Variable registering whether the background thread must keep running.
+	 */
+	private volatile boolean running;
+	
+	/**
+	 * Constant registering how long the background thread sleeps when the
+	 * 	ring is empty, in nanoseconds.
+	 */
+	private static final long idleTime = 100000;
+	
+	/**
+	 * Variable registering the number of dropped events. Only the producer
+	 * 	writes it.
+	 */
+	private volatile long droppedEvents;
+	
+	/**
+	 * Variable registering the position of the next event to hand over.
+	 */
+	private final AtomicLong head = new AtomicLong();
+	
+	/**
+	 * Variable registering the position of the next free slot.
+	 */
+	private final AtomicLong tail = new AtomicLong();
+	
+	/**
+	 * Variable registering the capacity of the ring minus one.
+	 */
+	private final int mask;
+	
+	/**
+	 * Variables referencing the slots of the ring: the kind of every event, 
+	 * 	the actors and item it concerns and its int values.
+	 */
+	private final int[] kinds;
+	
+	private final Actor[] actors;
+	
+	private final Actor[] others;
+	
+	private final Item[] items;
+	
+	private final int[] values;
+	
+	private final int[] secondValues;
+	
+	/**
+	 * Constants registering the kinds of events.
+	 */
+	private static final int hitAttempted = 0;
+	
+	private static final int hitBlocked = 1;
+	
+	private static final int damageApplied = 2;
+	
+	private static final int died = 3;
+	
+	private static final int healed = 4;
+	
+	private static final int itemLooted = 5;
+	
+	private static final int itemDropped = 6;
+}
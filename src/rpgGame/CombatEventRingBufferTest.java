@@ -0,0 +1,90 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CombatEventRingBufferTest {
+
+	/**
+	 * A listener counting the events of every kind.
+	 */
+	private static class CountingListener implements CombatListener {
+		int attempts, blocks, damages, deaths, heals, looted, dropped;
+		public void hitAttempted(Actor attacker, Actor defender, int luck) { attempts++; }
+		public void hitBlocked(Actor attacker, Actor defender) { blocks++; }
+		public void damageApplied(Actor attacker, Actor defender, int damage, int hitPoints) { damages++; }
+		public void died(Actor victim, Actor killer) { deaths++; }
+		public void healed(Actor actor, int amount) { heals++; }
+		public void itemLooted(Actor looter, Actor victim, Item item) { looted++; }
+		public void itemDropped(Actor victim, Item item) { dropped++; }
+	}
+
+	private CountingListener counter;
+
+	@Before
+	public void setUp() throws Exception {
+		counter = new CountingListener();
+	}
+
+	@Test
+	public void testHitReportsEvents() {
+		Hero hero = new Hero("Frankenstein", 300, 15, null, new SplittableRandomSource(1));
+		Monster monster = new Monster("Creep", 30, 4, 6, new SplittableRandomSource(2));
+		hero.setCombatListener(counter);
+		monster.setCombatListener(counter);
+		BattleResult result = new BattleSimulator().fight(hero, monster);
+		assertEquals(result.getNumberOfHits(), counter.attempts);
+		assertEquals(counter.attempts, counter.blocks + counter.damages);
+		assertEquals(1, counter.deaths);
+		assertEquals(1, counter.heals);
+		assertEquals(result.getLootMoved(), counter.looted);
+	}
+
+	@Test
+	public void testDrainInOrder() {
+		CombatEventRingBuffer buffer = new CombatEventRingBuffer(5, counter);
+		assertEquals(8, buffer.getCapacity());
+		Hero hero = new Hero("Frankenstein", 300, 15);
+		buffer.hitAttempted(hero, hero, 3);
+		buffer.hitBlocked(hero, hero);
+		buffer.healed(hero, 5);
+		assertEquals(3, buffer.getNumberOfPendingEvents());
+		assertEquals(0, counter.attempts);
+		assertEquals(3, buffer.drain());
+		assertEquals(1, counter.attempts);
+		assertEquals(1, counter.blocks);
+		assertEquals(1, counter.heals);
+		assertEquals(0, buffer.drain());
+	}
+
+	@Test
+	public void testFullRingDropsEvents() {
+		CombatEventRingBuffer buffer = new CombatEventRingBuffer(4, counter);
+		Hero hero = new Hero("Frankenstein", 300, 15);
+		for(int i = 0; i < 10; i++)
+			buffer.healed(hero, i);
+		assertEquals(4, buffer.getNumberOfPendingEvents());
+		assertEquals(6, buffer.getNumberOfDroppedEvents());
+		buffer.drain();
+		assertEquals(4, counter.heals);
+	}
+
+	@Test
+	public void testBackgroundConsumer() throws InterruptedException {
+		CombatEventRingBuffer buffer = new CombatEventRingBuffer(1 << 16, counter);
+		buffer.start();
+		Hero hero = new Hero("Frankenstein", 300, 15);
+		for(int i = 0; i < 50000; i++)
+			buffer.healed(hero, i);
+		buffer.close();
+		assertEquals(50000 - buffer.getNumberOfDroppedEvents(), counter.heals);
+		assertEquals(0, buffer.getNumberOfPendingEvents());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIllegalCapacity() {
+		new CombatEventRingBuffer(0, counter);
+	}
+}
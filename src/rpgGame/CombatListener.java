@@ -0,0 +1,71 @@
+package rpgGame;
+
+/**
+ * Interface representing anything that wants to observe fights.
+ * 		The events of a hit are reported to the listener of the actor that hits.
+ * 		Events only pass actors, items and ints, so reporting them doesn't 
+ * 		allocate anything, and an actor without a listener doesn't report at all.
+ * 		Listeners are called on the fighting thread, in the middle of a hit, so 
+ * 		they must be fast and must not change the actors or items they are given.
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public interface CombatListener {
+
+	/**
+	 * Reports that an attacker tries to hit a defender.
+	 * 
+	 * @param 	attacker
+	 * 			The actor that hits.
+	 * @param 	defender
+	 * 			The actor that is hit.
+	 * @param 	luck
+	 * 			The luck factor of the attacker for this hit.
+	 */
+	public abstract void hitAttempted(Actor attacker, Actor defender, int luck);
+	
+	/**
+	 * Reports that the protection of a defender blocked a hit of an attacker.
+	 */
+	public abstract void hitBlocked(Actor attacker, Actor defender);
+	
+	/**
+	 * Reports that a hit of an attacker got through.
+	 * 
+	 * @param 	attacker
+	 * 			The actor that hit.
+	 * @param 	defender
+	 * 			The actor that was hit.
+	 * @param 	damage
+	 * 			The damage of the hit, which is negative when the hit heals.
+	 * @param 	hitPoints
+	 * 			The hit points of the defender after the hit.
+	 */
+	public abstract void damageApplied(Actor attacker, Actor defender, int damage, int hitPoints);
+	
+	/**
+	 * Reports that a hit of a killer killed a victim.
+	 */
+	public abstract void died(Actor victim, Actor killer);
+	
+	/**
+	 * Reports that an actor healed after a kill.
+	 * 
+	 * @param 	actor
+	 * 			The actor that healed.
+	 * @param 	amount
+	 * 			The number of hit points the actor healed.
+	 */
+	public abstract void healed(Actor actor, int amount);
+	
+	/**
+	 * Reports that a looter took an item from a victim.
+	 */
+	public abstract void itemLooted(Actor looter, Actor victim, Item item);
+	
+	/**
+	 * Reports that an item of a victim was dropped on the ground.
+	 */
+	public abstract void itemDropped(Actor victim, Item item);
+}
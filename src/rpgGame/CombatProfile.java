@@ -0,0 +1,127 @@
+package rpgGame;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of combat profiles involving the damage, the protection and the capacity
+ * 	an actor has at some moment.
+ * 		An actor keeps its profile until its strength changes or an item is added to 
+ * 		or removed from its equipment, so that a hit only reads plain fields instead
+ * 		of looking up weapons and armor every time.
+ * 
+ * @invar	The capacity of each combat profile is effective.
+ * 			| getCapacity() != null
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public final class CombatProfile {
+
+	/**
+	 * Initializes a new combat profile with a given damage, protection and capacity.
+	 * 
+	 * @param 	damage
+	 * 			The damage for the new profile.
+	 * @param 	protection
+	 * 			The protection factor for the new profile.
+	 * @param 	capacity
+	 * 			The capacity for the new profile.
+	 * @post	The damage of the new profile is the given damage.
+	 * 			| new.getDamage() == damage
+	 * @post	The protection of the new profile is the given protection.
+	 * 			| new.getProtection() == protection
+	 * @post	The capacity of the new profile is the given capacity.
+	 * 			| new.getCapacity() == capacity
+	 * @throws	IllegalArgumentException
+	 * 			When the given capacity isn't effective.
+	 * 			| capacity == null
+	 */
+	public CombatProfile(int damage, double protection, Weight capacity) throws IllegalArgumentException {
+		if(capacity == null)
+			throw new IllegalArgumentException("The capacity must be effective.");
+		this.damage = damage;
+		this.protection = protection;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Return the damage of this profile.
+	 */
+	@Basic
+	@Immutable
+	public int getDamage() {
+		return damage;
+	}
+
+	/**
+	 * Variable registering the damage of this profile.
+	 */
+	private final int damage;
+
+	/**
+	 * Return the protection factor of this profile.
+	 */
+	@Basic
+	@Immutable
+	public double getProtection() {
+		return protection;
+	}
+
+	/**
+	 * Variable registering the protection factor of this profile.
+	 */
+	private final double protection;
+
+	/**
+	 * Return the capacity of this profile.
+	 */
+	@Basic
+	@Immutable
+	public Weight getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Variable referencing the capacity of this profile.
+	 */
+	private final Weight capacity;
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + damage;
+		long temp = Double.doubleToLongBits(protection);
+		result = prime * result + (int)(temp ^ (temp >>> 32));
+		result = prime * result + capacity.hashCode();
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj)
+			return true;
+		if(obj == null || getClass() != obj.getClass())
+			return false;
+		CombatProfile other = (CombatProfile)obj;
+		return damage == other.damage
+				&& Double.doubleToLongBits(protection) == Double.doubleToLongBits(other.protection)
+				&& capacity.equals(other.capacity);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "CombatProfile [Damage=" + getDamage()
+				+ ", Protection=" + getProtection()
+				+ ", Capacity=" + getCapacity() + "]";
+	}
+}
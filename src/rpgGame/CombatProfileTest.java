@@ -0,0 +1,105 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CombatProfileTest {
+
+	private Hero hero;
+
+	private Monster monster;
+
+	@Before
+	public void setUp() throws Exception {
+		Actor.setCheckingCombatProfiles(true);
+		hero = new Hero("Pieter", 100, 10);
+		monster = new Monster("Creep", 30, 4, new Item[0], new SplittableRandomSource(2));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		Actor.setCheckingCombatProfiles(false);
+	}
+
+	@Test
+	public void testProfileIsKept() {
+		CombatProfile profile = hero.getCombatProfile();
+		assertSame(profile, hero.getCombatProfile());
+		assertEquals(profile.getDamage(), hero.getDamage());
+		assertEquals(profile.getProtection(), hero.getProtection(), 0);
+		assertSame(profile.getCapacity(), hero.getCapacity());
+		assertEquals(hero.getCapacity(hero.getStrength()), hero.getCapacity());
+	}
+
+	@Test
+	public void testStrengthChange() {
+		CombatProfile profile = hero.getCombatProfile();
+		hero.multiplyStrength(3);
+		assertNotSame(profile, hero.getCombatProfile());
+		assertEquals(10, hero.getDamage());
+		assertEquals(hero.getCapacity(30), hero.getCapacity());
+	}
+
+	@Test
+	public void testEquipment() {
+		Armor standard = (Armor)hero.getItem(LocationEquipment.Body);
+		assertEquals(0, hero.getDamage());
+		assertEquals(10 + standard.getValue(), hero.getProtection(), 0);
+		Weapon weapon = new Weapon(10, new Weight(5));
+		weapon.moveTo(hero, LocationEquipment.LeftHand);
+		assertEquals(weapon.getValue() / 2, hero.getDamage());
+		standard.moveTo(new Backpack());
+		assertEquals(10, hero.getProtection(), 0);
+		Armor armor = new Armor(10, 10, new Weight(5), 200);
+		armor.moveTo(hero, LocationEquipment.Body);
+		assertEquals(10 + armor.getValue(), hero.getProtection(), 0);
+		weapon.moveTo(new Backpack());
+		assertEquals(0, hero.getDamage());
+	}
+
+	@Test
+	public void testMonster() {
+		CombatProfile profile = monster.getCombatProfile();
+		assertEquals(profile, new CombatProfile(monster.computeDamage(), monster.computeProtection(),
+				Monster.getCapacityMonster(4)));
+		monster.multiplyStrength(2);
+		assertEquals(profile.getDamage() + 4, monster.getDamage());
+	}
+
+	@Test(expected = IllegaleToestandsUitzondering.class)
+	public void testCheckFindsStaleProfile() {
+		final int[] bonus = {0};
+		Hero cheater = new Hero("Cheater", 100, 10) {
+			@Override
+			protected int computeDamage() {
+				return super.computeDamage() + bonus[0];
+			}
+		};
+		cheater.getDamage();
+		bonus[0] = 1;
+		cheater.getDamage();
+	}
+
+	@Test
+	public void testWithoutCheck() {
+		Actor.setCheckingCombatProfiles(false);
+		final int[] bonus = {0};
+		Hero cheater = new Hero("Cheater", 100, 10) {
+			@Override
+			protected int computeDamage() {
+				return super.computeDamage() + bonus[0];
+			}
+		};
+		assertEquals(0, cheater.getDamage());
+		bonus[0] = 1;
+		assertEquals(0, cheater.getDamage());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullCapacity() {
+		new CombatProfile(1, 1, null);
+	}
+}
@@ -0,0 +1,175 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentCombatTest {
+
+	private static final int threads = 8;
+
+	@Before
+	public void setUp() throws Exception {
+		Actor.setConcurrentCombat(true);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		Actor.setConcurrentCombat(false);
+	}
+
+	/**
+	 * A listener counting the damage dealt to and the deaths of a fixed array of actors.
+	 */
+	private static class CountingListener implements CombatListener {
+
+		CountingListener(Actor[] victims) {
+			this.victims = victims;
+			this.damage = new AtomicLongArray(victims.length);
+			this.deaths = new AtomicLongArray(victims.length);
+		}
+
+		private int indexOf(Actor actor) {
+			for(int i = 0; i < victims.length; i++)
+				if(victims[i] == actor)
+					return i;
+			return -1;
+		}
+
+		@Override
+		public void hitAttempted(Actor attacker, Actor defender, int luck) {
+		}
+
+		@Override
+		public void hitBlocked(Actor attacker, Actor defender) {
+		}
+
+		@Override
+		public void damageApplied(Actor attacker, Actor defender, int damage, int hitPoints) {
+			this.damage.addAndGet(indexOf(defender), damage);
+		}
+
+		@Override
+		public void died(Actor victim, Actor killer) {
+			deaths.incrementAndGet(indexOf(victim));
+		}
+
+		@Override
+		public void healed(Actor actor, int amount) {
+		}
+
+		@Override
+		public void itemLooted(Actor looter, Actor victim, Item item) {
+		}
+
+		@Override
+		public void itemDropped(Actor victim, Item item) {
+		}
+
+		private final Actor[] victims;
+
+		final AtomicLongArray damage;
+
+		final AtomicLongArray deaths;
+	}
+
+	/**
+	 * Lets every hero hit the given victims round robin from a thread of his own,
+	 * 	until every victim is terminated or the hero made the given number of hits.
+	 */
+	private static void fight(final Hero[] heroes, final Actor[] victims, final int hits) 
+			throws InterruptedException {
+		List<Thread> workers = new ArrayList<Thread>();
+		for(int t = 0; t < heroes.length; t++) {
+			final Hero hero = heroes[t];
+			final int offset = t;
+			Thread worker = new Thread() {
+				@Override
+				public void run() {
+					for(int n = 0; n < hits; n++) {
+						Actor victim = victims[(n + offset) % victims.length];
+						try {
+							hero.hit(victim);
+						}
+						catch(IllegalArgumentException e) {
+							// the victim has been killed by another hero
+						}
+					}
+				}
+			};
+			workers.add(worker);
+			worker.start();
+		}
+		for(Thread worker : workers)
+			worker.join();
+	}
+
+	@Test
+	public void testNoLostDamage() throws Exception {
+		Monster[] monsters = new Monster[4];
+		int[] hitPoints = new int[monsters.length];
+		for(int i = 0; i < monsters.length; i++) {
+			monsters[i] = new Monster("Creep", 2000000, 4, new Item[0], new SplittableRandomSource(i));
+			hitPoints[i] = monsters[i].getHitPoints();
+		}
+		CountingListener listener = new CountingListener(monsters);
+		Hero[] heroes = new Hero[threads];
+		for(int t = 0; t < threads; t++) {
+			heroes[t] = new Hero("Hero", 100, 15, null, new SplittableRandomSource(100 + t));
+			heroes[t].setCombatListener(listener);
+		}
+		fight(heroes, monsters, 20000);
+		long total = 0;
+		for(int i = 0; i < monsters.length; i++) {
+			assertEquals(hitPoints[i] - monsters[i].getHitPoints(), listener.damage.get(i));
+			total += listener.damage.get(i);
+		}
+		assertTrue(total > 0);
+	}
+
+	@Test
+	public void testEveryVictimLootedOnce() throws Exception {
+		Monster[] monsters = new Monster[32];
+		List<Item> items = new ArrayList<Item>();
+		for(int i = 0; i < monsters.length; i++) {
+			monsters[i] = new Monster("Creep", 40, 4, 3, new SplittableRandomSource(i));
+			for(int j = 0; j < monsters[i].getNumberOfAnchors(); j++)
+				if(monsters[i].getItem(j) != null)
+					items.add(monsters[i].getItem(j));
+		}
+		CountingListener listener = new CountingListener(monsters);
+		Hero[] heroes = new Hero[threads];
+		for(int t = 0; t < threads; t++) {
+			heroes[t] = new Hero("Hero", 100, 40, null, new SplittableRandomSource(100 + t));
+			heroes[t].setCombatListener(listener);
+		}
+		fight(heroes, monsters, 5000);
+		for(int i = 0; i < monsters.length; i++) {
+			assertTrue(monsters[i].isTerminated());
+			assertEquals(1, listener.deaths.get(i));
+			assertEquals(0, monsters[i].getWeight().getNumeral(), 0);
+		}
+		for(Item item : items) {
+			int holders = 0;
+			for(Hero hero : heroes)
+				if(hero.holdsItem(item))
+					holders++;
+			assertTrue(holders <= 1);
+			assertTrue(holders == 1 || item.getDirectHolder() == null || item.getDirectHolder() instanceof World);
+		}
+	}
+
+	@Test
+	public void testActorIDs() {
+		Hero first = new Hero("Hero", 100, 15);
+		Hero second = new Hero("Hero", 100, 15);
+		assertTrue(second.getActorID() > first.getActorID());
+		assertTrue(Actor.isConcurrentCombat());
+	}
+}
@@ -0,0 +1,100 @@
+package rpgGame;
+
+import java.io.PrintStream;
+
+/**
+ * A class of combat listeners writing a line for every event to a stream.
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class ConsoleCombatListener implements CombatListener {
+
+	/**
+	 * Initializes a new listener writing to a given stream.
+	 * 
+	 * @param 	output
+	 * 			The stream to write to.
+	 */
+	public ConsoleCombatListener(PrintStream output) {
+		this.output = output;
+	}
+	
+	/**
+	 * Initializes a new listener writing to the standard output.
+	 * 
+	 * @effect	| this(System.out)
+	 */
+	public ConsoleCombatListener() {
+		this(System.out);
+	}
+	
+	/**
+	 * Variable referencing the stream this listener writes to.
+	 */
+	private final PrintStream output;
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#hitAttempted(rpgGame.Actor, rpgGame.Actor, int)
+	 */
+	@Override
+	public void hitAttempted(Actor attacker, Actor defender, int luck) {
+		output.println(attacker.getName()+" hits "+defender.getName()+".");
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#hitBlocked(rpgGame.Actor, rpgGame.Actor)
+	 */
+	@Override
+	public void hitBlocked(Actor attacker, Actor defender) {
+		output.println(defender.getName()+" blocks the hit.");
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#damageApplied(rpgGame.Actor, rpgGame.Actor, int, int)
+	 */
+	@Override
+	public void damageApplied(Actor attacker, Actor defender, int damage, int hitPoints) {
+		output.println(defender.getName()+" has "+hitPoints+"/"+ defender.getMaxHitpoints() +" hitpoints.");
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#died(rpgGame.Actor, rpgGame.Actor)
+	 */
+	@Override
+	public void died(Actor victim, Actor killer) {
+		output.println(victim.getName()+" was killed by "+killer.getName()+".");
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#healed(rpgGame.Actor, int)
+	 */
+	@Override
+	public void healed(Actor actor, int amount) {
+		output.println(actor.getName()+" heals "+amount+" hitpoints.");
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#itemLooted(rpgGame.Actor, rpgGame.Actor, rpgGame.Item)
+	 */
+	@Override
+	public void itemLooted(Actor looter, Actor victim, Item item) {
+		output.println(looter.getName()+" takes "+describe(item)+".");
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#itemDropped(rpgGame.Actor, rpgGame.Item)
+	 */
+	@Override
+	public void itemDropped(Actor victim, Item item) {
+		output.println(describe(item)+" is dropped on the ground.");
+	}
+	
+	/**
+	 * Returns a short description of a given item that doesn't depend on the 
+	 * 	state of the item, which may have changed since the event.
+	 */
+	private static String describe(Item item) {
+		return item.getClass().getSimpleName()+" "+item.getID();
+	}
+}
@@ -0,0 +1,188 @@
+package rpgGame;
+
+import java.util.Arrays;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of solvers computing the exact outcome of a fight between two actors.
+ * 		A fight is a Markov chain over the hit points of both actors and whose 
+ * 		turn it is. Every hit either gets through, with a chance that only depends
+ * 		on the luck of the attacker and the protection of the defender, or is 
+ * 		blocked. A hit that gets through always takes the same damage, so after 
+ * 		any number of hits the hit points of an actor are his starting hit points 
+ * 		minus a multiple of the damage of his opponent. The solver therefore
+ * 		indexes the states by the number of hits each actor still has to land,
+ * 		and fills in the win chances and expected lengths of all states with a 
+ * 		dynamic program, keeping only one row of states in memory.
+ * 		Two misses in a row bring a fight back to the same state; that cycle is
+ * 		solved in closed form. Healing after a kill and looting don't change who 
+ * 		wins, so they are left out.
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class DuelSolver {
+
+	/**
+	 * Initializes a new solver for a fight between two given actors, based on 
+	 * 	their current hit points, damage, protection and luck.
+	 * 
+	 * @param 	first
+	 * 			The actor that strikes first.
+	 * @param 	second
+	 * 			The actor that strikes second.
+	 * @throws	IllegalArgumentException
+	 * 			When the actors can't fight each other.
+	 * 			| !first.canFightOpponent(second) || !second.canFightOpponent(first)
+	 */
+	public DuelSolver(Actor first, Actor second) throws IllegalArgumentException {
+		if(!first.canFightOpponent(second) || !second.canFightOpponent(first))
+			throw new IllegalArgumentException("The given actors can't fight each other.");
+		double firstHits = first.getChanceOfHitting(second.getProtection());
+		double secondHits = second.getChanceOfHitting(first.getProtection());
+		int firstDamage = first.getDamage();
+		int secondDamage = second.getDamage();
+		// an actor that doesn't do any damage can never win, so he might as well miss
+		if(firstDamage <= 0)
+			firstHits = 0;
+		if(secondDamage <= 0)
+			secondHits = 0;
+		solve(firstHits, getHitsToKill(second.getHitPoints(), firstDamage),
+				secondHits, getHitsToKill(first.getHitPoints(), secondDamage));
+	}
+	
+	/**
+	 * Returns the number of hits needed to take a given number of hit points with 
+	 * 	a given damage, or one when the damage can't take any hit points.
+	 */
+	private static int getHitsToKill(int hitPoints, int damage) {
+		if(damage <= 0)
+			return 1;
+		return (hitPoints + damage - 1) / damage;
+	}
+	
+	/**
+	 * Fills in the outcome of a fight in which the first actor needs a given number
+	 * 	of hits, each getting through with a given chance, and so does the second.
+	 */
+	private void solve(double p1, int n1, double p2, int n2) {
+		double q1 = 1 - p1;
+		double q2 = 1 - p2;
+		if(p1 == 0 && p2 == 0) {
+			drawChance = 1;
+			expectedNumberOfHits = Double.POSITIVE_INFINITY;
+			expectedNumberOfRounds = Double.POSITIVE_INFINITY;
+			return;
+		}
+		double cycle = 1 - q1 * q2;
+		// the states in which the first actor still needs a-1 hits, second actor to move
+		double[] previousWinS = new double[n2 + 1];
+		double[] previousHitsS = new double[n2 + 1];
+		double[] previousRoundsS = new double[n2 + 1];
+		// the states in which the first actor still needs a hits
+		double[] winF = new double[n2 + 1], winS = new double[n2 + 1];
+		double[] hitsF = new double[n2 + 1], hitsS = new double[n2 + 1];
+		double[] roundsF = new double[n2 + 1], roundsS = new double[n2 + 1];
+		// with zero hits to go, the first actor has won
+		Arrays.fill(previousWinS, 1);
+		for(int a = 1; a <= n1; a++) {
+			// with zero hits to go, the second actor has won
+			winF[0] = winS[0] = 0;
+			hitsF[0] = hitsS[0] = 0;
+			roundsF[0] = roundsS[0] = 0;
+			for(int b = 1; b <= n2; b++) {
+				winF[b] = (p1 * previousWinS[b] + q1 * p2 * winF[b - 1]) / cycle;
+				winS[b] = p2 * winF[b - 1] + q2 * winF[b];
+				hitsF[b] = (1 + q1 + p1 * previousHitsS[b] + q1 * p2 * hitsF[b - 1]) / cycle;
+				hitsS[b] = 1 + p2 * hitsF[b - 1] + q2 * hitsF[b];
+				roundsF[b] = (1 + p1 * previousRoundsS[b] + q1 * p2 * roundsF[b - 1]) / cycle;
+				roundsS[b] = p2 * roundsF[b - 1] + q2 * roundsF[b];
+			}
+			System.arraycopy(winS, 0, previousWinS, 0, n2 + 1);
+			System.arraycopy(hitsS, 0, previousHitsS, 0, n2 + 1);
+			System.arraycopy(roundsS, 0, previousRoundsS, 0, n2 + 1);
+		}
+		winChanceOfFirst = winF[n2];
+		expectedNumberOfHits = hitsF[n2];
+		expectedNumberOfRounds = roundsF[n2];
+	}
+	
+	/**
+	 * Return the chance that the actor striking first wins the fight.
+	 */
+	@Basic
+	@Immutable
+	public double getWinChanceOfFirst() {
+		return winChanceOfFirst;
+	}
+	
+	/**
+	 * Return the chance that the actor striking second wins the fight.
+	 * 
+	 * @return	| result == 1 - getWinChanceOfFirst() - getDrawChance()
+	 */
+	public double getWinChanceOfSecond() {
+		return 1 - winChanceOfFirst - drawChance;
+	}
+	
+	/**
+	 * Return the chance that the fight never ends, because neither actor can 
+	 * 	ever land a hit that does damage. This chance is either zero or one.
+	 */
+	@Basic
+	@Immutable
+	public double getDrawChance() {
+		return drawChance;
+	}
+	
+	/**
+	 * Return the expected number of hits of the fight, or infinity if it never ends.
+	 */
+	@Basic
+	@Immutable
+	public double getExpectedNumberOfHits() {
+		return expectedNumberOfHits;
+	}
+	
+	/**
+	 * Return the expected number of rounds of the fight, or infinity if it never ends.
+	 * 	A round starts with every hit of the actor striking first.
+	 */
+	@Basic
+	@Immutable
+	public double getExpectedNumberOfRounds() {
+		return expectedNumberOfRounds;
+	}
+	
+	/**
+	 * Variable registering the chance that the actor striking first wins.
+	 */
+	private double winChanceOfFirst;
+	
+	/**
+	 * Variable registering the chance that the fight never ends.
+	 */
+	private double drawChance;
+	
+	/**
+	 * Variable registering the expected number of hits of the fight.
+	 */
+	private double expectedNumberOfHits;
+	
+	/**
+	 * Variable registering the expected number of rounds of the fight.
+	 */
+	private double expectedNumberOfRounds;
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DuelSolver [Win chances=" + getWinChanceOfFirst() + "/" + getWinChanceOfSecond()
+				+ ", Draw chance=" + getDrawChance()
+				+ ", Expected hits=" + getExpectedNumberOfHits()
+				+ ", Expected rounds=" + getExpectedNumberOfRounds() + "]";
+	}
+}
@@ -0,0 +1,66 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class DuelSolverTest {
+
+	/**
+	 * Creates the same hero for every call.
+	 */
+	private static Hero createHero() {
+		return new Hero("Frankenstein", 300, 15, null, new SplittableRandomSource(1));
+	}
+
+	/**
+	 * Creates the same monster for every call.
+	 */
+	private static Monster createMonster() {
+		return new Monster("Creep", 30, 4, new Item[0], new SplittableRandomSource(2));
+	}
+
+	@Test
+	public void testAgreesWithSimulation() {
+		DuelSolver solver = new DuelSolver(createHero(), createMonster());
+		assertTrue(solver.getWinChanceOfFirst() > 0.05 && solver.getWinChanceOfFirst() < 0.95);
+		BattleSimulator simulator = new BattleSimulator();
+		MatchupStatistics statistics = new MatchupStatistics();
+		for(int i = 0; i < 20000; i++) {
+			Hero hero = createHero();
+			Monster monster = createMonster();
+			hero.setRandomSource(SplittableRandomSource.derive(3, 2 * i));
+			monster.setRandomSource(SplittableRandomSource.derive(3, 2 * i + 1));
+			statistics.add(simulator.fight(hero, monster));
+		}
+		assertEquals(solver.getWinChanceOfFirst(), statistics.getWinRateOfFirst(), 0.015);
+		assertEquals(solver.getExpectedNumberOfHits(), 
+				statistics.getTotalHits() / (double)statistics.getNumberOfFights(), 
+				0.03 * solver.getExpectedNumberOfHits());
+		assertEquals(solver.getExpectedNumberOfRounds(), 
+				statistics.getTotalRounds() / (double)statistics.getNumberOfFights(), 
+				0.03 * solver.getExpectedNumberOfRounds());
+	}
+
+	@Test
+	public void testChancesAddUp() {
+		DuelSolver solver = new DuelSolver(createMonster(), createHero());
+		assertEquals(1, solver.getWinChanceOfFirst() + solver.getWinChanceOfSecond(), 1e-9);
+		assertEquals(0, solver.getDrawChance(), 0);
+		assertTrue(solver.getExpectedNumberOfRounds() <= solver.getExpectedNumberOfHits());
+	}
+
+	@Test
+	public void testChanceOfRandomIntAtLeast() {
+		assertEquals(1, Actor.getChanceOfRandomIntAtLeast(20, 0), 0);
+		assertEquals(1, Actor.getChanceOfRandomIntAtLeast(20, -3.5), 0);
+		assertEquals(11 / 21.0, Actor.getChanceOfRandomIntAtLeast(20, 9.5), 1e-12);
+		assertEquals(1 / 21.0, Actor.getChanceOfRandomIntAtLeast(20, 20), 1e-12);
+		assertEquals(0, Actor.getChanceOfRandomIntAtLeast(20, 20.01), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testHeroesDoNotFightHeroes() {
+		new DuelSolver(createHero(), createHero());
+	}
+}
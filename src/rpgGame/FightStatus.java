@@ -0,0 +1,24 @@
+package rpgGame;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * An enumeration introducing the states a fight in an arena can be in.
+ * 	A fight starts out running and ends in exactly one of the other states.
+ * 
+ * @author  Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+@Value
+public enum FightStatus {
+	RUNNING, WON, DRAW, CANCELLED, TIMED_OUT, FAILED;
+	
+	/**
+	 * Checks whether a fight in this state has ended.
+	 * 
+	 * @return	| result == (this != RUNNING)
+	 */
+	public boolean hasEnded() {
+		return this != RUNNING;
+	}
+}
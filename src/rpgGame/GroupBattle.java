@@ -0,0 +1,339 @@
+package rpgGame;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of battles between a party and a horde of actors, fought in rounds.
+ * 		In every round each living actor strikes once, in the turn order of the
+ * 		battle: the strongest actors first and, among actors of equal strength,
+ * 		the party before the horde and earlier members before later ones.
+ * 		An actor strikes the living opponent at his own position in the list of
+ * 		living members of his side, modulo the number of living opponents, so the
+ * 		attacks are spread evenly over the other side without searching for targets.
+ * 		A strike follows the rules of Actor.hit, but its damage is only added up.
+ * 		At the end of the round every actor loses the sum of the damage he took,
+ * 		and only then the dead are looted, in turn order, each one by the actor that
+ * 		dealt him the most damage in that round, who heals as in Actor.hit. A killer
+ * 		that died in the same round doesn't loot: his victim drops his items. The
+ * 		outcome of a round therefore doesn't depend on the order the strikes are
+ * 		resolved in. Strikes aren't reported to combat listeners; loot is.
+ * 		A battle isn't thread-safe.
+ *
+ * @invar	The number of rounds of a battle is never negative.
+ * 			| getNumberOfRounds() >= 0
+ *
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class GroupBattle {
+
+	/**
+	 * Initializes a new battle between a given party and a given horde.
+	 *
+	 * @param 	party
+	 * 			The actors fighting on the first side.
+	 * @param 	horde
+	 * 			The actors fighting on the second side.
+	 * @post	No rounds have been played in the new battle.
+	 * 			| new.getNumberOfRounds() == 0
+	 * @post	| new.getNumberOfLivingPartyMembers() == party.length
+	 * @post	| new.getNumberOfLivingHordeMembers() == horde.length
+	 * @throws	IllegalArgumentException
+	 * 			When one of the actors isn't effective or is terminated, or when an
+	 * 			actor appears more than once.
+	 */
+	public GroupBattle(Actor[] party, Actor[] horde) throws IllegalArgumentException {
+		int size = party.length + horde.length;
+		actors = new Actor[size];
+		sides = new int[size];
+		System.arraycopy(party, 0, actors, 0, party.length);
+		System.arraycopy(horde, 0, actors, party.length, horde.length);
+		Map<Actor, Boolean> seen = new IdentityHashMap<Actor, Boolean>();
+		for(int i = 0; i < size; i++) {
+			if(actors[i] == null || actors[i].isTerminated() || seen.put(actors[i], Boolean.TRUE) != null)
+				throw new IllegalArgumentException("Every actor must be effective, alive and fight only once.");
+			sides[i] = (i < party.length) ? 0 : 1;
+		}
+		living = new int[][] {new int[party.length], new int[horde.length]};
+		slots = new int[size];
+		for(int i = 0; i < size; i++) {
+			int side = sides[i];
+			slots[i] = numberOfLiving[side];
+			living[side][numberOfLiving[side]++] = i;
+		}
+		turnOrder = createTurnOrder(actors);
+		turnPositions = new int[size];
+		for(int position = 0; position < size; position++)
+			turnPositions[turnOrder[position]] = position;
+		damageTaken = new long[size];
+		largestDamage = new int[size];
+		killers = new int[size];
+		Arrays.fill(killers, -1);
+		struck = new int[size];
+		dead = new int[size];
+	}
+
+	/**
+	 * Return the order in which the given actors strike: by descending strength,
+	 * 	and by index among actors of equal strength.
+	 */
+	private static int[] createTurnOrder(final Actor[] actors) {
+		Integer[] order = new Integer[actors.length];
+		for(int i = 0; i < order.length; i++)
+			order[i] = i;
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer first, Integer second) {
+				int byStrength = Double.compare(actors[second].getStrength(), actors[first].getStrength());
+				return (byStrength != 0) ? byStrength : first.compareTo(second);
+			}
+		});
+		int[] result = new int[order.length];
+		for(int i = 0; i < result.length; i++)
+			result[i] = order[i];
+		return result;
+	}
+
+	/**
+	 * Plays rounds until the battle is over or a given number of rounds has
+	 * 	been played in it.
+	 *
+	 * @param 	maximumNumberOfRounds
+	 * 			The largest number of rounds the battle may have.
+	 * @return	The number of rounds played in the battle.
+	 * 			| result == new.getNumberOfRounds()
+	 * @post	| new.isOver() || new.getNumberOfRounds() >= maximumNumberOfRounds
+	 */
+	public int fight(int maximumNumberOfRounds) {
+		while(!isOver() && numberOfRounds < maximumNumberOfRounds)
+			playRound();
+		return numberOfRounds;
+	}
+
+	/**
+	 * Plays one round of this battle and returns the number of actors that died in it.
+	 *
+	 * @return	Zero if the battle is over.
+	 * 			| if(isOver()) then result == 0
+	 * @post	Unless the battle was over, one more round has been played in it.
+	 * 			| if(!isOver()) then new.getNumberOfRounds() == getNumberOfRounds() + 1
+	 */
+	public int playRound() {
+		if(isOver())
+			return 0;
+		int numberOfStruck = 0;
+		for(int position = 0; position < turnOrder.length; position++) {
+			int attacker = turnOrder[position];
+			Actor actor = actors[attacker];
+			if(actor.isTerminated())
+				continue;
+			int opponents = 1 - sides[attacker];
+			int numberOfOpponents = numberOfLiving[opponents];
+			if(numberOfOpponents == 0)
+				continue;
+			int defender = living[opponents][slots[attacker] % numberOfOpponents];
+			Actor opponent = actors[defender];
+			if(!actor.canFightOpponent(opponent))
+				continue;
+			if(!actor.isFighting())
+				actor.setCombatState(true, actor.getHitPoints());
+			if(!opponent.isFighting())
+				opponent.setCombatState(true, opponent.getHitPoints());
+			numberOfHits++;
+			if(actor.luckFactorForHit() < opponent.getProtection())
+				continue;
+			int damage = actor.getDamage();
+			if(killers[defender] == -1) {
+				struck[numberOfStruck++] = defender;
+				killers[defender] = attacker;
+				largestDamage[defender] = damage;
+			}
+			else if(damage > largestDamage[defender]) {
+				killers[defender] = attacker;
+				largestDamage[defender] = damage;
+			}
+			damageTaken[defender] += damage;
+		}
+		int numberOfDead = 0;
+		for(int i = 0; i < numberOfStruck; i++) {
+			int defender = struck[i];
+			Actor opponent = actors[defender];
+			long hitPoints = Math.min(opponent.getMaxHitpoints(),
+					Math.max(0, opponent.getHitPoints() - damageTaken[defender]));
+			opponent.setCombatState(true, (int)hitPoints);
+			if(hitPoints == 0)
+				dead[numberOfDead++] = turnPositions[defender];
+		}
+		Arrays.sort(dead, 0, numberOfDead);
+		for(int i = 0; i < numberOfDead; i++) {
+			Actor victim = actors[turnOrder[dead[i]]];
+			Actor killer = actors[killers[turnOrder[dead[i]]]];
+			if(killer.getHitPoints() > 0) {
+				killer.setCombatState(true, killer.getHitPoints() + killer.heal());
+				killer.loot(victim);
+			}
+			else
+				victim.dropItems();
+		}
+		for(int i = 0; i < numberOfStruck; i++) {
+			int defender = struck[i];
+			damageTaken[defender] = 0;
+			killers[defender] = -1;
+		}
+		if(numberOfDead > 0) {
+			removeDead(0);
+			removeDead(1);
+		}
+		numberOfDeaths += numberOfDead;
+		numberOfRounds++;
+		return numberOfDead;
+	}
+
+	/**
+	 * Removes the terminated actors from the list of living members of a given side.
+	 */
+	private void removeDead(int side) {
+		int[] members = living[side];
+		int count = 0;
+		for(int i = 0; i < numberOfLiving[side]; i++) {
+			int member = members[i];
+			if(!actors[member].isTerminated()) {
+				slots[member] = count;
+				members[count++] = member;
+			}
+		}
+		numberOfLiving[side] = count;
+	}
+
+	/**
+	 * Checks whether this battle is over.
+	 *
+	 * @return	True if and only if one of both sides has no living members left.
+	 * 			| result == (getNumberOfLivingPartyMembers() == 0
+	 * 			|		|| getNumberOfLivingHordeMembers() == 0)
+	 */
+	public boolean isOver() {
+		return numberOfLiving[0] == 0 || numberOfLiving[1] == 0;
+	}
+
+	/**
+	 * Return the number of members of the party that are still alive.
+	 */
+	public int getNumberOfLivingPartyMembers() {
+		return numberOfLiving[0];
+	}
+
+	/**
+	 * Return the number of members of the horde that are still alive.
+	 */
+	public int getNumberOfLivingHordeMembers() {
+		return numberOfLiving[1];
+	}
+
+	/**
+	 * Return the number of rounds played in this battle.
+	 */
+	@Basic
+	public int getNumberOfRounds() {
+		return numberOfRounds;
+	}
+
+	/**
+	 * Variable registering the number of rounds played in this battle.
+	 */
+	private int numberOfRounds;
+
+	/**
+	 * Return the number of hits made in this battle, blocked or not.
+	 */
+	@Basic
+	public long getNumberOfHits() {
+		return numberOfHits;
+	}
+
+	/**
+	 * Variable registering the number of hits made in this battle.
+	 */
+	private long numberOfHits;
+
+	/**
+	 * Return the number of actors that died in this battle.
+	 */
+	@Basic
+	public int getNumberOfDeaths() {
+		return numberOfDeaths;
+	}
+
+	/**
+	 * Variable registering the number of actors that died in this battle.
+	 */
+	private int numberOfDeaths;
+
+	/**
+	 * Variable referencing the actors of this battle, the party before the horde.
+	 */
+	private final Actor[] actors;
+
+	/**
+	 * Variable registering the side of every actor: zero for the party, one for the horde.
+	 */
+	private final int[] sides;
+
+	/**
+	 * Variable referencing the indices of the living members of both sides.
+	 */
+	private final int[][] living;
+
+	/**
+	 * Variable registering the number of living members of both sides.
+	 */
+	private final int[] numberOfLiving = new int[2];
+
+	/**
+	 * Variable registering the position of every living actor in the list of
+	 * 	living members of his side.
+	 */
+	private final int[] slots;
+
+	/**
+	 * Variable referencing the indices of the actors in turn order.
+	 */
+	private final int[] turnOrder;
+
+	/**
+	 * Variable registering the position of every actor in the turn order.
+	 */
+	private final int[] turnPositions;
+
+	/**
+	 * Variable registering the damage every actor took in the current round.
+	 */
+	private final long[] damageTaken;
+
+	/**
+	 * Variable registering the largest damage of a single strike every actor
+	 * 	took in the current round.
+	 */
+	private final int[] largestDamage;
+
+	/**
+	 * Variable registering the index of the actor that dealt every actor the
+	 * 	largest damage in the current round, or -1 if he wasn't struck.
+	 */
+	private final int[] killers;
+
+	/**
+	 * Variable registering the indices of the actors struck in the current round.
+	 */
+	private final int[] struck;
+
+	/**
+	 * Variable registering the turn positions of the actors that died in the current round.
+	 */
+	private final int[] dead;
+}
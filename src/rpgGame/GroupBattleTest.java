@@ -0,0 +1,91 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class GroupBattleTest {
+
+	private static Actor[] createParty(int size, int seed) {
+		Actor[] party = new Actor[size];
+		for(int i = 0; i < size; i++)
+			party[i] = new Hero("Hero", 500, 15 + i % 5, null, new SplittableRandomSource(seed + i));
+		return party;
+	}
+
+	private static Actor[] createHorde(int size, int seed) {
+		Actor[] horde = new Actor[size];
+		for(int i = 0; i < size; i++)
+			horde[i] = new Monster("Creep", 30, 4 + i % 3, i % 3, new SplittableRandomSource(seed + i));
+		return horde;
+	}
+
+	@Test
+	public void testFight() {
+		Actor[] party = createParty(5, 0);
+		Actor[] horde = createHorde(40, 100);
+		GroupBattle battle = new GroupBattle(party, horde);
+		assertEquals(5, battle.getNumberOfLivingPartyMembers());
+		assertEquals(40, battle.getNumberOfLivingHordeMembers());
+		int rounds = battle.fight(100000);
+		assertTrue(battle.isOver());
+		assertEquals(rounds, battle.getNumberOfRounds());
+		int terminated = 0;
+		for(Actor actor : party)
+			if(actor.isTerminated())
+				terminated++;
+		assertEquals(5 - terminated, battle.getNumberOfLivingPartyMembers());
+		for(Actor actor : horde)
+			if(actor.isTerminated()) {
+				terminated++;
+				assertEquals(0, actor.getHitPoints());
+				assertEquals(0, actor.getWeight().getNumeral(), 0);
+			}
+		assertEquals(terminated, battle.getNumberOfDeaths());
+		assertTrue(battle.getNumberOfHits() >= rounds);
+		assertEquals(0, battle.playRound());
+		assertEquals(rounds, battle.getNumberOfRounds());
+	}
+
+	@Test
+	public void testDeterministic() {
+		GroupBattle first = new GroupBattle(createParty(5, 0), createHorde(40, 100));
+		GroupBattle second = new GroupBattle(createParty(5, 0), createHorde(40, 100));
+		assertEquals(first.fight(100000), second.fight(100000));
+		assertEquals(first.getNumberOfHits(), second.getNumberOfHits());
+		assertEquals(first.getNumberOfLivingPartyMembers(), second.getNumberOfLivingPartyMembers());
+		assertEquals(first.getNumberOfLivingHordeMembers(), second.getNumberOfLivingHordeMembers());
+	}
+
+	@Test
+	public void testDeathsAtEndOfRound() {
+		// Two monsters that kill with every hit that gets through: in some battles
+		// both strike home in the first round and both die.
+		boolean bothDied = false;
+		for(int seed = 0; seed < 200 && !bothDied; seed++) {
+			Actor first = new Monster("Creep", 2, 40, new Item[0], new SplittableRandomSource(seed));
+			Actor second = new Monster("Creep", 2, 40, new Item[0], new SplittableRandomSource(1000 + seed));
+			GroupBattle battle = new GroupBattle(new Actor[] {first}, new Actor[] {second});
+			battle.playRound();
+			assertTrue(battle.isOver() || !first.isTerminated() && !second.isTerminated());
+			bothDied = first.isTerminated() && second.isTerminated();
+			if(bothDied)
+				assertEquals(2, battle.getNumberOfDeaths());
+		}
+		assertTrue(bothDied);
+	}
+
+	@Test
+	public void testTenThousandParticipants() {
+		GroupBattle battle = new GroupBattle(createParty(100, 0), createHorde(9900, 100));
+		battle.playRound();
+		assertEquals(1, battle.getNumberOfRounds());
+		assertEquals(10000, battle.getNumberOfHits());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDuplicateActor() {
+		Actor[] party = createParty(2, 0);
+		new GroupBattle(party, new Actor[] {party[0]});
+	}
+}
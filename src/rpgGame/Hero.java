@@ -44,7 +44,37 @@ public class Hero extends Actor{
 	public Hero(String name, int maxHitPoints, double strength, HashMap<LocationEquipment,Item> gear)
 			throws IllegalArgumentException, IllegaleToestandsUitzondering
 	{
-		super(name, maxHitPoints, strength); 
+		this(name, maxHitPoints, strength, gear, MathHelp.getRandomSource());
+	}
+	
+	/**
+	 * Initializes a hero with given maximum hit points, name, strength, set of equipment 
+	 * 	and random source.
+	 * 
+	 * @param	maxHitPoints
+	 * 			The maximum value for this new hero's hit points.
+	 * @param	name
+	 * 			The name for this new hero.
+	 * @param 	strength
+	 * 			The strength for this new hero.
+	 * @param	gear
+	 * 			A HashMap with LocationEquipment as key variables and Item as values.
+	 * @param	random
+	 * 			The random source this new hero draws his random numbers from.
+	 * @pre 	The amount of hitPoints must be a natural number larger than zero.
+	 * 			| maxHitPoints > 0
+	 * @effect	Puts every piece of equipment from gear in the hero's equipment.
+	 * 			| setEquipment(gear)
+	 * @effect 	The new hero is initialized as a new actor with the given name,
+	 * 			the given maxHitpoins, the given strength and the given random source.
+	 * 			| super(name, maxHitPoints, strength, random);
+	 * @effect	The new hero will gain some standard items with the method setStandardEquipment.
+	 * 			| this.setStandardEquipment();
+	 */
+	public Hero(String name, int maxHitPoints, double strength, HashMap<LocationEquipment,Item> gear,
+			RandomSource random) throws IllegalArgumentException, IllegaleToestandsUitzondering
+	{
+		super(name, maxHitPoints, strength, random); 
 		addItem(gear);
 		setStandardEquipment();
 	}
@@ -83,7 +113,7 @@ public class Hero extends Actor{
 	 * 			This method will try to move a new pruse
 	 * 			to the location purse.
 	 * 			| when (this.getItem(LocationEquipment.Purse) == null) 
-	 *		 	|	then (new Purse(MathHelp.randomInt(100))
+	 *		 	|	then (new Purse(getRandomSource().randomInt(100))
 	 *			|					.moveTo(this,LocationEquipment.Body);
 	 */
 	@Model
@@ -93,7 +123,7 @@ public class Hero extends Actor{
 			item.moveTo(this,LocationEquipment.Body);
 		}
 		if(this.getItem(LocationEquipment.Belt) == null){
-			Item item = new Purse(MathHelp.randomInt(100), new DukatAmount(100));
+			Item item = new Purse(getRandomSource().randomInt(100), new DukatAmount(100));
 			item.moveTo(this, LocationEquipment.Belt);
 		}
 	}
@@ -127,7 +157,7 @@ public class Hero extends Actor{
 	}
 	
 	/**
-	 * Returns the damage that this hero can deal.
+	 * Computes the damage that this hero can deal.
 	 * 	
 	 * @return 	The result is the sum of the hero's strength and the damage
 	 * 			of the weapons that the hero wears on his
@@ -139,7 +169,8 @@ public class Hero extends Actor{
 	 * 			| result == (int)((damage-10)/2)
 	 */
 	@Override
-	protected int getDamage(){
+	@Model
+	protected int computeDamage(){
 		double damage = super.getStrength();
 		Item[] lijst = new Item[2];
 		lijst[0] = getItem(LocationEquipment.LeftHand);
@@ -193,7 +224,7 @@ public class Hero extends Actor{
 	}
 	
 	/**
-	 * Return the protection factor for this hero. 
+	 * Computes the protection factor for this hero. 
 	 * 		The protection factor is an indicator for the hero's ability to avoid attacks in a fight.
 	 * 	
 	 * @return 	The result will be a positive number.
@@ -206,8 +237,8 @@ public class Hero extends Actor{
 	 * 			| result == factor + 10;
 	 */
 	@Override
-	@Basic
-	public double getProtection(){
+	@Model
+	protected double computeProtection(){
 		Item item = getItem(LocationEquipment.Body);
 		double protectionWithArmor = protection;
 		if(item != null && (item.getClass() == Armor.class)){
@@ -248,7 +279,19 @@ public class Hero extends Actor{
 	 */
 	@Override
 	protected int luckFactorForHit() {
-		return MathHelp.randomInt(20);
+		return getRandomSource().randomInt(20);
+	}
+	
+	/**
+	 * Returns the chance that a hit of this hero isn't blocked by an opponent 
+	 * 	with a given protection factor.
+	 * 
+	 * @return	The chance that a random number in 0..20 is at least the protection.
+	 * 			| result == getChanceOfRandomIntAtLeast(20, protection)
+	 */
+	@Override
+	protected double getChanceOfHitting(double protection) {
+		return getChanceOfRandomIntAtLeast(20, protection);
 	}
 	
 	/**
@@ -262,7 +305,7 @@ public class Hero extends Actor{
 	 */
 	@Override
 	protected int heal() {
-		return MathHelp.randomInt(getMaxHitpoints()-getHitPoints());
+		return getRandomSource().randomInt(getMaxHitpoints()-getHitPoints());
 	}
 	
 	/**
@@ -489,6 +532,7 @@ public class Hero extends Actor{
 		if(!canHoldItem(item, location) || item.getDirectHolder() != this)
 			throw new IllegalArgumentException();
 		equipment.put(location, item);
+		invalidateCombatProfile();
 	}
 	
 	/**
@@ -559,6 +603,7 @@ public class Hero extends Actor{
 			throw new IllegalArgumentException();
 		Collection<Item> c = equipment.values();
 		c.remove(item);
+		invalidateCombatProfile();
 	}
 	
 	/**
@@ -592,11 +637,13 @@ public class Hero extends Actor{
 						equipment.remove(LocationEquipment.Body);
 						armor.moveTo(this, LocationEquipment.Body);
 						equipment.put(location, oldArmor);
+						invalidateCombatProfile();
 						return;
 					}
 					catch (Exception e) {
 							equipment.remove(location);
 							equipment.put(LocationEquipment.Body, oldArmor);
+							invalidateCombatProfile();
 							//something went wrong try again with the next location
 					}
 				}
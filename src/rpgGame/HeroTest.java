@@ -520,6 +520,30 @@ public class HeroTest {
 		assertTrue(heroStandard.getStrength() == 10 );
 	}
 	
+	@Test
+	public void testDivideStrengthHalfEven(){
+		heroStandard.divideStrength(8); // 1.25
+		heroStandard.divideStrength(2); // 0.625 rounds to the even 0.62
+		assertTrue(heroStandard.getStrength() == 0.62);
+	}
+	
+	@Test
+	public void testStrengthRoundedOnConstruction(){
+		Hero hero = new Hero("Geer't", 100, 12.3456);
+		assertTrue(hero.getStrength() == MathHelp.convertPrecisionDouble(12.3456, 2));
+		hero.multiplyStrength(3);
+		assertTrue(hero.getStrength() == 37.05);
+	}
+	
+	@Test
+	public void testMultiplyStrengthOverflow(){
+		heroStandard.multiplyStrength(Integer.MAX_VALUE);
+		heroStandard.multiplyStrength(Integer.MAX_VALUE);
+		double strength = heroStandard.getStrength();
+		heroStandard.multiplyStrength(Integer.MAX_VALUE);
+		assertTrue(heroStandard.getStrength() == strength);
+	}
+	
 	@Test
 	public void testGetAverageStrength() {
 		assertTrue(Hero.getAverageStrength()==10);
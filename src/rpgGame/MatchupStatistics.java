@@ -0,0 +1,266 @@
+package rpgGame;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of statistics over many fights between the same two kinds of actors.
+ * 		Statistics are sums and extremes, so statistics gathered by different
+ * 		workers can be combined in any order with the same outcome.
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class MatchupStatistics {
+
+	/**
+	 * Adds the outcome of a single fight to these statistics.
+	 * 
+	 * @param 	result
+	 * 			The result of the fight.
+	 * @post	The number of fights is incremented by one.
+	 * 			| new.getNumberOfFights() == getNumberOfFights() + 1
+	 */
+	public void add(BattleResult result) {
+		numberOfFights++;
+		if(result.isDraw())
+			numberOfDraws++;
+		else if(result.isWonByFirst())
+			winsByFirst++;
+		else
+			winsBySecond++;
+		totalRounds += result.getNumberOfRounds();
+		totalHits += result.getNumberOfHits();
+		damageByFirst += result.getDamageByFirst();
+		damageBySecond += result.getDamageBySecond();
+		lootMoved += result.getLootMoved();
+		minimumRounds = Math.min(minimumRounds, result.getNumberOfRounds());
+		maximumRounds = Math.max(maximumRounds, result.getNumberOfRounds());
+	}
+	
+	/**
+	 * Adds the fights of other statistics to these statistics.
+	 * 
+	 * @param 	other
+	 * 			The statistics to add.
+	 * @post	The number of fights is the sum of both numbers of fights.
+	 * 			| new.getNumberOfFights() == getNumberOfFights() + other.getNumberOfFights()
+	 */
+	public void combine(MatchupStatistics other) {
+		numberOfFights += other.numberOfFights;
+		winsByFirst += other.winsByFirst;
+		winsBySecond += other.winsBySecond;
+		numberOfDraws += other.numberOfDraws;
+		totalRounds += other.totalRounds;
+		totalHits += other.totalHits;
+		damageByFirst += other.damageByFirst;
+		damageBySecond += other.damageBySecond;
+		lootMoved += other.lootMoved;
+		minimumRounds = Math.min(minimumRounds, other.minimumRounds);
+		maximumRounds = Math.max(maximumRounds, other.maximumRounds);
+	}
+	
+	/**
+	 * Return the number of fights in these statistics.
+	 */
+	@Basic
+	public long getNumberOfFights() {
+		return numberOfFights;
+	}
+	
+	/**
+	 * Return the number of fights won by the actor that struck first.
+	 */
+	@Basic
+	public long getWinsByFirst() {
+		return winsByFirst;
+	}
+	
+	/**
+	 * Return the number of fights won by the actor that struck second.
+	 */
+	@Basic
+	public long getWinsBySecond() {
+		return winsBySecond;
+	}
+	
+	/**
+	 * Return the number of fights that ended in a draw.
+	 */
+	@Basic
+	public long getNumberOfDraws() {
+		return numberOfDraws;
+	}
+	
+	/**
+	 * Return the fraction of the fights won by the actor that struck first.
+	 * 
+	 * @return	| result == getWinsByFirst() / getNumberOfFights()
+	 */
+	public double getWinRateOfFirst() {
+		return (numberOfFights == 0) ? 0 : winsByFirst / (double)numberOfFights;
+	}
+	
+	/**
+	 * Return the total number of rounds of all fights.
+	 */
+	@Basic
+	public long getTotalRounds() {
+		return totalRounds;
+	}
+	
+	/**
+	 * Return the total number of hits of all fights.
+	 */
+	@Basic
+	public long getTotalHits() {
+		return totalHits;
+	}
+	
+	/**
+	 * Return the total damage dealt by the actors that struck first.
+	 */
+	@Basic
+	public long getDamageByFirst() {
+		return damageByFirst;
+	}
+	
+	/**
+	 * Return the total damage dealt by the actors that struck second.
+	 */
+	@Basic
+	public long getDamageBySecond() {
+		return damageBySecond;
+	}
+	
+	/**
+	 * Return the total number of items looted by the winners.
+	 */
+	@Basic
+	public long getLootMoved() {
+		return lootMoved;
+	}
+	
+	/**
+	 * Return the smallest number of rounds of a fight, or zero without fights.
+	 */
+	public int getMinimumRounds() {
+		return (numberOfFights == 0) ? 0 : minimumRounds;
+	}
+	
+	/**
+	 * Return the largest number of rounds of a fight.
+	 */
+	@Basic
+	public int getMaximumRounds() {
+		return maximumRounds;
+	}
+	
+	/**
+	 * Variable registering the number of fights.
+	 */
+	private long numberOfFights;
+	
+	/**
+	 * Variable registering the number of fights won by the first actor.
+	 */
+	private long winsByFirst;
+	
+	/**
+	 * Variable registering the number of fights won by the second actor.
+	 */
+	private long winsBySecond;
+	
+	/**
+	 * Variable registering the number of draws.
+	 */
+	private long numberOfDraws;
+	
+	/**
+	 * Variable registering the total number of rounds.
+	 */
+	private long totalRounds;
+	
+	/**
+	 * Variable registering the total number of hits.
+	 */
+	private long totalHits;
+	
+	/**
+	 * Variable registering the total damage dealt by the first actor.
+	 */
+	private long damageByFirst;
+	
+	/**
+	 * Variable registering the total damage dealt by the second actor.
+	 */
+	private long damageBySecond;
+	
+	/**
+	 * Variable registering the total number of looted items.
+	 */
+	private long lootMoved;
+	
+	/**
+	 * Variable registering the smallest number of rounds of a fight.
+	 */
+	private int minimumRounds = Integer.MAX_VALUE;
+	
+	/**
+	 * Variable registering the largest number of rounds of a fight.
+	 */
+	private int maximumRounds;
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + (int)(numberOfFights ^ (numberOfFights >>> 32));
+		result = prime * result + (int)(winsByFirst ^ (winsByFirst >>> 32));
+		result = prime * result + (int)(totalHits ^ (totalHits >>> 32));
+		result = prime * result + (int)(damageByFirst ^ (damageByFirst >>> 32));
+		result = prime * result + (int)(damageBySecond ^ (damageBySecond >>> 32));
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		MatchupStatistics other = (MatchupStatistics) obj;
+		return numberOfFights == other.numberOfFights
+				&& winsByFirst == other.winsByFirst
+				&& winsBySecond == other.winsBySecond
+				&& numberOfDraws == other.numberOfDraws
+				&& totalRounds == other.totalRounds
+				&& totalHits == other.totalHits
+				&& damageByFirst == other.damageByFirst
+				&& damageBySecond == other.damageBySecond
+				&& lootMoved == other.lootMoved
+				&& getMinimumRounds() == other.getMinimumRounds()
+				&& maximumRounds == other.maximumRounds;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "MatchupStatistics [Fights=" + getNumberOfFights()
+				+ ", Wins=" + getWinsByFirst() + "/" + getWinsBySecond() 
+				+ ", Draws=" + getNumberOfDraws()
+				+ ", Rounds=" + getTotalRounds() + " (" + getMinimumRounds() + ".." + getMaximumRounds() + ")"
+				+ ", Hits=" + getTotalHits()
+				+ ", Damage=" + getDamageByFirst() + "/" + getDamageBySecond()
+				+ ", Loot=" + getLootMoved() + "]";
+	}
+}
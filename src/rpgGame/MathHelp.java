@@ -1,7 +1,13 @@
 package rpgGame;
 
+import java.io.File;
 import java.math.BigDecimal;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Immutable;
 
 /**
  * A class offering useful static methods with mathematical meanings. 
@@ -26,48 +32,239 @@ public class MathHelp {
 	
 	/**
 	 * Checks whether a given long number is a prime number.
+	 * 		Numbers covered by the prime sieve are answered by a single lookup,
+	 * 		larger numbers are tested exactly by a deterministic Miller-Rabin test,
+	 * 		so every call runs in bounded time.
 	 * 
 	 * @param 	number
 	 * 			The number to be checked
 	 * @pre		The given long must be integer.
 	 * @return 	False if the number isn't a positive non zero long.
+	 * @return	True if the number is one.
 	 * @return	True if and only if the given number is a prime number.
 	 */
 	public static boolean isPrime(long number){
 		if(number <= 0)
 			return false;
-		if (number == 1 || number == 2)
+		if (number == 1)
 			return true;
-		for (int i=2; i<(long)(number/2); i++)
-		{
-			if ( (number/(double)i) == (long)(number/i) )
+		if(primeSieve.covers(number))
+			return primeSieve.isPrime(number);
+		return isPrimeMillerRabin(number);
+	}
+	
+	/**
+	 * Checks whether a given number larger than one is a prime number using the 
+	 * 	Miller-Rabin test. With the first twelve primes as witnesses the test is 
+	 * 	exact for every positive long.
+	 * 
+	 * @param 	number
+	 * 			The number to be checked.
+	 * @pre		The number must be larger than one.
+	 * 			| number > 1
+	 * @return	True if and only if the given number is a prime number.
+	 */
+	static boolean isPrimeMillerRabin(long number){
+		for(long witness : millerRabinWitnesses){
+			if(number == witness)
+				return true;
+			if(number % witness == 0)
+				return false;
+		}
+		long d = number - 1;
+		int s = Long.numberOfTrailingZeros(d);
+		d >>= s;
+		for(long witness : millerRabinWitnesses){
+			if(!passesMillerRabinRound(number, witness, d, s))
 				return false;
 		}
 		return true;
 	}
 	
+	/**
+	 * Checks whether a given odd number passes one round of the Miller-Rabin test 
+	 * 	with a given witness, where number - 1 == d * 2^s with d odd.
+	 */
+	private static boolean passesMillerRabinRound(long number, long witness, long d, int s){
+		long x = powMod(witness, d, number);
+		if(x == 1 || x == number - 1)
+			return true;
+		for(int r = 1; r < s; r++){
+			x = mulMod(x, x, number);
+			if(x == number - 1)
+				return true;
+			if(x == 1)
+				return false;
+		}
+		return false;
+	}
+	
+	/**
+	 * Array containing the witnesses that make the Miller-Rabin test exact for 
+	 * 	every number smaller than 3.3 * 10^24, and so for every long.
+	 */
+	private static final long[] millerRabinWitnesses = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+	
+	/**
+	 * Return the given base raised to the given exponent modulo the given modulus.
+	 * 
+	 * @pre		The base is non negative and smaller than the modulus, the exponent
+	 * 			is non negative and the modulus is larger than one.
+	 */
+	private static long powMod(long base, long exponent, long modulus){
+		long result = 1;
+		base %= modulus;
+		while(exponent > 0){
+			if((exponent & 1) == 1)
+				result = mulMod(result, base, modulus);
+			base = mulMod(base, base, modulus);
+			exponent >>= 1;
+		}
+		return result;
+	}
+	
+	/**
+	 * Return the product of two given numbers modulo a given modulus without overflow.
+	 * 
+	 * @pre		Both numbers are non negative and smaller than the modulus, which is positive.
+	 * @return	The product of a and b modulo the given modulus.
+	 * 			| result == (a * b) % modulus (computed exactly)
+	 */
+	static long mulMod(long a, long b, long modulus){
+		if(a < sqrtOfLongMax && b < sqrtOfLongMax)
+			return (a * b) % modulus;
+		long result = 0;
+		while(b > 0){
+			if((b & 1) == 1)
+				result = addMod(result, a, modulus);
+			a = addMod(a, a, modulus);
+			b >>= 1;
+		}
+		return result;
+	}
+	
+	/**
+	 * Return the sum of two given numbers modulo a given modulus without overflow.
+	 * 
+	 * @pre		Both numbers are non negative and smaller than the modulus.
+	 */
+	private static long addMod(long a, long b, long modulus){
+		return (a >= modulus - b) ? a - (modulus - b) : a + b;
+	}
+	
+	/**
+	 * Constant registering the largest number whose square still fits in a long.
+	 */
+	private static final long sqrtOfLongMax = 3037000499L;
+	
 	/**
 	 * Return the largest prime number smaller than a given number.
+	 * 		Numbers covered by the previous prime index are answered by a single
+	 * 		array read.
 	 * 
 	 * @param 	number
 	 * 			The maximum value the prime number may have.
-	 * @pre		number is a positive non zero integer
 	 * @effect	The result is the same as the result  of the 
 	 * 			method greatesPrimeNumberUnder((long)number)
 	 * 			cast to an integer.
 	 */
 	public static int greatestPrimeNumberUnder(int number){
+		PreviousPrimeIndex index = getPreviousPrimeIndex();
+		if(index.covers(number))
+			return index.previousPrime(number);
 		long  primeNumber = (int)MathHelp.greatestPrimeNumberUnder((long)number);
 		return (int)primeNumber;
 	}
 	
+	/**
+	 * Return the index answering previous prime queries for hit points.
+	 * 	The index is built the first time it is needed and covers every number up
+	 * 	to the value of the system property rpgGame.maxHitPoints, 2^20 by default.
+	 * 	When the system property rpgGame.numberTables names a file, the index is
+	 * 	mapped from that file, which is written first if it's missing or invalid.
+	 * 	Its size and build time are logged at level CONFIG to the logger of this class.
+	 * 
+	 * @see		#getPreviousPrimeIndexLimit(int)
+	 */
+	static PreviousPrimeIndex getPreviousPrimeIndex(){
+		return PreviousPrimeIndexHolder.index;
+	}
+	
+	/**
+	 * A class holding the previous prime index, so that it's only built when
+	 * 	it is used for the first time.
+	 */
+	private static class PreviousPrimeIndexHolder {
+		
+		/**
+		 * Variable referencing the previous prime index for hit points.
+		 */
+		private static final PreviousPrimeIndex index = createPreviousPrimeIndex();
+		
+		/**
+		 * Returns a new previous prime index, mapped from the number table file
+		 * 	if one is configured.
+		 */
+		private static PreviousPrimeIndex createPreviousPrimeIndex() {
+			int limit = getPreviousPrimeIndexLimit(Integer.getInteger("rpgGame.maxHitPoints", defaultMaxHitPoints));
+			String tables = System.getProperty("rpgGame.numberTables");
+			PreviousPrimeIndex index;
+			if(tables == null)
+				index = new PreviousPrimeIndex(limit, primeSieve);
+			else
+				index = NumberTableFile.load(new File(tables), limit, primeSieve);
+			logger.log(Level.CONFIG, "Previous prime index for hit points: {0}", index);
+			return index;
+		}
+	}
+	
+	/**
+	 * Return the limit of the previous prime index for a given configured number
+	 * 	of hit points.
+	 * 
+	 * @param 	maxHitPoints
+	 * 			The configured number of hit points.
+	 * @return	The default of 2^20 with a warning, if the given number isn't positive.
+	 * 			| if(maxHitPoints <= 0) then result == 1 << 20
+	 * @return	The largest number the prime sieve covers with a warning, if the 
+	 * 			given number is larger.
+	 * @return	Otherwise the given number.
+	 */
+	static int getPreviousPrimeIndexLimit(int maxHitPoints) {
+		if(maxHitPoints <= 0) {
+			logger.warning("rpgGame.maxHitPoints must be positive, using " + defaultMaxHitPoints 
+					+ " instead of " + maxHitPoints);
+			return defaultMaxHitPoints;
+		}
+		if(maxHitPoints > primeSieve.getMaximumLimit()) {
+			int limit = (int)primeSieve.getMaximumLimit();
+			logger.warning("rpgGame.maxHitPoints can't exceed " + limit + ", using it instead of " 
+					+ maxHitPoints);
+			return limit;
+		}
+		return maxHitPoints;
+	}
+	
+	/**
+	 * Constant registering the number of hit points the previous prime index 
+	 * 	covers by default.
+	 */
+	private static final int defaultMaxHitPoints = 1 << 20;
+	
+	/**
+	 * Constant referencing the logger of this class.
+	 */
+	private static final Logger logger = Logger.getLogger(MathHelp.class.getName());
+	
 	/**
 	 * Return the largest long prime number smaller than a given number.
 	 * 
 	 * @param 	number
 	 * 			The maximum value the prime number may have.
-	 * @pre		number is a positive non zero integer
-	 * 			| number > 0
+	 * @return	If the number is smaller than one, the result is one, the smallest 
+	 * 			number this class considers prime.
+	 * 			| when (number < 1)
+	 * 			|	then result == 1
 	 * @return	The largest long integer smaller than or equal to the given number that is a prime number.
 	 * 			| let I = number
 	 * 			| while(!MathHelp.isPrime(I))
@@ -75,51 +272,98 @@ public class MathHelp {
 	 * 			| result == I
 	 */
 	public static long  greatestPrimeNumberUnder(long number){
-		while(!MathHelp.isPrime(number)){
+		if(number < 2)
+			return 1;
+		while(!primeSieve.covers(number)){
+			if(MathHelp.isPrime(number))
+				return number;
 			number--;
 		}
-		return number;
+		return primeSieve.previousPrime(number);
 	}
+	
+	/**
+	 * Return the smallest long prime number larger than a given number.
+	 * 
+	 * @param 	number
+	 * 			The number the prime number must be larger than.
+	 * @return	If the number is smaller than one, the result is one, the smallest 
+	 * 			number this class considers prime.
+	 * 			| when (number < 1)
+	 * 			|	then result == 1
+	 * @return	The smallest long integer larger than the given number that is a prime number.
+	 * 			| let I = number + 1
+	 * 			| while(!MathHelp.isPrime(I))
+	 * 			| 	I++
+	 * 			| result == I
+	 * @throws	IllegalArgumentException
+	 * 			When there is no long prime number larger than the given number.
+	 * 			| number >= greatestPrimeNumberUnder(Long.MAX_VALUE)
+	 */
+	public static long smallestPrimeNumberAbove(long number) throws IllegalArgumentException {
+		if(number < 1)
+			return 1;
+		if(number >= 9223372036854775783L)
+			throw new IllegalArgumentException("There is no long prime number above " + number + ".");
+		if(primeSieve.covers(number + 1)) {
+			long prime = primeSieve.nextPrime(number + 1);
+			if(prime != 0)
+				return prime;
+			number = primeSieve.getMaximumLimit();
+		}
+		long candidate = (number + 1) | 1;
+		while(!isPrimeMillerRabin(candidate))
+			candidate += 2;
+		return candidate;
+	}
+	
+	/**
+	 * Variable referencing the sieve answering prime queries for small numbers.
+	 * 	It starts out covering the usual hit point range and grows on demand
+	 * 	up to 2^26, which takes 4 MB of heap.
+	 */
+	private static final PrimeSieve primeSieve = new PrimeSieve(1 << 16, 1L << 26);
 
 	/**
-	 * Returns the n-th binomial coefficient.
+	 * Returns the sum of the binomial coefficients of grade n, that is the sum of
+	 * 	row n of Pascal's triangle.
 	 * 
 	 * @param 	n
-	 * 			The grade of the binomial coefficient.
+	 * 			The grade of the binomial coefficients.
+	 * @return	The sum of the binomial coefficients of grade n, which equals 2^n.
+	 * 			| result == 2^n
+	 * @throws	IllegalArgumentException
+	 * 			When the grade is negative or when the sum doesn't fit in a long.
+	 * 			| n < 0 || n > getMaximumGradeOfBinomials()
 	 */
-	public static long getSumOfBinomials(long n) {
-		long sum = 1;
-		long binomial = 1;
-		int k;
-		
-		for(int i = 1; i <= n; i++){
-			k = i-1;
-			binomial = ((n - k)/(k+1))*binomial;
-			sum+=binomial;
-		}
-		
-		return sum;
+	public static long getSumOfBinomials(long n) throws IllegalArgumentException {
+		if(n < 0 || n > getMaximumGradeOfBinomials())
+			throw new IllegalArgumentException("The sum of binomials of this grade doesn't fit in a long.");
+		return 1L << n;
+	}
+	
+	/**
+	 * Return the largest grade for which the sum of binomial coefficients fits in a long.
+	 * 
+	 * @return	The result is 62, since 2^63 doesn't fit in a long.
+	 * 			| result == 62
+	 */
+	@Immutable
+	public static int getMaximumGradeOfBinomials() {
+		return 62;
 	}
 	
 	/**
-	 * Checks whether a given number is a binomial coefficient (of any grade).
+	 * Checks whether a given number is a sum of binomial coefficients (of any grade).
 	 * 
 	 * @param 	number
 	 * 			The number to check.
-	 * @return	True if the given number is a binomial coefficient.
+	 * @return	True if and only if the given number is a positive power of two.
+	 * 			| result == (number > 0 && 
+	 * 			|	for some I in 0..getMaximumGradeOfBinomials() number == getSumOfBinomials(I))
 	 */
 	public static boolean isSumOfBinomials(long number){
-		int grade = 0;
-		boolean found = false;
-		
-		while(!found && grade < Integer.MAX_VALUE - 1){
-			if(getSumOfBinomials(grade) == number){
-				found = true;
-			}
-			grade++;
-		}
-		
-		return found;
+		return number > 0 && (number & (number - 1)) == 0;
 	}
 	
 	
@@ -142,9 +386,56 @@ public class MathHelp {
 		bd = bd.setScale(precision,BigDecimal.ROUND_HALF_EVEN );
 		return bd.doubleValue();
 	}
+	
+	/**
+	 * Rounds every double in a given array to a given precision, in the same
+	 * 	way convertPrecisionDouble(double, int) rounds a single double.
+	 * 	Values that are clearly not halfway between two neighbors are rounded 
+	 * 	without creating a BigDecimal.
+	 * 
+	 * @param 	numbers
+	 * 			The doubles to be converted.
+	 * @param 	precision
+	 * 			The precision that the results will have.
+	 * @pre		The given precision must be positive.
+	 * @return	A new array with the same length as the given array.
+	 * 			| result.length == numbers.length
+	 * @return	Every double in the result is the corresponding given double
+	 * 			rounded to the given precision.
+	 * 			| for each I in 0..numbers.length-1
+	 * 			|	result[I] == convertPrecisionDouble(numbers[I], precision)
+	 */
+	public static double[] convertPrecisionDouble(double[] numbers, int precision) {
+		double[] result = new double[numbers.length];
+		boolean fast = precision >= 0 && precision < powersOfTen.length;
+		double scale = fast ? powersOfTen[precision] : 0;
+		for(int i = 0; i < numbers.length; i++) {
+			double number = numbers[i];
+			double scaled = number * scale;
+			if(fast && Math.abs(scaled) < 0x1p52) {
+				double rounded = Math.rint(scaled);
+				// the product is off by at most half an ulp, so it can only
+				// be rounded on its own when it isn't close to a tie
+				if(Math.abs(Math.abs(scaled - rounded) - 0.5) > 2 * Math.ulp(scaled)) {
+					result[i] = rounded / scale + 0.0; // BigDecimal has no negative zero
+					continue;
+				}
+			}
+			result[i] = convertPrecisionDouble(number, precision);
+		}
+		return result;
+	}
+	
+	/**
+	 * Array containing the powers of ten that are exactly representable as a double
+	 * 	and small enough for the fast rounding path.
+	 */
+	private static final double[] powersOfTen = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 
+		1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
 
 	/**
 	 * Checks whether a given number occurs in the Fibonacci sequence.
+	 * 	The number is looked up in the table of all Fibonacci numbers that fit in a long.
 	 * 
 	 * @param 	test
 	 * 			The number to be checked.
@@ -154,31 +445,91 @@ public class MathHelp {
 	 * 			the row of Fibannaci.
 	 */
 	public static boolean isFibonacciNumber(long test){
-		if( test == 0)
-			return true;
-		long[] number = {0,1};
-		while(number[1] <= test){
-			if(number[1] == test) 
-				return true;
-			long sum = number[0] + number[1];
-			number[0] = number[1];
-			number[1] = sum;
-		}
-		return false;
+		return Arrays.binarySearch(fibonacciNumbers, test) >= 0;
+	}
+	
+	/**
+	 * Returns the n-th number of the Fibonacci sequence.
+	 * 
+	 * @param 	n
+	 * 			The index of the Fibonacci number, starting from 0 for the number 0.
+	 * @return	The n-th Fibonacci number.
+	 * 			| result == getFibonacciNumber(n-1) + getFibonacciNumber(n-2)
+	 * @throws	IllegalArgumentException
+	 * 			When the index is negative or when the Fibonacci number doesn't fit in a long.
+	 * 			| n < 0 || n >= getNumberOfFibonacciNumbers()
+	 */
+	public static long getFibonacciNumber(int n) throws IllegalArgumentException {
+		if(n < 0 || n >= fibonacciNumbers.length)
+			throw new IllegalArgumentException("This Fibonacci number doesn't fit in a long.");
+		return fibonacciNumbers[n];
+	}
+	
+	/**
+	 * Returns how many Fibonacci numbers fit in a long.
+	 * 
+	 * @return	The result is 93, the numbers F(0) up to and including F(92).
+	 */
+	public static int getNumberOfFibonacciNumbers() {
+		return fibonacciNumbers.length;
+	}
+	
+	/**
+	 * Variable referencing all Fibonacci numbers that fit in a long, in ascending order.
+	 */
+	private static final long[] fibonacciNumbers = createFibonacciNumbers();
+	
+	/**
+	 * Returns an array containing all Fibonacci numbers that fit in a long, in ascending order.
+	 */
+	private static long[] createFibonacciNumbers() {
+		long[] numbers = new long[93];
+		numbers[1] = 1;
+		for(int i = 2; i < numbers.length; i++)
+			numbers[i] = numbers[i-1] + numbers[i-2];
+		return numbers;
+	}
+	
+	/**
+	 * Returns the random source that is used when no other source is given.
+	 */
+	@Basic
+	public static RandomSource getRandomSource(){
+		return randomSource;
+	}
+	
+	/**
+	 * Set the random source that is used when no other source is given.
+	 * 
+	 * @param 	source
+	 * 			The new default random source.
+	 * @post	The new default random source is the given source.
+	 * 			| getRandomSource() == source
+	 * @throws	IllegalArgumentException
+	 * 			When the given source isn't effective.
+	 * 			| source == null
+	 */
+	public static void setRandomSource(RandomSource source) throws IllegalArgumentException {
+		if(source == null)
+			throw new IllegalArgumentException("The random source must be effective.");
+		randomSource = source;
 	}
 	
 	/**
-	 * Variable referencing a random generator.
+	 * Variable referencing the default random source. By default every thread
+	 * 	draws from its own ThreadLocalRandom, so threads don't contend.
 	 */
-	private static Random randomGenerator = new Random();
+	private static volatile RandomSource randomSource = ThreadLocalRandomSource.instance;
 	
 	/**
 	 * Returns a random integer between 0 and a given integer (inclusive).
 	 * 
 	 * @param 	max
 	 * 			The lowest value the random integer may not be.
+	 * @effect	The result is drawn from the default random source.
+	 * 			| result == getRandomSource().randomInt(max)
 	 */
 	public static int randomInt(int max){
-		return randomGenerator.nextInt(max + 1);
+		return randomSource.randomInt(max);
 	}
 }
@@ -0,0 +1,213 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MathHelpTest {
+
+	/**
+	 * Reference implementation checking primality by plain trial division.
+	 */
+	private static boolean isPrimeNaive(long number) {
+		if(number <= 0)
+			return false;
+		if(number == 1)
+			return true;
+		for(long i = 2; i * i <= number; i++)
+			if(number % i == 0)
+				return false;
+		return true;
+	}
+
+	@Test
+	public void testIsPrimeSmallNumbers() {
+		for(long i = -10; i <= 100000; i++)
+			assertEquals("isPrime(" + i + ")", isPrimeNaive(i), MathHelp.isPrime(i));
+	}
+
+	@Test
+	public void testIsPrimeAroundSieveLimit() {
+		long limit = 1L << 26;
+		for(long i = limit - 500; i <= limit + 500; i++)
+			assertEquals("isPrime(" + i + ")", isPrimeNaive(i), MathHelp.isPrime(i));
+	}
+
+	@Test
+	public void testIsPrimeInt() {
+		assertTrue(MathHelp.isPrime(97));
+		assertFalse(MathHelp.isPrime(4));
+		assertTrue(MathHelp.isPrime(Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void testGreatestPrimeNumberUnder() {
+		long expected = 1;
+		for(long i = 1; i <= 100000; i++) {
+			if(isPrimeNaive(i))
+				expected = i;
+			assertEquals(expected, MathHelp.greatestPrimeNumberUnder(i));
+		}
+		assertEquals(97, MathHelp.greatestPrimeNumberUnder(100));
+		assertEquals(691, MathHelp.greatestPrimeNumberUnder(700));
+		assertEquals(1, MathHelp.greatestPrimeNumberUnder(0));
+		assertEquals(1, MathHelp.greatestPrimeNumberUnder(-5));
+		assertEquals(2147483647, MathHelp.greatestPrimeNumberUnder(Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void testSmallestPrimeNumberAbove() {
+		long expected = 1;
+		for(long i = 1; i <= 100000; i++) {
+			while(expected <= i || !isPrimeNaive(expected))
+				expected++;
+			assertEquals(expected, MathHelp.smallestPrimeNumberAbove(i));
+		}
+		assertEquals(1, MathHelp.smallestPrimeNumberAbove(-5));
+		long limit = 1L << 26;
+		for(long i = limit - 200; i <= limit + 200; i++) {
+			expected = i + 1;
+			while(!isPrimeNaive(expected))
+				expected++;
+			assertEquals(expected, MathHelp.smallestPrimeNumberAbove(i));
+		}
+		assertEquals(9223372036854775783L, MathHelp.smallestPrimeNumberAbove(9223372036854775782L));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSmallestPrimeNumberAboveOverflow() {
+		MathHelp.smallestPrimeNumberAbove(9223372036854775783L);
+	}
+
+	@Test
+	public void testGreatestPrimeNumberUnderAboveSieve() {
+		long number = (1L << 26) + 1000;
+		long expected = number;
+		while(!isPrimeNaive(expected))
+			expected--;
+		assertEquals(expected, MathHelp.greatestPrimeNumberUnder(number));
+	}
+
+	@Test
+	public void testIsPrimeMillerRabinAgreesWithTrialDivision() {
+		for(long i = 2; i <= 20000; i++)
+			assertEquals("isPrimeMillerRabin(" + i + ")", isPrimeNaive(i), MathHelp.isPrimeMillerRabin(i));
+		for(long i = 1000000000000L; i <= 1000000000000L + 200; i++)
+			assertEquals("isPrime(" + i + ")", isPrimeNaive(i), MathHelp.isPrime(i));
+	}
+
+	@Test
+	public void testIsPrimeLargeNumbers() {
+		assertTrue(MathHelp.isPrime(2305843009213693951L)); // 2^61 - 1
+		assertTrue(MathHelp.isPrime(9223372036854775783L)); // largest prime below 2^63
+		assertFalse(MathHelp.isPrime(Long.MAX_VALUE));
+		assertFalse(MathHelp.isPrime(4611686014132420609L)); // (2^31 - 1)^2
+		assertFalse(MathHelp.isPrime(3037000493L * 3037000493L));
+	}
+
+	@Test
+	public void testIsPrimeStrongPseudoprimes() {
+		assertFalse(MathHelp.isPrime(3215031751L));
+		assertFalse(MathHelp.isPrime(3825123056546413051L));
+		assertFalse(MathHelp.isPrime(341550071728321L));
+	}
+
+	@Test
+	public void testGreatestPrimeNumberUnderLargeID() {
+		assertEquals(999999999989L, MathHelp.greatestPrimeNumberUnder(1000000000000L));
+		assertEquals(9223372036854775783L, MathHelp.greatestPrimeNumberUnder(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void testMulMod() {
+		long modulus = 9223372036854775783L;
+		assertEquals(1, MathHelp.mulMod(modulus - 1, modulus - 1, modulus));
+		assertEquals(modulus - 2, MathHelp.mulMod(modulus - 1, 2, modulus));
+	}
+
+	@Test
+	public void testGetSumOfBinomials() {
+		long[] row = {1};
+		for(int n = 0; n <= MathHelp.getMaximumGradeOfBinomials(); n++) {
+			long sum = 0;
+			for(long binomial : row)
+				sum += binomial;
+			assertEquals(sum, MathHelp.getSumOfBinomials(n));
+			long[] next = new long[row.length + 1];
+			next[0] = 1;
+			next[row.length] = 1;
+			for(int k = 1; k < row.length; k++)
+				next[k] = row[k - 1] + row[k];
+			row = next;
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetSumOfBinomialsOverflow() {
+		MathHelp.getSumOfBinomials(63);
+	}
+
+	@Test
+	public void testIsSumOfBinomials() {
+		for(int n = 0; n <= MathHelp.getMaximumGradeOfBinomials(); n++)
+			assertTrue(MathHelp.isSumOfBinomials(MathHelp.getSumOfBinomials(n)));
+		assertFalse(MathHelp.isSumOfBinomials(0));
+		assertFalse(MathHelp.isSumOfBinomials(-8));
+		assertFalse(MathHelp.isSumOfBinomials(6));
+		assertFalse(MathHelp.isSumOfBinomials(Long.MAX_VALUE));
+		assertFalse(MathHelp.isSumOfBinomials(Long.MIN_VALUE));
+	}
+
+	@Test
+	public void testIsFibonacciNumber() {
+		long previous = 0;
+		long current = 1;
+		assertTrue(MathHelp.isFibonacciNumber(0));
+		while(current > 0) {
+			assertTrue(MathHelp.isFibonacciNumber(current));
+			if(current - previous > 1)
+				assertFalse(MathHelp.isFibonacciNumber(current - 1));
+			long sum = previous + current;
+			previous = current;
+			current = sum;
+		}
+		assertEquals(7540113804746346429L, previous);
+		assertFalse(MathHelp.isFibonacciNumber(-1));
+		assertFalse(MathHelp.isFibonacciNumber(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void testGetFibonacciNumber() {
+		assertEquals(0, MathHelp.getFibonacciNumber(0));
+		assertEquals(55, MathHelp.getFibonacciNumber(10));
+		assertEquals(7540113804746346429L, MathHelp.getFibonacciNumber(92));
+		assertEquals(93, MathHelp.getNumberOfFibonacciNumbers());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetFibonacciNumberOverflow() {
+		MathHelp.getFibonacciNumber(93);
+	}
+
+	@Test
+	public void testConvertPrecisionDoubleArray() {
+		Random random = new Random(42);
+		double[] numbers = new double[20000];
+		for(int i = 0; i < numbers.length; i++) {
+			switch(i % 4) {
+				case 0: numbers[i] = random.nextDouble() * 100; break;
+				case 1: numbers[i] = random.nextInt(100000) / 1000.0; break;
+				case 2: numbers[i] = (random.nextInt(20000) - 10000) / 200.0 + 0.005; break;
+				default: numbers[i] = -random.nextDouble() / 100; break;
+			}
+		}
+		for(int precision = 0; precision <= 4; precision++) {
+			double[] result = MathHelp.convertPrecisionDouble(numbers, precision);
+			for(int i = 0; i < numbers.length; i++)
+				assertEquals(Double.doubleToLongBits(MathHelp.convertPrecisionDouble(numbers[i], precision)),
+						Double.doubleToLongBits(result[i]));
+		}
+	}
+}
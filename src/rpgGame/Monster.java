@@ -17,7 +17,7 @@ public class Monster extends Actor{
 	/**
 	 * Initializes a monster with a given name and a given 
 	 *  strength and a given amount of hit points and a given
-	 *  array of items.
+	 *  array of items and a given random source.
 	 * 
 	 * @param 	name
 	 * 			The name for the new monster.	
@@ -27,6 +27,8 @@ public class Monster extends Actor{
 	 * 			The value for the strength for this new monster.
 	 * @param	item
 	 * 			An array containing the item you want to give to this monster.
+	 * @param	random
+	 * 			The random source this new monster draws his random numbers from.
 	 * @pre		The given array containing items must be valid for the given strength
 	 * 			| isValidItemsArray(item,strength)
 	 * @pre 	The amount of hitPoints must be a natural number larger than zero.
@@ -38,11 +40,13 @@ public class Monster extends Actor{
 	 * 			| for each I in 0..item.length
 	 * 			|	this.getItem(i-1) == item[i-1]
 	 * @effect 	The new monster is initialized as a new actor with the 
-	 * 			given name and hitPoints and the given strength.
-	 * 			| super(name, hitPoints, strength);
+	 * 			given name and hitPoints, the given strength and the given
+	 * 			random source.
+	 * 			| super(name, hitPoints, strength, random);
 	 */
-	public Monster(String name, int hitPoints, double strength, Item[] item) throws IllegalArgumentException {
-		super(name, hitPoints, strength);
+	public Monster(String name, int hitPoints, double strength, Item[] item, RandomSource random) 
+			throws IllegalArgumentException {
+		super(name, hitPoints, strength, random);
 		
 		assert(isValidItemsArray(item, strength));
 		equipment = new Item[item.length];
@@ -52,7 +56,33 @@ public class Monster extends Actor{
 	/**
 	 * Initializes a monster with a given name and a given 
 	 *  strength and a given amount of hit points and a given
-	 *  number of anchors.
+	 *  array of items.
+	 * 
+	 * @param 	name
+	 * 			The name for the new monster.	
+	 * @param	hitPoints
+	 * 			The value for the new monster's hit points.
+	 * @param 	strength
+	 * 			The value for the strength for this new monster.
+	 * @param	item
+	 * 			An array containing the item you want to give to this monster.
+	 * @pre		The given array containing items must be valid for the given strength
+	 * 			| isValidItemsArray(item,strength)
+	 * @pre 	The amount of hitPoints must be a natural number larger than zero.
+	 * 			| hitPoints > 0
+	 * @effect 	The new monster is initialized as a new monster with the 
+	 * 			given name, hitPoints, strength and items and the default
+	 * 			random source.
+	 * 			| this(name, hitPoints, strength, item, MathHelp.getRandomSource());
+	 */
+	public Monster(String name, int hitPoints, double strength, Item[] item) throws IllegalArgumentException {
+		this(name, hitPoints, strength, item, MathHelp.getRandomSource());
+	}
+	
+	/**
+	 * Initializes a monster with a given name and a given 
+	 *  strength and a given amount of hit points and a given
+	 *  number of anchors and a given random source.
 	 * 
 	 * @param 	name
 	 * 			The name for the new monster.	
@@ -62,22 +92,49 @@ public class Monster extends Actor{
 	 * 			The value for the strength for this new monster.
 	 * @param	numberOfAnchors
 	 * 			The number of anchors the monster will have
+	 * @param	random
+	 * 			The random source this new monster draws his random numbers from.
 	 * @pre 	The amount of hitPoints must be a natural number larger than zero.
 	 * 			| hitPoints > 0
 	 * @effect 	The new monster is initialized as a new monster with the 
 	 * 			given name and hitPoints and the given strength and 
 	 * 			the array resulting from the static method fillEquipment.
 	 * 			| this(name, hitPoints, strength, 
-	 * 					Monster.fillEquipment(numberOfAnchors, strength);
+	 * 					Monster.fillEquipment(numberOfAnchors, strength, random), random);
 	 */
-	public Monster(String name, int hitPoints, double strength, int numberOfAnchors) throws IllegalArgumentException {
+	public Monster(String name, int hitPoints, double strength, int numberOfAnchors, RandomSource random) 
+			throws IllegalArgumentException {
 		this(name, hitPoints, strength,
-				Monster.fillEquipment(numberOfAnchors, strength));
+				Monster.fillEquipment(numberOfAnchors, strength, random), random);
+	}
+	
+	/**
+	 * Initializes a monster with a given name and a given 
+	 *  strength and a given amount of hit points and a given
+	 *  number of anchors.
+	 * 
+	 * @param 	name
+	 * 			The name for the new monster.	
+	 * @param	hitPoints
+	 * 			The value for the new monster's hit points.
+	 * @param 	strength
+	 * 			The value for the strength for this new monster.
+	 * @param	numberOfAnchors
+	 * 			The number of anchors the monster will have
+	 * @pre 	The amount of hitPoints must be a natural number larger than zero.
+	 * 			| hitPoints > 0
+	 * @effect 	The new monster is initialized as a new monster with the 
+	 * 			given name, hitPoints, strength and number of anchors and 
+	 * 			the default random source.
+	 * 			| this(name, hitPoints, strength, numberOfAnchors, MathHelp.getRandomSource())
+	 */
+	public Monster(String name, int hitPoints, double strength, int numberOfAnchors) throws IllegalArgumentException {
+		this(name, hitPoints, strength, numberOfAnchors, MathHelp.getRandomSource());
 	}
 	
 	/**
 	 *  Initializes a monster with a given name and a given strength
-	 *   and a given amount of hit points.
+	 *   and a given amount of hit points and a given random source.
 	 * 
 	 * @param 	name
 	 * 			The name for the new monster.	
@@ -85,35 +142,78 @@ public class Monster extends Actor{
 	 * 			The value for the new monster's hit points.
 	 * @param 	strength
 	 * 			The value for the strength for this new monster.
+	 * @param	random
+	 * 			The random source this new monster draws his random numbers from.
 	 * @pre 	The amount of hitPoints must be a natural number larger than zero.
 	 * 			| hitPoints > 0
 	 * @effect 	The new monster is initialized as a new monster with 
 	 * 			the given name, the given hit points, the given strength
 	 * 			and random number between 0 and 20 as it's number of
 	 * 			anchors.
-	 * 			| this(name, hitPoints, strength, MathHelp.randomInt(20))
+	 * 			| this(name, hitPoints, strength, random.randomInt(20), random)
+	 */
+	public Monster(String name, int hitPoints, double strength, RandomSource random) throws IllegalArgumentException {
+		this(name, hitPoints, strength, random.randomInt(20), random);
+	}
+	
+	/**
+	 *  Initializes a monster with a given name and a given strength
+	 *   and a given amount of hit points.
+	 * 
+	 * @param 	name
+	 * 			The name for the new monster.	
+	 * @param	hitPoints
+	 * 			The value for the new monster's hit points.
+	 * @param 	strength
+	 * 			The value for the strength for this new monster.
+	 * @pre 	The amount of hitPoints must be a natural number larger than zero.
+	 * 			| hitPoints > 0
+	 * @effect 	The new monster is initialized as a new monster with 
+	 * 			the given name, the given hit points, the given strength
+	 * 			and the default random source.
+	 * 			| this(name, hitPoints, strength, MathHelp.getRandomSource())
 	 */
 	public Monster(String name, int hitPoints, double strength) throws IllegalArgumentException {
-		this(name, hitPoints, strength, MathHelp.randomInt(20));
+		this(name, hitPoints, strength, MathHelp.getRandomSource());
 	}
 	
 	/**
 	 *  Initializes a monster with a given name and a given amount 
-	 *   of hit points.
+	 *   of hit points and a given random source.
 	 * 
 	 * @param 	name
 	 * 			The name for the new monster.	
 	 * @param	hitPoints
 	 * 			The value for the new monster's hit points.
+	 * @param	random
+	 * 			The random source this new monster draws his random numbers from.
 	 * @pre 	The amount of hitPoints must be a natural number larger than zero.
 	 * 			| hitPoints > 0
 	 * @effect 	The new monster is initialized as a new monster with the 
 	 * 			given name, the given hit points and a strength from 
 	 * 			0 to 100.
-	 * 			| this(name, hitPoints, (Math.random()*100));
+	 * 			| this(name, hitPoints, random.randomDouble()*100, random);
+	 */
+	public Monster(String name, int hitPoints, RandomSource random) throws IllegalArgumentException {
+		this(name, hitPoints, random.randomDouble()*100, random);
+	}
+	
+	/**
+	 *  Initializes a monster with a given name and a given amount 
+	 *   of hit points.
+	 * 
+	 * @param 	name
+	 * 			The name for the new monster.	
+	 * @param	hitPoints
+	 * 			The value for the new monster's hit points.
+	 * @pre 	The amount of hitPoints must be a natural number larger than zero.
+	 * 			| hitPoints > 0
+	 * @effect 	The new monster is initialized as a new monster with the 
+	 * 			given name, the given hit points and the default random source.
+	 * 			| this(name, hitPoints, MathHelp.getRandomSource());
 	 */
 	public Monster(String name, int hitPoints) throws IllegalArgumentException {
-		this(name, hitPoints, Math.random()*100);
+		this(name, hitPoints, MathHelp.getRandomSource());
 	}
 		
 	/**
@@ -162,6 +262,8 @@ public class Monster extends Actor{
 	 * @param 	strength
 	 * 			The value that determines the maximum total weight
 	 * 			of all the items in the array.
+	 * @param	random
+	 * 			The random source the items are drawn from.
 	 * @return	The length of the result is equal to number of slots.
 	 * 			| result.length == numberofslots
 	 * @return 	The total weight of the result will be less than or 
@@ -172,26 +274,26 @@ public class Monster extends Actor{
 	 * 			|	  then totalWeightResult = result[I].getWeight()
 	 * 			| 	then totalWeightResult.compare(Monster.getCapacityMonster(strength)) <=0
 	 */
-	private static Item[] fillEquipment(int numberofslots, double strength){
+	private static Item[] fillEquipment(int numberofslots, double strength, RandomSource random){
 		Item[] gear = new Item[numberofslots];
 		Weight capacity = Monster.getCapacityMonster(strength);
 		Weight currentWeight = new Weight(0);
 
 		for (int i = 0; i < gear.length; i++) {
-			int random = MathHelp.randomInt(100);
-			if(random > 50) {
+			int kind = random.randomInt(100);
+			if(kind > 50) {
 				Item itemToAddToGear = null;
-				if(random < 60) {
+				if(kind < 60) {
 					itemToAddToGear = new Backpack();
 				}
-				else if(random < 70 ) {
-					itemToAddToGear = new Armor(MathHelp.randomInt(100));
+				else if(kind < 70 ) {
+					itemToAddToGear = new Armor(random.randomInt(100), random.randomInt(100));
 				}
-				else if(random < 80) {
-					itemToAddToGear = new Weapon();
+				else if(kind < 80) {
+					itemToAddToGear = new Weapon(new Weight(5), random);
 				}
-				else if(random < 90) {
-					itemToAddToGear = new Purse(MathHelp.randomInt(100));
+				else if(kind < 90) {
+					itemToAddToGear = new Purse(random.randomInt(100));
 				}
 				if(itemToAddToGear != null){
 					if(capacity.compareTo(currentWeight.add(itemToAddToGear.getWeight())) >= 0){
@@ -239,7 +341,7 @@ public class Monster extends Actor{
 	
 	
 	/**
-	 * Returns the damage that this monster can deal in combat.
+	 * Computes the damage that this monster can deal in combat.
 	 * 	
 	 * @return	The result is the sum of a number that is unique for the monster
 	 * 		    and the strength of the monster.
@@ -248,7 +350,8 @@ public class Monster extends Actor{
 	 *			| -1 <= uniqueNumber <= 31
 	 */
 	@Override
-	protected int getDamage() {
+	@Model
+	protected int computeDamage() {
 		double damage = super.getStrength();
 		damage += (claw.getValue()-5)/(double) 3;
 		return (int)damage;
@@ -258,7 +361,7 @@ public class Monster extends Actor{
 	 * A method that creates a weapon that will be used for the monster's claw.
 	 */
 	private Weapon createClaw() {
-		Weapon weapon = new Weapon();
+		Weapon weapon = new Weapon(new Weight(5), getRandomSource());
 		weapon.terminate();
 		return weapon;
 	}
@@ -270,15 +373,15 @@ public class Monster extends Actor{
 	
 	
 	/**
-	 * Return the protection factor for this monster. 
+	 * Computes the protection factor for this monster. 
 	 *  The protection factor is an indicator for the monster's ability block an attack.
 	 *
 	 * @return	The result will be positive.
 	 * 			| result >= 0
 	 */
-	@Immutable
-	@Basic
-	public double getProtection() {
+	@Override
+	@Model
+	protected double computeProtection() {
 		return skin.getValue();
 	}
 	
@@ -286,7 +389,7 @@ public class Monster extends Actor{
 	 * A method that creates an armor that will be used for the monster's skin.
 	 */
 	private Armor createSkin() {
-		Armor armor = new Armor(1, MathHelp.randomInt(20));
+		Armor armor = new Armor(1, getRandomSource().randomInt(20));
 		armor.terminate();
 		return armor;
 	}
@@ -310,12 +413,31 @@ public class Monster extends Actor{
 	 */
 	@Override
 	protected int luckFactorForHit() {
-		int factor = MathHelp.randomInt(100);
-		if(factor >= getDamage())
-			factor = getDamage();
+		int factor = getRandomSource().randomInt(100);
+		int damage = getDamage();
+		if(factor >= damage)
+			factor = damage;
 		return factor;
 	}
 	
+	/**
+	 * Returns the chance that a hit of this monster isn't blocked by an opponent 
+	 * 	with a given protection factor.
+	 * 
+	 * @return	Zero if the damage of this monster, which caps its luck factor, is
+	 * 			smaller than the protection. Otherwise the chance that a random 
+	 * 			number in 0..100 is at least the protection.
+	 * 			| if(getDamage() < protection)
+	 * 			|	then result == 0
+	 * 			|	else result == getChanceOfRandomIntAtLeast(100, protection)
+	 */
+	@Override
+	protected double getChanceOfHitting(double protection) {
+		if(getDamage() < protection)
+			return 0;
+		return getChanceOfRandomIntAtLeast(100, protection);
+	}
+	
 	/**
 	 * A method that determines if this monster
 	 *  wants to hold the given item.
@@ -339,7 +461,7 @@ public class Monster extends Actor{
 			return false;
 		else if(item instanceof Bag)
 			return true;
-		else if(MathHelp.randomInt(100) < 50)
+		else if(getRandomSource().randomInt(100) < 50)
 			return true;
 		return false;
 	}
@@ -470,6 +592,7 @@ public class Monster extends Actor{
 		if(!canHoldItem(item, location) || item.getDirectHolder() != this)
 			throw new IllegalArgumentException();
 		equipment[location] = item;
+		invalidateCombatProfile();
 	}
 	
 	/**
@@ -516,6 +639,7 @@ public class Monster extends Actor{
 		for (int i = 0; i < getNumberOfAnchors(); i++) {
 			if(equipment[i] == item) {
 				equipment[i] = null;
+				invalidateCombatProfile();
 				return;
 			}
 		}
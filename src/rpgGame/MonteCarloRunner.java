@@ -0,0 +1,221 @@
+package rpgGame;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of runners simulating many fights between two kinds of actors on 
+ * 	all cores.
+ * 		Fight number i of a run with a given master seed draws all of its random 
+ * 		numbers, including those needed to create both actors, from the source
+ * 		SplittableRandomSource.derive(masterSeed, i). Every fight can thus be 
+ * 		replayed on its own, and the statistics of a run don't depend on the 
+ * 		number of threads or on the order in which the fights are run.
+ * 		The work is split with fork/join into chunks of fights. Every chunk has 
+ * 		its own battle simulator and statistics, which are combined when the 
+ * 		chunks are joined, so workers never share mutable state. Every chunk 
+ * 		also reserves a block of armor IDs from the default armor ID allocator 
+ * 		for the actors it creates, so workers don't wait for each other to get
+ * 		an ID for every armor.
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class MonteCarloRunner {
+
+	/**
+	 * Initializes a new runner for fights between the actors of two given factories.
+	 * 
+	 * @param 	first
+	 * 			The factory creating the actors that strike first.
+	 * @param 	second
+	 * 			The factory creating the actors that strike second.
+	 * @pre		The factories can be used by several threads at the same time and
+	 * 			draw all their random numbers from the given random source.
+	 * @throws	IllegalArgumentException
+	 * 			When one of the factories isn't effective.
+	 * 			| first == null || second == null
+	 */
+	public MonteCarloRunner(ActorFactory first, ActorFactory second) throws IllegalArgumentException {
+		if(first == null || second == null)
+			throw new IllegalArgumentException("The factories must be effective.");
+		this.first = first;
+		this.second = second;
+	}
+	
+	/**
+	 * Return the factory creating the actors that strike first.
+	 */
+	@Basic
+	@Immutable
+	public ActorFactory getFirst() {
+		return first;
+	}
+	
+	/**
+	 * Variable referencing the factory creating the actors that strike first.
+	 */
+	private final ActorFactory first;
+	
+	/**
+	 * Return the factory creating the actors that strike second.
+	 */
+	@Basic
+	@Immutable
+	public ActorFactory getSecond() {
+		return second;
+	}
+	
+	/**
+	 * Variable referencing the factory creating the actors that strike second.
+	 */
+	private final ActorFactory second;
+	
+	/**
+	 * Runs a given number of fights in the common fork/join pool.
+	 * 
+	 * @effect	| run(numberOfFights, masterSeed, ForkJoinPool.commonPool())
+	 */
+	public MatchupStatistics run(long numberOfFights, long masterSeed) throws IllegalArgumentException {
+		return run(numberOfFights, masterSeed, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Runs a given number of fights in a given fork/join pool.
+	 * 
+	 * @param 	numberOfFights
+	 * 			The number of fights to run.
+	 * @param 	masterSeed
+	 * 			The seed the seeds of the fights are derived from.
+	 * @param 	pool
+	 * 			The pool running the fights.
+	 * @return	The statistics of fights 0 up to numberOfFights - 1, which are the same
+	 * 			for every pool.
+	 * 			| for each I in 0..numberOfFights-1
+	 * 			|	result.add(replay(I, masterSeed))
+	 * @throws	IllegalArgumentException
+	 * 			When the number of fights is negative.
+	 * 			| numberOfFights < 0
+	 */
+	public MatchupStatistics run(long numberOfFights, long masterSeed, ForkJoinPool pool) 
+			throws IllegalArgumentException {
+		if(numberOfFights < 0)
+			throw new IllegalArgumentException("The number of fights can't be negative.");
+		return pool.invoke(new FightTask(masterSeed, 0, numberOfFights));
+	}
+	
+	/**
+	 * Runs a single fight of a run again.
+	 * 
+	 * @param 	fightIndex
+	 * 			The number of the fight in the run.
+	 * @param 	masterSeed
+	 * 			The master seed of the run.
+	 * @return	A new result of the fight, the same as the one counted by the run.
+	 */
+	public BattleResult replay(long fightIndex, long masterSeed) {
+		return fight(new BattleSimulator(), fightIndex, masterSeed, new BattleResult());
+	}
+	
+	/**
+	 * Runs fight number fightIndex of a run with a given master seed in a given 
+	 * 	simulator and stores its outcome in a given result.
+	 */
+	private BattleResult fight(BattleSimulator simulator, long fightIndex, long masterSeed, BattleResult result) {
+		RandomSource random = SplittableRandomSource.derive(masterSeed, fightIndex);
+		return simulator.fight(first.createActor(random), second.createActor(random), result);
+	}
+	
+	/**
+	 * Returns a factory creating heroes with a given name, maximum hit points 
+	 * 	and strength, and their default equipment.
+	 */
+	public static ActorFactory heroes(final String name, final int hitPoints, final double strength) {
+		return new ActorFactory() {
+			public Actor createActor(RandomSource random) {
+				return new Hero(name, hitPoints, strength, null, random);
+			}
+		};
+	}
+	
+	/**
+	 * Returns a factory creating monsters with a given name, hit points, strength
+	 * 	and number of anchors, filled with random items.
+	 */
+	public static ActorFactory monsters(final String name, final int hitPoints, final double strength, 
+			final int numberOfAnchors) {
+		return new ActorFactory() {
+			public Actor createActor(RandomSource random) {
+				return new Monster(name, hitPoints, strength, numberOfAnchors, random);
+			}
+		};
+	}
+	
+	/**
+	 * Constant registering the number of fights a task runs itself instead of 
+	 * 	splitting them further.
+	 */
+	private static final long fightsPerChunk = 256;
+	
+	/**
+	 * A class of fork/join tasks running a range of fights of a run.
+	 */
+	private class FightTask extends RecursiveTask<MatchupStatistics> {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Initializes a new task running the fights from a given index up to 
+		 * 	a given index, exclusive.
+		 */
+		FightTask(long masterSeed, long from, long to) {
+			this.masterSeed = masterSeed;
+			this.from = from;
+			this.to = to;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.RecursiveTask#compute()
+		 */
+		@Override
+		protected MatchupStatistics compute() {
+			if(to - from <= fightsPerChunk) {
+				MatchupStatistics statistics = new MatchupStatistics();
+				BattleSimulator simulator = new BattleSimulator();
+				BattleResult result = new BattleResult();
+				ArmorIdAllocator.setCurrent(ArmorIdAllocator.getDefault().reserveBlock((int)fightsPerChunk));
+				try {
+					for(long i = from; i < to; i++)
+						statistics.add(fight(simulator, i, masterSeed, result));
+				}
+				finally {
+					ArmorIdAllocator.setCurrent(null);
+				}
+				return statistics;
+			}
+			long middle = from + (to - from) / 2;
+			FightTask left = new FightTask(masterSeed, from, middle);
+			left.fork();
+			MatchupStatistics statistics = new FightTask(masterSeed, middle, to).compute();
+			statistics.combine(left.join());
+			return statistics;
+		}
+		
+		/**
+		 * Variable registering the master seed of the run.
+		 */
+		private final long masterSeed;
+		
+		/**
+		 * Variable registering the index of the first fight of this task.
+		 */
+		private final long from;
+		
+		/**
+		 * Variable registering the index after the last fight of this task.
+		 */
+		private final long to;
+	}
+}
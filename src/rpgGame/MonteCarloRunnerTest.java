@@ -0,0 +1,69 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class MonteCarloRunnerTest {
+
+	private MonteCarloRunner runner;
+
+	@Before
+	public void setUp() throws Exception {
+		runner = new MonteCarloRunner(MonteCarloRunner.heroes("Frankenstein", 300, 15),
+				MonteCarloRunner.monsters("Creep", 120, 30, 4));
+	}
+
+	@Test
+	public void testSameResultsForEveryNumberOfThreads() {
+		ForkJoinPool single = new ForkJoinPool(1);
+		ForkJoinPool several = new ForkJoinPool(4);
+		try {
+			MatchupStatistics expected = runner.run(3000, 42, single);
+			assertEquals(3000, expected.getNumberOfFights());
+			assertEquals(expected, runner.run(3000, 42, several));
+			assertEquals(expected, runner.run(3000, 42));
+			assertFalse(expected.equals(runner.run(3000, 43, several)));
+		} finally {
+			single.shutdown();
+			several.shutdown();
+		}
+	}
+
+	@Test
+	public void testFightsCanBeReplayed() {
+		MatchupStatistics replayed = new MatchupStatistics();
+		for(long i = 0; i < 300; i++)
+			replayed.add(runner.replay(i, 7));
+		assertEquals(runner.run(300, 7), replayed);
+		assertEquals(runner.replay(123, 7).toString(), runner.replay(123, 7).toString());
+	}
+
+	@Test
+	public void testStatisticsAddUp() {
+		MatchupStatistics statistics = runner.run(1000, 1);
+		assertEquals(statistics.getNumberOfFights(), statistics.getWinsByFirst() 
+				+ statistics.getWinsBySecond() + statistics.getNumberOfDraws());
+		assertTrue(statistics.getMinimumRounds() >= 1);
+		assertTrue(statistics.getMaximumRounds() >= statistics.getMinimumRounds());
+		assertTrue(statistics.getWinRateOfFirst() >= 0 && statistics.getWinRateOfFirst() <= 1);
+	}
+
+	@Test
+	public void testArmorIDsComeFromBlocks() {
+		long mark = ArmorIdAllocator.getDefault().getHighWaterMark();
+		runner.run(1000, 3);
+		assertSame(ArmorIdAllocator.getDefault(), ArmorIdAllocator.getCurrent());
+		assertTrue(ArmorIdAllocator.getDefault().getHighWaterMark() > mark);
+		Armor armor = new Armor(0, new Weight(5), 100);
+		assertTrue(armor.getID() > mark);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeNumberOfFights() {
+		runner.run(-1, 1);
+	}
+}
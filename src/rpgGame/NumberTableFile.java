@@ -0,0 +1,183 @@
+package rpgGame;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+/**
+ * A class of helpers storing the previous prime index of MathHelp in a file 
+ * 	that is mapped read-only into memory.
+ * 		A mapped table doesn't have to be rebuilt at startup, and every JVM on a
+ * 		host mapping the same file shares the same pages of the page cache.
+ * 		The file starts with a big-endian header of 24 bytes, followed by the 
+ * 		prime gaps as chars in the byte order of the host that wrote them:
+ * 			magic number (int), format version (int), limit (int), 
+ * 			byte order of the gaps (int, 0 for big-endian and 1 for little-endian),
+ * 			CRC32 checksum of the gaps (long).
+ * 		Only a table in the native byte order of the host is mapped, so reading a
+ * 		gap never swaps bytes; a table in the other byte order is rebuilt and 
+ * 		written again by load.
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+class NumberTableFile {
+
+	/**
+	 * Returns a previous prime index covering a given limit, mapped from a given
+	 * 	file if possible.
+	 * 
+	 * @param 	file
+	 * 			The file holding the table.
+	 * @param 	limit
+	 * 			The largest number the index must cover.
+	 * @param 	sieve
+	 * 			The sieve used to build the index when the file can't be used.
+	 * @return	The index mapped from the file, if the file holds a valid table
+	 * 			covering the given limit.
+	 * 			| result == map(file, limit)
+	 * @return	Otherwise a new index built on the heap. The table is then written 
+	 * 			to the file for the next launch, if the file can be written.
+	 * 			| result == new PreviousPrimeIndex(limit, sieve)
+	 */
+	static PreviousPrimeIndex load(File file, int limit, PrimeSieve sieve) {
+		try {
+			return map(file, limit);
+		} catch (IOException e) {
+			PreviousPrimeIndex index = new PreviousPrimeIndex(limit, sieve);
+			try {
+				write(file, index);
+			} catch (IOException ignored) {
+				// a read-only location only costs the next launch a rebuild
+			}
+			return index;
+		}
+	}
+	
+	/**
+	 * Maps the table in a given file into memory, read-only.
+	 * 
+	 * @param 	file
+	 * 			The file holding the table.
+	 * @param 	limit
+	 * 			The largest number the index must cover.
+	 * @return	An index with the given limit, reading its gaps from the mapped file.
+	 * 			| result.getLimit() == limit && result.isMapped()
+	 * @throws	IOException
+	 * 			When the file can't be read, has a different format version or byte
+	 * 			order, doesn't cover the limit, is too large to be mapped or doesn't 
+	 * 			match its size or checksum.
+	 */
+	static PreviousPrimeIndex map(File file, int limit) throws IOException {
+		long start = System.nanoTime();
+		RandomAccessFile input = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = input.getChannel();
+			ByteBuffer header = ByteBuffer.allocate(headerSize);
+			while(header.hasRemaining())
+				if(channel.read(header, header.position()) < 0)
+					throw new IOException("The file is too short for a number table.");
+			header.flip();
+			if(header.getInt(0) != magicNumber || header.getInt(4) != formatVersion)
+				throw new IOException("The file doesn't hold a number table of this version.");
+			int tableLimit = header.getInt(8);
+			if(tableLimit < limit || tableLimit < 1)
+				throw new IOException("The number table doesn't cover the limit.");
+			if(header.getInt(12) != getByteOrderTag(ByteOrder.nativeOrder()))
+				throw new IOException("The number table isn't in the byte order of this host.");
+			long payloadSize = 2L * tableLimit + 2;
+			if(channel.size() != headerSize + payloadSize)
+				throw new IOException("The size of the number table doesn't match its header.");
+			if(payloadSize > Integer.MAX_VALUE)
+				throw new IOException("The number table is too large to be mapped.");
+			MappedByteBuffer payload = channel.map(FileChannel.MapMode.READ_ONLY, headerSize, payloadSize);
+			CRC32 checksum = new CRC32();
+			checksum.update(payload.duplicate());
+			if(checksum.getValue() != header.getLong(16))
+				throw new IOException("The number table doesn't match its checksum.");
+			CharBuffer gaps = payload.order(ByteOrder.nativeOrder()).asCharBuffer();
+			gaps.limit(limit + 1);
+			return new PreviousPrimeIndex(gaps.slice(), System.nanoTime() - start);
+		} finally {
+			// the mapping stays valid after the file is closed
+			input.close();
+		}
+	}
+	
+	/**
+	 * Writes the table of a given index to a given file.
+	 * 		The table is written to a temporary file first and then moved in place, 
+	 * 		so that other JVMs never map a half-written table.
+	 * 
+	 * @param 	file
+	 * 			The file to write the table to.
+	 * @param 	index
+	 * 			The index whose table is written.
+	 * @throws	IOException
+	 * 			When the file can't be written.
+	 */
+	static void write(File file, PreviousPrimeIndex index) throws IOException {
+		CharBuffer gaps = index.getGaps();
+		ByteBuffer payload = ByteBuffer.allocate(2 * gaps.capacity()).order(ByteOrder.nativeOrder());
+		payload.asCharBuffer().put(gaps);
+		CRC32 checksum = new CRC32();
+		checksum.update(payload.array());
+		ByteBuffer header = ByteBuffer.allocate(headerSize);
+		header.putInt(magicNumber).putInt(formatVersion).putInt(index.getLimit());
+		header.putInt(getByteOrderTag(ByteOrder.nativeOrder()));
+		header.putLong(checksum.getValue());
+		header.flip();
+		File directory = file.getAbsoluteFile().getParentFile();
+		File temporary = File.createTempFile(file.getName(), ".tmp", directory);
+		try {
+			FileChannel channel = new FileOutputStream(temporary).getChannel();
+			try {
+				while(header.hasRemaining())
+					channel.write(header);
+				while(payload.hasRemaining())
+					channel.write(payload);
+			} finally {
+				channel.close();
+			}
+			Files.move(temporary.toPath(), file.toPath(), 
+					StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			temporary.delete();
+		}
+	}
+	
+	/**
+	 * Constant registering the number every number table file starts with, "RPGT".
+	 */
+	static final int magicNumber = 0x52504754;
+	
+	/**
+	 * Constant registering the version of the format of number table files.
+	 * 		Version 1 had big-endian gaps and no byte order in its header.
+	 */
+	static final int formatVersion = 2;
+	
+	/**
+	 * Return the number recording a given byte order in the header of a number table file.
+	 * 
+	 * @return	0 for big-endian, 1 for little-endian.
+	 * 			| result == (order == ByteOrder.BIG_ENDIAN ? 0 : 1)
+	 */
+	static int getByteOrderTag(ByteOrder order) {
+		return (order == ByteOrder.BIG_ENDIAN) ? 0 : 1;
+	}
+	
+	/**
+	 * Constant registering the number of bytes in the header of a number table file.
+	 */
+	static final int headerSize = 24;
+}
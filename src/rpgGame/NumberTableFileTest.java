@@ -0,0 +1,133 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NumberTableFileTest {
+
+	private File file;
+
+	private PreviousPrimeIndex index;
+
+	@Before
+	public void setUp() throws Exception {
+		file = File.createTempFile("numbers", ".table");
+		file.delete();
+		index = new PreviousPrimeIndex(5000, new PrimeSieve(64, 1 << 16));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		file.delete();
+	}
+
+	@Test
+	public void testWriteAndMap() throws IOException {
+		NumberTableFile.write(file, index);
+		assertEquals(NumberTableFile.headerSize + 2 * 5001, file.length());
+		PreviousPrimeIndex mapped = NumberTableFile.map(file, 5000);
+		assertTrue(mapped.isMapped());
+		assertFalse(index.isMapped());
+		assertEquals(5000, mapped.getLimit());
+		for(int i = 1; i <= 5000; i++)
+			assertEquals(index.previousPrime(i), mapped.previousPrime(i));
+	}
+
+	@Test
+	public void testMapSmallerLimit() throws IOException {
+		NumberTableFile.write(file, index);
+		PreviousPrimeIndex mapped = NumberTableFile.map(file, 100);
+		assertEquals(100, mapped.getLimit());
+		assertFalse(mapped.covers(101));
+		assertEquals(97, mapped.previousPrime(100));
+	}
+
+	@Test(expected = IOException.class)
+	public void testMapLargerLimit() throws IOException {
+		NumberTableFile.write(file, index);
+		NumberTableFile.map(file, 5001);
+	}
+
+	@Test(expected = IOException.class)
+	public void testMapCorruptedTable() throws IOException {
+		NumberTableFile.write(file, index);
+		RandomAccessFile output = new RandomAccessFile(file, "rw");
+		try {
+			output.seek(NumberTableFile.headerSize + 2 * 100);
+			output.writeChar(5);
+		} finally {
+			output.close();
+		}
+		NumberTableFile.map(file, 5000);
+	}
+
+	@Test(expected = IOException.class)
+	public void testMapForeignByteOrder() throws IOException {
+		NumberTableFile.write(file, index);
+		RandomAccessFile output = new RandomAccessFile(file, "rw");
+		try {
+			output.seek(12);
+			output.writeInt(1 - NumberTableFile.getByteOrderTag(ByteOrder.nativeOrder()));
+		} finally {
+			output.close();
+		}
+		NumberTableFile.map(file, 5000);
+	}
+
+	@Test(expected = IOException.class)
+	public void testMapSizeBeyondHeader() throws IOException {
+		NumberTableFile.write(file, index);
+		RandomAccessFile output = new RandomAccessFile(file, "rw");
+		try {
+			output.setLength(3L << 30);
+		} finally {
+			output.close();
+		}
+		NumberTableFile.map(file, 5000);
+	}
+
+	@Test(expected = IOException.class)
+	public void testMapTableTooLarge() throws IOException {
+		NumberTableFile.write(file, index);
+		RandomAccessFile output = new RandomAccessFile(file, "rw");
+		try {
+			output.seek(8);
+			output.writeInt(Integer.MAX_VALUE - 1);
+			output.setLength(NumberTableFile.headerSize + 2L * Integer.MAX_VALUE);
+		} finally {
+			output.close();
+		}
+		NumberTableFile.map(file, 5000);
+	}
+
+	@Test
+	public void testHeaderRecordsNativeByteOrder() throws IOException {
+		NumberTableFile.write(file, index);
+		RandomAccessFile input = new RandomAccessFile(file, "r");
+		try {
+			input.seek(12);
+			assertEquals(NumberTableFile.getByteOrderTag(ByteOrder.nativeOrder()), input.readInt());
+		} finally {
+			input.close();
+		}
+	}
+
+	@Test
+	public void testLoadWritesMissingFile() throws IOException {
+		assertFalse(file.exists());
+		PreviousPrimeIndex loaded = NumberTableFile.load(file, 3000, new PrimeSieve(64, 1 << 16));
+		assertFalse(loaded.isMapped());
+		assertTrue(file.exists());
+		PreviousPrimeIndex mapped = NumberTableFile.load(file, 3000, new PrimeSieve(64, 1 << 16));
+		assertTrue(mapped.isMapped());
+		assertEquals(2999, mapped.previousPrime(3000));
+	}
+}
@@ -0,0 +1,186 @@
+package rpgGame;
+
+import java.nio.CharBuffer;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of tables answering "the largest prime smaller than or equal to n" with
+ * 	a single array read for every n up to a fixed limit.
+ * 		The table stores for every number its distance to the previous prime.
+ * 		Prime gaps in the covered range are small, so the distances are kept as
+ * 		chars, which halves the size of a plain table of ints. The table lives
+ * 		either on the heap, in an array, or in a file mapped into memory by 
+ * 		NumberTableFile, in a buffer.
+ *
+ * @invar	The limit of the index is positive.
+ * 			| getLimit() > 0
+ *
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+class PreviousPrimeIndex {
+
+	/**
+	 * Initializes a new index covering every number up to a given limit.
+	 *
+	 * @param 	limit
+	 * 			The largest number the new index covers.
+	 * @param 	sieve
+	 * 			The sieve used to find the primes while building the index.
+	 * @post	The limit of the new index is the given limit.
+	 * 			| new.getLimit() == limit
+	 * @post	The build time of the new index is the time it took to fill the table.
+	 * @throws	IllegalArgumentException
+	 * 			When the limit isn't positive or when the sieve doesn't cover the limit.
+	 * 			| limit <= 0 || !sieve.covers(limit)
+	 */
+	PreviousPrimeIndex(int limit, PrimeSieve sieve) throws IllegalArgumentException {
+		if(limit <= 0 || !sieve.covers(limit))
+			throw new IllegalArgumentException("The sieve doesn't cover the limit of the index.");
+		long start = System.nanoTime();
+		char[] table = new char[limit + 1];
+		int previousPrime = 1;
+		for(int n = 2; n <= limit; n++) {
+			if(sieve.isPrime(n))
+				previousPrime = n;
+			int gap = n - previousPrime;
+			if(gap > Character.MAX_VALUE)
+				throw new IllegalArgumentException("The prime gaps under the limit don't fit the index.");
+			table[n] = (char)gap;
+		}
+		this.table = table;
+		this.gaps = null;
+		this.limit = limit;
+		this.buildTime = System.nanoTime() - start;
+	}
+
+	/**
+	 * Initializes a new index around a given table of prime gaps outside the heap.
+	 *
+	 * @param 	gaps
+	 * 			The distance from every number to the previous prime, starting at zero,
+	 * 			for instance in a mapped file.
+	 * @param 	buildTime
+	 * 			The time it took to obtain the table, in nanoseconds.
+	 * @pre		The table holds the gaps of a previous prime index.
+	 * @post	The limit of the new index is the largest number in the table.
+	 * 			| new.getLimit() == gaps.capacity() - 1
+	 * @throws	IllegalArgumentException
+	 * 			When the table doesn't cover any positive number.
+	 * 			| gaps.capacity() < 2
+	 */
+	PreviousPrimeIndex(CharBuffer gaps, long buildTime) throws IllegalArgumentException {
+		if(gaps.capacity() < 2)
+			throw new IllegalArgumentException("The table doesn't cover any positive number.");
+		this.table = null;
+		this.gaps = gaps;
+		this.limit = gaps.capacity() - 1;
+		this.buildTime = buildTime;
+	}
+
+	/**
+	 * Return the largest number this index covers.
+	 */
+	@Basic
+	@Immutable
+	int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * Variable registering the largest number this index covers.
+	 */
+	private final int limit;
+
+	/**
+	 * Checks whether this index covers a given number.
+	 *
+	 * @param 	number
+	 * 			The number to be checked.
+	 * @return	True if and only if the number is positive and not larger than the limit.
+	 * 			| result == (number > 0 && number <= getLimit())
+	 */
+	boolean covers(int number) {
+		return number > 0 && number <= limit;
+	}
+
+	/**
+	 * Return the largest prime number smaller than or equal to a given number.
+	 *
+	 * @param 	number
+	 * 			The maximum value the prime number may have.
+	 * @pre		This index covers the given number.
+	 * 			| covers(number)
+	 * @return	The result is the same as the result of
+	 * 			MathHelp.greatestPrimeNumberUnder(number).
+	 */
+	int previousPrime(int number) {
+		if(table != null)
+			return number - table[number];
+		return number - gaps.get(number);
+	}
+
+	/**
+	 * Return a read-only view of the distances from every covered number to the 
+	 * 	previous prime, starting at zero.
+	 */
+	CharBuffer getGaps() {
+		if(table != null)
+			return CharBuffer.wrap(table).asReadOnlyBuffer();
+		return gaps.asReadOnlyBuffer();
+	}
+
+	/**
+	 * Variable referencing the distance from every covered number to the previous
+	 * 	prime, when the table lives on the heap, or null.
+	 * 		A plain array is read without the bounds and byte order handling of a
+	 * 		buffer.
+	 */
+	private final char[] table;
+
+	/**
+	 * Variable referencing the distance from every covered number to the previous
+	 * 	prime, when the table lives outside the heap, or null.
+	 */
+	private final CharBuffer gaps;
+
+	/**
+	 * Return the number of bytes the table of this index occupies.
+	 */
+	long getSizeInBytes() {
+		return 2L * (limit + 1);
+	}
+
+	/**
+	 * Checks whether the table of this index lives outside the heap, in a mapped file.
+	 */
+	boolean isMapped() {
+		return table == null;
+	}
+
+	/**
+	 * Return the time it took to build this index, in nanoseconds.
+	 */
+	@Basic
+	@Immutable
+	long getBuildTime() {
+		return buildTime;
+	}
+
+	/**
+	 * Variable registering the time it took to build this index, in nanoseconds.
+	 */
+	private final long buildTime;
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "PreviousPrimeIndex [Limit=" + getLimit()
+				+ ", Size=" + getSizeInBytes() + " bytes"
+				+ (isMapped() ? " mapped" : " on the heap")
+				+ ", Build time=" + (getBuildTime() / 1000000.0) + " ms]";
+	}
+}
@@ -0,0 +1,66 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PreviousPrimeIndexTest {
+
+	private PreviousPrimeIndex index;
+
+	@Before
+	public void setUp() throws Exception {
+		index = new PreviousPrimeIndex(5000, new PrimeSieve(64, 1 << 16));
+	}
+
+	@Test
+	public void testPreviousPrime() {
+		for(int i = 1; i <= 5000; i++)
+			assertEquals(MathHelp.greatestPrimeNumberUnder((long)i), index.previousPrime(i));
+	}
+
+	@Test
+	public void testCovers() {
+		assertFalse(index.covers(0));
+		assertTrue(index.covers(1));
+		assertTrue(index.covers(5000));
+		assertFalse(index.covers(5001));
+	}
+
+	@Test
+	public void testSizeInBytes() {
+		assertEquals(2 * 5001, index.getSizeInBytes());
+		assertTrue(index.getBuildTime() >= 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLimitBeyondSieve() {
+		new PreviousPrimeIndex(1 << 17, new PrimeSieve(64, 1 << 16));
+	}
+
+	@Test
+	public void testMathHelpUsesIndex() {
+		assertEquals(97, MathHelp.greatestPrimeNumberUnder(100));
+		assertEquals(1, MathHelp.greatestPrimeNumberUnder(0));
+		assertTrue(MathHelp.getPreviousPrimeIndex().covers(1 << 20));
+	}
+
+	@Test
+	public void testIndexLimitInRange() {
+		assertEquals(1000, MathHelp.getPreviousPrimeIndexLimit(1000));
+		assertEquals(1 << 26, MathHelp.getPreviousPrimeIndexLimit(1 << 26));
+	}
+
+	@Test
+	public void testIndexLimitNotPositive() {
+		assertEquals(1 << 20, MathHelp.getPreviousPrimeIndexLimit(0));
+		assertEquals(1 << 20, MathHelp.getPreviousPrimeIndexLimit(-5));
+	}
+
+	@Test
+	public void testIndexLimitBeyondSieve() {
+		assertEquals(1 << 26, MathHelp.getPreviousPrimeIndexLimit((1 << 26) + 1));
+		assertEquals(1 << 26, MathHelp.getPreviousPrimeIndexLimit(Integer.MAX_VALUE));
+	}
+}
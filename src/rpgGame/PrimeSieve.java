@@ -0,0 +1,263 @@
+package rpgGame;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of sieves of Eratosthenes answering prime queries by a single bit lookup.
+ * 		Only odd numbers are stored: bit i of the sieve stands for the number 2*i+1
+ * 		and is set when that number is composite. The sieve starts out covering a
+ * 		small range and is extended segment by segment, on demand, up to a fixed
+ * 		maximum limit.
+ *
+ * @invar	The limit of the sieve never exceeds its maximum limit.
+ * 			| getLimit() <= getMaximumLimit()
+ *
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+class PrimeSieve {
+
+	/**
+	 * Initializes a new sieve with a given initial limit and a given maximum limit.
+	 *
+	 * @param 	initialLimit
+	 * 			The largest number the new sieve covers right away.
+	 * @param 	maximumLimit
+	 * 			The largest number the new sieve may ever cover.
+	 * @post	The maximum limit of the new sieve is the given maximum limit.
+	 * 			| new.getMaximumLimit() == maximumLimit
+	 * @post	The new sieve covers at least every number up to the given initial limit.
+	 * 			| new.getLimit() >= initialLimit
+	 * @throws	IllegalArgumentException
+	 * 			When the initial limit is smaller than 64 or larger than the maximum limit,
+	 * 			or when the maximum limit can't be addressed with an array of longs.
+	 * 			| initialLimit < 64 || initialLimit > maximumLimit
+	 * 			|	|| maximumLimit / 128 >= Integer.MAX_VALUE
+	 */
+	PrimeSieve(long initialLimit, long maximumLimit) throws IllegalArgumentException {
+		if(initialLimit < 64 || initialLimit > maximumLimit || maximumLimit / 128 >= Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Invalid limits for the sieve.");
+		this.maximumLimit = maximumLimit;
+		this.composites = new long[0];
+		this.limit = 0;
+		extendTo(initialLimit);
+	}
+
+	/**
+	 * Return the largest number this sieve currently covers.
+	 */
+	@Basic
+	long getLimit() {
+		return limit;
+	}
+
+	/**
+	 * Variable registering the largest number this sieve currently covers.
+	 */
+	private volatile long limit;
+
+	/**
+	 * Return the largest number this sieve may ever cover.
+	 */
+	@Basic
+	@Immutable
+	long getMaximumLimit() {
+		return maximumLimit;
+	}
+
+	/**
+	 * Variable registering the largest number this sieve may ever cover.
+	 */
+	private final long maximumLimit;
+
+	/**
+	 * Checks whether this sieve can answer queries for a given number.
+	 *
+	 * @param 	number
+	 * 			The number to be checked.
+	 * @return	True if and only if the number is positive and not larger than
+	 * 			the maximum limit of this sieve.
+	 * 			| result == (number > 0 && number <= getMaximumLimit())
+	 */
+	boolean covers(long number) {
+		return number > 0 && number <= maximumLimit;
+	}
+
+	/**
+	 * Checks whether a given number is a prime number.
+	 *
+	 * @param 	number
+	 * 			The number to be checked.
+	 * @pre		This sieve covers the given number.
+	 * 			| covers(number)
+	 * @return	False if the number is one or an even number other than two.
+	 * @return	True if and only if the given number is a prime number.
+	 */
+	boolean isPrime(long number) {
+		assert(covers(number));
+		if(number < 3)
+			return number == 2;
+		if((number & 1) == 0)
+			return false;
+		long[] bits = ensureLimit(number);
+		long index = number >>> 1;
+		return (bits[(int)(index >>> 6)] & (1L << index)) == 0;
+	}
+
+	/**
+	 * Return the largest prime number smaller than or equal to a given number.
+	 *
+	 * @param 	number
+	 * 			The maximum value the prime number may have.
+	 * @pre		This sieve covers the given number and the number is at least two.
+	 * 			| covers(number) && number >= 2
+	 * @return	The largest prime number smaller than or equal to the given number.
+	 * 			| isPrime(result) && result <= number
+	 * 			| for each I in result+1..number
+	 * 			|	!isPrime(I)
+	 */
+	long previousPrime(long number) {
+		assert(covers(number) && number >= 2);
+		if(number < 3)
+			return 2;
+		long[] bits = ensureLimit(number);
+		if((number & 1) == 0)
+			number--;
+		long index = number >>> 1;
+		int word = (int)(index >>> 6);
+		// keep only the bits up to and including index
+		long candidates = ~bits[word] & (-1L >>> (63 - (int)(index & 63)));
+		while(true) {
+			if(word == 0)
+				candidates &= ~1L; // bit zero stands for the number one
+			if(candidates != 0) {
+				long found = ((long)word << 6) + 63 - Long.numberOfLeadingZeros(candidates);
+				return 2 * found + 1;
+			}
+			if(word == 0)
+				return 2;
+			word--;
+			candidates = ~bits[word];
+		}
+	}
+
+	/**
+	 * Return the smallest prime number larger than or equal to a given number.
+	 *
+	 * @param 	number
+	 * 			The minimum value the prime number may have.
+	 * @pre		This sieve covers the given number.
+	 * 			| covers(number)
+	 * @return	Zero if there is no prime number between the given number and the
+	 * 			maximum limit of this sieve.
+	 * @return	Otherwise the smallest prime number larger than or equal to the given number.
+	 * 			| isPrime(result) && result >= number
+	 * 			| for each I in number..result-1
+	 * 			|	!isPrime(I)
+	 */
+	long nextPrime(long number) {
+		assert(covers(number));
+		if(number <= 2)
+			return 2;
+		number |= 1;
+		while(number <= maximumLimit) {
+			long[] bits = ensureLimit(number);
+			long covered = Math.min(maximumLimit, ((long)bits.length << 7) - 1);
+			long index = number >>> 1;
+			int word = (int)(index >>> 6);
+			// keep only the bits from index onwards
+			long candidates = ~bits[word] & (-1L << index);
+			while(true) {
+				if(candidates != 0) {
+					long found = 2 * (((long)word << 6) + Long.numberOfTrailingZeros(candidates)) + 1;
+					if(found > covered)
+						break;
+					return found;
+				}
+				if(++word == bits.length)
+					break;
+				candidates = ~bits[word];
+			}
+			number = covered + 2;
+		}
+		return 0;
+	}
+
+	/**
+	 * Return the bits of this sieve, making sure they cover the given number.
+	 *
+	 * @param 	number
+	 * 			The number that needs to be covered.
+	 * @pre		This sieve covers the given number.
+	 * 			| covers(number)
+	 */
+	private long[] ensureLimit(long number) {
+		if(number > limit)
+			extendTo(number);
+		return composites;
+	}
+
+	/**
+	 * Extend this sieve so that it covers at least the given number.
+	 * 		The sieve grows by at least doubling its limit, so that every prime
+	 * 		needed to sieve the new segment is already known.
+	 *
+	 * @param 	number
+	 * 			The number that needs to be covered.
+	 * @post	The new limit of this sieve is at least the given number.
+	 * 			| new.getLimit() >= number
+	 */
+	private synchronized void extendTo(long number) {
+		long oldLimit = limit;
+		if(number <= oldLimit)
+			return;
+		long newLimit = Math.max(number, 2 * oldLimit);
+		// round up to a full word of odd numbers
+		newLimit = Math.min(maximumLimit, (newLimit | 127));
+		long[] oldBits = composites;
+		long[] newBits = new long[(int)((newLimit >>> 7) + 1)];
+		System.arraycopy(oldBits, 0, newBits, 0, oldBits.length);
+		long segmentStart = (oldLimit < 3) ? 3 : oldLimit + 1;
+		for(long p = 3; p * p <= newLimit; p += 2) {
+			if(p <= oldLimit) {
+				long index = p >>> 1;
+				if((oldBits[(int)(index >>> 6)] & (1L << index)) != 0)
+					continue;
+			}
+			else if(!isMarkedPrime(newBits, p))
+				continue;
+			long multiple = Math.max(p * p, ((segmentStart + p - 1) / p) * p);
+			if((multiple & 1) == 0)
+				multiple += p;
+			for(; multiple <= newLimit; multiple += 2 * p) {
+				long index = multiple >>> 1;
+				newBits[(int)(index >>> 6)] |= (1L << index);
+			}
+		}
+		composites = newBits;
+		limit = newLimit;
+	}
+
+	/**
+	 * Checks whether a given odd number is not marked as composite in the given bits.
+	 */
+	private static boolean isMarkedPrime(long[] bits, long number) {
+		long index = number >>> 1;
+		return (bits[(int)(index >>> 6)] & (1L << index)) == 0;
+	}
+
+	/**
+	 * Return the number of bytes this sieve currently occupies on the heap.
+	 *
+	 * @return	The result is eight times the number of words in the sieve.
+	 * 			| result == 8 * composites.length
+	 */
+	long getSizeInBytes() {
+		return 8L * composites.length;
+	}
+
+	/**
+	 * Variable referencing the bits of this sieve.
+	 */
+	private volatile long[] composites;
+}
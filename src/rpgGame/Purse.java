@@ -1,5 +1,9 @@
 package rpgGame;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 /**
  * A class of purses extending the class bag and this class van only
  *  carry dukats.
@@ -71,21 +75,49 @@ public class Purse extends Bag {
 		this(0,  new DukatAmount(100), new Weight(1));
 	}
 
-	/* (non-Javadoc)
-	 * @see rpgGame.Item#getNextID(long)
+	/**
+	 * Returns the next ID number that is going to be used for a new purse.
+	 * 		Purse IDs are the Fibonacci numbers 1, 2, 3, 5, 8, ... in that order.
+	 * 		Only 91 of these fit in a long, so after the last one the IDs start over
+	 * 		at 1. Purses are created by every hero and monster, so the IDs aren't
+	 * 		refused once they run out; instead every time they start over the number
+	 * 		of ID wraps is incremented, and every purse records the ID wrap in which
+	 * 		it got its ID. The first time a warning is logged to the logger of this
+	 * 		class, every later time only a message at level FINE.
+	 * 		An ID together with its ID wrap identifies a purse. This method is
+	 * 		thread-safe: concurrent calls never receive the same position in the sequence.
+	 * 
+	 * @return	The Fibonacci number following the previous purse ID.
+	 * 			| MathHelp.isFibonacciNumber(result) && result > 0
+	 * @post	The ID wrap of this purse is the number of ID wraps before the ID
+	 * 			was handed out.
 	 */
 	@Override
 	protected long getNextID(long ID) {
-		long next = nextID;
-		long sum = previousID + nextID;
-		previousID = nextID;
-		nextID = sum;
-		if(nextID < 0){ //overflow
-			previousID = 0;
-			nextID = 1;
-		}
-		return next;
+		long position = issuedIDs.getAndIncrement();
+		int numberOfIDs = MathHelp.getNumberOfFibonacciNumbers() - 2;
+		IDWrap = position / numberOfIDs;
+		if(IDWrap > 0 && position % numberOfIDs == 0)
+			logger.log((IDWrap == 1) ? Level.WARNING : Level.FINE, "Purse IDs start over at 1 in ID wrap " 
+					+ IDWrap + ", IDs are now shared by several purses.");
+		// skip F(0) = 0 and F(1), which equals F(2) = 1
+		return MathHelp.getFibonacciNumber(2 + (int)(position % numberOfIDs));
+	}
+	
+	/**
+	 * Returns the ID wrap in which this purse got its ID.
+	 * 		Purses with the same ID have a different ID wrap.
+	 */
+	public long getIDWrap() {
+		return IDWrap;
 	}
+	
+	/**
+	 * Variable registering the ID wrap in which this purse got its ID.
+	 * 		It is set by getNextID while the item is initialized, so it must not
+	 * 		have an initializer of its own.
+	 */
+	private long IDWrap;
 
 	/* (non-Javadoc)
 	 * @see rpgGame.Item#isValidID(long)
@@ -96,14 +128,22 @@ public class Purse extends Bag {
 	}
 	
 	/**
-	 * Variable registering the last ID number that was used to create a new weapon.
+	 * Returns how many times the purse IDs have started over at the first ID.
+	 * 		When the result is larger than zero, IDs are shared by several purses.
 	 */
-	private static long previousID = 0;
+	public static long getNumberOfIDWraps() {
+		return issuedIDs.get() / (MathHelp.getNumberOfFibonacciNumbers() - 2);
+	}
 	
 	/**
-	 * Variable registering the next ID number to be used to create a new weapon.
+	 * Variable registering how many IDs have been handed out to purses.
 	 */
-	private static long nextID = 1;
+	private static final AtomicLong issuedIDs = new AtomicLong();
+	
+	/**
+	 * Constant referencing the logger of this class.
+	 */
+	private static final Logger logger = Logger.getLogger(Purse.class.getName());
 	
 	/* (non-Javadoc)
 	 * @see rpgGame.Bag#dukatsToFill()
@@ -248,6 +288,7 @@ public class Purse extends Bag {
 		result = prime * result
 				+ ((capacity == null) ? 0 : capacity.hashCode());
 		result = prime * result + (torned ? 1231 : 1237);
+		result = prime * result + (int) (IDWrap ^ (IDWrap >>> 32));
 		return result;
 	}
 
@@ -276,6 +317,9 @@ public class Purse extends Bag {
 		if (torned != other.torned) {
 			return false;
 		}
+		if (IDWrap != other.IDWrap) {
+			return false;
+		}
 		return true;
 	}
 	
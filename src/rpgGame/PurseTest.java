@@ -1,8 +1,18 @@
 package rpgGame;
 
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
 import org.junit.*;
 
 public class PurseTest {
@@ -20,4 +30,72 @@ public class PurseTest {
 		purse.setCapacity(dukats);
 		assertTrue(purse.getCapacity().getAmount() == 100);
 	}
+	
+	@Test
+	public void testIDsAreUniqueWithinOneWrap() throws Exception {
+		long wraps = Purse.getNumberOfIDWraps();
+		HashSet<Long> ids = new HashSet<Long>();
+		for(int i = 0; i < 91; i++) {
+			Purse other = new Purse();
+			assertTrue(other.isValidID(other.getID()));
+			assertTrue(ids.add(other.getID()));
+		}
+		assertTrue(Purse.getNumberOfIDWraps() == wraps + 1);
+	}
+	
+	@Test
+	public void testIDWrapIsSignalled() throws Exception {
+		final List<LogRecord> records = new ArrayList<LogRecord>();
+		Handler handler = new Handler() {
+			@Override
+			public void publish(LogRecord record) {
+				records.add(record);
+			}
+			
+			@Override
+			public void flush() {
+			}
+			
+			@Override
+			public void close() {
+			}
+		};
+		Logger logger = Logger.getLogger(Purse.class.getName());
+		Level level = logger.getLevel();
+		logger.setLevel(Level.ALL);
+		logger.addHandler(handler);
+		try {
+			HashSet<String> identities = new HashSet<String>();
+			long wraps = Purse.getNumberOfIDWraps();
+			for(int i = 0; i < 2 * 91; i++) {
+				Purse other = new Purse();
+				assertTrue(other.getIDWrap() == wraps || other.getIDWrap() == wraps + 1 
+						|| other.getIDWrap() == wraps + 2);
+				assertTrue(identities.add(other.getID() + "/" + other.getIDWrap()));
+			}
+			assertEquals(wraps + 2, Purse.getNumberOfIDWraps());
+			assertEquals(2, records.size());
+			int warnings = 0;
+			for(LogRecord record : records)
+				if(record.getLevel() == Level.WARNING)
+					warnings++;
+			assertEquals((wraps == 0) ? 1 : 0, warnings);
+		}
+		finally {
+			logger.removeHandler(handler);
+			logger.setLevel(level);
+		}
+	}
+	
+	@Test
+	public void testIDWrapTakesPartInEquality() throws Exception {
+		Purse first = new Purse(10);
+		Purse second = null;
+		for(int i = 0; i < 91; i++)
+			second = new Purse(10);
+		assertEquals(first.getID(), second.getID());
+		assertEquals(first.getIDWrap() + 1, second.getIDWrap());
+		assertFalse(first.equals(second));
+		assertFalse(first.hashCode() == second.hashCode());
+	}
 }
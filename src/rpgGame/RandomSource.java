@@ -0,0 +1,43 @@
+package rpgGame;
+
+/**
+ * Interface representing any source of random numbers used by the game.
+ * 		Actors and item factories draw their random numbers from a random source,
+ * 		so that a simulation can decide whether fights use a fast thread-local 
+ * 		generator or a seeded, reproducible one.
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public interface RandomSource {
+
+	/**
+	 * Returns a random integer between 0 and a given integer (inclusive).
+	 * 
+	 * @param 	max
+	 * 			The largest value the random integer may have.
+	 * @pre		The given maximum is not negative.
+	 * 			| max >= 0
+	 * @return	The result lies between zero and the given maximum.
+	 * 			| 0 <= result <= max
+	 */
+	public abstract int randomInt(int max);
+	
+	/**
+	 * Returns a random double between 0 (inclusive) and 1 (exclusive).
+	 * 
+	 * @return	The result lies between zero and one.
+	 * 			| 0 <= result < 1
+	 */
+	public abstract double randomDouble();
+	
+	/**
+	 * Returns a new random source whose numbers are independent of the numbers
+	 * 	of this random source. Use it to give every thread or every fight its 
+	 * 	own stream.
+	 * 
+	 * @return	The result is effective.
+	 * 			| result != null
+	 */
+	public abstract RandomSource split();
+}
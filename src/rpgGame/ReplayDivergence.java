@@ -0,0 +1,118 @@
+package rpgGame;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of reports on the first point where a fight that is played again
+ * 	differs from its replay log.
+ *
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class ReplayDivergence {
+
+	/**
+	 * Initializes a new report on a divergence.
+	 *
+	 * @param 	fightIndex
+	 * 			The position of the fight in its log.
+	 * @param 	hitIndex
+	 * 			The position of the hit in its fight, or -1 when the actors
+	 * 			themselves differ.
+	 * @param 	property
+	 * 			The name of the property that differs.
+	 * @param 	expected
+	 * 			The value in the log.
+	 * @param 	actual
+	 * 			The value when the fight is played again.
+	 * @post	| new.getFightIndex() == fightIndex && new.getHitIndex() == hitIndex
+	 * @post	| new.getProperty() == property
+	 */
+	public ReplayDivergence(long fightIndex, int hitIndex, String property, Object expected, Object actual) {
+		this.fightIndex = fightIndex;
+		this.hitIndex = hitIndex;
+		this.property = property;
+		this.expected = String.valueOf(expected);
+		this.actual = String.valueOf(actual);
+	}
+
+	/**
+	 * Return the position of the fight in its log.
+	 */
+	@Basic
+	@Immutable
+	public long getFightIndex() {
+		return fightIndex;
+	}
+
+	/**
+	 * Variable registering the position of the fight in its log.
+	 */
+	private final long fightIndex;
+
+	/**
+	 * Return the position of the hit in its fight, or -1 when the actors differ.
+	 */
+	@Basic
+	@Immutable
+	public int getHitIndex() {
+		return hitIndex;
+	}
+
+	/**
+	 * Variable registering the position of the hit in its fight.
+	 */
+	private final int hitIndex;
+
+	/**
+	 * Return the name of the property that differs.
+	 */
+	@Basic
+	@Immutable
+	public String getProperty() {
+		return property;
+	}
+
+	/**
+	 * Variable referencing the name of the property that differs.
+	 */
+	private final String property;
+
+	/**
+	 * Return the value of the property in the log.
+	 */
+	@Basic
+	@Immutable
+	public String getExpected() {
+		return expected;
+	}
+
+	/**
+	 * Variable referencing the value of the property in the log.
+	 */
+	private final String expected;
+
+	/**
+	 * Return the value of the property when the fight is played again.
+	 */
+	@Basic
+	@Immutable
+	public String getActual() {
+		return actual;
+	}
+
+	/**
+	 * Variable referencing the value of the property when the fight is played again.
+	 */
+	private final String actual;
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ReplayDivergence [Fight=" + fightIndex
+				+ (hitIndex >= 0 ? ", Hit=" + hitIndex : ", Actors")
+				+ ", " + property + ": expected " + expected + " but was " + actual + "]";
+	}
+}
@@ -0,0 +1,102 @@
+package rpgGame;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of headers of fights in a replay log, involving the seed the fight
+ * 	was played with and snapshots of both actors at its start.
+ *
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class ReplayFight {
+
+	/**
+	 * Initializes a new header for a fight.
+	 *
+	 * @param 	index
+	 * 			The position of the fight in its log, starting at zero.
+	 * @param 	seed
+	 * 			The seed the fight was played with.
+	 * @param 	first
+	 * 			The snapshot of the actor that struck first.
+	 * @param 	second
+	 * 			The snapshot of the actor that struck second.
+	 * @throws	IllegalArgumentException
+	 * 			| first == null || second == null
+	 */
+	public ReplayFight(long index, long seed, ActorSnapshot first, ActorSnapshot second)
+			throws IllegalArgumentException {
+		if(first == null || second == null)
+			throw new IllegalArgumentException("A fight needs snapshots of both actors.");
+		this.index = index;
+		this.seed = seed;
+		this.first = first;
+		this.second = second;
+	}
+
+	/**
+	 * Return the position of this fight in its log.
+	 */
+	@Basic
+	@Immutable
+	public long getIndex() {
+		return index;
+	}
+
+	/**
+	 * Variable registering the position of this fight in its log.
+	 */
+	private final long index;
+
+	/**
+	 * Return the seed this fight was played with.
+	 */
+	@Basic
+	@Immutable
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Variable registering the seed this fight was played with.
+	 */
+	private final long seed;
+
+	/**
+	 * Return the snapshot of the actor that struck first.
+	 */
+	@Basic
+	@Immutable
+	public ActorSnapshot getFirst() {
+		return first;
+	}
+
+	/**
+	 * Variable referencing the snapshot of the actor that struck first.
+	 */
+	private final ActorSnapshot first;
+
+	/**
+	 * Return the snapshot of the actor that struck second.
+	 */
+	@Basic
+	@Immutable
+	public ActorSnapshot getSecond() {
+		return second;
+	}
+
+	/**
+	 * Variable referencing the snapshot of the actor that struck second.
+	 */
+	private final ActorSnapshot second;
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ReplayFight [Index=" + index + ", Seed=" + seed
+				+ ", First=" + first + ", Second=" + second + "]";
+	}
+}
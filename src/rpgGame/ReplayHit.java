@@ -0,0 +1,211 @@
+package rpgGame;
+
+import java.util.Arrays;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of records of a single hit in a replay log.
+ * 		A record holds which actor of the fight hit, his luck factor, whether the
+ * 		hit got through and, if so, its damage and the hit points of the defender
+ * 		after it, and, if the defender died, the healing of the attacker and every
+ * 		item of the defender in the order the attacker looted or dropped them.
+ * 		A replay reader fills in the same record for every hit it reads, so a
+ * 		record is only valid until the next hit is read.
+ *
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class ReplayHit {
+
+	/**
+	 * Initializes a new empty record.
+	 */
+	ReplayHit() {
+	}
+
+	/**
+	 * Clears this record for a new hit by a given actor with a given luck factor.
+	 */
+	void reset(int attacker, int luck) {
+		this.attacker = attacker;
+		this.luck = luck;
+		landed = false;
+		damage = 0;
+		hitPoints = 0;
+		died = false;
+		healing = 0;
+		numberOfItems = 0;
+	}
+
+	/**
+	 * Return which actor of the fight made this hit: zero for the first actor,
+	 * 	one for the second.
+	 */
+	@Basic
+	public int getAttacker() {
+		return attacker;
+	}
+
+	/**
+	 * Variable registering which actor of the fight made this hit.
+	 */
+	int attacker;
+
+	/**
+	 * Return the luck factor of the attacker for this hit.
+	 */
+	@Basic
+	public int getLuck() {
+		return luck;
+	}
+
+	/**
+	 * Variable registering the luck factor of the attacker for this hit.
+	 */
+	int luck;
+
+	/**
+	 * Checks whether this hit got through the protection of the defender.
+	 */
+	@Basic
+	public boolean hasLanded() {
+		return landed;
+	}
+
+	/**
+	 * Variable registering whether this hit got through.
+	 */
+	boolean landed;
+
+	/**
+	 * Return the damage of this hit, or zero if it was blocked.
+	 */
+	@Basic
+	public int getDamage() {
+		return damage;
+	}
+
+	/**
+	 * Variable registering the damage of this hit.
+	 */
+	int damage;
+
+	/**
+	 * Return the hit points of the defender after this hit, or zero if it was blocked.
+	 */
+	@Basic
+	public int getHitPoints() {
+		return hitPoints;
+	}
+
+	/**
+	 * Variable registering the hit points of the defender after this hit.
+	 */
+	int hitPoints;
+
+	/**
+	 * Checks whether this hit killed the defender.
+	 */
+	@Basic
+	public boolean hasKilled() {
+		return died;
+	}
+
+	/**
+	 * Variable registering whether this hit killed the defender.
+	 */
+	boolean died;
+
+	/**
+	 * Return the number of hit points the attacker healed after the kill.
+	 */
+	@Basic
+	public int getHealing() {
+		return healing;
+	}
+
+	/**
+	 * Variable registering the number of hit points the attacker healed.
+	 */
+	int healing;
+
+	/**
+	 * Return the number of items of the defender that were looted or dropped.
+	 */
+	@Basic
+	public int getNumberOfItems() {
+		return numberOfItems;
+	}
+
+	/**
+	 * Return the ID of the item of the defender that was looted or dropped at a
+	 * 	given position.
+	 *
+	 * @throws	IndexOutOfBoundsException
+	 * 			| index < 0 || index >= getNumberOfItems()
+	 */
+	public long getItemID(int index) throws IndexOutOfBoundsException {
+		if(index < 0 || index >= numberOfItems)
+			throw new IndexOutOfBoundsException("No item at " + index);
+		return itemIDs[index];
+	}
+
+	/**
+	 * Checks whether the item at a given position was looted rather than dropped.
+	 *
+	 * @throws	IndexOutOfBoundsException
+	 * 			| index < 0 || index >= getNumberOfItems()
+	 */
+	public boolean isLooted(int index) throws IndexOutOfBoundsException {
+		if(index < 0 || index >= numberOfItems)
+			throw new IndexOutOfBoundsException("No item at " + index);
+		return looted[index];
+	}
+
+	/**
+	 * Adds an item with a given ID, looted or dropped, to this record.
+	 */
+	void addItem(long itemID, boolean isLooted) {
+		if(numberOfItems == itemIDs.length) {
+			itemIDs = Arrays.copyOf(itemIDs, 2 * numberOfItems);
+			looted = Arrays.copyOf(looted, 2 * numberOfItems);
+		}
+		itemIDs[numberOfItems] = itemID;
+		looted[numberOfItems++] = isLooted;
+	}
+
+	/**
+	 * Variable registering the number of items of the defender that were looted or dropped.
+	 */
+	int numberOfItems;
+
+	/**
+	 * Variable referencing the IDs of the items of the defender that were looted or dropped.
+	 */
+	private long[] itemIDs = new long[4];
+
+	/**
+	 * Variable referencing whether each item of the defender was looted.
+	 */
+	private boolean[] looted = new boolean[4];
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		String result = "ReplayHit [Attacker=" + attacker + ", Luck=" + luck;
+		if(landed)
+			result += ", Damage=" + damage + ", HitPoints=" + hitPoints;
+		else
+			result += ", Blocked";
+		if(died) {
+			result += ", Healing=" + healing + ", Items=[";
+			for(int i = 0; i < numberOfItems; i++)
+				result += (i > 0 ? ", " : "") + itemIDs[i] + (looted[i] ? " looted" : " dropped");
+			result += "]";
+		}
+		return result + "]";
+	}
+}
@@ -0,0 +1,245 @@
+package rpgGame;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of readers going through a replay log written by a replay writer,
+ * 	one fight and one hit at a time.
+ * 		The reader only holds a buffer of the file in memory, which it refills
+ * 		from the file channel as it goes, so it reads a log of any size in a
+ * 		single pass. Every hit is read into the same record, which is only valid
+ * 		until the next hit is read. A reader isn't thread-safe.
+ *
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ * @see		ReplayWriter
+ */
+public class ReplayReader implements Closeable {
+
+	/**
+	 * Initializes a new reader for the replay log in a given file, with a buffer
+	 * 	of a given size.
+	 *
+	 * @param 	file
+	 * 			The file holding the log.
+	 * @param 	bufferSize
+	 * 			The number of bytes read from the file at once.
+	 * @throws	IllegalArgumentException
+	 * 			When the buffer is smaller than 64 bytes.
+	 * 			| bufferSize < 64
+	 * @throws	IOException
+	 * 			When the file can't be read or doesn't hold a replay log of this version.
+	 */
+	public ReplayReader(File file, int bufferSize) throws IllegalArgumentException, IOException {
+		if(bufferSize < 64)
+			throw new IllegalArgumentException("The buffer must hold at least 64 bytes.");
+		buffer = ByteBuffer.allocateDirect(bufferSize);
+		buffer.flip();
+		channel = new FileInputStream(file).getChannel();
+		try {
+			if(!fill(8) || buffer.getInt() != ReplayWriter.magicNumber
+					|| buffer.getInt() != ReplayWriter.formatVersion)
+				throw new IOException("The file doesn't hold a replay log of this version.");
+		}
+		catch(IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Initializes a new reader for the replay log in a given file, with a buffer
+	 * 	of 64 kibibytes.
+	 *
+	 * @effect	| this(file, 1 << 16)
+	 */
+	public ReplayReader(File file) throws IOException {
+		this(file, 1 << 16);
+	}
+
+	/**
+	 * Variable referencing the channel of the file of this reader.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * Variable referencing the buffer holding the part of the file that is being read.
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * Reads the header of the next fight, skipping the hits of the current fight
+	 * 	that weren't read.
+	 *
+	 * @return	The header of the next fight, or null if the log has no more fights.
+	 * @throws	IOException
+	 * 			When the file can't be read or is corrupt.
+	 */
+	public ReplayFight nextFight() throws IOException {
+		while(inFight)
+			nextHit();
+		if(!fill(1))
+			return null;
+		byte tag = buffer.get();
+		if(tag != ReplayWriter.fightTag)
+			throw new IOException("Expected a fight at fight " + numberOfFights + ", found tag " + tag);
+		long seed = ReplayWriter.unzigzag(getVarLong());
+		ActorSnapshot first = getSnapshot();
+		ActorSnapshot second = getSnapshot();
+		inFight = true;
+		return new ReplayFight(numberOfFights++, seed, first, second);
+	}
+
+	/**
+	 * Return the number of fights this reader has read.
+	 */
+	@Basic
+	public long getNumberOfFights() {
+		return numberOfFights;
+	}
+
+	/**
+	 * Variable registering the number of fights this reader has read.
+	 */
+	private long numberOfFights;
+
+	/**
+	 * Variable registering whether this reader is in the middle of a fight.
+	 */
+	private boolean inFight;
+
+	/**
+	 * Reads the next hit of the current fight.
+	 *
+	 * @return	The record of the next hit, which is only valid until the next
+	 * 			call, or null if the current fight has no more hits.
+	 * @throws	IOException
+	 * 			When the file can't be read, is corrupt or ends in the middle of a fight.
+	 */
+	public ReplayHit nextHit() throws IOException {
+		if(!inFight)
+			return null;
+		if(!fill(1))
+			throw new EOFException("The log ends in the middle of fight " + (numberOfFights - 1));
+		byte tag = buffer.get();
+		if(tag == ReplayWriter.endTag) {
+			inFight = false;
+			return null;
+		}
+		if(tag != ReplayWriter.hitTag || !fill(1))
+			throw new IOException("Expected a hit in fight " + (numberOfFights - 1) + ", found tag " + tag);
+		int flags = buffer.get();
+		hit.reset(flags & 1, getVarInt());
+		if((flags & ReplayWriter.landedFlag) != 0) {
+			hit.landed = true;
+			hit.damage = (int)ReplayWriter.unzigzag(getVarLong());
+			hit.hitPoints = getVarInt();
+		}
+		if((flags & ReplayWriter.killedFlag) != 0) {
+			hit.died = true;
+			hit.healing = getVarInt();
+			int numberOfItems = getVarInt();
+			for(int i = 0; i < numberOfItems; i++) {
+				long value = getVarLong();
+				hit.addItem(value >>> 1, (value & 1) != 0);
+			}
+		}
+		return hit;
+	}
+
+	/**
+	 * Variable referencing the record every hit is read into.
+	 */
+	private final ReplayHit hit = new ReplayHit();
+
+	/**
+	 * Closes the file of this reader.
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Reads a snapshot of an actor.
+	 */
+	private ActorSnapshot getSnapshot() throws IOException {
+		if(!fill(1))
+			throw new EOFException("The log ends in a snapshot.");
+		boolean hero = buffer.get() != 0;
+		byte[] name = new byte[getVarInt()];
+		for(int offset = 0; offset < name.length; ) {
+			if(!fill(1))
+				throw new EOFException("The log ends in a name.");
+			int length = Math.min(buffer.remaining(), name.length - offset);
+			buffer.get(name, offset, length);
+			offset += length;
+		}
+		int maxHitPoints = getVarInt();
+		int hitPoints = getVarInt();
+		double strength = ReplayWriter.unzigzag(getVarLong()) / 100.0;
+		int damage = (int)ReplayWriter.unzigzag(getVarLong());
+		if(!fill(8))
+			throw new EOFException("The log ends in a snapshot.");
+		double protection = Double.longBitsToDouble(buffer.getLong());
+		long[] itemIDs = new long[getVarInt()];
+		for(int i = 0; i < itemIDs.length; i++)
+			itemIDs[i] = getVarLong();
+		return new ActorSnapshot(hero, new String(name, ReplayWriter.utf8), maxHitPoints, hitPoints,
+				strength, damage, protection, itemIDs);
+	}
+
+	/**
+	 * Reads a variable-length integer that must fit in an int.
+	 */
+	private int getVarInt() throws IOException {
+		long value = getVarLong();
+		if(value < 0 || value > Integer.MAX_VALUE)
+			throw new IOException("The log holds a number that is too large: " + value);
+		return (int)value;
+	}
+
+	/**
+	 * Reads a variable-length integer.
+	 */
+	private long getVarLong() throws IOException {
+		fill(10);
+		long value = 0;
+		for(int shift = 0; shift < 64; shift += 7) {
+			if(!buffer.hasRemaining())
+				throw new EOFException("The log ends in a number.");
+			byte next = buffer.get();
+			value |= (long)(next & 0x7F) << shift;
+			if(next >= 0)
+				return value;
+		}
+		throw new IOException("The log holds a number that is too long.");
+	}
+
+	/**
+	 * Reads from the file until the buffer holds a given number of bytes or the
+	 * 	file ends, and returns whether the buffer holds that number of bytes.
+	 */
+	private boolean fill(int numberOfBytes) throws IOException {
+		if(buffer.remaining() >= numberOfBytes)
+			return true;
+		buffer.compact();
+		try {
+			while(buffer.position() < numberOfBytes)
+				if(channel.read(buffer) < 0)
+					break;
+		}
+		finally {
+			buffer.flip();
+		}
+		return buffer.remaining() >= numberOfBytes;
+	}
+}
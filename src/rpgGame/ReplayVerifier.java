@@ -0,0 +1,306 @@
+package rpgGame;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of verifiers playing the fights of replay logs again and reporting
+ * 	the first point where they differ from their log.
+ * 		The actors of a fight are created again by the factories of the verifier
+ * 		from a new SplittableRandomSource with the seed of the fight, the first
+ * 		actor before the second, as in BattleSimulator.fight(first, second, random).
+ * 		Fights must be recorded that way for the verifier to be able to play them
+ * 		again. The snapshots of the new actors are compared with those in the log,
+ * 		leaving aside the IDs of the items, which differ from run to run. Then
+ * 		every hit in the log is made again with Actor.hit, and its luck, damage,
+ * 		resulting hit points, death, healing and loot are compared with the log.
+ * 		A looted or dropped item is compared by the anchor of the victim it
+ * 		was at. Whenever the rules of combat change, a verifier run over the
+ * 		logs of the old rules shows the first fight and hit they change.
+ * 		The logs are verified in parallel, one task for every file; every task
+ * 		has its own reader and actors, so the factories must be usable by several
+ * 		threads at the same time.
+ *
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class ReplayVerifier {
+
+	/**
+	 * Initializes a new verifier creating actors with two given factories.
+	 *
+	 * @param 	first
+	 * 			The factory creating the actors that strike first.
+	 * @param 	second
+	 * 			The factory creating the actors that strike second.
+	 * @pre		The factories can be used by several threads at the same time and
+	 * 			draw all their random numbers from the given random source.
+	 * @throws	IllegalArgumentException
+	 * 			When one of the factories isn't effective.
+	 * 			| first == null || second == null
+	 */
+	public ReplayVerifier(ActorFactory first, ActorFactory second) throws IllegalArgumentException {
+		if(first == null || second == null)
+			throw new IllegalArgumentException("The factories must be effective.");
+		this.first = first;
+		this.second = second;
+	}
+
+	/**
+	 * Variable referencing the factory creating the actors that strike first.
+	 */
+	private final ActorFactory first;
+
+	/**
+	 * Variable referencing the factory creating the actors that strike second.
+	 */
+	private final ActorFactory second;
+
+	/**
+	 * Verifies all logs in a given list of files in the common pool.
+	 *
+	 * @effect	| verifyAll(files, ForkJoinPool.commonPool())
+	 */
+	public List<ReplayDivergence> verifyAll(List<File> files) throws IOException {
+		return verifyAll(files, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Verifies all logs in a given list of files in parallel in a given pool.
+	 *
+	 * @param 	files
+	 * 			The files holding the logs.
+	 * @param 	pool
+	 * 			The pool verifying the logs.
+	 * @return	The first divergence in every file, or null for a file without
+	 * 			divergences, in the order of the files.
+	 * 			| for each I in 0..files.size()-1
+	 * 			|	result.get(I) == verify(files.get(I))
+	 * @throws	IOException
+	 * 			When one of the files can't be read or is corrupt.
+	 */
+	public List<ReplayDivergence> verifyAll(List<File> files, ForkJoinPool pool) throws IOException {
+		List<Callable<ReplayDivergence>> tasks = new ArrayList<Callable<ReplayDivergence>>();
+		for(final File file : files)
+			tasks.add(new Callable<ReplayDivergence>() {
+				@Override
+				public ReplayDivergence call() throws IOException {
+					return verify(file);
+				}
+			});
+		List<ReplayDivergence> divergences = new ArrayList<ReplayDivergence>();
+		for(Future<ReplayDivergence> result : pool.invokeAll(tasks)) {
+			try {
+				divergences.add(result.get());
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("The verification was interrupted.");
+			}
+			catch(ExecutionException e) {
+				if(e.getCause() instanceof IOException)
+					throw (IOException)e.getCause();
+				throw new IOException("A verification failed: " + e.getCause(), e.getCause());
+			}
+		}
+		return divergences;
+	}
+
+	/**
+	 * Verifies the log in a given file.
+	 *
+	 * @param 	file
+	 * 			The file holding the log.
+	 * @return	The first divergence in the log, or null if every fight in it is
+	 * 			played again exactly as it was logged.
+	 * @throws	IOException
+	 * 			When the file can't be read or is corrupt.
+	 */
+	public ReplayDivergence verify(File file) throws IOException {
+		ReplayReader reader = new ReplayReader(file);
+		try {
+			HitRecorder recorder = new HitRecorder();
+			for(ReplayFight fight = reader.nextFight(); fight != null; fight = reader.nextFight()) {
+				ReplayDivergence divergence = verify(fight, reader, recorder);
+				if(divergence != null)
+					return divergence;
+			}
+			return null;
+		}
+		finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Verifies a given fight, reading its hits from a given reader.
+	 *
+	 * @param 	fight
+	 * 			The header of the fight.
+	 * @param 	reader
+	 * 			The reader that read the header.
+	 * @return	The first divergence in the fight, or null if it is played again
+	 * 			exactly as it was logged.
+	 * @throws	IOException
+	 * 			When the log can't be read or is corrupt.
+	 */
+	public ReplayDivergence verify(ReplayFight fight, ReplayReader reader) throws IOException {
+		return verify(fight, reader, new HitRecorder());
+	}
+
+	/**
+	 * Verifies a given fight, reading its hits from a given reader and recording
+	 * 	the hits played again with a given recorder.
+	 */
+	private ReplayDivergence verify(ReplayFight fight, ReplayReader reader, HitRecorder recorder)
+			throws IOException {
+		numberOfFights.incrementAndGet();
+		RandomSource random = new SplittableRandomSource(fight.getSeed());
+		Actor[] actors = {first.createActor(random), second.createActor(random)};
+		ActorSnapshot[] logged = {fight.getFirst(), fight.getSecond()};
+		ActorSnapshot[] played = {ActorSnapshot.of(actors[0]), ActorSnapshot.of(actors[1])};
+		for(int i = 0; i < 2; i++)
+			if(!logged[i].hasSameStateAs(played[i]))
+				return new ReplayDivergence(fight.getIndex(), -1, (i == 0) ? "first" : "second",
+						logged[i], played[i]);
+		actors[0].setCombatListener(recorder);
+		actors[1].setCombatListener(recorder);
+		int hitIndex = 0;
+		for(ReplayHit expected = reader.nextHit(); expected != null; expected = reader.nextHit(), hitIndex++) {
+			numberOfHits.incrementAndGet();
+			Actor attacker = actors[expected.getAttacker()];
+			Actor defender = actors[1 - expected.getAttacker()];
+			if(!attacker.canFightOpponent(defender))
+				return new ReplayDivergence(fight.getIndex(), hitIndex, "hit", "a hit", "no opponent left");
+			recorder.hit.reset(expected.getAttacker(), 0);
+			attacker.hit(defender);
+			ReplayDivergence divergence = compare(fight.getIndex(), hitIndex, expected, recorder.hit,
+					logged[1 - expected.getAttacker()], played[1 - expected.getAttacker()]);
+			if(divergence != null)
+				return divergence;
+		}
+		return null;
+	}
+
+	/**
+	 * Compares a logged hit with the hit played again and returns the first difference.
+	 */
+	private static ReplayDivergence compare(long fightIndex, int hitIndex, ReplayHit expected,
+			ReplayHit actual, ActorSnapshot loggedVictim, ActorSnapshot playedVictim) {
+		if(expected.getLuck() != actual.getLuck())
+			return new ReplayDivergence(fightIndex, hitIndex, "luck", expected.getLuck(), actual.getLuck());
+		if(expected.hasLanded() != actual.hasLanded())
+			return new ReplayDivergence(fightIndex, hitIndex, "landed", expected.hasLanded(), actual.hasLanded());
+		if(expected.getDamage() != actual.getDamage())
+			return new ReplayDivergence(fightIndex, hitIndex, "damage", expected.getDamage(), actual.getDamage());
+		if(expected.getHitPoints() != actual.getHitPoints())
+			return new ReplayDivergence(fightIndex, hitIndex, "hit points",
+					expected.getHitPoints(), actual.getHitPoints());
+		if(expected.hasKilled() != actual.hasKilled())
+			return new ReplayDivergence(fightIndex, hitIndex, "killed", expected.hasKilled(), actual.hasKilled());
+		if(expected.getHealing() != actual.getHealing())
+			return new ReplayDivergence(fightIndex, hitIndex, "healing", expected.getHealing(), actual.getHealing());
+		if(expected.getNumberOfItems() != actual.getNumberOfItems())
+			return new ReplayDivergence(fightIndex, hitIndex, "number of items",
+					expected.getNumberOfItems(), actual.getNumberOfItems());
+		for(int i = 0; i < expected.getNumberOfItems(); i++) {
+			int expectedAnchor = getAnchor(loggedVictim, expected.getItemID(i));
+			int actualAnchor = getAnchor(playedVictim, actual.getItemID(i));
+			if(expectedAnchor != actualAnchor)
+				return new ReplayDivergence(fightIndex, hitIndex, "anchor of item " + i,
+						expectedAnchor, actualAnchor);
+			if(expected.isLooted(i) != actual.isLooted(i))
+				return new ReplayDivergence(fightIndex, hitIndex, "looted item " + i,
+						expected.isLooted(i), actual.isLooted(i));
+		}
+		return null;
+	}
+
+	/**
+	 * Return the anchor of a given snapshot holding the item with a given ID,
+	 * 	or -1 if no anchor held it.
+	 */
+	private static int getAnchor(ActorSnapshot snapshot, long itemID) {
+		for(int i = 0; i < snapshot.getNumberOfAnchors(); i++)
+			if(snapshot.getItemID(i) == itemID)
+				return i;
+		return -1;
+	}
+
+	/**
+	 * Return the number of fights this verifier played again.
+	 */
+	public long getNumberOfFights() {
+		return numberOfFights.get();
+	}
+
+	/**
+	 * Variable registering the number of fights this verifier played again.
+	 */
+	private final AtomicLong numberOfFights = new AtomicLong();
+
+	/**
+	 * Return the number of hits this verifier made again.
+	 */
+	public long getNumberOfHits() {
+		return numberOfHits.get();
+	}
+
+	/**
+	 * Variable registering the number of hits this verifier made again.
+	 */
+	private final AtomicLong numberOfHits = new AtomicLong();
+
+	/**
+	 * A class of combat listeners recording the events of a hit in a replay record.
+	 */
+	private static class HitRecorder implements CombatListener {
+
+		@Override
+		public void hitAttempted(Actor attacker, Actor defender, int luck) {
+			hit.luck = luck;
+		}
+
+		@Override
+		public void hitBlocked(Actor attacker, Actor defender) {
+		}
+
+		@Override
+		public void damageApplied(Actor attacker, Actor defender, int damage, int hitPoints) {
+			hit.landed = true;
+			hit.damage = damage;
+			hit.hitPoints = hitPoints;
+		}
+
+		@Override
+		public void died(Actor victim, Actor killer) {
+			hit.died = true;
+		}
+
+		@Override
+		public void healed(Actor actor, int amount) {
+			hit.healing = amount;
+		}
+
+		@Override
+		public void itemLooted(Actor looter, Actor victim, Item item) {
+			hit.addItem(item.getID(), true);
+		}
+
+		@Override
+		public void itemDropped(Actor victim, Item item) {
+			hit.addItem(item.getID(), false);
+		}
+
+		private final ReplayHit hit = new ReplayHit();
+	}
+}
@@ -0,0 +1,109 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReplayVerifierTest {
+
+	private static final ActorFactory heroes = MonteCarloRunner.heroes("Frankenstein", 300, 15);
+
+	private static final ActorFactory monsters = MonteCarloRunner.monsters("Creep", 200, 30, 3);
+
+	private List<File> files;
+
+	@Before
+	public void setUp() throws Exception {
+		files = new ArrayList<File>();
+		for(int i = 0; i < 3; i++) {
+			File file = File.createTempFile("fights", ".replay");
+			record(file, 20 * i, 20);
+			files.add(file);
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		for(File file : files)
+			file.delete();
+	}
+
+	private static void record(File file, long firstSeed, int numberOfFights) throws IOException {
+		BattleSimulator simulator = new BattleSimulator();
+		ReplayWriter writer = new ReplayWriter(file);
+		for(long seed = firstSeed; seed < firstSeed + numberOfFights; seed++) {
+			RandomSource random = new SplittableRandomSource(seed);
+			Actor first = heroes.createActor(random);
+			Actor second = monsters.createActor(random);
+			writer.beginFight(first, second, seed);
+			simulator.fight(first, second);
+			writer.endFight();
+		}
+		writer.close();
+	}
+
+	@Test
+	public void testRecordedFightsVerify() throws IOException {
+		ReplayVerifier verifier = new ReplayVerifier(heroes, monsters);
+		assertNull(verifier.verify(files.get(0)));
+		assertEquals(20, verifier.getNumberOfFights());
+		assertTrue(verifier.getNumberOfHits() > 20);
+	}
+
+	@Test
+	public void testFilesAreVerifiedInParallel() throws IOException {
+		ReplayVerifier verifier = new ReplayVerifier(heroes, monsters);
+		List<ReplayDivergence> divergences = verifier.verifyAll(files, new ForkJoinPool(3));
+		assertEquals(3, divergences.size());
+		for(ReplayDivergence divergence : divergences)
+			assertNull(divergence);
+		assertEquals(60, verifier.getNumberOfFights());
+	}
+
+	@Test
+	public void testDifferentActorIsReported() throws IOException {
+		ReplayVerifier verifier = new ReplayVerifier(heroes, MonteCarloRunner.monsters("Creep", 200, 31, 3));
+		ReplayDivergence divergence = verifier.verify(files.get(1));
+		assertNotNull(divergence);
+		assertEquals(0, divergence.getFightIndex());
+		assertEquals(-1, divergence.getHitIndex());
+		assertEquals("second", divergence.getProperty());
+	}
+
+	@Test
+	public void testChangedRulesAreReported() throws IOException {
+		ActorFactory shiftedMonsters = new ActorFactory() {
+			@Override
+			public Actor createActor(RandomSource random) {
+				Actor monster = monsters.createActor(random);
+				random.randomInt(20);
+				return monster;
+			}
+		};
+		ReplayVerifier verifier = new ReplayVerifier(heroes, shiftedMonsters);
+		ReplayDivergence divergence = verifier.verify(files.get(2));
+		assertNotNull(divergence);
+		assertTrue(divergence.getHitIndex() >= 0);
+		assertFalse(divergence.getExpected().equals(divergence.getActual()));
+	}
+
+	@Test
+	public void testFightIsVerifiedOnItsOwn() throws IOException {
+		ReplayVerifier verifier = new ReplayVerifier(heroes, monsters);
+		ReplayReader reader = new ReplayReader(files.get(0));
+		reader.nextFight();
+		ReplayFight fight = reader.nextFight();
+		assertEquals(1, fight.getSeed());
+		assertNull(verifier.verify(fight, reader));
+		assertEquals(2, reader.nextFight().getIndex());
+		reader.close();
+	}
+}
@@ -0,0 +1,530 @@
+package rpgGame;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of combat listeners writing every hit of the fights they are given
+ * 	to a compact binary replay log.
+ * 		The log starts with a magic number and a format version, both ints. Every
+ * 		fight is a header record with the seed and snapshots of both actors,
+ * 		followed by a record for every hit and an end record. Records start with
+ * 		a tag byte and store their numbers as variable-length integers of seven
+ * 		bits per byte, signed numbers being zigzag encoded first, so that a hit
+ * 		that was blocked takes three bytes:
+ * 			fight: tag 1, seed, both snapshots
+ * 			snapshot: hero (byte), name (length and UTF-8 bytes), maximum hit points,
+ * 				hit points, strength in hundredths, damage, protection (the 8 bytes
+ * 				of the double), number of anchors, the item ID at every anchor
+ * 			hit: tag 2, flags (attacker, landed, killed), luck, then damage and
+ * 				hit points if it landed, then healing, the number of items and
+ * 				every item ID shifted left with the looted flag if it killed
+ * 			end: tag 3
+ * 		The records are gathered in a buffer that is written to the file channel
+ * 		only when it is full, so a hit costs a few stores in memory. Events of a
+ * 		hit can't throw an IOException: when writing fails, the writer stops and
+ * 		the exception is thrown by the next call of endFight, flush or close.
+ * 		While it records a fight, the writer replaces the combat listeners of
+ * 		both actors and passes every event on to the former listener of the
+ * 		actor that reported it, so those listeners miss nothing.
+ * 		A writer records one fight at a time and isn't thread-safe.
+ *
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class ReplayWriter implements CombatListener, Closeable {
+
+	/**
+	 * Initializes a new writer creating a replay log in a given file, with a
+	 * 	buffer of a given size.
+	 *
+	 * @param 	file
+	 * 			The file to write the log to. An existing file is overwritten.
+	 * @param 	bufferSize
+	 * 			The number of bytes gathered before they are written to the file.
+	 * @throws	IllegalArgumentException
+	 * 			When the buffer is smaller than 64 bytes.
+	 * 			| bufferSize < 64
+	 * @throws	IOException
+	 * 			When the file can't be created.
+	 */
+	public ReplayWriter(File file, int bufferSize) throws IllegalArgumentException, IOException {
+		if(bufferSize < 64)
+			throw new IllegalArgumentException("The buffer must hold at least 64 bytes.");
+		buffer = ByteBuffer.allocateDirect(bufferSize);
+		channel = new FileOutputStream(file).getChannel();
+		buffer.putInt(magicNumber).putInt(formatVersion);
+	}
+
+	/**
+	 * Initializes a new writer creating a replay log in a given file, with a
+	 * 	buffer of 64 kibibytes.
+	 *
+	 * @effect	| this(file, 1 << 16)
+	 */
+	public ReplayWriter(File file) throws IOException {
+		this(file, 1 << 16);
+	}
+
+	/**
+	 * Variable referencing the channel of the file of this writer.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * Variable referencing the buffer gathering the records of this writer.
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * Starts recording a fight between two given actors played with a given seed.
+	 * 		The writer becomes the combat listener of both actors until the fight ends.
+	 *
+	 * @param 	first
+	 * 			The actor that strikes first.
+	 * @param 	second
+	 * 			The actor that strikes second.
+	 * @param 	seed
+	 * 			The seed the fight is played with, to be stored in the log.
+	 * @post	| first.getCombatListener() == this && second.getCombatListener() == this
+	 * @throws	IllegalArgumentException
+	 * 			| first == null || second == null || first == second
+	 * @throws	IllegaleToestandsUitzondering
+	 * 			When a fight is being recorded already or the writer is closed.
+	 * @throws	IOException
+	 * 			When writing to the file failed.
+	 */
+	public void beginFight(Actor first, Actor second, long seed)
+			throws IllegalArgumentException, IllegaleToestandsUitzondering, IOException {
+		if(first == null || second == null || first == second)
+			throw new IllegalArgumentException("A fight needs two different actors.");
+		if(this.first != null || closed)
+			throw new IllegaleToestandsUitzondering("The writer can't start a fight now.");
+		checkFailure();
+		ensure(11);
+		buffer.put(fightTag);
+		putVarLong(zigzag(seed));
+		putSnapshot(first);
+		putSnapshot(second);
+		this.first = first;
+		this.second = second;
+		firstListener = first.getCombatListener();
+		secondListener = second.getCombatListener();
+		first.setCombatListener(this);
+		second.setCombatListener(this);
+		checkFailure();
+	}
+
+	/**
+	 * Ends recording the current fight, giving both actors their former combat
+	 * 	listeners back.
+	 *
+	 * @throws	IllegaleToestandsUitzondering
+	 * 			When no fight is being recorded.
+	 * @throws	IOException
+	 * 			When writing to the file failed.
+	 */
+	public void endFight() throws IllegaleToestandsUitzondering, IOException {
+		if(first == null)
+			throw new IllegaleToestandsUitzondering("No fight is being recorded.");
+		finishHit();
+		first.setCombatListener(firstListener);
+		second.setCombatListener(secondListener);
+		first = null;
+		second = null;
+		firstListener = null;
+		secondListener = null;
+		if(failure == null) {
+			ensure(1);
+			buffer.put(endTag);
+		}
+		numberOfFights++;
+		checkFailure();
+	}
+
+	/**
+	 * Checks whether this writer is recording a fight.
+	 */
+	public boolean isRecording() {
+		return first != null;
+	}
+
+	/**
+	 * Variable referencing the actor that strikes first in the current fight.
+	 */
+	private Actor first;
+
+	/**
+	 * Variable referencing the actor that strikes second in the current fight.
+	 */
+	private Actor second;
+
+	/**
+	 * Variable referencing the combat listener the first actor had before the fight.
+	 */
+	private CombatListener firstListener;
+
+	/**
+	 * Variable referencing the combat listener the second actor had before the fight.
+	 */
+	private CombatListener secondListener;
+
+	/**
+	 * Return the combat listener a given actor of the current fight had before
+	 * 	the fight, or null if he had none or isn't in the current fight.
+	 */
+	private CombatListener getFormerListener(Actor actor) {
+		if(actor == first)
+			return firstListener;
+		if(actor == second)
+			return secondListener;
+		return null;
+	}
+
+	/**
+	 * Return the number of fights this writer recorded.
+	 */
+	@Basic
+	public long getNumberOfFights() {
+		return numberOfFights;
+	}
+
+	/**
+	 * Variable registering the number of fights this writer recorded.
+	 */
+	private long numberOfFights;
+
+	/**
+	 * Return the number of hits this writer recorded.
+	 */
+	@Basic
+	public long getNumberOfHits() {
+		return numberOfHits;
+	}
+
+	/**
+	 * Variable registering the number of hits this writer recorded.
+	 */
+	private long numberOfHits;
+
+	/**
+	 * Return the number of bytes of the log, written or still in the buffer.
+	 */
+	public long getSize() {
+		return numberOfBytesWritten + buffer.position();
+	}
+
+	/**
+	 * Variable registering the number of bytes written to the file.
+	 */
+	private long numberOfBytesWritten;
+
+	/**
+	 * Writes the records in the buffer to the file.
+	 *
+	 * @throws	IOException
+	 * 			When writing to the file failed now or before.
+	 */
+	public void flush() throws IOException {
+		checkFailure();
+		writeBuffer();
+		checkFailure();
+	}
+
+	/**
+	 * Ends the current fight, if any, writes the records in the buffer and
+	 * 	closes the file.
+	 *
+	 * @throws	IOException
+	 * 			When writing to the file failed now or before.
+	 */
+	@Override
+	public void close() throws IOException {
+		if(closed)
+			return;
+		try {
+			if(first != null)
+				endFight();
+			flush();
+		}
+		finally {
+			closed = true;
+			channel.close();
+		}
+	}
+
+	/**
+	 * Variable registering whether this writer is closed.
+	 */
+	private boolean closed;
+
+	/**
+	 * Throws the exception that made writing fail, if any.
+	 */
+	private void checkFailure() throws IOException {
+		if(failure != null)
+			throw failure;
+	}
+
+	/**
+	 * Variable referencing the exception that made writing fail.
+	 */
+	private IOException failure;
+
+	/**
+	 * Writes the buffer to the file unless it has room for a given number of bytes.
+	 */
+	private void ensure(int numberOfBytes) {
+		if(buffer.remaining() < numberOfBytes)
+			writeBuffer();
+	}
+
+	/**
+	 * Writes the buffer to the file, registering the exception if that fails.
+	 */
+	private void writeBuffer() {
+		if(failure != null)
+			return;
+		buffer.flip();
+		try {
+			while(buffer.hasRemaining())
+				numberOfBytesWritten += channel.write(buffer);
+		}
+		catch(IOException e) {
+			failure = e;
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Writes a snapshot of a given actor.
+	 */
+	private void putSnapshot(Actor actor) {
+		ActorSnapshot snapshot = ActorSnapshot.of(actor);
+		byte[] name = snapshot.getName().getBytes(utf8);
+		ensure(1 + 5);
+		buffer.put(snapshot.isHero() ? (byte)1 : (byte)0);
+		putVarLong(name.length);
+		for(int offset = 0; offset < name.length; ) {
+			ensure(1);
+			int length = Math.min(buffer.remaining(), name.length - offset);
+			buffer.put(name, offset, length);
+			offset += length;
+		}
+		ensure(4 * 10 + 8 + 5);
+		putVarLong(snapshot.getMaxHitPoints());
+		putVarLong(snapshot.getHitPoints());
+		putVarLong(zigzag(Math.round(snapshot.getStrength() * 100)));
+		putVarLong(zigzag(snapshot.getDamage()));
+		buffer.putLong(Double.doubleToLongBits(snapshot.getProtection()));
+		putVarLong(snapshot.getNumberOfAnchors());
+		for(int i = 0; i < snapshot.getNumberOfAnchors(); i++) {
+			ensure(10);
+			putVarLong(snapshot.getItemID(i));
+		}
+	}
+
+	/**
+	 * Writes the record of the pending hit, if any.
+	 */
+	private void finishHit() {
+		if(!hitPending)
+			return;
+		hitPending = false;
+		numberOfHits++;
+		ReplayHit hit = pendingHit;
+		int flags = hit.attacker | (hit.landed ? landedFlag : 0) | (hit.died ? killedFlag : 0);
+		ensure(2 + 5 * 5);
+		buffer.put(hitTag);
+		buffer.put((byte)flags);
+		putVarLong(hit.luck);
+		if(hit.landed) {
+			putVarLong(zigzag(hit.damage));
+			putVarLong(hit.hitPoints);
+		}
+		if(hit.died) {
+			putVarLong(hit.healing);
+			putVarLong(hit.numberOfItems);
+			for(int i = 0; i < hit.numberOfItems; i++) {
+				ensure(10);
+				putVarLong((hit.getItemID(i) << 1) | (hit.isLooted(i) ? 1 : 0));
+			}
+		}
+	}
+
+	/**
+	 * Variable referencing the record of the hit that is being reported.
+	 */
+	private final ReplayHit pendingHit = new ReplayHit();
+
+	/**
+	 * Variable registering whether a hit is being reported.
+	 */
+	private boolean hitPending;
+
+	/**
+	 * Writes a given number as a variable-length integer, taking it as unsigned.
+	 * 	The buffer must have room for ten bytes.
+	 */
+	private void putVarLong(long value) {
+		while((value & ~0x7FL) != 0) {
+			buffer.put((byte)((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte)value);
+	}
+
+	/**
+	 * Return a given signed number mapped on an unsigned number, small
+	 * 	magnitudes on small numbers.
+	 */
+	static long zigzag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	/**
+	 * Return the signed number a given unsigned number was mapped from.
+	 */
+	static long unzigzag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#hitAttempted(rpgGame.Actor, rpgGame.Actor, int)
+	 */
+	@Override
+	public void hitAttempted(Actor attacker, Actor defender, int luck) {
+		if(first == null || (attacker != first && attacker != second))
+			return;
+		finishHit();
+		pendingHit.reset(attacker == first ? 0 : 1, luck);
+		hitPending = true;
+		CombatListener former = getFormerListener(attacker);
+		if(former != null)
+			former.hitAttempted(attacker, defender, luck);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#hitBlocked(rpgGame.Actor, rpgGame.Actor)
+	 */
+	@Override
+	public void hitBlocked(Actor attacker, Actor defender) {
+		CombatListener former = getFormerListener(attacker);
+		if(former != null)
+			former.hitBlocked(attacker, defender);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#damageApplied(rpgGame.Actor, rpgGame.Actor, int, int)
+	 */
+	@Override
+	public void damageApplied(Actor attacker, Actor defender, int damage, int hitPoints) {
+		if(!hitPending)
+			return;
+		pendingHit.landed = true;
+		pendingHit.damage = damage;
+		pendingHit.hitPoints = hitPoints;
+		CombatListener former = getFormerListener(attacker);
+		if(former != null)
+			former.damageApplied(attacker, defender, damage, hitPoints);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#died(rpgGame.Actor, rpgGame.Actor)
+	 */
+	@Override
+	public void died(Actor victim, Actor killer) {
+		if(hitPending)
+			pendingHit.died = true;
+		CombatListener former = getFormerListener(killer);
+		if(former != null)
+			former.died(victim, killer);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#healed(rpgGame.Actor, int)
+	 */
+	@Override
+	public void healed(Actor actor, int amount) {
+		if(hitPending)
+			pendingHit.healing = amount;
+		CombatListener former = getFormerListener(actor);
+		if(former != null)
+			former.healed(actor, amount);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#itemLooted(rpgGame.Actor, rpgGame.Actor, rpgGame.Item)
+	 */
+	@Override
+	public void itemLooted(Actor looter, Actor victim, Item item) {
+		if(hitPending)
+			pendingHit.addItem(item.getID(), true);
+		CombatListener former = getFormerListener(looter);
+		if(former != null)
+			former.itemLooted(looter, victim, item);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#itemDropped(rpgGame.Actor, rpgGame.Item)
+	 */
+	@Override
+	public void itemDropped(Actor victim, Item item) {
+		if(hitPending)
+			pendingHit.addItem(item.getID(), false);
+		// an item dropped while looting is reported by the killer, otherwise by the victim himself
+		Actor reporter = victim;
+		if(hitPending && pendingHit.died)
+			reporter = (pendingHit.attacker == 0) ? first : second;
+		CombatListener former = getFormerListener(reporter);
+		if(former != null)
+			former.itemDropped(victim, item);
+	}
+
+	/**
+	 * Constant registering the number every replay log starts with, "RPGR".
+	 */
+	static final int magicNumber = 0x52504752;
+
+	/**
+	 * Constant registering the version of the format of replay logs.
+	 */
+	static final int formatVersion = 1;
+
+	/**
+	 * Constant registering the tag of fight records.
+	 */
+	static final byte fightTag = 1;
+
+	/**
+	 * Constant registering the tag of hit records.
+	 */
+	static final byte hitTag = 2;
+
+	/**
+	 * Constant registering the tag of end records.
+	 */
+	static final byte endTag = 3;
+
+	/**
+	 * Constant registering the flag of hit records that got through.
+	 */
+	static final int landedFlag = 2;
+
+	/**
+	 * Constant registering the flag of hit records that killed the defender.
+	 */
+	static final int killedFlag = 4;
+
+	/**
+	 * Constant referencing the character set of the names in replay logs.
+	 */
+	static final Charset utf8 = Charset.forName("UTF-8");
+}
@@ -0,0 +1,266 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReplayWriterTest {
+
+	private File file;
+
+	private BattleSimulator simulator;
+
+	@Before
+	public void setUp() throws Exception {
+		file = File.createTempFile("fights", ".replay");
+		simulator = new BattleSimulator();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		file.delete();
+	}
+
+	private BattleResult recordFight(ReplayWriter writer, Actor first, Actor second, long seed)
+			throws IOException {
+		writer.beginFight(first, second, seed);
+		BattleResult result = simulator.fight(first, second);
+		writer.endFight();
+		return result;
+	}
+
+	@Test
+	public void testFightIsReadBack() throws IOException {
+		Hero hero = new Hero("Frankenstein", 300, 15, null, new SplittableRandomSource(1));
+		Monster monster = new Monster("Creep", 120, 30, 4, new SplittableRandomSource(2));
+		ActorSnapshot heroAtStart = ActorSnapshot.of(hero);
+		ActorSnapshot monsterAtStart = ActorSnapshot.of(monster);
+		ReplayWriter writer = new ReplayWriter(file);
+		BattleResult result = recordFight(writer, hero, monster, 77);
+		assertNull(hero.getCombatListener());
+		assertNull(monster.getCombatListener());
+		writer.close();
+		assertEquals(writer.getSize(), file.length());
+		ReplayReader reader = new ReplayReader(file);
+		ReplayFight fight = reader.nextFight();
+		assertEquals(0, fight.getIndex());
+		assertEquals(77, fight.getSeed());
+		assertEquals(heroAtStart, fight.getFirst());
+		assertEquals(monsterAtStart, fight.getSecond());
+		int hits = 0;
+		int lastHitPoints = -1;
+		boolean killed = false;
+		for(ReplayHit hit = reader.nextHit(); hit != null; hit = reader.nextHit()) {
+			assertEquals(hits % 2, hit.getAttacker());
+			assertFalse(killed);
+			if(hit.hasLanded())
+				lastHitPoints = hit.getHitPoints();
+			killed = hit.hasKilled();
+			hits++;
+		}
+		assertEquals(result.getNumberOfHits(), hits);
+		assertEquals(writer.getNumberOfHits(), hits);
+		assertTrue(killed);
+		assertEquals(0, lastHitPoints);
+		assertNull(reader.nextFight());
+		reader.close();
+	}
+
+	@Test
+	public void testLootIsRecorded() throws IOException {
+		Monster monster = new Monster("Creep", 2, 30, 4, new SplittableRandomSource(5));
+		Monster other = new Monster("Beast", 100000, 60, new Item[10], new SplittableRandomSource(6));
+		ActorSnapshot victim = ActorSnapshot.of(monster);
+		ReplayWriter writer = new ReplayWriter(file);
+		recordFight(writer, other, monster, 1);
+		writer.close();
+		ReplayReader reader = new ReplayReader(file);
+		reader.nextFight();
+		ReplayHit kill = null;
+		for(ReplayHit hit = reader.nextHit(); hit != null; hit = reader.nextHit())
+			if(hit.hasKilled())
+				kill = hit;
+		assertNotNull(kill);
+		int items = 0;
+		for(int i = 0; i < victim.getNumberOfAnchors(); i++)
+			if(victim.getItemID(i) != 0)
+				assertEquals(victim.getItemID(i), kill.getItemID(items++));
+		assertEquals(items, kill.getNumberOfItems());
+		for(int i = 0; i < kill.getNumberOfItems(); i++) {
+			boolean held = false;
+			for(int j = 0; j < other.getNumberOfAnchors(); j++)
+				if(other.getItem(j) != null && other.getItem(j).getID() == kill.getItemID(i))
+					held = true;
+			assertEquals(kill.isLooted(i), held);
+		}
+		reader.close();
+	}
+
+	@Test
+	public void testEventsReachFormerListeners() throws IOException {
+		EventLog expectedFirst = new EventLog();
+		EventLog expectedSecond = new EventLog();
+		Monster beast = new Monster("Beast", 100000, 60, new Item[10], new SplittableRandomSource(6));
+		Monster creep = new Monster("Creep", 2, 30, 4, new SplittableRandomSource(5));
+		beast.setCombatListener(expectedFirst);
+		creep.setCombatListener(expectedSecond);
+		simulator.fight(beast, creep);
+		EventLog actualFirst = new EventLog();
+		EventLog actualSecond = new EventLog();
+		beast = new Monster("Beast", 100000, 60, new Item[10], new SplittableRandomSource(6));
+		creep = new Monster("Creep", 2, 30, 4, new SplittableRandomSource(5));
+		beast.setCombatListener(actualFirst);
+		creep.setCombatListener(actualSecond);
+		ReplayWriter writer = new ReplayWriter(file);
+		recordFight(writer, beast, creep, 1);
+		writer.close();
+		assertSame(actualFirst, beast.getCombatListener());
+		assertSame(actualSecond, creep.getCombatListener());
+		assertTrue(expectedFirst.events.contains("died Creep"));
+		assertEquals(expectedFirst.events, actualFirst.events);
+		assertEquals(expectedSecond.events, actualSecond.events);
+	}
+
+	/**
+	 * A combat listener keeping a line for every event, leaving out item IDs,
+	 * 	which differ from run to run.
+	 */
+	private static class EventLog implements CombatListener {
+
+		@Override
+		public void hitAttempted(Actor attacker, Actor defender, int luck) {
+			events.add("hit " + attacker.getName() + " " + luck);
+		}
+
+		@Override
+		public void hitBlocked(Actor attacker, Actor defender) {
+			events.add("blocked " + attacker.getName());
+		}
+
+		@Override
+		public void damageApplied(Actor attacker, Actor defender, int damage, int hitPoints) {
+			events.add("damage " + attacker.getName() + " " + damage + " " + hitPoints);
+		}
+
+		@Override
+		public void died(Actor victim, Actor killer) {
+			events.add("died " + victim.getName());
+		}
+
+		@Override
+		public void healed(Actor actor, int amount) {
+			events.add("healed " + actor.getName() + " " + amount);
+		}
+
+		@Override
+		public void itemLooted(Actor looter, Actor victim, Item item) {
+			events.add("looted " + looter.getName());
+		}
+
+		@Override
+		public void itemDropped(Actor victim, Item item) {
+			events.add("dropped " + victim.getName());
+		}
+
+		private final List<String> events = new ArrayList<String>();
+	}
+
+	@Test
+	public void testManyFightsThroughSmallBuffers() throws IOException {
+		ReplayWriter writer = new ReplayWriter(file, 64);
+		long[] hits = new long[200];
+		for(int i = 0; i < hits.length; i++) {
+			Hero hero = new Hero("Hero", 300, 15, null, new SplittableRandomSource(i));
+			Monster monster = new Monster("Monster " + (char)('A' + i % 26), 200, 30, 3, new SplittableRandomSource(-i));
+			hits[i] = recordFight(writer, hero, monster, i).getNumberOfHits();
+		}
+		writer.close();
+		assertEquals(200, writer.getNumberOfFights());
+		ReplayReader reader = new ReplayReader(file, 64);
+		for(int i = 0; i < hits.length; i++) {
+			ReplayFight fight = reader.nextFight();
+			assertEquals(i, fight.getSeed());
+			assertEquals("Monster " + (char)('A' + i % 26), fight.getSecond().getName());
+			long count = 0;
+			while(reader.nextHit() != null)
+				count++;
+			assertEquals(hits[i], count);
+		}
+		assertNull(reader.nextFight());
+		reader.close();
+	}
+
+	@Test
+	public void testUnreadHitsAreSkipped() throws IOException {
+		ReplayWriter writer = new ReplayWriter(file);
+		for(int i = 0; i < 3; i++)
+			recordFight(writer, new Hero("Hero", 300, 15, null, new SplittableRandomSource(i)),
+					new Monster("Creep", 200, 30, new SplittableRandomSource(i + 10)), i);
+		writer.close();
+		ReplayReader reader = new ReplayReader(file);
+		assertEquals(0, reader.nextFight().getSeed());
+		assertEquals(1, reader.nextFight().getSeed());
+		reader.nextHit();
+		assertEquals(2, reader.nextFight().getSeed());
+		assertNull(reader.nextFight());
+		reader.close();
+	}
+
+	@Test(expected = IOException.class)
+	public void testTruncatedLog() throws IOException {
+		ReplayWriter writer = new ReplayWriter(file);
+		recordFight(writer, new Hero("Hero", 300, 15, null, new SplittableRandomSource(1)),
+				new Monster("Creep", 200, 30, new SplittableRandomSource(2)), 1);
+		writer.close();
+		RandomAccessFile raw = new RandomAccessFile(file, "rw");
+		raw.setLength(file.length() - 1);
+		raw.close();
+		ReplayReader reader = new ReplayReader(file);
+		try {
+			reader.nextFight();
+			while(reader.nextHit() != null)
+				;
+		}
+		finally {
+			reader.close();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testNotALog() throws IOException {
+		RandomAccessFile raw = new RandomAccessFile(file, "rw");
+		raw.writeInt(NumberTableFile.magicNumber);
+		raw.writeInt(1);
+		raw.close();
+		new ReplayReader(file);
+	}
+
+	@Test(expected = IllegaleToestandsUitzondering.class)
+	public void testOneFightAtATime() throws IOException {
+		ReplayWriter writer = new ReplayWriter(file);
+		try {
+			writer.beginFight(new Hero("Hero", 300, 15), new Monster("Creep", 200), 1);
+			writer.beginFight(new Hero("Hero", 300, 15), new Monster("Creep", 200), 2);
+		}
+		finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	public void testZigzag() {
+		long[] values = {0, 1, -1, 63, -64, Long.MAX_VALUE, Long.MIN_VALUE};
+		for(long value : values)
+			assertEquals(value, ReplayWriter.unzigzag(ReplayWriter.zigzag(value)));
+		assertEquals(1, ReplayWriter.zigzag(-1));
+		assertEquals(2, ReplayWriter.zigzag(1));
+	}
+}
@@ -102,17 +102,23 @@ public class RpgGame {
 		System.out.println(monster);
 		System.out.println();
 		
+		CombatEventRingBuffer events = new CombatEventRingBuffer(1024, new ConsoleCombatListener());
+		events.start();
+		first.setCombatListener(events);
+		second.setCombatListener(events);
 		while(!first.isTerminated() && !second.isTerminated()){
-			System.out.println(first.getName()+" hits "+second.getName()+".");
 			first.hit(second);
-			System.out.println(second.getName()+" has "+second.getHitPoints()+"/"+ second.getMaxHitpoints() +" hitpoints.");
 			if(!second.isTerminated()){
-				System.out.println(second.getName()+" hits "+first.getName()+".");
 				second.hit(first);
-				System.out.println(first.getName()+" has "+first.getHitPoints()+"/"+ first.getMaxHitpoints() +" hitpoints.");
-				
 			}
 		}
+		first.setCombatListener(null);
+		second.setCombatListener(null);
+		try {
+			events.close();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
 		
 		System.out.println();
 		if(first.getHitPoints() == 0)
@@ -0,0 +1,106 @@
+package rpgGame;
+
+import java.util.SplittableRandom;
+
+/**
+ * A class of random sources backed by a SplittableRandom.
+ * 		A splittable random source created with a seed always produces the same
+ * 		numbers, which makes fights reproducible. Such a source isn't thread-safe:
+ * 		every thread or fight must get its own source, for instance through split()
+ * 		or derive(long, long).
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class SplittableRandomSource implements RandomSource {
+
+	/**
+	 * Initializes a new splittable random source with a given seed.
+	 * 
+	 * @param 	seed
+	 * 			The seed for the new random source.
+	 * @post	Two sources created with the same seed produce the same numbers.
+	 */
+	public SplittableRandomSource(long seed) {
+		this(new SplittableRandom(seed));
+	}
+	
+	/**
+	 * Initializes a new splittable random source with an unpredictable seed.
+	 */
+	public SplittableRandomSource() {
+		this(new SplittableRandom());
+	}
+	
+	/**
+	 * Initializes a new splittable random source around a given generator.
+	 * 
+	 * @param 	generator
+	 * 			The generator for the new random source.
+	 */
+	private SplittableRandomSource(SplittableRandom generator) {
+		this.generator = generator;
+	}
+	
+	/**
+	 * Returns the random source for a given stream of a given master seed.
+	 * 		Every stream index, for instance the number of a fight or of a 
+	 * 		thread, gets its own reproducible, independent stream of numbers.
+	 * 
+	 * @param 	masterSeed
+	 * 			The seed the streams are derived from.
+	 * @param 	streamIndex
+	 * 			The index of the stream.
+	 * @return	A new random source, producing the same numbers for the same 
+	 * 			master seed and stream index.
+	 */
+	public static SplittableRandomSource derive(long masterSeed, long streamIndex) {
+		return new SplittableRandomSource(deriveSeed(masterSeed, streamIndex));
+	}
+	
+	/**
+	 * Returns the seed for a given stream of a given master seed.
+	 * 		The seed is mixed with the finalizer of SplitMix64, so that neighboring
+	 * 		stream indices get unrelated seeds.
+	 * 
+	 * @param 	masterSeed
+	 * 			The seed the streams are derived from.
+	 * @param 	streamIndex
+	 * 			The index of the stream.
+	 */
+	public static long deriveSeed(long masterSeed, long streamIndex) {
+		long z = masterSeed + (streamIndex + 1) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.RandomSource#randomInt(int)
+	 */
+	@Override
+	public int randomInt(int max) {
+		return generator.nextInt(max + 1);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.RandomSource#randomDouble()
+	 */
+	@Override
+	public double randomDouble() {
+		return generator.nextDouble();
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.RandomSource#split()
+	 */
+	@Override
+	public RandomSource split() {
+		return new SplittableRandomSource(generator.split());
+	}
+	
+	/**
+	 * Variable referencing the generator of this random source.
+	 */
+	private final SplittableRandom generator;
+}
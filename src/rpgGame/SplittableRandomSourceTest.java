@@ -0,0 +1,76 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class SplittableRandomSourceTest {
+
+	@Test
+	public void testSameSeedSameNumbers() {
+		RandomSource first = new SplittableRandomSource(7);
+		RandomSource second = new SplittableRandomSource(7);
+		for(int i = 0; i < 1000; i++)
+			assertEquals(first.randomInt(100), second.randomInt(100));
+	}
+
+	@Test
+	public void testRandomIntInclusiveRange() {
+		RandomSource random = new SplittableRandomSource(3);
+		boolean sawMaximum = false;
+		for(int i = 0; i < 1000; i++) {
+			int number = random.randomInt(5);
+			assertTrue(number >= 0 && number <= 5);
+			sawMaximum |= number == 5;
+		}
+		assertTrue(sawMaximum);
+		assertEquals(0, random.randomInt(0));
+	}
+
+	@Test
+	public void testDeriveIsReproducible() {
+		RandomSource first = SplittableRandomSource.derive(42, 5);
+		RandomSource second = SplittableRandomSource.derive(42, 5);
+		RandomSource other = SplittableRandomSource.derive(42, 6);
+		boolean different = false;
+		for(int i = 0; i < 100; i++) {
+			int number = first.randomInt(1000);
+			assertEquals(number, second.randomInt(1000));
+			different |= number != other.randomInt(1000);
+		}
+		assertTrue(different);
+	}
+
+	@Test
+	public void testSeededMonstersAreReproducible() {
+		Monster first = new Monster("Creep", 50, new SplittableRandomSource(11));
+		Monster second = new Monster("Creep", 50, new SplittableRandomSource(11));
+		assertTrue(first.getStrength() == second.getStrength());
+		assertTrue(first.getNumberOfAnchors() == second.getNumberOfAnchors());
+		assertTrue(first.getProtection() == second.getProtection());
+		assertTrue(first.getDamage() == second.getDamage());
+	}
+
+	@Test
+	public void testSeededFightsAreReproducible() {
+		assertEquals(fight(99), fight(99));
+	}
+
+	/**
+	 * Runs a fight between a hero and a monster seeded with the given seed and
+	 * 	returns the hit points of both after every hit.
+	 */
+	private static String fight(long seed) {
+		RandomSource random = new SplittableRandomSource(seed);
+		Hero hero = new Hero("Frankenstein", 300, 15, null, random.split());
+		Monster monster = new Monster("Creep", 120, 30, new Item[0], random.split());
+		StringBuilder log = new StringBuilder();
+		for(int i = 0; i < 200 && !hero.isTerminated() && !monster.isTerminated(); i++) {
+			hero.hit(monster);
+			if(!monster.isTerminated())
+				monster.hit(hero);
+			log.append(hero.getHitPoints()).append('/').append(monster.getHitPoints()).append(' ');
+		}
+		return log.toString();
+	}
+}
@@ -0,0 +1,586 @@
+package rpgGame;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of selectors choosing the opponent every actor of an encounter hits.
+ * 		For every targeting strategy in use, the selector keeps a heap of the
+ * 		living actors of every class, ordered by the priority the strategy gives
+ * 		them. Whether an actor can fight a living opponent other than himself is
+ * 		taken to depend on nothing but the classes of both, as it does for heroes
+ * 		and monsters, so choosing a target only looks at the top of every heap of
+ * 		his strategy: the best actor in it, or the second best if the best is the
+ * 		actor himself, and whether he can fight that one decides for the whole
+ * 		heap. All actors with the same strategy share the heaps, so a selector
+ * 		takes memory in proportion to its number of actors and strategies in use,
+ * 		and the place of a removed actor is reused by the next actor added.
+ * 		The priorities are kept up to date as the encounter goes on: the selector
+ * 		is the combat listener of its actors, and when a hit changes the hit
+ * 		points of the defender or a kill changes the hit points and the items of
+ * 		the killer, only the place of that actor in the heaps holding him is
+ * 		repaired. A dead actor leaves every heap. Changes outside a hit, like an
+ * 		actor changing his armor, must be reported with update. Only the
+ * 		priorities of the strategies in use are computed.
+ * 		Every event is passed on to the combat listener the actor that reported
+ * 		it had before he was added: the attacker, killer or looter, or for an
+ * 		item dropped the killer when it is dropped while he loots after a hit
+ * 		and the victim otherwise.
+ * 		A selector isn't thread-safe.
+ *
+ * @invar	The number of actors of a selector is never negative.
+ * 			| getNumberOfActors() >= 0
+ *
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class TargetSelector implements CombatListener {
+
+	/**
+	 * Initializes a new selector without actors.
+	 *
+	 * @post	| new.getNumberOfActors() == 0
+	 */
+	public TargetSelector() {
+		for(int strategy = 0; strategy < heaps.length; strategy++) {
+			heaps[strategy] = new int[0][];
+			heapSizes[strategy] = new int[0];
+		}
+		allocate(16);
+	}
+
+	/**
+	 * Adds a given actor with a given strategy to this selector.
+	 * 		The actor becomes a possible target of every actor of this selector that
+	 * 		can fight him, and every actor of this selector he can fight becomes a
+	 * 		possible target for him.
+	 *
+	 * @param 	actor
+	 * 			The actor to be added.
+	 * @param 	strategy
+	 * 			The strategy the actor chooses his targets with.
+	 * @post	| new.contains(actor) && new.getStrategy(actor) == strategy
+	 * @post	| actor.getCombatListener() == this
+	 * @throws	IllegalArgumentException
+	 * 			When the actor or the strategy isn't effective, when the actor is
+	 * 			terminated or when he was added before.
+	 * 			| actor == null || strategy == null || actor.isTerminated() || contains(actor)
+	 */
+	public void add(Actor actor, TargetingStrategy strategy) throws IllegalArgumentException {
+		if(actor == null || strategy == null || actor.isTerminated() || contains(actor))
+			throw new IllegalArgumentException("The actor can't be added to this selector.");
+		if(free == -1) {
+			if(size == actors.length)
+				allocate(2 * size);
+			free = size++;
+			nextFree[free] = -1;
+		}
+		int index = free;
+		free = nextFree[index];
+		actors[index] = actor;
+		indices.put(actor, index);
+		strategies[index] = strategy;
+		formerListeners[index] = actor.getCombatListener();
+		classes[index] = getClassIndex(actor.getClass());
+		numberOfActors++;
+		if(numberOfUsers[strategy.ordinal()]++ == 0)
+			fillHeaps(strategy);
+		else
+			insert(strategy.ordinal(), index);
+		for(TargetingStrategy other : allStrategies)
+			if(other != strategy && numberOfUsers[other.ordinal()] > 0)
+				insert(other.ordinal(), index);
+		actor.setCombatListener(this);
+	}
+
+	/**
+	 * Removes a given actor from this selector, giving him back the combat
+	 * 	listener he had before he was added.
+	 *
+	 * @param 	actor
+	 * 			The actor to be removed.
+	 * @post	| !new.contains(actor)
+	 */
+	public void remove(Actor actor) {
+		Integer index = indices.remove(actor);
+		if(index == null)
+			return;
+		for(int strategy = 0; strategy < heaps.length; strategy++)
+			if(numberOfUsers[strategy] > 0)
+				removeAt(strategy, classes[index], positions[strategy][index]);
+		if(--numberOfUsers[strategies[index].ordinal()] == 0)
+			Arrays.fill(heapSizes[strategies[index].ordinal()], 0);
+		actors[index] = null;
+		strategies[index] = null;
+		if(actor.getCombatListener() == this)
+			actor.setCombatListener(formerListeners[index]);
+		formerListeners[index] = null;
+		nextFree[index] = free;
+		free = index;
+		numberOfActors--;
+	}
+
+	/**
+	 * Checks whether a given actor takes part in this selector.
+	 */
+	public boolean contains(Actor actor) {
+		return indices.containsKey(actor);
+	}
+
+	/**
+	 * Return the number of actors of this selector.
+	 */
+	@Basic
+	public int getNumberOfActors() {
+		return numberOfActors;
+	}
+
+	/**
+	 * Variable registering the number of actors of this selector.
+	 */
+	private int numberOfActors;
+
+	/**
+	 * Return the number of actors this selector has room for before it has to grow.
+	 */
+	int getCapacity() {
+		return actors.length;
+	}
+
+	/**
+	 * Return the strategy a given actor chooses his targets with.
+	 *
+	 * @throws	IllegalArgumentException
+	 * 			| !contains(actor)
+	 */
+	public TargetingStrategy getStrategy(Actor actor) throws IllegalArgumentException {
+		return strategies[indexOf(actor)];
+	}
+
+	/**
+	 * Return the opponent a given actor should hit, which is the opponent he can
+	 * 	fight with the lowest priority under his strategy.
+	 * 		Actors found terminated on the way are removed from this selector.
+	 *
+	 * @param 	actor
+	 * 			The actor that hits.
+	 * @return	Null if the actor can't fight any actor of this selector.
+	 * @return	Otherwise an actor of this selector the given actor can fight, whose
+	 * 			priority isn't higher than that of any other such actor.
+	 * 			| actor.canFightOpponent(result) && for each opponent in this selector:
+	 * 			|	!actor.canFightOpponent(opponent) || getStrategy(actor).getPriority(result)
+	 * 			|		<= getStrategy(actor).getPriority(opponent)
+	 * @throws	IllegalArgumentException
+	 * 			| !contains(actor)
+	 */
+	public Actor getTarget(Actor actor) throws IllegalArgumentException {
+		int owner = indexOf(actor);
+		int strategy = strategies[owner].ordinal();
+		int best = -1;
+		for(int classIndex = 0; classIndex < numberOfClasses; classIndex++) {
+			int candidate = getCandidate(owner, strategy, classIndex);
+			if(candidate != -1 && (best == -1 || isBefore(strategy, candidate, best)))
+				best = candidate;
+		}
+		return (best == -1) ? null : actors[best];
+	}
+
+	/**
+	 * Return the index of the best actor a given owner can fight in the heap of
+	 * 	a given strategy and class, or -1 if he can't fight any actor in it.
+	 */
+	private int getCandidate(int owner, int strategy, int classIndex) {
+		while(true) {
+			int[] heap = heaps[strategy][classIndex];
+			int heapSize = heapSizes[strategy][classIndex];
+			int position = 0;
+			if(heapSize > 0 && heap[0] == owner)
+				position = (heapSize > 2 && isBefore(strategy, heap[2], heap[1])) ? 2 : 1;
+			if(position >= heapSize)
+				return -1;
+			Actor candidate = actors[heap[position]];
+			if(!candidate.isTerminated())
+				return actors[owner].canFightOpponent(candidate) ? heap[position] : -1;
+			remove(candidate);
+		}
+	}
+
+	/**
+	 * Lets a given actor hit the target this selector chooses for him.
+	 *
+	 * @param 	actor
+	 * 			The actor that hits.
+	 * @return	The actor that was hit, or null if the given actor had no target.
+	 * 			| result == getTarget(actor)
+	 * @effect	| if(result != null) then actor.hit(result)
+	 * @throws	IllegalArgumentException
+	 * 			| !contains(actor)
+	 */
+	public Actor attack(Actor actor) throws IllegalArgumentException {
+		Actor target = getTarget(actor);
+		if(target != null)
+			actor.hit(target);
+		return target;
+	}
+
+	/**
+	 * Repairs the place of a given actor in the heaps of this selector after
+	 * 	his hit points, protection or items changed.
+	 *
+	 * @param 	actor
+	 * 			The actor that changed.
+	 * @effect	An actor that doesn't take part in this selector is ignored, and an
+	 * 			actor that is terminated is removed.
+	 * 			| if(actor.isTerminated()) then remove(actor)
+	 */
+	public void update(Actor actor) {
+		Integer index = indices.get(actor);
+		if(index == null)
+			return;
+		if(actor.isTerminated()) {
+			remove(actor);
+			return;
+		}
+		for(TargetingStrategy strategy : allStrategies) {
+			int ordinal = strategy.ordinal();
+			if(numberOfUsers[ordinal] == 0)
+				continue;
+			priorities[ordinal][index] = strategy.getPriority(actor);
+			int position = positions[ordinal][index];
+			if(!siftUp(ordinal, classes[index], position))
+				siftDown(ordinal, classes[index], position);
+		}
+	}
+
+	/**
+	 * Return the index of a given actor in this selector.
+	 */
+	private int indexOf(Actor actor) throws IllegalArgumentException {
+		Integer index = indices.get(actor);
+		if(index == null)
+			throw new IllegalArgumentException("The actor doesn't take part in this selector.");
+		return index;
+	}
+
+	/**
+	 * Return the index of the heaps of a given class of actors, giving every
+	 * 	strategy a heap for that class if it had none yet.
+	 */
+	private int getClassIndex(Class<?> actorClass) {
+		Integer classIndex = classIndices.get(actorClass);
+		if(classIndex != null)
+			return classIndex;
+		classIndices.put(actorClass, numberOfClasses);
+		numberOfClasses++;
+		for(int strategy = 0; strategy < heaps.length; strategy++) {
+			heaps[strategy] = Arrays.copyOf(heaps[strategy], numberOfClasses);
+			heaps[strategy][numberOfClasses - 1] = new int[16];
+			heapSizes[strategy] = Arrays.copyOf(heapSizes[strategy], numberOfClasses);
+		}
+		return numberOfClasses - 1;
+	}
+
+	/**
+	 * Puts every actor of this selector in the heaps of a given strategy that
+	 * 	has just come into use.
+	 */
+	private void fillHeaps(TargetingStrategy strategy) {
+		int ordinal = strategy.ordinal();
+		Arrays.fill(heapSizes[ordinal], 0);
+		for(int index = 0; index < size; index++)
+			if(actors[index] != null)
+				insert(ordinal, index);
+	}
+
+	/**
+	 * Checks whether the actor with a given index comes before the actor with
+	 * 	another index in the heaps of a given strategy.
+	 */
+	private boolean isBefore(int strategy, int first, int second) {
+		double[] priority = priorities[strategy];
+		if(priority[first] != priority[second])
+			return priority[first] < priority[second];
+		return first < second;
+	}
+
+	/**
+	 * Computes the priority of the actor with a given index under a given strategy
+	 * 	and adds him to the heap of his class of that strategy.
+	 */
+	private void insert(int strategy, int index) {
+		priorities[strategy][index] = allStrategies[strategy].getPriority(actors[index]);
+		int classIndex = classes[index];
+		int position = heapSizes[strategy][classIndex]++;
+		if(position == heaps[strategy][classIndex].length)
+			heaps[strategy][classIndex] = Arrays.copyOf(heaps[strategy][classIndex], 2 * position);
+		heaps[strategy][classIndex][position] = index;
+		positions[strategy][index] = position;
+		siftUp(strategy, classIndex, position);
+	}
+
+	/**
+	 * Removes the actor at a given position from the heap of a given strategy and class.
+	 */
+	private void removeAt(int strategy, int classIndex, int position) {
+		int[] heap = heaps[strategy][classIndex];
+		int[] places = positions[strategy];
+		places[heap[position]] = -1;
+		int last = --heapSizes[strategy][classIndex];
+		if(position == last)
+			return;
+		heap[position] = heap[last];
+		places[heap[position]] = position;
+		if(!siftUp(strategy, classIndex, position))
+			siftDown(strategy, classIndex, position);
+	}
+
+	/**
+	 * Moves the actor at a given position in the heap of a given strategy and
+	 * 	class up to his place and returns whether he moved.
+	 */
+	private boolean siftUp(int strategy, int classIndex, int position) {
+		int[] heap = heaps[strategy][classIndex];
+		int[] places = positions[strategy];
+		int index = heap[position];
+		int start = position;
+		while(position > 0) {
+			int parent = (position - 1) >>> 1;
+			if(!isBefore(strategy, index, heap[parent]))
+				break;
+			heap[position] = heap[parent];
+			places[heap[position]] = position;
+			position = parent;
+		}
+		heap[position] = index;
+		places[index] = position;
+		return position != start;
+	}
+
+	/**
+	 * Moves the actor at a given position in the heap of a given strategy and
+	 * 	class down to his place.
+	 */
+	private void siftDown(int strategy, int classIndex, int position) {
+		int[] heap = heaps[strategy][classIndex];
+		int[] places = positions[strategy];
+		int heapSize = heapSizes[strategy][classIndex];
+		int index = heap[position];
+		while(true) {
+			int child = 2 * position + 1;
+			if(child >= heapSize)
+				break;
+			if(child + 1 < heapSize && isBefore(strategy, heap[child + 1], heap[child]))
+				child++;
+			if(!isBefore(strategy, heap[child], index))
+				break;
+			heap[position] = heap[child];
+			places[heap[position]] = position;
+			position = child;
+		}
+		heap[position] = index;
+		places[index] = position;
+	}
+
+	/**
+	 * Gives the arrays of this selector room for a given number of actors.
+	 */
+	private void allocate(int capacity) {
+		actors = (actors == null) ? new Actor[capacity] : Arrays.copyOf(actors, capacity);
+		strategies = (strategies == null) ? new TargetingStrategy[capacity] : Arrays.copyOf(strategies, capacity);
+		formerListeners = (formerListeners == null) ? new CombatListener[capacity]
+				: Arrays.copyOf(formerListeners, capacity);
+		classes = (classes == null) ? new int[capacity] : Arrays.copyOf(classes, capacity);
+		nextFree = (nextFree == null) ? new int[capacity] : Arrays.copyOf(nextFree, capacity);
+		for(int i = 0; i < priorities.length; i++) {
+			priorities[i] = (priorities[i] == null) ? new double[capacity] : Arrays.copyOf(priorities[i], capacity);
+			positions[i] = (positions[i] == null) ? new int[capacity] : Arrays.copyOf(positions[i], capacity);
+		}
+	}
+
+	/**
+	 * Variable registering the number of indices that were ever given to actors
+	 * 	of this selector.
+	 */
+	private int size;
+
+	/**
+	 * Variable referencing the actors of this selector by index, null for an
+	 * 	index that is free.
+	 */
+	private Actor[] actors;
+
+	/**
+	 * Variable referencing the index of every actor of this selector.
+	 */
+	private final Map<Actor, Integer> indices = new IdentityHashMap<Actor, Integer>();
+
+	/**
+	 * Variable registering the first free index below the size, or -1.
+	 */
+	private int free = -1;
+
+	/**
+	 * Variable registering the next free index after every free index, or -1.
+	 */
+	private int[] nextFree;
+
+	/**
+	 * Variable referencing the strategy of every actor of this selector.
+	 */
+	private TargetingStrategy[] strategies;
+
+	/**
+	 * Constant referencing every targeting strategy, in the order of their ordinals.
+	 */
+	private static final TargetingStrategy[] allStrategies = TargetingStrategy.values();
+
+	/**
+	 * Variable registering the number of actors of this selector using every strategy.
+	 */
+	private final int[] numberOfUsers = new int[TargetingStrategy.values().length];
+
+	/**
+	 * Variable registering the priority of every actor under every strategy in use.
+	 */
+	private final double[][] priorities = new double[TargetingStrategy.values().length][];
+
+	/**
+	 * Variable referencing the combat listener every actor had before he was added.
+	 */
+	private CombatListener[] formerListeners;
+
+	/**
+	 * Variable referencing the index of the heaps of the class of every actor.
+	 */
+	private int[] classes;
+
+	/**
+	 * Variable referencing the index of the heaps of every class of actors.
+	 */
+	private final Map<Class<?>, Integer> classIndices = new IdentityHashMap<Class<?>, Integer>();
+
+	/**
+	 * Variable registering the number of classes of actors this selector has heaps for.
+	 */
+	private int numberOfClasses;
+
+	/**
+	 * Variable referencing, for every strategy and class, the heap of the actors
+	 * 	of that class, as indices.
+	 */
+	private final int[][][] heaps = new int[TargetingStrategy.values().length][][];
+
+	/**
+	 * Variable registering, for every strategy and class, the number of actors
+	 * 	in the heap of that class.
+	 */
+	private final int[][] heapSizes = new int[TargetingStrategy.values().length][];
+
+	/**
+	 * Variable registering, for every strategy in use, the position of every
+	 * 	actor in the heap of his class.
+	 */
+	private final int[][] positions = new int[TargetingStrategy.values().length][];
+
+	/**
+	 * Return the combat listener a given actor of this selector had before he 
+	 * 	was added, or null if he had none or doesn't take part in this selector.
+	 */
+	private CombatListener getFormerListener(Actor actor) {
+		Integer index = indices.get(actor);
+		return (index == null) ? null : formerListeners[index];
+	}
+
+	/**
+	 * Variable referencing the actor that killed in the current hit, or null.
+	 */
+	private Actor killer;
+
+	/**
+	 * Variable referencing the actor that was killed in the current hit, or null.
+	 */
+	private Actor victim;
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#hitAttempted(rpgGame.Actor, rpgGame.Actor, int)
+	 */
+	@Override
+	public void hitAttempted(Actor attacker, Actor defender, int luck) {
+		killer = null;
+		victim = null;
+		CombatListener former = getFormerListener(attacker);
+		if(former != null)
+			former.hitAttempted(attacker, defender, luck);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#hitBlocked(rpgGame.Actor, rpgGame.Actor)
+	 */
+	@Override
+	public void hitBlocked(Actor attacker, Actor defender) {
+		CombatListener former = getFormerListener(attacker);
+		if(former != null)
+			former.hitBlocked(attacker, defender);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#damageApplied(rpgGame.Actor, rpgGame.Actor, int, int)
+	 */
+	@Override
+	public void damageApplied(Actor attacker, Actor defender, int damage, int hitPoints) {
+		if(hitPoints > 0)
+			update(defender);
+		CombatListener former = getFormerListener(attacker);
+		if(former != null)
+			former.damageApplied(attacker, defender, damage, hitPoints);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#died(rpgGame.Actor, rpgGame.Actor)
+	 */
+	@Override
+	public void died(Actor victim, Actor killer) {
+		this.killer = killer;
+		this.victim = victim;
+		remove(victim);
+		CombatListener former = getFormerListener(killer);
+		if(former != null)
+			former.died(victim, killer);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#healed(rpgGame.Actor, int)
+	 */
+	@Override
+	public void healed(Actor actor, int amount) {
+		if(amount != 0)
+			update(actor);
+		CombatListener former = getFormerListener(actor);
+		if(former != null)
+			former.healed(actor, amount);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#itemLooted(rpgGame.Actor, rpgGame.Actor, rpgGame.Item)
+	 */
+	@Override
+	public void itemLooted(Actor looter, Actor victim, Item item) {
+		update(looter);
+		CombatListener former = getFormerListener(looter);
+		if(former != null)
+			former.itemLooted(looter, victim, item);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.CombatListener#itemDropped(rpgGame.Actor, rpgGame.Item)
+	 */
+	@Override
+	public void itemDropped(Actor victim, Item item) {
+		CombatListener former = getFormerListener((victim == this.victim) ? killer : victim);
+		if(former != null)
+			former.itemDropped(victim, item);
+	}
+}
@@ -0,0 +1,249 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TargetSelectorTest {
+
+	private TargetSelector selector;
+
+	@Before
+	public void setUp() throws Exception {
+		selector = new TargetSelector();
+	}
+
+	@Test
+	public void testLowestHitPointsComesFirst() {
+		Hero hero = new Hero("Frankenstein", 300, 15, null, new SplittableRandomSource(1));
+		Monster strong = new Monster("Beast", 500, 30, new SplittableRandomSource(2));
+		Monster weak = new Monster("Creep", 20, 30, new SplittableRandomSource(3));
+		selector.add(hero, TargetingStrategy.LOWEST_HIT_POINTS);
+		selector.add(strong, TargetingStrategy.LOWEST_HIT_POINTS);
+		selector.add(weak, TargetingStrategy.LOWEST_HIT_POINTS);
+		assertSame(weak, selector.getTarget(hero));
+		assertSame(weak, selector.getTarget(strong));
+		assertSame(hero, selector.getTarget(weak));
+	}
+
+	@Test
+	public void testHeroNeverTargetsHero() {
+		Hero hero = new Hero("Frankenstein", 300, 15, null, new SplittableRandomSource(1));
+		Hero other = new Hero("Dracula", 10, 15, null, new SplittableRandomSource(2));
+		selector.add(hero, TargetingStrategy.LOWEST_HIT_POINTS);
+		selector.add(other, TargetingStrategy.LOWEST_HIT_POINTS);
+		assertNull(selector.getTarget(hero));
+		assertNull(selector.attack(hero));
+		Monster monster = new Monster("Creep", 500, 30, new SplittableRandomSource(3));
+		selector.add(monster, TargetingStrategy.WEAKEST_PROTECTION);
+		assertSame(monster, selector.getTarget(hero));
+		assertSame(monster, selector.getTarget(other));
+	}
+
+	@Test
+	public void testHighestLootValueComesFirst() {
+		Hero hero = new Hero("Frankenstein", 300, 15, null, new SplittableRandomSource(1));
+		selector.add(hero, TargetingStrategy.HIGHEST_LOOT_VALUE);
+		Monster richest = null;
+		for(int i = 0; i < 10; i++) {
+			Monster monster = new Monster("Creep", 100, 30, 4, new SplittableRandomSource(10 + i));
+			selector.add(monster, TargetingStrategy.LOWEST_HIT_POINTS);
+			if(richest == null || monster.getPrice().getAmount() > richest.getPrice().getAmount())
+				richest = monster;
+		}
+		assertEquals(richest.getPrice().getAmount(), selector.getTarget(hero).getPrice().getAmount());
+	}
+
+	@Test
+	public void testTargetsFollowTheEncounter() {
+		List<Actor> actors = new ArrayList<Actor>();
+		TargetingStrategy[] strategies = TargetingStrategy.values();
+		for(int i = 0; i < 6; i++) {
+			Hero hero = new Hero("Hero", 200 + 37 * i, 15, null, new SplittableRandomSource(i));
+			actors.add(hero);
+			selector.add(hero, strategies[i % strategies.length]);
+		}
+		for(int i = 0; i < 20; i++) {
+			Monster monster = new Monster("Monster", 50 + 13 * i, 20 + i, 3, new SplittableRandomSource(100 + i));
+			actors.add(monster);
+			selector.add(monster, strategies[i % strategies.length]);
+		}
+		SplittableRandomSource random = new SplittableRandomSource(42);
+		for(int turn = 0; turn < 2000; turn++) {
+			List<Actor> living = new ArrayList<Actor>();
+			for(Actor actor : actors)
+				if(!actor.isTerminated())
+					living.add(actor);
+			if(living.size() < 2)
+				break;
+			for(Actor actor : living)
+				assertSame(bruteForceTarget(actor, actors), selector.getTarget(actor));
+			Actor attacker = living.get(random.randomInt(living.size() - 1));
+			selector.attack(attacker);
+		}
+		for(Actor actor : actors)
+			assertEquals(!actor.isTerminated(), selector.contains(actor));
+	}
+
+	@Test
+	public void testThousandsOfActors() {
+		List<Actor> actors = new ArrayList<Actor>();
+		TargetingStrategy[] strategies = TargetingStrategy.values();
+		for(int i = 0; i < 2000; i++) {
+			Hero hero = new Hero("Hero", 200 + i % 97, 15, null, new SplittableRandomSource(i));
+			actors.add(hero);
+			selector.add(hero, strategies[i % strategies.length]);
+		}
+		for(int i = 0; i < 3000; i++) {
+			Monster monster = new Monster("Monster", 50 + i % 89, 20 + i % 31, 3, new SplittableRandomSource(-i));
+			actors.add(monster);
+			selector.add(monster, strategies[i % strategies.length]);
+		}
+		assertEquals(5000, selector.getNumberOfActors());
+		assertTrue(selector.getCapacity() < 2 * 5000);
+		SplittableRandomSource random = new SplittableRandomSource(42);
+		for(int turn = 0; turn < 20000; turn++) {
+			Actor attacker = actors.get(random.randomInt(actors.size() - 1));
+			if(!attacker.isTerminated())
+				selector.attack(attacker);
+			if(turn % 2000 == 0)
+				for(int i = 0; i < 10; i++) {
+					Actor actor = actors.get(random.randomInt(actors.size() - 1));
+					if(!actor.isTerminated())
+						assertSame(bruteForceTarget(actor, actors), selector.getTarget(actor));
+				}
+		}
+		for(Actor actor : actors)
+			assertEquals(!actor.isTerminated(), selector.contains(actor));
+	}
+
+	@Test
+	public void testIndicesAreReused() {
+		List<Actor> monsters = new ArrayList<Actor>();
+		for(int round = 0; round < 5; round++) {
+			for(int i = 0; i < 1000; i++) {
+				Monster monster = new Monster("Monster", 50 + i, 30, new SplittableRandomSource(i));
+				monsters.add(monster);
+				selector.add(monster, TargetingStrategy.LOWEST_HIT_POINTS);
+			}
+			int capacity = selector.getCapacity();
+			for(int i = 0; i < 1000; i += 111) {
+				Actor target = selector.getTarget(monsters.get(i));
+				assertNotSame(monsters.get(i), target);
+				assertEquals(bruteForceTarget(monsters.get(i), monsters).getHitPoints(), target.getHitPoints());
+			}
+			for(Actor monster : monsters)
+				selector.remove(monster);
+			monsters.clear();
+			assertEquals(0, selector.getNumberOfActors());
+			if(round > 0)
+				assertEquals(capacity, selector.getCapacity());
+		}
+		assertTrue(selector.getCapacity() < 2 * 1000);
+	}
+
+	private Actor bruteForceTarget(Actor actor, List<Actor> actors) {
+		TargetingStrategy strategy = selector.getStrategy(actor);
+		Actor best = null;
+		for(Actor opponent : actors)
+			if(actor.canFightOpponent(opponent)
+					&& (best == null || strategy.getPriority(opponent) < strategy.getPriority(best)))
+				best = opponent;
+		return best;
+	}
+
+	@Test
+	public void testRemoveRestoresListener() {
+		Monster monster = new Monster("Creep", 20, 30, new SplittableRandomSource(3));
+		CombatListener listener = new TargetSelector();
+		monster.setCombatListener(listener);
+		selector.add(monster, TargetingStrategy.LOWEST_HIT_POINTS);
+		assertSame(selector, monster.getCombatListener());
+		selector.remove(monster);
+		assertSame(listener, monster.getCombatListener());
+		assertFalse(selector.contains(monster));
+		assertEquals(0, selector.getNumberOfActors());
+	}
+
+	@Test
+	public void testEventsReachFormerListeners() {
+		EventLog[] expected = {new EventLog(), new EventLog()};
+		Actor[] plain = {new Monster("Beast", 100000, 60, new Item[10], new SplittableRandomSource(6)),
+				new Monster("Creep", 40, 30, 4, new SplittableRandomSource(5))};
+		EventLog[] actual = {new EventLog(), new EventLog()};
+		Actor[] selected = {new Monster("Beast", 100000, 60, new Item[10], new SplittableRandomSource(6)),
+				new Monster("Creep", 40, 30, 4, new SplittableRandomSource(5))};
+		for(int i = 0; i < 2; i++) {
+			plain[i].setCombatListener(expected[i]);
+			selected[i].setCombatListener(actual[i]);
+			selector.add(selected[i], TargetingStrategy.LOWEST_HIT_POINTS);
+		}
+		for(int turn = 0; !plain[0].isTerminated() && !plain[1].isTerminated(); turn++) {
+			plain[turn % 2].hit(plain[1 - turn % 2]);
+			assertSame(selected[1 - turn % 2], selector.attack(selected[turn % 2]));
+		}
+		assertTrue(expected[0].events.contains("died Creep") || expected[1].events.contains("died Beast"));
+		assertEquals(expected[0].events, actual[0].events);
+		assertEquals(expected[1].events, actual[1].events);
+	}
+
+	/**
+	 * A combat listener keeping a line for every event, leaving out item IDs,
+	 * 	which differ from run to run.
+	 */
+	private static class EventLog implements CombatListener {
+
+		@Override
+		public void hitAttempted(Actor attacker, Actor defender, int luck) {
+			events.add("hit " + attacker.getName() + " " + luck);
+		}
+
+		@Override
+		public void hitBlocked(Actor attacker, Actor defender) {
+			events.add("blocked " + attacker.getName());
+		}
+
+		@Override
+		public void damageApplied(Actor attacker, Actor defender, int damage, int hitPoints) {
+			events.add("damage " + attacker.getName() + " " + damage + " " + hitPoints);
+		}
+
+		@Override
+		public void died(Actor victim, Actor killer) {
+			events.add("died " + victim.getName());
+		}
+
+		@Override
+		public void healed(Actor actor, int amount) {
+			events.add("healed " + actor.getName() + " " + amount);
+		}
+
+		@Override
+		public void itemLooted(Actor looter, Actor victim, Item item) {
+			events.add("looted " + looter.getName());
+		}
+
+		@Override
+		public void itemDropped(Actor victim, Item item) {
+			events.add("dropped " + victim.getName());
+		}
+
+		private final List<String> events = new ArrayList<String>();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testActorIsAddedOnce() {
+		Monster monster = new Monster("Creep", 20, 30, new SplittableRandomSource(3));
+		selector.add(monster, TargetingStrategy.LOWEST_HIT_POINTS);
+		selector.add(monster, TargetingStrategy.WEAKEST_PROTECTION);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownActorHasNoTarget() {
+		selector.getTarget(new Monster("Creep", 20, 30, new SplittableRandomSource(3)));
+	}
+}
@@ -0,0 +1,44 @@
+package rpgGame;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * An enumeration introducing the ways an actor can choose the opponent he hits.
+ * 	Every strategy gives an opponent a priority; the opponent with the lowest
+ * 	priority is hit first.
+ * 
+ * @author  Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+@Value
+public enum TargetingStrategy {
+	LOWEST_HIT_POINTS {
+		@Override
+		public double getPriority(Actor opponent) {
+			return opponent.getHitPoints();
+		}
+	},
+	WEAKEST_PROTECTION {
+		@Override
+		public double getPriority(Actor opponent) {
+			return opponent.getProtection();
+		}
+	},
+	HIGHEST_LOOT_VALUE {
+		@Override
+		public double getPriority(Actor opponent) {
+			return -opponent.getPrice().getAmount();
+		}
+	};
+	
+	/**
+	 * Return the priority of a given opponent under this strategy.
+	 * 
+	 * @param 	opponent
+	 * 			The opponent to be rated.
+	 * @return	The hit points of the opponent for LOWEST_HIT_POINTS, his protection
+	 * 			for WEAKEST_PROTECTION and the opposite of the price of his items
+	 * 			for HIGHEST_LOOT_VALUE.
+	 */
+	public abstract double getPriority(Actor opponent);
+}
@@ -0,0 +1,52 @@
+package rpgGame;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A class of random sources backed by the ThreadLocalRandom of the calling thread.
+ * 		Threads never contend for this source, so it is the default source of 
+ * 		the game. Its numbers can't be reproduced.
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class ThreadLocalRandomSource implements RandomSource {
+
+	/**
+	 * Variable referencing the only instance of this class.
+	 */
+	public final static ThreadLocalRandomSource instance = new ThreadLocalRandomSource();
+	
+	/**
+	 * Initializes the thread-local random source.
+	 */
+	private ThreadLocalRandomSource() {
+	}
+	
+	/* (non-Javadoc)
+	 * @see rpgGame.RandomSource#randomInt(int)
+	 */
+	@Override
+	public int randomInt(int max) {
+		return ThreadLocalRandom.current().nextInt(max + 1);
+	}
+
+	/* (non-Javadoc)
+	 * @see rpgGame.RandomSource#randomDouble()
+	 */
+	@Override
+	public double randomDouble() {
+		return ThreadLocalRandom.current().nextDouble();
+	}
+
+	/**
+	 * Returns a new splittable random source seeded by this random source.
+	 * 
+	 * @return	A new splittable random source with a seed drawn from the
+	 * 			ThreadLocalRandom of the calling thread.
+	 */
+	@Override
+	public RandomSource split() {
+		return new SplittableRandomSource(ThreadLocalRandom.current().nextLong());
+	}
+}
@@ -0,0 +1,495 @@
+package rpgGame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of tournaments in which heroes compete by fighting monsters.
+ * 		Heroes never fight each other, so in a match both entrants fight a monster
+ * 		of the gauntlet of the tournament, each his own copy of the same monster:
+ * 		both copies are created from the same seed, derived from the seed of the
+ * 		tournament, the round and the match. An entrant that kills his monster beats
+ * 		one that doesn't, and of two entrants that kill their monster the one with
+ * 		the most hit points left wins, then the one that needed the fewest rounds,
+ * 		then the one with the best seed. Entrants keep their hit points and the
+ * 		items they looted from one round to the next, and an entrant that died
+ * 		loses all his remaining matches.
+ * 		All matches of a round run in parallel. A round never has an entrant in
+ * 		two matches, so no two matches share an actor; the items that are dropped
+ * 		end up in the world, which is synchronized, and new items get their IDs
+ * 		from atomic counters.
+ *
+ * @invar	The number of entrants of a tournament is at least two.
+ * 			| getNumberOfEntrants() >= 2
+ *
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class Tournament {
+
+	/**
+	 * Initializes a new tournament for a given list of entrants.
+	 *
+	 * @param 	entrants
+	 * 			The heroes taking part, best seed first.
+	 * @param 	gauntlet
+	 * 			The factory creating the monsters the entrants fight.
+	 * @param 	format
+	 * 			The way the entrants are paired.
+	 * @param 	seed
+	 * 			The seed the monsters of the tournament are derived from.
+	 * @pre		The factory draws all its random numbers from the given random source.
+	 * @post	No rounds have been played in the new tournament.
+	 * 			| new.getRounds().isEmpty()
+	 * @throws	IllegalArgumentException
+	 * 			When the gauntlet or the format isn't effective, when there are fewer
+	 * 			than two entrants, or when an entrant isn't effective, is terminated
+	 * 			or appears twice.
+	 */
+	public Tournament(List<Hero> entrants, ActorFactory gauntlet, TournamentFormat format, long seed)
+			throws IllegalArgumentException {
+		if(gauntlet == null || format == null || entrants.size() < 2)
+			throw new IllegalArgumentException("A tournament needs a gauntlet, a format and two entrants.");
+		this.entrants = entrants.toArray(new Hero[entrants.size()]);
+		for(int i = 0; i < this.entrants.length; i++) {
+			if(this.entrants[i] == null || this.entrants[i].isTerminated())
+				throw new IllegalArgumentException("Every entrant must be effective and alive.");
+			for(int j = 0; j < i; j++)
+				if(this.entrants[j] == this.entrants[i])
+					throw new IllegalArgumentException("An entrant can't enter twice.");
+		}
+		this.gauntlet = gauntlet;
+		this.format = format;
+		this.seed = seed;
+		this.scores = new int[this.entrants.length];
+		if(format == TournamentFormat.SINGLE_ELIMINATION)
+			bracket = createBracket(this.entrants.length);
+	}
+
+	/**
+	 * Return the number of entrants of this tournament.
+	 */
+	@Immutable
+	public int getNumberOfEntrants() {
+		return entrants.length;
+	}
+
+	/**
+	 * Return the entrant of this tournament with a given seed.
+	 *
+	 * @param 	seed
+	 * 			The seed of the entrant, starting at zero for the best one.
+	 * @throws	IndexOutOfBoundsException
+	 * 			| seed < 0 || seed >= getNumberOfEntrants()
+	 */
+	public Hero getEntrant(int seed) throws IndexOutOfBoundsException {
+		return entrants[seed];
+	}
+
+	/**
+	 * Variable referencing the entrants of this tournament, best seed first.
+	 */
+	private final Hero[] entrants;
+
+	/**
+	 * Variable referencing the factory creating the monsters of this tournament.
+	 */
+	private final ActorFactory gauntlet;
+
+	/**
+	 * Return the way the entrants of this tournament are paired.
+	 */
+	@Basic
+	@Immutable
+	public TournamentFormat getFormat() {
+		return format;
+	}
+
+	/**
+	 * Variable referencing the way the entrants of this tournament are paired.
+	 */
+	private final TournamentFormat format;
+
+	/**
+	 * Variable registering the seed the monsters of this tournament are derived from.
+	 */
+	private final long seed;
+
+	/**
+	 * Return the score of the entrant with a given seed: the number of matches
+	 * 	he won, counting a bye as a win.
+	 *
+	 * @param 	seed
+	 * 			The seed of the entrant.
+	 * @throws	IndexOutOfBoundsException
+	 * 			| seed < 0 || seed >= getNumberOfEntrants()
+	 */
+	public int getScore(int seed) throws IndexOutOfBoundsException {
+		return scores[seed];
+	}
+
+	/**
+	 * Variable registering the score of every entrant.
+	 */
+	private final int[] scores;
+
+	/**
+	 * Return the number of rounds this tournament has in total.
+	 *
+	 * @return	For a single-elimination tournament, the number of times the
+	 * 			number of entrants has to be halved to get to one.
+	 * @return	For a Swiss tournament the same number of rounds.
+	 * @return	For a round-robin tournament, one round less than the number of
+	 * 			entrants rounded up to an even number.
+	 */
+	public int getNumberOfRounds() {
+		if(format == TournamentFormat.ROUND_ROBIN)
+			return (entrants.length % 2 == 0) ? entrants.length - 1 : entrants.length;
+		return 32 - Integer.numberOfLeadingZeros(entrants.length - 1);
+	}
+
+	/**
+	 * Checks whether all rounds of this tournament have been played.
+	 *
+	 * @return	| result == (getRounds().size() == getNumberOfRounds())
+	 */
+	public boolean isFinished() {
+		return rounds.size() == getNumberOfRounds();
+	}
+
+	/**
+	 * Return the reports on the rounds played in this tournament so far.
+	 */
+	public List<TournamentRound> getRounds() {
+		return Collections.unmodifiableList(rounds);
+	}
+
+	/**
+	 * Variable referencing the reports on the rounds played in this tournament.
+	 */
+	private final List<TournamentRound> rounds = new ArrayList<TournamentRound>();
+
+	/**
+	 * Plays all remaining rounds of this tournament on the common pool.
+	 *
+	 * @effect	| while(!isFinished()) playRound(ForkJoinPool.commonPool())
+	 */
+	public void run() {
+		while(!isFinished())
+			playRound(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Plays the next round of this tournament on the common pool.
+	 *
+	 * @effect	| playRound(ForkJoinPool.commonPool())
+	 */
+	public TournamentRound playRound() throws IllegaleToestandsUitzondering {
+		return playRound(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Plays the next round of this tournament, with all its matches in parallel
+	 * 	on a given pool.
+	 *
+	 * @param 	pool
+	 * 			The pool to run the matches on.
+	 * @return	The report on the round.
+	 * @post	| new.getRounds().size() == getRounds().size() + 1
+	 * @throws	IllegaleToestandsUitzondering
+	 * 			When the tournament is finished.
+	 * 			| isFinished()
+	 */
+	public TournamentRound playRound(ForkJoinPool pool) throws IllegaleToestandsUitzondering {
+		if(isFinished())
+			throw new IllegaleToestandsUitzondering("The tournament is finished.");
+		long start = System.nanoTime();
+		int round = rounds.size() + 1;
+		List<Match> matches = pair(round);
+		List<Future<Integer>> results = pool.invokeAll(matches);
+		for(int i = 0; i < matches.size(); i++) {
+			Match match = matches.get(i);
+			int winner;
+			try {
+				winner = results.get(i).get();
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegaleToestandsUitzondering("The round was interrupted.");
+			}
+			catch(ExecutionException e) {
+				throw new IllegaleToestandsUitzondering("A match failed: " + e.getCause());
+			}
+			if(winner >= 0)
+				scores[winner]++;
+			if(bracket != null)
+				bracket[i] = winner;
+			if(match.second >= 0)
+				played.add(pairKey(match.first, match.second));
+		}
+		if(bracket != null)
+			bracket = Arrays.copyOf(bracket, matches.size());
+		TournamentRound report = new TournamentRound(round, matches.size(), System.nanoTime() - start);
+		rounds.add(report);
+		return report;
+	}
+
+	/**
+	 * Return the matches of a given round.
+	 */
+	private List<Match> pair(int round) {
+		switch(format) {
+			case SINGLE_ELIMINATION: return pairBracket(round);
+			case SWISS: return pairSwiss(round);
+			default: return pairRoundRobin(round);
+		}
+	}
+
+	/**
+	 * Return the matches of a given round of a single-elimination tournament:
+	 * 	neighbours in the bracket meet.
+	 */
+	private List<Match> pairBracket(int round) {
+		List<Match> matches = new ArrayList<Match>();
+		for(int i = 0; i + 1 < bracket.length; i += 2)
+			matches.add(new Match(round, matches.size(), bracket[i], bracket[i + 1]));
+		return matches;
+	}
+
+	/**
+	 * Return a bracket for a given number of entrants: the seeds in the order
+	 * 	they meet, with -1 for a bye, so that the best seeds meet as late as
+	 * 	possible and get the byes.
+	 */
+	private static int[] createBracket(int numberOfEntrants) {
+		int[] positions = {0};
+		while(positions.length < numberOfEntrants) {
+			int[] next = new int[2 * positions.length];
+			for(int i = 0; i < positions.length; i++) {
+				next[2 * i] = positions[i];
+				next[2 * i + 1] = next.length - 1 - positions[i];
+			}
+			positions = next;
+		}
+		for(int i = 0; i < positions.length; i++)
+			if(positions[i] >= numberOfEntrants)
+				positions[i] = -1;
+		return positions;
+	}
+
+	/**
+	 * Variable registering the seeds still in the bracket of a single-elimination
+	 * 	tournament in the order they meet, -1 standing for a bye, or null for other formats.
+	 */
+	private int[] bracket;
+
+	/**
+	 * Return the matches of a given round of a Swiss tournament.
+	 * 		Entrants are ranked by score, then by seed. The best ranked entrant
+	 * 		that isn't paired yet meets the next one he didn't meet before, or
+	 * 		simply the next one if he met all of them. With an odd number of
+	 * 		entrants, the lowest ranked entrant that didn't have a bye yet gets one.
+	 */
+	private List<Match> pairSwiss(int round) {
+		Integer[] ranking = new Integer[entrants.length];
+		for(int i = 0; i < ranking.length; i++)
+			ranking[i] = i;
+		Arrays.sort(ranking, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer first, Integer second) {
+				if(scores[first] != scores[second])
+					return scores[second] - scores[first];
+				return first - second;
+			}
+		});
+		boolean[] paired = new boolean[entrants.length];
+		List<Match> matches = new ArrayList<Match>();
+		if(entrants.length % 2 == 1) {
+			int bye = ranking.length - 1;
+			while(bye > 0 && hadBye.contains(ranking[bye]))
+				bye--;
+			paired[ranking[bye]] = true;
+			hadBye.add(ranking[bye]);
+			matches.add(new Match(round, matches.size(), ranking[bye], -1));
+		}
+		for(int i = 0; i < ranking.length; i++) {
+			int first = ranking[i];
+			if(paired[first])
+				continue;
+			int opponent = -1;
+			for(int j = i + 1; j < ranking.length; j++) {
+				int candidate = ranking[j];
+				if(paired[candidate])
+					continue;
+				if(opponent == -1)
+					opponent = candidate;
+				if(!played.contains(pairKey(first, candidate))) {
+					opponent = candidate;
+					break;
+				}
+			}
+			paired[first] = true;
+			paired[opponent] = true;
+			matches.add(new Match(round, matches.size(), first, opponent));
+		}
+		return matches;
+	}
+
+	/**
+	 * Variable referencing the seeds of the entrants of a Swiss tournament that had a bye.
+	 */
+	private final Set<Integer> hadBye = new HashSet<Integer>();
+
+	/**
+	 * Return the matches of a given round of a round-robin tournament, by the
+	 * 	circle method: the first seed stays in place while the others rotate.
+	 */
+	private List<Match> pairRoundRobin(int round) {
+		int size = entrants.length + entrants.length % 2;
+		List<Match> matches = new ArrayList<Match>();
+		for(int i = 0; i < size / 2; i++) {
+			int first = circlePosition(i, round, size);
+			int second = circlePosition(size - 1 - i, round, size);
+			if(first >= entrants.length)
+				first = -1;
+			if(second >= entrants.length)
+				second = -1;
+			matches.add(new Match(round, matches.size(), first, second));
+		}
+		return matches;
+	}
+
+	/**
+	 * Return the seed at a given place of the circle in a given round.
+	 */
+	private static int circlePosition(int place, int round, int size) {
+		if(place == 0)
+			return 0;
+		return 1 + (place - 1 + round - 1) % (size - 1);
+	}
+
+	/**
+	 * Return a number standing for a match between the entrants with two given seeds.
+	 */
+	private long pairKey(int first, int second) {
+		return (long)Math.min(first, second) * entrants.length + Math.max(first, second);
+	}
+
+	/**
+	 * Variable referencing the pairs of entrants that met in this tournament.
+	 */
+	private final Set<Long> played = new HashSet<Long>();
+
+	/**
+	 * Return the entrants of this tournament ranked by score, then by hit points,
+	 * 	then by seed. The winner of a single-elimination tournament comes first.
+	 */
+	public List<Hero> getStandings() {
+		Integer[] ranking = new Integer[entrants.length];
+		for(int i = 0; i < ranking.length; i++)
+			ranking[i] = i;
+		Arrays.sort(ranking, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer first, Integer second) {
+				if(scores[first] != scores[second])
+					return scores[second] - scores[first];
+				int byHitPoints = entrants[second].getHitPoints() - entrants[first].getHitPoints();
+				return (byHitPoints != 0) ? byHitPoints : first - second;
+			}
+		});
+		List<Hero> standings = new ArrayList<Hero>();
+		for(int seed : ranking)
+			standings.add(entrants[seed]);
+		return standings;
+	}
+
+	/**
+	 * Return the winner of this tournament, or null if it isn't finished or if
+	 * 	every entrant died.
+	 *
+	 * @return	For a single-elimination tournament, the entrant left in the bracket.
+	 * @return	Otherwise the first of the standings that is still alive.
+	 */
+	public Hero getWinner() {
+		if(!isFinished())
+			return null;
+		if(bracket != null)
+			return (bracket[0] >= 0) ? entrants[bracket[0]] : null;
+		for(Hero hero : getStandings())
+			if(!hero.isTerminated())
+				return hero;
+		return null;
+	}
+
+	/**
+	 * A class of matches between two entrants, or of byes for one entrant.
+	 */
+	private class Match implements Callable<Integer> {
+
+		Match(int round, int index, int first, int second) {
+			this.round = round;
+			this.index = index;
+			this.first = first;
+			this.second = second;
+		}
+
+		/**
+		 * Plays this match and returns the seed of the winner, or -1 if nobody won.
+		 */
+		@Override
+		public Integer call() {
+			if(first < 0 || second < 0)
+				return Math.max(first, second);
+			long gauntletSeed = SplittableRandomSource.deriveSeed(seed, ((long)round << 32) | index);
+			BattleSimulator simulator = new BattleSimulator();
+			int firstRounds = fightGauntlet(simulator, entrants[first], gauntletSeed);
+			int secondRounds = fightGauntlet(simulator, entrants[second], gauntletSeed);
+			Hero firstHero = entrants[first];
+			Hero secondHero = entrants[second];
+			if(firstHero.isTerminated() || secondHero.isTerminated()) {
+				if(firstHero.isTerminated() && secondHero.isTerminated())
+					return -1;
+				return firstHero.isTerminated() ? second : first;
+			}
+			if(firstHero.getHitPoints() != secondHero.getHitPoints())
+				return (firstHero.getHitPoints() > secondHero.getHitPoints()) ? first : second;
+			if(firstRounds != secondRounds)
+				return (firstRounds < secondRounds) ? first : second;
+			return Math.min(first, second);
+		}
+
+		/**
+		 * Lets a given hero fight a monster of the gauntlet created from a given
+		 * 	seed and returns the number of rounds it took, or the maximum number of
+		 * 	rounds if the monster survived. A dead hero doesn't fight.
+		 */
+		private int fightGauntlet(BattleSimulator simulator, Hero hero, long gauntletSeed) {
+			if(hero.isTerminated())
+				return Integer.MAX_VALUE;
+			Actor monster = gauntlet.createActor(new SplittableRandomSource(gauntletSeed));
+			BattleResult result = simulator.fight(hero, monster);
+			if(monster.isTerminated())
+				return result.getNumberOfRounds();
+			return Integer.MAX_VALUE;
+		}
+
+		private final int round;
+
+		private final int index;
+
+		private final int first;
+
+		private final int second;
+	}
+}
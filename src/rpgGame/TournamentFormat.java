@@ -0,0 +1,18 @@
+package rpgGame;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * An enumeration introducing the ways the entrants of a tournament can be paired.
+ * 	In a single-elimination tournament the losers leave and the winners meet 
+ * 	in a seeded bracket. In a Swiss tournament every entrant plays every round 
+ * 	against an entrant with the same score he didn't meet yet. In a round-robin 
+ * 	tournament every entrant meets every other entrant once.
+ * 
+ * @author  Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+@Value
+public enum TournamentFormat {
+	SINGLE_ELIMINATION, SWISS, ROUND_ROBIN;
+}
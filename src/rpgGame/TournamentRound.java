@@ -0,0 +1,92 @@
+package rpgGame;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of reports on a round played in a tournament, involving the number of
+ * 	the round, the number of matches in it and the wall-clock time it took.
+ * 
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class TournamentRound {
+
+	/**
+	 * Initializes a new report on a round.
+	 * 
+	 * @param 	round
+	 * 			The number of the round, starting at one.
+	 * @param 	numberOfMatches
+	 * 			The number of matches played in the round.
+	 * @param 	time
+	 * 			The wall-clock time the round took, in nanoseconds.
+	 * @post	| new.getRound() == round
+	 * @post	| new.getNumberOfMatches() == numberOfMatches
+	 * @post	| new.getTime() == time
+	 */
+	public TournamentRound(int round, int numberOfMatches, long time) {
+		this.round = round;
+		this.numberOfMatches = numberOfMatches;
+		this.time = time;
+	}
+	
+	/**
+	 * Return the number of the round, starting at one.
+	 */
+	@Basic
+	@Immutable
+	public int getRound() {
+		return round;
+	}
+	
+	/**
+	 * Variable registering the number of the round.
+	 */
+	private final int round;
+	
+	/**
+	 * Return the number of matches played in the round.
+	 */
+	@Basic
+	@Immutable
+	public int getNumberOfMatches() {
+		return numberOfMatches;
+	}
+	
+	/**
+	 * Variable registering the number of matches played in the round.
+	 */
+	private final int numberOfMatches;
+	
+	/**
+	 * Return the wall-clock time the round took, in nanoseconds.
+	 */
+	@Basic
+	@Immutable
+	public long getTime() {
+		return time;
+	}
+	
+	/**
+	 * Variable registering the wall-clock time the round took, in nanoseconds.
+	 */
+	private final long time;
+	
+	/**
+	 * Return the number of matches played per second in the round.
+	 * 
+	 * @return	| result == getNumberOfMatches() / (getTime() / 1e9)
+	 */
+	public double getMatchesPerSecond() {
+		return numberOfMatches / (Math.max(1, time) / 1e9);
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "Round " + getRound() + ": " + getNumberOfMatches() + " matches in "
+				+ (getTime() / 1000000.0) + " ms (" + (long)getMatchesPerSecond() + " matches/s)";
+	}
+}
@@ -0,0 +1,123 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class TournamentTest {
+
+	private static final ActorFactory weakMonsters = new ActorFactory() {
+		@Override
+		public Actor createActor(RandomSource random) {
+			return new Monster("Creep", 40, 10, new Item[0], random);
+		}
+	};
+
+	private static List<Hero> createHeroes(int number) {
+		List<Hero> heroes = new ArrayList<Hero>();
+		for(int i = 0; i < number; i++)
+			heroes.add(new Hero("Hero", 100000, 15, null, new SplittableRandomSource(100 + i)));
+		return heroes;
+	}
+
+	@Test
+	public void testSingleEliminationHasOneWinner() {
+		Tournament tournament = new Tournament(createHeroes(5), weakMonsters,
+				TournamentFormat.SINGLE_ELIMINATION, 42);
+		assertEquals(3, tournament.getNumberOfRounds());
+		tournament.run();
+		assertTrue(tournament.isFinished());
+		assertEquals(3, tournament.getRounds().size());
+		assertEquals(4, tournament.getRounds().get(0).getNumberOfMatches());
+		assertEquals(2, tournament.getRounds().get(1).getNumberOfMatches());
+		assertEquals(1, tournament.getRounds().get(2).getNumberOfMatches());
+		Hero winner = tournament.getWinner();
+		assertNotNull(winner);
+		assertSame(winner, tournament.getStandings().get(0));
+		for(int seed = 0; seed < tournament.getNumberOfEntrants(); seed++)
+			if(tournament.getEntrant(seed) == winner)
+				assertEquals(3, tournament.getScore(seed));
+	}
+
+	@Test
+	public void testRoundRobinPairsEveryoneOnce() {
+		Tournament tournament = new Tournament(createHeroes(4), weakMonsters,
+				TournamentFormat.ROUND_ROBIN, 7);
+		tournament.run();
+		assertEquals(3, tournament.getRounds().size());
+		int total = 0;
+		for(int seed = 0; seed < 4; seed++)
+			total += tournament.getScore(seed);
+		assertEquals(6, total);
+	}
+
+	@Test
+	public void testSwissGivesEveryByeOnce() {
+		Tournament tournament = new Tournament(createHeroes(3), weakMonsters,
+				TournamentFormat.SWISS, 3);
+		assertEquals(2, tournament.getNumberOfRounds());
+		tournament.run();
+		int total = 0;
+		for(int seed = 0; seed < 3; seed++)
+			total += tournament.getScore(seed);
+		assertEquals(4, total);
+		assertNotNull(tournament.getWinner());
+	}
+
+	@Test
+	public void testSurvivorsKeepTheirState() {
+		List<Hero> heroes = createHeroes(2);
+		Tournament tournament = new Tournament(heroes, weakMonsters,
+				TournamentFormat.ROUND_ROBIN, 11);
+		tournament.playRound(new ForkJoinPool(2));
+		assertTrue(tournament.isFinished());
+		for(Hero hero : heroes)
+			assertTrue(hero.isFighting());
+	}
+
+	@Test
+	public void testRoundsAreReported() {
+		Tournament tournament = new Tournament(createHeroes(8), weakMonsters,
+				TournamentFormat.SWISS, 5);
+		TournamentRound round = tournament.playRound();
+		assertEquals(1, round.getRound());
+		assertEquals(4, round.getNumberOfMatches());
+		assertTrue(round.getTime() > 0);
+		assertTrue(round.getMatchesPerSecond() > 0);
+	}
+
+	@Test(expected = IllegaleToestandsUitzondering.class)
+	public void testFinishedTournamentCantPlay() {
+		Tournament tournament = new Tournament(createHeroes(2), weakMonsters,
+				TournamentFormat.SINGLE_ELIMINATION, 1);
+		tournament.run();
+		tournament.playRound();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEntrantCantEnterTwice() {
+		List<Hero> heroes = createHeroes(1);
+		heroes.add(heroes.get(0));
+		new Tournament(heroes, weakMonsters, TournamentFormat.SWISS, 1);
+	}
+
+	@Test
+	public void testStandingsHoldEveryEntrant() {
+		List<Hero> heroes = createHeroes(6);
+		Tournament tournament = new Tournament(heroes, weakMonsters, TournamentFormat.SWISS, 9);
+		tournament.run();
+		List<Hero> standings = tournament.getStandings();
+		assertEquals(6, standings.size());
+		for(Hero hero : heroes) {
+			int occurrences = 0;
+			for(Hero standing : standings)
+				if(standing == hero)
+					occurrences++;
+			assertEquals(1, occurrences);
+		}
+	}
+}
@@ -0,0 +1,342 @@
+package rpgGame;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of schedulers keeping the tick at which every actor acts next, in a
+ * 	hierarchical timing wheel.
+ * 		The wheel has four levels of 256 slots. Level 0 holds the actors due in
+ * 		the next 256 ticks, one slot for every tick; every next level holds the
+ * 		actors due 256 times further away, one slot for every 256 ticks of the
+ * 		level below. Scheduling an actor puts him in the slot of the lowest level
+ * 		that reaches his tick, and cancelling him takes him out of it, both in
+ * 		constant time. Whenever the clock enters the range of a slot of a higher
+ * 		level, the actors in that slot move down to the level below, so every
+ * 		actor moves down at most three times before he is due. At every tick all
+ * 		actors in the slot of that tick are due and are handed over at once.
+ * 		An actor that is handed over keeps his entry, so scheduling him again
+ * 		doesn't have to look him up anew; cancelling an actor frees his entry,
+ * 		and actors that won't act again should be cancelled.
+ * 		The slots are doubly linked lists threaded through arrays of primitives,
+ * 		so scheduling doesn't allocate once the arrays are large enough.
+ * 		A scheduler isn't thread-safe.
+ *
+ * @invar	The number of scheduled actors is never negative.
+ * 			| getNumberOfScheduledActors() >= 0
+ *
+ * @author Antoine Snyers & Pieter Willemsen
+ * @version 3.0
+ */
+public class TurnScheduler {
+
+	/**
+	 * Initializes a new scheduler at tick zero with room for a given number of actors.
+	 *
+	 * @param 	initialCapacity
+	 * 			The number of actors the new scheduler can hold before it has to grow.
+	 * @post	| new.getCurrentTick() == 0 && new.getNumberOfScheduledActors() == 0
+	 * @throws	IllegalArgumentException
+	 * 			| initialCapacity < 0
+	 */
+	public TurnScheduler(int initialCapacity) throws IllegalArgumentException {
+		if(initialCapacity < 0)
+			throw new IllegalArgumentException("The capacity of a scheduler can't be negative.");
+		Arrays.fill(heads, -1);
+		allocate(Math.max(initialCapacity, 1));
+	}
+
+	/**
+	 * Initializes a new scheduler at tick zero with room for sixteen actors.
+	 *
+	 * @effect	| this(16)
+	 */
+	public TurnScheduler() {
+		this(16);
+	}
+
+	/**
+	 * Return the current tick of this scheduler.
+	 */
+	@Basic
+	public long getCurrentTick() {
+		return currentTick;
+	}
+
+	/**
+	 * Variable registering the current tick of this scheduler.
+	 */
+	private long currentTick;
+
+	/**
+	 * Return the number of actors scheduled in this scheduler.
+	 */
+	@Basic
+	public int getNumberOfScheduledActors() {
+		return numberOfScheduledActors;
+	}
+
+	/**
+	 * Variable registering the number of actors scheduled in this scheduler.
+	 */
+	private int numberOfScheduledActors;
+
+	/**
+	 * Checks whether a given actor is scheduled in this scheduler.
+	 */
+	public boolean isScheduled(Actor actor) {
+		return getDueTick(actor) >= 0;
+	}
+
+	/**
+	 * Return the tick at which a given actor is due, or -1 if he isn't scheduled.
+	 */
+	public long getDueTick(Actor actor) {
+		Integer entry = entries.get(actor);
+		return (entry == null) ? -1 : dueTicks[entry];
+	}
+
+	/**
+	 * Return the number of actors holding an entry in this scheduler, scheduled
+	 * 	or handed over and not cancelled.
+	 */
+	public int getNumberOfEntries() {
+		return entries.size();
+	}
+
+	/**
+	 * Schedules a given actor to act a given number of ticks from now, replacing
+	 * 	the tick he was scheduled at before, if any.
+	 *
+	 * @param 	actor
+	 * 			The actor to be scheduled.
+	 * @param 	delay
+	 * 			The number of ticks from now.
+	 * @post	| new.getDueTick(actor) == getCurrentTick() + delay
+	 * @throws	IllegalArgumentException
+	 * 			When the actor isn't effective or the delay isn't positive or
+	 * 			reaches beyond the wheel.
+	 * 			| actor == null || delay < 1 || delay >= getMaximumDelay()
+	 */
+	public void schedule(Actor actor, long delay) throws IllegalArgumentException {
+		if(actor == null || delay < 1 || delay >= getMaximumDelay())
+			throw new IllegalArgumentException("The actor can't be scheduled with this delay.");
+		Integer entry = entries.get(actor);
+		int index;
+		if(entry == null) {
+			if(free == -1)
+				allocate(2 * actors.length);
+			index = free;
+			free = next[index];
+			actors[index] = actor;
+			dueTicks[index] = -1;
+			entries.put(actor, index);
+		}
+		else
+			index = entry;
+		if(dueTicks[index] >= 0)
+			unlink(index);
+		else
+			numberOfScheduledActors++;
+		dueTicks[index] = currentTick + delay;
+		link(index);
+	}
+
+	/**
+	 * Schedules the next action of a given actor after his turn interval.
+	 *
+	 * @effect	| schedule(actor, actor.getTurnInterval())
+	 */
+	public void scheduleNextTurn(Actor actor) throws IllegalArgumentException {
+		schedule(actor, actor.getTurnInterval());
+	}
+
+	/**
+	 * Takes a given actor out of this scheduler.
+	 *
+	 * @param 	actor
+	 * 			The actor to be taken out.
+	 * @return	True if and only if the actor was scheduled.
+	 * 			| result == isScheduled(actor)
+	 * @post	| !new.isScheduled(actor)
+	 */
+	public boolean cancel(Actor actor) {
+		Integer entry = entries.remove(actor);
+		if(entry == null)
+			return false;
+		int index = entry;
+		boolean scheduled = dueTicks[index] >= 0;
+		if(scheduled) {
+			unlink(index);
+			numberOfScheduledActors--;
+		}
+		actors[index] = null;
+		next[index] = free;
+		free = index;
+		return scheduled;
+	}
+
+	/**
+	 * Moves this scheduler to the next tick and hands over every actor due at it.
+	 * 		The actors are no longer scheduled; to act again, they have to be
+	 * 		scheduled again.
+	 *
+	 * @param 	due
+	 * 			The list the actors that are due are added to.
+	 * @return	The number of actors added to the given list.
+	 * @post	| new.getCurrentTick() == getCurrentTick() + 1
+	 * @post	Every actor that was due at the new tick is added to the list and
+	 * 			isn't scheduled anymore.
+	 */
+	public int advance(List<Actor> due) {
+		long tick = ++currentTick;
+		for(int level = numberOfLevels - 1; level > 0; level--)
+			if((tick & ((1L << (level * bitsPerLevel)) - 1)) == 0)
+				cascade(level, (int)(tick >>> (level * bitsPerLevel)) & slotMask);
+		int slot = (int)tick & slotMask;
+		int index = heads[slot];
+		heads[slot] = -1;
+		int count = 0;
+		while(index != -1) {
+			dueTicks[index] = -1;
+			due.add(actors[index]);
+			count++;
+			index = next[index];
+		}
+		numberOfScheduledActors -= count;
+		return count;
+	}
+
+	/**
+	 * Moves the actors in a given slot of a given level to the levels below.
+	 */
+	private void cascade(int level, int slot) {
+		int head = level * slotsPerLevel + slot;
+		int index = heads[head];
+		heads[head] = -1;
+		while(index != -1) {
+			int following = next[index];
+			link(index);
+			index = following;
+		}
+	}
+
+	/**
+	 * Puts the entry with a given index in the slot of its due tick.
+	 */
+	private void link(int index) {
+		long due = dueTicks[index];
+		long delay = due - currentTick;
+		int level = 0;
+		while(delay >= (1L << ((level + 1) * bitsPerLevel)))
+			level++;
+		int head = level * slotsPerLevel + ((int)(due >>> (level * bitsPerLevel)) & slotMask);
+		slots[index] = head;
+		previous[index] = -1;
+		next[index] = heads[head];
+		if(heads[head] != -1)
+			previous[heads[head]] = index;
+		heads[head] = index;
+	}
+
+	/**
+	 * Takes the entry with a given index out of its slot.
+	 */
+	private void unlink(int index) {
+		if(previous[index] != -1)
+			next[previous[index]] = next[index];
+		else
+			heads[slots[index]] = next[index];
+		if(next[index] != -1)
+			previous[next[index]] = previous[index];
+	}
+
+	/**
+	 * Gives the arrays of this scheduler room for a given number of actors.
+	 */
+	private void allocate(int capacity) {
+		int oldCapacity = (actors == null) ? 0 : actors.length;
+		actors = (actors == null) ? new Actor[capacity] : Arrays.copyOf(actors, capacity);
+		dueTicks = (dueTicks == null) ? new long[capacity] : Arrays.copyOf(dueTicks, capacity);
+		next = (next == null) ? new int[capacity] : Arrays.copyOf(next, capacity);
+		previous = (previous == null) ? new int[capacity] : Arrays.copyOf(previous, capacity);
+		slots = (slots == null) ? new int[capacity] : Arrays.copyOf(slots, capacity);
+		for(int index = capacity - 1; index >= oldCapacity; index--) {
+			next[index] = free;
+			free = index;
+		}
+	}
+
+	/**
+	 * Return the number of ticks from now beyond which an actor can't be scheduled.
+	 */
+	@Immutable
+	public static long getMaximumDelay() {
+		return 1L << (numberOfLevels * bitsPerLevel);
+	}
+
+	/**
+	 * Constant registering the number of levels of the wheel.
+	 */
+	private static final int numberOfLevels = 4;
+
+	/**
+	 * Constant registering the number of bits of a tick every level covers.
+	 */
+	private static final int bitsPerLevel = 8;
+
+	/**
+	 * Constant registering the number of slots of every level.
+	 */
+	private static final int slotsPerLevel = 1 << bitsPerLevel;
+
+	/**
+	 * Constant registering the mask selecting a slot from a shifted tick.
+	 */
+	private static final int slotMask = slotsPerLevel - 1;
+
+	/**
+	 * Variable registering the first entry in every slot of every level, or -1.
+	 */
+	private final int[] heads = new int[numberOfLevels * slotsPerLevel];
+
+	/**
+	 * Variable referencing the entry of every scheduled actor.
+	 */
+	private final Map<Actor, Integer> entries = new IdentityHashMap<Actor, Integer>();
+
+	/**
+	 * Variable registering the first free entry, or -1.
+	 */
+	private int free = -1;
+
+	/**
+	 * Variable referencing the actor of every entry.
+	 */
+	private Actor[] actors;
+
+	/**
+	 * Variable registering the tick every entry is due at, or -1 for an entry
+	 * 	that was handed over.
+	 */
+	private long[] dueTicks;
+
+	/**
+	 * Variable registering the next entry in the slot or the free list of every entry, or -1.
+	 */
+	private int[] next;
+
+	/**
+	 * Variable registering the previous entry in the slot of every entry, or -1.
+	 */
+	private int[] previous;
+
+	/**
+	 * Variable registering the slot every entry is in, counting over all levels.
+	 */
+	private int[] slots;
+}
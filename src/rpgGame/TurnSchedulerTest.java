@@ -0,0 +1,114 @@
+package rpgGame;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TurnSchedulerTest {
+
+	private TurnScheduler scheduler;
+
+	private List<Actor> due;
+
+	@Before
+	public void setUp() throws Exception {
+		scheduler = new TurnScheduler(4);
+		due = new ArrayList<Actor>();
+	}
+
+	private static Monster createMonster(double strength) {
+		return new Monster("Creep", 100, strength, new Item[0], new SplittableRandomSource(1));
+	}
+
+	@Test
+	public void testActorsAreDueAtTheirTick() {
+		SplittableRandomSource random = new SplittableRandomSource(7);
+		Monster[] monsters = new Monster[500];
+		long[] dueTicks = new long[monsters.length];
+		for(int i = 0; i < monsters.length; i++) {
+			monsters[i] = createMonster(10);
+			long delay = 1 + random.randomInt(i % 2 == 0 ? 300 : 150000);
+			scheduler.schedule(monsters[i], delay);
+			dueTicks[i] = delay;
+			assertEquals(delay, scheduler.getDueTick(monsters[i]));
+		}
+		assertEquals(monsters.length, scheduler.getNumberOfScheduledActors());
+		int handedOver = 0;
+		while(scheduler.getNumberOfScheduledActors() > 0) {
+			due.clear();
+			int count = scheduler.advance(due);
+			assertEquals(due.size(), count);
+			for(Actor actor : due) {
+				int i = indexOf(monsters, actor);
+				assertEquals(dueTicks[i], scheduler.getCurrentTick());
+				assertFalse(scheduler.isScheduled(actor));
+			}
+			handedOver += count;
+		}
+		assertEquals(monsters.length, handedOver);
+	}
+
+	private static int indexOf(Monster[] monsters, Actor actor) {
+		for(int i = 0; i < monsters.length; i++)
+			if(monsters[i] == actor)
+				return i;
+		return -1;
+	}
+
+	@Test
+	public void testRescheduleAndCancel() {
+		Monster first = createMonster(10);
+		Monster second = createMonster(10);
+		scheduler.schedule(first, 70000);
+		scheduler.schedule(second, 5);
+		scheduler.schedule(first, 3);
+		assertTrue(scheduler.cancel(second));
+		assertFalse(scheduler.cancel(second));
+		assertEquals(1, scheduler.getNumberOfScheduledActors());
+		for(int tick = 1; tick <= 6; tick++) {
+			due.clear();
+			scheduler.advance(due);
+			assertEquals(tick == 3 ? 1 : 0, due.size());
+		}
+		assertEquals(0, scheduler.getNumberOfScheduledActors());
+		assertEquals(-1, scheduler.getDueTick(first));
+		assertEquals(1, scheduler.getNumberOfEntries());
+		assertFalse(scheduler.cancel(first));
+		assertEquals(0, scheduler.getNumberOfEntries());
+	}
+
+	@Test
+	public void testManyActorsInOneTick() {
+		for(int i = 0; i < 1000; i++)
+			scheduler.schedule(createMonster(10), 300);
+		for(int tick = 1; tick < 300; tick++)
+			assertEquals(0, scheduler.advance(due));
+		assertEquals(1000, scheduler.advance(due));
+		assertEquals(1000, due.size());
+	}
+
+	@Test
+	public void testTurnInterval() {
+		assertEquals(100, createMonster(10).getTurnInterval());
+		assertEquals(50, createMonster(20).getTurnInterval());
+		assertEquals(Actor.getMaximumTurnInterval(), createMonster(0).getTurnInterval());
+		Hero unloaded = new Hero("Frankenstein", 100, 10, null);
+		Hero loaded = new Hero("Frankenstein", 100, 10, null);
+		new Weapon(10, new Weight(5)).moveTo(loaded, LocationEquipment.LeftHand);
+		assertTrue(loaded.getTurnInterval() > unloaded.getTurnInterval());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDelayMustBePositive() {
+		scheduler.schedule(createMonster(10), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDelayMustFitTheWheel() {
+		scheduler.schedule(createMonster(10), TurnScheduler.getMaximumDelay());
+	}
+}
@@ -1,5 +1,7 @@
 package rpgGame;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import be.kuleuven.cs.som.annotate.Basic;
 import be.kuleuven.cs.som.annotate.Model;
 
@@ -39,7 +41,25 @@ public class Weapon extends Enhancer {
 	 *			weight as its weight and the standard price as its price in amount of dukats.
 	 */
 	public Weapon(Weight weight){
-		this(generateRandomValue(100), weight);
+		this(weight, MathHelp.getRandomSource());
+	}
+	
+	/**
+	 * Initializes a new weapon with given weight and a random value drawn from a given random source.
+	 * 
+	 * @param 	weight
+	 * 			The weight of the new weapon. 
+	 * @param	random
+	 * 			The random source the damage value is drawn from.
+	 * @effect	This new weapon is initialized in the same way a new weapon 
+	 *			would be initialized with the more extended constructor 
+	 *			involving a value between 1 and 100 drawn from the given random source
+	 *			as its damage value, weight as its weight and the standard price as its 
+	 *			price in amount of dukats.
+	 *			| this(generateRandomValue(100, random), weight)
+	 */
+	public Weapon(Weight weight, RandomSource random){
+		this(generateRandomValue(100, random), weight);
 	}
 	
 	/**
@@ -117,15 +137,15 @@ public class Weapon extends Enhancer {
 	
 	/**
 	 * Returns the next ID number that is going to be used for a new weapon.
-	 * 		This ID number is updated every time this method is invoked.
+	 * 		This ID number is updated every time this method is invoked. Weapon IDs
+	 * 		are the multiples of 6 in increasing order, starting over at 6 once they
+	 * 		would overflow. This method is thread-safe.
 	 */
 	@Override
 	@Basic
 	protected long getNextID(long ID){
-		if(previousID >= Long.MAX_VALUE -5 )
-			previousID = 0;
-		previousID += 6;
-		return previousID;
+		long position = issuedIDs.getAndIncrement();
+		return 6 * (1 + position % (Long.MAX_VALUE / 6));
 	}
 
 	/**
@@ -140,18 +160,18 @@ public class Weapon extends Enhancer {
 	}
 	
 	/**
-	 * Variable registering the last ID number that was used to create a new weapon.
+	 * Variable registering how many IDs have been handed out to weapons.
 	 */
-	private static long previousID = 0;
+	private static final AtomicLong issuedIDs = new AtomicLong();
 	
 	/**
-	 * Returns a random value that's a valid value for this weapon.
+	 * Returns a random value that's a valid value for this weapon, drawn from a given random source.
 	 */
-	private static int generateRandomValue(int maximum)
+	private static int generateRandomValue(int maximum, RandomSource random)
 	{
 		int deler = 7;
 		int c =  maximum / deler - 1;
-		return deler*(int)(c*Math.random() + 1);
+		return deler*(int)(c*random.randomDouble() + 1);
 	}
 	
 	/** 
@@ -1,12 +1,20 @@
 package rpgGame;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 import be.kuleuven.cs.som.annotate.*;
 
 /**
  * A class representing the world. 
  * 		Every item that doesn't belong to anyone, belongs to the world.
+ * 		The world is shared by every fight in every thread, so all of its methods
+ * 		are synchronized, and looking up an item on the ground takes constant time
+ * 		however many items were dropped.
  * 
  * @author Antoine Snyers & Pieter Willemsen
  * @version 3.0
@@ -47,25 +55,14 @@ public class World implements Holder {
 	 * @see rpgGame.Holder#holdsItem(rpgGame.Item)
 	 */
 	@Override
-	public boolean holdsItem(Item item) {
+	public synchronized boolean holdsItem(Item item) {
 		if(item == null)
 			return false;
-		ArrayList<Item> items = getItems();
-		for (int i = 0; i < items.size(); i++) {
-			Item itemOnI = items.get(i);
-			if(item == itemOnI )
+		if(itemsOnTheGround.containsKey(new GroundKey(item)))
+			return true;
+		for(Item holder : holdersOnTheGround)
+			if(((Holder)holder).holdsItem(item))
 				return true;
-			if(itemOnI != null) {
-				for(int y =0; y < itemOnI.getClass().getInterfaces().length; y++ ) {
-					if(itemOnI.getClass().getInterfaces()[y] == Holder.class) {
-						if(((Holder)itemOnI).holdsItem(item)){
-							return true;
-						}
-					}
-				}
-			}
-
-		}
 		return false;
 	}
 	
@@ -73,8 +70,8 @@ public class World implements Holder {
 	 * @see rpgGame.Holder#hasValidItems()
 	 */
 	@Override
-	public boolean hasValidItems() {
-		for(Item item : getItems()) {
+	public synchronized boolean hasValidItems() {
+		for(Item item : itemsOnTheGround.values()) {
 			if(item.getDirectHolder() != World.world)
 				return false;
 			if(item.getClass()== Backpack.class)
@@ -87,43 +84,90 @@ public class World implements Holder {
 	/**
 	 * This method returns all the items that are on the ground
 	 * 
-	 * @return	The result is an array list containing items.
+	 * @return	The result is a new array list containing items.
 	 * @return 	All the items in the resulting array list will
 	 * 			be effective.
+	 * @return	The items in the resulting array list are in the order
+	 * 			in which they were put on the ground.
 	 */
 	@Basic
-	public ArrayList<Item> getItems() {
-		return itemsOnTheGround;
+	public synchronized ArrayList<Item> getItems() {
+		return new ArrayList<Item>(itemsOnTheGround.values());
 	}
 	
 	/* (non-Javadoc)
 	 * @see rpgGame.Holder#setItem(rpgGame.Item)
 	 */
 	@Override
-	public void addItem(@Raw Item item) throws IllegalArgumentException, IllegaleToestandsUitzondering{
+	public synchronized void addItem(@Raw Item item) throws IllegalArgumentException, IllegaleToestandsUitzondering{
 		if(!this.canHoldItem(item))
 			throw new IllegalArgumentException("This hero can't hold the given item.");
 		if(item.getDirectHolder() != this) 
 			throw new IllegalArgumentException("The holder of the item isn't this hero. To move an item use the method of the class Item.");
-		if(this.holdsItem(item))
+		// an item whose direct holder is the world can only be held by it directly
+		GroundKey key = new GroundKey(item);
+		if(itemsOnTheGround.containsKey(key))
 			throw new IllegaleToestandsUitzondering("A hero can't wear the same item 2 times.");
-		itemsOnTheGround.add(item);
+		itemsOnTheGround.put(key, item);
+		if(item instanceof Holder)
+			holdersOnTheGround.add(item);
 	} 
 
 	/* (non-Javadoc)
 	 * @see rpgGame.Holder#removeItem(rpgGame.Item)
 	 */
 	@Override
-	public void removeItem(@Raw Item item) {
+	public synchronized void removeItem(@Raw Item item) {
 		if(item == null || item.getDirectHolder() == World.world)
 			throw new IllegalArgumentException();
-		itemsOnTheGround.remove(item);
+		itemsOnTheGround.remove(new GroundKey(item));
+		holdersOnTheGround.remove(item);
+	}
+	
+	/**
+	 * Variable registering all the references to the items that are on the ground,
+	 * 	in the order in which they were put on the ground.
+	 * 	Items are compared by identity, because different items may be equal.
+	 */
+	private final Map<GroundKey, Item> itemsOnTheGround = new LinkedHashMap<GroundKey, Item>();
+	
+	/**
+	 * Class of keys that compare the items on the ground by identity.
+	 */
+	private static final class GroundKey {
+		
+		/**
+		 * Initialize this new key for the given item.
+		 * 
+		 * @param	item
+		 * 			The item referenced by this key.
+		 * @post	The new key references the given item.
+		 * 			| new.item == item
+		 */
+		GroundKey(Item item) {
+			this.item = item;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof GroundKey && ((GroundKey) obj).item == item;
+		}
+		
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(item);
+		}
+		
+		/**
+		 * Variable referencing the item of this key.
+		 */
+		private final Item item;
 	}
 	
 	/**
-	 * Variable registering all the references to the items that are on the ground.
+	 * Variable registering the items on the ground that can hold other items.
 	 */
-	private ArrayList<Item> itemsOnTheGround = new ArrayList<Item>();
+	private final Set<Item> holdersOnTheGround = Collections.newSetFromMap(new IdentityHashMap<Item, Boolean>());
 	
 	/**
 	 * The result is true if if the world contains the given 
@@ -136,20 +180,20 @@ public class World implements Holder {
 	 * 			the method getAllDukats() contains the given
 	 * 			dukat amount.
 	 */
-	public boolean holdsDukats(DukatAmount dukat) {
-		return dukat != null && getAllDukats().contains(dukat);
+	public synchronized boolean holdsDukats(DukatAmount dukat) {
+		return dukat != null && dukatsOnTheGround.contains(dukat);
 	}
 	
 	/**
 	 * This method returns all the dukat amounts that are on the ground
 	 * 
-	 * @return	The result is an array list containing dukat amounts.
+	 * @return	The result is a new array list containing dukat amounts.
 	 * @return 	All the dukat amounts in the resulting array list
 	 * 			will be effective.
 	 */
 	@Basic
-	public ArrayList<DukatAmount> getAllDukats() {
-		return dukatsOnTheGround;
+	public synchronized ArrayList<DukatAmount> getAllDukats() {
+		return new ArrayList<DukatAmount>(dukatsOnTheGround);
 	}
 	
 	/**
@@ -163,21 +207,21 @@ public class World implements Holder {
 	 * 			list that is returned from the method getAllDukats()
 	 * 			will contain the given amount.	
 	 */
-	public void addDukats(DukatAmount amount){
-		if(amount != null && !getAllDukats().contains(amount))
+	public synchronized void addDukats(DukatAmount amount){
+		if(amount != null && !dukatsOnTheGround.contains(amount))
 			dukatsOnTheGround.add(amount);
 	}
 	
 	/**
 	 * Variable registering all the references to the DukatAmounts that are on the ground.
 	 */
-	private ArrayList<DukatAmount> dukatsOnTheGround = new ArrayList<DukatAmount>();
+	private final ArrayList<DukatAmount> dukatsOnTheGround = new ArrayList<DukatAmount>();
 	
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
 	@Override
-	public String toString() {
+	public synchronized String toString() {
 		return "World [Dukats in world=" + getAllDukats() 
 				+ ", Items in wolrd="+ getItems() 
 				+ "]";
@@ -60,6 +60,26 @@ public class WorldTest {
 		assertTrue(world.getItems().contains(armor));
 	}
 
+	@Test
+	public void testGetItemsKeepsOrder() {
+		Weapon weapon = new Weapon();
+		Armor armor = new Armor(190);
+		Purse purse = new Purse(100);
+		java.util.ArrayList<Item> items = world.getItems();
+		int weaponIndex = -1, armorIndex = -1, purseIndex = -1;
+		for(int i = 0; i < items.size(); i++) {
+			if(items.get(i) == weapon)
+				weaponIndex = i;
+			if(items.get(i) == armor)
+				armorIndex = i;
+			if(items.get(i) == purse)
+				purseIndex = i;
+		}
+		assertTrue(weaponIndex >= 0);
+		assertTrue(weaponIndex < armorIndex);
+		assertTrue(armorIndex < purseIndex);
+	}
+
 	@Test
 	public void testAddDukats() {
 		DukatAmount dukat = new DukatAmount(11);